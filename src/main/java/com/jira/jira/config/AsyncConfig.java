@@ -0,0 +1,25 @@
+package com.jira.jira.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+/**
+ * Enables @Async event dispatch; @Scheduled background jobs are enabled by SchedulingConfig.
+ *
+ * With spring.threads.virtual.enabled=true (Java 21) Spring Boot runs Tomcat request handling,
+ * the applicationTaskExecutor behind @Async and the taskScheduler on virtual threads.
+ * Blocking Mongo calls then park the virtual thread instead of holding a platform thread.
+ *
+ * Pinning-safe usage on virtual threads:
+ * - Do not hold a synchronized monitor across blocking I/O (Mongo, Redis, SMTP, broker sends);
+ *   a virtual thread blocked inside synchronized pins its carrier thread. Use ReentrantLock instead.
+ * - Keep CPU-heavy work (e.g. password hashing) on bounded platform-thread pools,
+ *   virtual threads only help with waiting, not with computing.
+ * - Do not pool virtual threads; bound concurrency with spring.task.execution.simple.concurrency-limit
+ *   or a Semaphore when a downstream resource needs protecting.
+ * - Run with -Djdk.tracePinnedThreads=short to report pinning during load tests.
+ */
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+}
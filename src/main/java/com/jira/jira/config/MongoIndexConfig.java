@@ -0,0 +1,120 @@
+package com.jira.jira.config;
+
+import com.jira.jira.model.ActivityLog;
+import com.jira.jira.model.ChangeStreamToken;
+import com.jira.jira.model.Membership;
+import com.jira.jira.model.Notification;
+import com.jira.jira.model.OutboxEvent;
+import com.jira.jira.model.Project;
+import com.jira.jira.model.RefreshToken;
+import com.jira.jira.model.Task;
+import com.jira.jira.model.User;
+import com.jira.jira.model.Workspace;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Creates the indexes declared on entity classes (@Indexed, @CompoundIndex), then checks that
+ * every repository query over those entities can be served by an index (MongoIndexVerifier).
+ * Automatic index creation is off, so entities whose indexes the application relies on are listed here.
+ *
+ * mongo.index-verification: warn (default) runs off the startup thread, so an unreachable Mongo does
+ * not block boot, and logs what is missing; fail runs on the startup thread and stops the application
+ * if an index cannot be created or a query is unindexed; off only creates the indexes.
+ */
+@Configuration
+@Slf4j
+public class MongoIndexConfig {
+
+    private static final List<Class<?>> INDEXED_ENTITIES = List.of(
+            ActivityLog.class,
+            ChangeStreamToken.class,
+            Membership.class,
+            Notification.class,
+            OutboxEvent.class,
+            Project.class,
+            RefreshToken.class,
+            Task.class,
+            User.class,
+            Workspace.class
+    );
+
+    private static final String FAIL = "fail";
+    private static final String OFF = "off";
+
+    private final MongoTemplate mongoTemplate;
+    private final MongoMappingContext mappingContext;
+    private final MongoIndexVerifier indexVerifier;
+    private final String verification;
+
+    public MongoIndexConfig(MongoTemplate mongoTemplate,
+                            MongoMappingContext mappingContext,
+                            MongoIndexVerifier indexVerifier,
+                            @Value("${mongo.index-verification:warn}") String verification) {
+        this.mongoTemplate = mongoTemplate;
+        this.mappingContext = mappingContext;
+        this.indexVerifier = indexVerifier;
+        this.verification = verification;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void bootstrap() {
+        if (FAIL.equalsIgnoreCase(verification)) {
+            List<String> problems = ensureIndexes();
+            problems.addAll(verifyIndexes());
+            if (!problems.isEmpty()) {
+                throw new IllegalStateException("Mongo index bootstrap failed: " + String.join("; ", problems));
+            }
+            return;
+        }
+
+        Thread.ofVirtual().name("mongo-index-bootstrap").start(() -> {
+            ensureIndexes();
+            if (!OFF.equalsIgnoreCase(verification)) {
+                verifyIndexes().forEach(log::warn);
+            }
+        });
+    }
+
+    /**
+     * Create declared indexes; returns the entities that failed
+     */
+    private List<String> ensureIndexes() {
+        MongoPersistentEntityIndexResolver resolver = new MongoPersistentEntityIndexResolver(mappingContext);
+        List<String> failures = new ArrayList<>();
+
+        for (Class<?> entity : INDEXED_ENTITIES) {
+            try {
+                IndexOperations indexOps = mongoTemplate.indexOps(entity);
+                resolver.resolveIndexFor(entity).forEach(indexOps::createIndex);
+                log.info("Ensured indexes for {}", entity.getSimpleName());
+            } catch (Exception e) {
+                log.warn("Could not ensure indexes for {}: {}", entity.getSimpleName(), e.getMessage());
+                failures.add("Could not ensure indexes for " + entity.getSimpleName());
+            }
+        }
+        return failures;
+    }
+
+    private List<String> verifyIndexes() {
+        try {
+            List<String> unindexed = indexVerifier.findUnindexedQueries(INDEXED_ENTITIES);
+            if (unindexed.isEmpty()) {
+                log.info("All repository queries over indexed entities are index-backed");
+            }
+            return unindexed.stream().map(method -> "No index can serve " + method).toList();
+        } catch (Exception e) {
+            return List.of("Could not verify indexes: " + e.getMessage());
+        }
+    }
+}
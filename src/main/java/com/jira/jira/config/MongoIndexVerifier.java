@@ -0,0 +1,147 @@
+package com.jira.jira.config;
+
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.data.mapping.PropertyReferenceException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.core.support.RepositoryFactoryInformation;
+import org.springframework.data.repository.query.parser.Part;
+import org.springframework.data.repository.query.parser.PartTree;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.*;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Checks that the query methods of repositories over indexed entities can start from an index.
+ * A filter is servable when it matches _id or an existing index leads with one of its fields;
+ * with $or, every branch must be servable. Derived queries are read from the method name and
+ * @Query filters from their JSON. This is a prefix check against listIndexes, not an explain,
+ * so it needs no data and costs one listIndexes per collection.
+ */
+@Component
+@RequiredArgsConstructor
+public class MongoIndexVerifier {
+
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\?#\\{[^}]*}|\\?\\d+");
+
+    private final ListableBeanFactory beanFactory;
+    private final MongoTemplate mongoTemplate;
+    private final MongoMappingContext mappingContext;
+
+    /**
+     * Repository methods (Repository.method) whose filter no index can serve
+     */
+    public List<String> findUnindexedQueries(Collection<Class<?>> entities) {
+        Map<Class<?>, Set<String>> leadingKeys = new HashMap<>();
+        List<String> unindexed = new ArrayList<>();
+
+        for (String name : beanFactory.getBeanNamesForType(RepositoryFactoryInformation.class, false, false)) {
+            RepositoryInformation repository = beanFactory.getBean(name, RepositoryFactoryInformation.class).getRepositoryInformation();
+            Class<?> domainType = repository.getDomainType();
+            if (!entities.contains(domainType)) {
+                continue;
+            }
+
+            MongoPersistentEntity<?> entity = mappingContext.getRequiredPersistentEntity(domainType);
+            Set<String> leading = leadingKeys.computeIfAbsent(domainType, this::leadingKeys);
+            for (Method method : repository.getQueryMethods()) {
+                Document filter = filterOf(method, entity);
+                if (filter != null && !filter.isEmpty() && !servable(filter, leading, entity)) {
+                    unindexed.add(repository.getRepositoryInterface().getSimpleName() + "." + method.getName());
+                }
+            }
+        }
+
+        Collections.sort(unindexed);
+        return unindexed;
+    }
+
+    /**
+     * First key of every index on the entity's collection
+     */
+    private Set<String> leadingKeys(Class<?> entity) {
+        return mongoTemplate.indexOps(entity).getIndexInfo().stream()
+                .map(IndexInfo::getIndexFields)
+                .filter(fields -> !fields.isEmpty())
+                .map(fields -> fields.get(0).getKey())
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * The method's filter with placeholder values, or null if it cannot be read
+     */
+    private Document filterOf(Method method, MongoPersistentEntity<?> entity) {
+        Query query = method.getAnnotation(Query.class);
+        if (query != null && !query.value().isEmpty()) {
+            return Document.parse(PLACEHOLDER.matcher(query.value()).replaceAll("null"));
+        }
+
+        try {
+            PartTree tree = new PartTree(method.getName(), entity.getType());
+            List<Document> branches = tree.stream()
+                    .map(orPart -> {
+                        Document branch = new Document();
+                        for (Part part : orPart) {
+                            branch.put(mappingContext.getPersistentPropertyPath(part.getProperty())
+                                    .toDotPath(MongoPersistentProperty::getFieldName), null);
+                        }
+                        return branch;
+                    })
+                    .toList();
+            return branches.size() == 1 ? branches.get(0) : new Document("$or", branches);
+        } catch (PropertyReferenceException | IllegalArgumentException e) {
+            return null; // Not a derived query
+        }
+    }
+
+    private boolean servable(Document filter, Set<String> leading, MongoPersistentEntity<?> entity) {
+        List<Document> orBranches = null;
+        for (Map.Entry<String, Object> entry : filter.entrySet()) {
+            String key = entry.getKey();
+            if ("$or".equals(key)) {
+                orBranches = branches(entry.getValue());
+            } else if ("$and".equals(key)) {
+                if (branches(entry.getValue()).stream().anyMatch(branch -> servable(branch, leading, entity))) {
+                    return true;
+                }
+            } else if (!key.startsWith("$") && leading.contains(fieldName(key, entity))) {
+                return true;
+            }
+        }
+        return orBranches != null && !orBranches.isEmpty()
+                && orBranches.stream().allMatch(branch -> servable(branch, leading, entity));
+    }
+
+    /**
+     * Stored name of a filter key written either as a property name or as the stored field name
+     */
+    private static String fieldName(String key, MongoPersistentEntity<?> entity) {
+        int dot = key.indexOf('.');
+        String head = dot < 0 ? key : key.substring(0, dot);
+        MongoPersistentProperty property = entity.getPersistentProperty(head);
+        if (property == null) {
+            return key;
+        }
+        return dot < 0 ? property.getFieldName() : property.getFieldName() + key.substring(dot);
+    }
+
+    private static List<Document> branches(Object value) {
+        if (!(value instanceof List<?> list)) {
+            return List.of();
+        }
+        return list.stream()
+                .filter(Document.class::isInstance)
+                .map(Document.class::cast)
+                .toList();
+    }
+}
@@ -0,0 +1,42 @@
+package com.jira.jira.config;
+
+import com.jira.jira.monitoring.QueryTrackingCommandListener;
+import com.jira.jira.monitoring.QueryTrackingFilter;
+import com.jira.jira.monitoring.QueryTrackingProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Per-request Mongo command tracking (slow-query and N+1 detection).
+ * The filter runs ahead of Spring Security so the JWT user lookup counts towards the request.
+ */
+@Configuration
+@EnableConfigurationProperties(QueryTrackingProperties.class)
+@ConditionalOnProperty(prefix = "mongo.query-tracking", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class MongoQueryTrackingConfig {
+
+    @Bean
+    public QueryTrackingCommandListener queryTrackingCommandListener() {
+        return new QueryTrackingCommandListener();
+    }
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer queryTrackingMongoCustomizer(QueryTrackingCommandListener listener) {
+        return settings -> settings.addCommandListener(listener);
+    }
+
+    @Bean
+    public FilterRegistrationBean<QueryTrackingFilter> queryTrackingFilter(QueryTrackingProperties properties, MeterRegistry meterRegistry) {
+        FilterRegistrationBean<QueryTrackingFilter> registration =
+                new FilterRegistrationBean<>(new QueryTrackingFilter(properties, meterRegistry));
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+}
@@ -0,0 +1,22 @@
+package com.jira.jira.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.MongoTransactionManager;
+
+/**
+ * Makes @Transactional service methods real Mongo transactions, so a task change and its outbox
+ * event commit together. Requires a replica set or sharded cluster; off by default, in which case
+ * @Transactional is a no-op and the two writes are sequential.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.outbox.transactions", havingValue = "true")
+public class MongoTransactionConfig {
+
+    @Bean
+    public MongoTransactionManager transactionManager(MongoDatabaseFactory databaseFactory) {
+        return new MongoTransactionManager(databaseFactory);
+    }
+}
@@ -0,0 +1,67 @@
+package com.jira.jira.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jira.jira.service.WebSocketService;
+import com.jira.jira.websocket.presence.InMemoryPresenceStore;
+import com.jira.jira.websocket.presence.LocalPresenceBroadcaster;
+import com.jira.jira.websocket.presence.PresenceBroadcaster;
+import com.jira.jira.websocket.presence.PresenceStore;
+import com.jira.jira.websocket.presence.RedisPresenceBroadcaster;
+import com.jira.jira.websocket.presence.RedisPresenceStore;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.util.UUID;
+
+/**
+ * Presence store selection: websocket.presence.store=memory (single node) or redis (shared across nodes).
+ * With redis, presence diffs are also relayed between nodes over a Redis channel.
+ */
+@Configuration
+public class PresenceConfig {
+
+    private static final String REDIS = "redis";
+
+    // Presence is ephemeral, so a fresh id per process is enough; a crashed node's entries expire
+    private final String nodeId = UUID.randomUUID().toString();
+
+    @Bean
+    public PresenceStore presenceStore(@Value("${websocket.presence.store:memory}") String store,
+                                       ObjectProvider<StringRedisTemplate> redisTemplate) {
+        if (REDIS.equalsIgnoreCase(store)) {
+            return new RedisPresenceStore(redisTemplate.getObject(), nodeId);
+        }
+        return new InMemoryPresenceStore();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "websocket.presence.store", havingValue = REDIS)
+    public RedisPresenceBroadcaster redisPresenceBroadcaster(StringRedisTemplate redisTemplate,
+                                                             WebSocketService webSocketService,
+                                                             ObjectMapper objectMapper) {
+        return new RedisPresenceBroadcaster(redisTemplate, webSocketService, objectMapper);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "websocket.presence.store", havingValue = REDIS)
+    public RedisMessageListenerContainer presenceListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                   RedisPresenceBroadcaster broadcaster) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(broadcaster, new ChannelTopic(RedisPresenceBroadcaster.CHANNEL));
+        return container;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "websocket.presence.store", havingValue = "memory", matchIfMissing = true)
+    public PresenceBroadcaster localPresenceBroadcaster(WebSocketService webSocketService) {
+        return new LocalPresenceBroadcaster(webSocketService);
+    }
+}
@@ -0,0 +1,65 @@
+package com.jira.jira.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jira.jira.security.JwtUtil;
+import com.jira.jira.security.ratelimit.ClientAddressResolver;
+import com.jira.jira.security.ratelimit.LocalRateLimiter;
+import com.jira.jira.security.ratelimit.RateLimitFilter;
+import com.jira.jira.security.ratelimit.RateLimitPolicy;
+import com.jira.jira.security.ratelimit.RateLimiter;
+import com.jira.jira.security.ratelimit.RedisRateLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Rate limiting for auth and write endpoints.
+ * security.rate-limit.mode=local keeps buckets in memory per node; redis shares them across nodes.
+ */
+@Configuration
+public class RateLimitConfig {
+
+    @Bean
+    public LocalRateLimiter localRateLimiter() {
+        return new LocalRateLimiter();
+    }
+
+    @Bean
+    public RateLimitFilter rateLimitFilter(LocalRateLimiter localRateLimiter,
+                                           ObjectProvider<StringRedisTemplate> redisTemplate,
+                                           JwtUtil jwtUtil,
+                                           ObjectMapper objectMapper,
+                                           MeterRegistry meterRegistry,
+                                           @Value("${security.rate-limit.mode:local}") String mode,
+                                           @Value("${security.rate-limit.auth.capacity:10}") long authCapacity,
+                                           @Value("${security.rate-limit.auth.refill-period:1m}") Duration authRefillPeriod,
+                                           @Value("${security.rate-limit.write.capacity:120}") long writeCapacity,
+                                           @Value("${security.rate-limit.write.refill-period:1m}") Duration writeRefillPeriod,
+                                           @Value("${security.rate-limit.trusted-proxies:}") List<String> trustedProxies) {
+        RateLimiter rateLimiter = "redis".equalsIgnoreCase(mode)
+                ? new RedisRateLimiter(redisTemplate.getObject(), localRateLimiter, meterRegistry)
+                : localRateLimiter;
+
+        return new RateLimitFilter(rateLimiter,
+                new RateLimitPolicy("auth", authCapacity, authRefillPeriod),
+                new RateLimitPolicy("write", writeCapacity, writeRefillPeriod),
+                new ClientAddressResolver(trustedProxies), jwtUtil, objectMapper, meterRegistry);
+    }
+
+    /**
+     * The filter runs inside the security chain only, not a second time as a servlet filter
+     */
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilterRegistration(RateLimitFilter rateLimitFilter) {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(rateLimitFilter);
+        registration.setEnabled(false);
+        return registration;
+    }
+}
@@ -0,0 +1,35 @@
+package com.jira.jira.controller;
+
+import com.jira.jira.dto.common.CursorPageResponse;
+import com.jira.jira.dto.response.ActivityLogResponse;
+import com.jira.jira.dto.response.ApiResponse;
+import com.jira.jira.service.ActivityLogService;
+import com.jira.jira.service.AuthService;
+import com.jira.jira.util.ResponseHelper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/workspaces/{workspaceId}/activity")
+@RequiredArgsConstructor
+public class ActivityController {
+
+    private final ActivityLogService activityLogService;
+    private final AuthService authService;
+
+    /**
+     * Get workspace activity feed, newest first
+     * GET /api/workspaces/{workspaceId}/activity?cursor={next_cursor}&limit=50
+     */
+    @GetMapping
+    public ResponseEntity<ApiResponse<CursorPageResponse<ActivityLogResponse>>> getActivity(
+            @PathVariable String workspaceId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestHeader("Authorization") String token) {
+
+        String userId = authService.getCurrentUser(token).getId();
+        return ResponseHelper.ok(activityLogService.getActivity(workspaceId, userId, cursor, limit));
+    }
+}
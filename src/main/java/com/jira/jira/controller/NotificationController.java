@@ -0,0 +1,75 @@
+package com.jira.jira.controller;
+
+import com.jira.jira.dto.common.CursorPageResponse;
+import com.jira.jira.dto.response.ApiResponse;
+import com.jira.jira.dto.response.NotificationResponse;
+import com.jira.jira.service.AuthService;
+import com.jira.jira.service.NotificationService;
+import com.jira.jira.util.ResponseHelper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/notifications")
+@RequiredArgsConstructor
+public class NotificationController {
+
+    private final NotificationService notificationService;
+    private final AuthService authService;
+
+    /**
+     * Get current user's notifications, newest first
+     * GET /api/notifications?cursor={next_cursor}&limit=20
+     */
+    @GetMapping
+    public ResponseEntity<ApiResponse<CursorPageResponse<NotificationResponse>>> getNotifications(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestHeader("Authorization") String token) {
+
+        String userId = authService.getCurrentUser(token).getId();
+        return ResponseHelper.ok(notificationService.getNotifications(userId, cursor, limit));
+    }
+
+    /**
+     * Get unread notification count (one counter read)
+     * GET /api/notifications/unread-count
+     */
+    @GetMapping("/unread-count")
+    public ResponseEntity<ApiResponse<Map<String, Long>>> getUnreadCount(
+            @RequestHeader("Authorization") String token) {
+
+        String userId = authService.getCurrentUser(token).getId();
+        return ResponseHelper.ok(Map.of("unread_count", notificationService.getUnreadCount(userId)));
+    }
+
+    /**
+     * Mark a notification as seen
+     * PUT /api/notifications/{notificationId}/seen
+     */
+    @PutMapping("/{notificationId}/seen")
+    public ResponseEntity<ApiResponse<Void>> markSeen(
+            @PathVariable String notificationId,
+            @RequestHeader("Authorization") String token) {
+
+        String userId = authService.getCurrentUser(token).getId();
+        notificationService.markSeen(notificationId, userId);
+        return ResponseHelper.ok("Notification marked as seen");
+    }
+
+    /**
+     * Mark all notifications as seen
+     * PUT /api/notifications/seen
+     */
+    @PutMapping("/seen")
+    public ResponseEntity<ApiResponse<Map<String, Long>>> markAllSeen(
+            @RequestHeader("Authorization") String token) {
+
+        String userId = authService.getCurrentUser(token).getId();
+        long updated = notificationService.markAllSeen(userId);
+        return ResponseHelper.ok(Map.of("updated", updated), "Notifications marked as seen");
+    }
+}
@@ -1,4 +1,5 @@
 package com.jira.jira.controller;
+import com.jira.jira.dto.common.CursorPageResponse;
 import com.jira.jira.dto.common.PaginationRequest;
 import com.jira.jira.dto.common.PaginationResponse;
 import com.jira.jira.dto.common.SearchFilterRequest;
@@ -6,6 +7,7 @@ import com.jira.jira.dto.request.AddProjectMemberRequest;
 import com.jira.jira.dto.request.CreateProjectRequest;
 import com.jira.jira.dto.request.UpdateProjectRequest;
 import com.jira.jira.dto.response.ApiResponse;
+import com.jira.jira.dto.response.ProjectMemberResponse;
 import com.jira.jira.dto.response.ProjectResponse;
 import com.jira.jira.dto.response.ProjectStatsResponse;
 import com.jira.jira.service.AuthService;
@@ -137,6 +139,22 @@ public class ProjectController {
         return ResponseHelper.ok(null, "Project deleted successfully");
     }
 
+    /**
+     * Get project members (keyset paginated)
+     * GET /api/workspaces/{workspaceId}/projects/{projectId}/members?cursor={next_cursor}&limit=50
+     */
+    @GetMapping("/{projectId}/members")
+    public ResponseEntity<ApiResponse<CursorPageResponse<ProjectMemberResponse>>> getMembers(
+            @PathVariable String workspaceId,
+            @PathVariable String projectId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestHeader("Authorization") String token) {
+
+        String userId = authService.validateToken(token).getUser().getId();
+        return ResponseHelper.ok(projectService.getMembers(projectId, userId, cursor, limit), "Members retrieved successfully");
+    }
+
     /**
      * Add member to project
      */
@@ -7,16 +7,23 @@ import com.jira.jira.dto.request.CreateTaskRequest;
 import com.jira.jira.dto.request.MoveTaskRequest;
 import com.jira.jira.dto.request.UpdateTaskRequest;
 import com.jira.jira.dto.response.ApiResponse;
+import com.jira.jira.dto.response.TaskImportResponse;
 import com.jira.jira.dto.response.TaskResponse;
 import com.jira.jira.model.TaskStatus;
 import com.jira.jira.service.AuthService;
+import com.jira.jira.service.ReactiveTaskService;
+import com.jira.jira.service.TaskImportService;
 import com.jira.jira.service.TaskService;
 import com.jira.jira.util.ResponseHelper;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 
+import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
@@ -28,6 +35,8 @@ import java.util.Map;
 public class TaskController {
 
     private final TaskService taskService;
+    private final TaskImportService taskImportService;
+    private final ReactiveTaskService reactiveTaskService;
     private final AuthService authService;
 
     // ========== CRUD OPERATIONS ==========
@@ -137,6 +146,25 @@ public class TaskController {
         return ResponseHelper.ok(null, "Task deleted successfully");
     }
 
+    // ========== BULK IMPORT ==========
+
+    /**
+     * Bulk import tasks from an NDJSON or CSV stream
+     * POST /api/workspaces/{workspaceId}/tasks/import
+     */
+    @PostMapping(value = "/import", consumes = {"application/x-ndjson", "text/csv"})
+    public ResponseEntity<ApiResponse<TaskImportResponse>> importTasks(
+            @PathVariable String workspaceId,
+            @RequestHeader("Content-Type") String contentType,
+            @RequestHeader("Authorization") String token,
+            HttpServletRequest httpRequest) throws IOException {
+
+        String userId = authService.validateToken(token).getUser().getId();
+        TaskImportService.Format format = TaskImportService.Format.fromContentType(contentType);
+        TaskImportResponse response = taskImportService.importTasks(httpRequest.getInputStream(), format, workspaceId, userId);
+        return ResponseHelper.ok(response, "Tasks imported successfully");
+    }
+
     // ========== MOVE TASK API (DRAG & DROP) ==========
 
     /**
@@ -236,6 +264,66 @@ public class TaskController {
         return ResponseHelper.ok(tasks, "Assigned tasks retrieved successfully");
     }
 
+    // ========== STREAMING ENDPOINTS (NON-BLOCKING) ==========
+
+    /**
+     * Stream tasks for Kanban view as NDJSON
+     * GET /api/workspaces/{workspaceId}/tasks/kanban/stream
+     */
+    @GetMapping(value = "/kanban/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<TaskResponse> streamTasksForKanban(
+            @PathVariable String workspaceId,
+            @RequestHeader("Authorization") String token) {
+
+        String userId = authService.validateToken(token).getUser().getId();
+        return reactiveTaskService.streamTasksForKanbanView(workspaceId, userId);
+    }
+
+    /**
+     * Stream tasks by status as NDJSON
+     * GET /api/workspaces/{workspaceId}/tasks/status/{status}/stream
+     */
+    @GetMapping(value = "/status/{status}/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<TaskResponse> streamTasksByStatus(
+            @PathVariable String workspaceId,
+            @PathVariable String status,
+            @RequestHeader("Authorization") String token) {
+
+        String userId = authService.validateToken(token).getUser().getId();
+        TaskStatus taskStatus = TaskStatus.fromValue(status);
+        return reactiveTaskService.streamTasksByStatus(workspaceId, taskStatus, userId);
+    }
+
+    /**
+     * Stream tasks for Calendar view as NDJSON
+     * GET /api/workspaces/{workspaceId}/tasks/calendar/stream?startDate=...&endDate=...
+     */
+    @GetMapping(value = "/calendar/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<TaskResponse> streamTasksForCalendar(
+            @PathVariable String workspaceId,
+            @RequestParam String startDate,
+            @RequestParam String endDate,
+            @RequestHeader("Authorization") String token) {
+
+        String userId = authService.validateToken(token).getUser().getId();
+        LocalDateTime start = LocalDateTime.parse(startDate);
+        LocalDateTime end = LocalDateTime.parse(endDate);
+        return reactiveTaskService.streamTasksForCalendarView(workspaceId, start, end, userId);
+    }
+
+    /**
+     * Stream overdue tasks as NDJSON
+     * GET /api/workspaces/{workspaceId}/tasks/overdue/stream
+     */
+    @GetMapping(value = "/overdue/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<TaskResponse> streamOverdueTasks(
+            @PathVariable String workspaceId,
+            @RequestHeader("Authorization") String token) {
+
+        String userId = authService.validateToken(token).getUser().getId();
+        return reactiveTaskService.streamOverdueTasks(workspaceId, userId);
+    }
+
     // ========== UTILITY ENDPOINTS ==========
 
     /**
@@ -290,6 +378,7 @@ class ProjectTaskController {
 class GlobalTaskController {
 
     private final TaskService taskService;
+    private final ReactiveTaskService reactiveTaskService;
     private final AuthService authService;
 
     /**
@@ -304,4 +393,16 @@ class GlobalTaskController {
         List<TaskResponse> tasks = taskService.getAssignedTasks(userId);
         return ResponseHelper.ok(tasks, "All assigned tasks retrieved successfully");
     }
+
+    /**
+     * Stream all tasks assigned to current user as NDJSON
+     * GET /api/tasks/assigned/stream
+     */
+    @GetMapping(value = "/assigned/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<TaskResponse> streamAllAssignedTasks(
+            @RequestHeader("Authorization") String token) {
+
+        String userId = authService.validateToken(token).getUser().getId();
+        return reactiveTaskService.streamAssignedTasks(userId);
+    }
 }
\ No newline at end of file
@@ -1,9 +1,11 @@
 package com.jira.jira.controller;
 
+import com.jira.jira.dto.common.CursorPageResponse;
 import com.jira.jira.dto.request.AddMemberRequest;
 import com.jira.jira.dto.request.CreateWorkspaceRequest;
 import com.jira.jira.dto.request.UpdateWorkspaceRequest;
 import com.jira.jira.dto.response.ApiResponse;
+import com.jira.jira.dto.response.WorkspaceMemberResponse;
 import com.jira.jira.dto.response.WorkspaceResponse;
 import com.jira.jira.service.AuthService;
 import com.jira.jira.service.WorkspaceService;
@@ -94,6 +96,21 @@ public class WorkspaceController {
         return ResponseHelper.ok(null, "Workspace deleted successfully");
     }
 
+    /**
+     * Get workspace members (keyset paginated)
+     * GET /api/workspaces/{id}/members?cursor={next_cursor}&limit=50
+     */
+    @GetMapping("/{id}/members")
+    public ResponseEntity<ApiResponse<CursorPageResponse<WorkspaceMemberResponse>>> getMembers(
+            @PathVariable String id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestHeader("Authorization") String token) {
+
+        String userId = authService.getCurrentUser(token).getId();
+        return ResponseHelper.ok(workspaceService.getMembers(id, userId, cursor, limit), "Members retrieved successfully");
+    }
+
     @PostMapping("/{id}/members")
     public ResponseEntity<ApiResponse<WorkspaceResponse>> addMember(
             @PathVariable String id,
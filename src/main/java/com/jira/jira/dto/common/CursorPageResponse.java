@@ -0,0 +1,31 @@
+package com.jira.jira.dto.common;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Keyset page: pass next_cursor back as the cursor parameter to read the following page
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CursorPageResponse<T> {
+
+    @JsonProperty("content")
+    private List<T> content;
+
+    @JsonProperty("size")
+    private Integer size;
+
+    @JsonProperty("next_cursor")
+    private String nextCursor;
+
+    @JsonProperty("has_more")
+    private Boolean hasMore;
+}
@@ -0,0 +1,57 @@
+package com.jira.jira.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.jira.jira.dto.websocket.TaskUpdateEvent;
+import com.jira.jira.model.TaskStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ActivityLogResponse {
+
+    @JsonProperty("seq")
+    private Long seq;
+
+    @JsonProperty("event_type")
+    private TaskUpdateEvent.EventType eventType;
+
+    @JsonProperty("project_id")
+    private String projectId;
+
+    @JsonProperty("task_id")
+    private String taskId;
+
+    @JsonProperty("task_name")
+    private String taskName;
+
+    @JsonProperty("old_status")
+    private TaskStatus oldStatus;
+
+    @JsonProperty("new_status")
+    private TaskStatus newStatus;
+
+    @JsonProperty("assignee_id")
+    private String assigneeId;
+
+    @JsonProperty("actor_id")
+    private String actorId;
+
+    @JsonProperty("actor_name")
+    private String actorName;
+
+    @JsonProperty("task_count")
+    private Integer taskCount;
+
+    @JsonProperty("message")
+    private String message;
+
+    @JsonProperty("timestamp")
+    private LocalDateTime timestamp;
+}
@@ -0,0 +1,44 @@
+package com.jira.jira.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.jira.jira.model.NotificationType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NotificationResponse {
+
+    @JsonProperty("id")
+    private String id;
+
+    @JsonProperty("type")
+    private NotificationType type;
+
+    @JsonProperty("name")
+    private String name;
+
+    @JsonProperty("url")
+    private String url;
+
+    @JsonProperty("sender_id")
+    private String senderId;
+
+    @JsonProperty("task_id")
+    private String taskId;
+
+    @JsonProperty("workspace_id")
+    private String workspaceId;
+
+    @JsonProperty("is_seen")
+    private Boolean isSeen;
+
+    @JsonProperty("created_at")
+    private LocalDateTime createdAt;
+}
@@ -23,6 +23,9 @@ public class ProjectMemberResponse {
     @JsonProperty("display_name")
     private String displayName;
 
+    @JsonProperty("photo_url")
+    private String photoUrl;
+
     @JsonProperty("role")
     private String role;
 
@@ -62,6 +62,7 @@ public class ProjectResponse {
     @JsonProperty("updated_at")
     private LocalDateTime updatedAt;
 
+    // First member.preview.size members in join order; the full list is paged from /members
     @JsonProperty("members")
     private List<ProjectMemberResponse> members;
 
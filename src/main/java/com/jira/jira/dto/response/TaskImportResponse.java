@@ -0,0 +1,49 @@
+package com.jira.jira.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskImportResponse {
+
+    @JsonProperty("import_id")
+    private String importId;
+
+    @JsonProperty("processed")
+    private Integer processed;
+
+    @JsonProperty("imported")
+    private Integer imported;
+
+    @JsonProperty("failed")
+    private Integer failed;
+
+    @JsonProperty("batches")
+    private Integer batches;
+
+    @JsonProperty("duration_ms")
+    private Long durationMs;
+
+    @JsonProperty("errors")
+    private List<RowError> errors;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class RowError {
+        @JsonProperty("line")
+        private Long line;
+
+        @JsonProperty("message")
+        private String message;
+    }
+}
@@ -21,6 +21,9 @@ public class WorkspaceMemberResponse {
     @JsonProperty("name")
     String name;
 
+    @JsonProperty("photo_url")
+    String photoUrl;
+
     @JsonProperty("role")
     String role;
 
@@ -57,6 +57,7 @@ public class WorkspaceResponse {
     @JsonProperty("updated_at")
     private LocalDateTime updatedAt;
 
+    // First member.preview.size members in join order; the full list is paged from /members
     @JsonProperty("members")
     private List<WorkspaceMemberResponse> members;
 
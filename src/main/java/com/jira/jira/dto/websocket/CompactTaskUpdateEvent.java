@@ -0,0 +1,53 @@
+package com.jira.jira.dto.websocket;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.jira.jira.model.TaskStatus;
+
+import java.time.ZoneId;
+
+/**
+ * Short-key form of TaskUpdateEvent for sessions that negotiated compact encoding.
+ * Drops the human-readable message (clients render their own) and sends the timestamp as epoch millis.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record CompactTaskUpdateEvent(
+        @JsonProperty("id") String eventId,
+        @JsonProperty("e") TaskUpdateEvent.EventType eventType,
+        @JsonProperty("w") String workspaceId,
+        @JsonProperty("p") String projectId,
+        @JsonProperty("i") String taskId,
+        @JsonProperty("n") String taskName,
+        @JsonProperty("s0") TaskStatus oldStatus,
+        @JsonProperty("s1") TaskStatus newStatus,
+        @JsonProperty("o0") Double oldPosition,
+        @JsonProperty("o1") Double newPosition,
+        @JsonProperty("a") String assigneeId,
+        @JsonProperty("an") String assigneeName,
+        @JsonProperty("u") String updatedBy,
+        @JsonProperty("un") String updatedByName,
+        @JsonProperty("c") Integer taskCount,
+        @JsonProperty("t") Long timestamp) {
+
+    public static CompactTaskUpdateEvent from(TaskUpdateEvent event) {
+        return new CompactTaskUpdateEvent(
+                event.getEventId(),
+                event.getEventType(),
+                event.getWorkspaceId(),
+                event.getProjectId(),
+                event.getTaskId(),
+                event.getTaskName(),
+                event.getOldStatus(),
+                event.getNewStatus(),
+                event.getOldPosition(),
+                event.getNewPosition(),
+                event.getAssigneeId(),
+                event.getAssigneeName(),
+                event.getUpdatedBy(),
+                event.getUpdatedByName(),
+                event.getTaskCount(),
+                event.getTimestamp() != null
+                        ? event.getTimestamp().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                        : null);
+    }
+}
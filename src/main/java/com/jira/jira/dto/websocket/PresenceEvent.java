@@ -0,0 +1,35 @@
+package com.jira.jira.dto.websocket;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Presence for a workspace. Sent as a batched diff (joined/left since the last flush)
+ * on /topic/workspace/{id}/presence, or as a full snapshot (online only) on subscribe.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PresenceEvent {
+
+    @JsonProperty("workspace_id")
+    private String workspaceId;
+
+    @JsonProperty("snapshot")
+    private Boolean snapshot;
+
+    @JsonProperty("online")
+    private List<String> online;
+
+    @JsonProperty("offline")
+    private List<String> offline;
+
+    @JsonProperty("timestamp")
+    private Long timestamp;
+}
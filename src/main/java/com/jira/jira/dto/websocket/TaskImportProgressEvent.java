@@ -0,0 +1,37 @@
+package com.jira.jira.dto.websocket;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskImportProgressEvent {
+
+    @JsonProperty("import_id")
+    private String importId;
+
+    @JsonProperty("workspace_id")
+    private String workspaceId;
+
+    @JsonProperty("processed")
+    private Integer processed;
+
+    @JsonProperty("imported")
+    private Integer imported;
+
+    @JsonProperty("failed")
+    private Integer failed;
+
+    @JsonProperty("done")
+    private Boolean done;
+
+    @JsonProperty("timestamp")
+    private LocalDateTime timestamp;
+}
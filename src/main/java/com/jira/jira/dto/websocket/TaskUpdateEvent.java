@@ -15,6 +15,10 @@ import java.time.LocalDateTime;
 @Builder
 public class TaskUpdateEvent {
 
+    // Set when the event goes through the outbox; clients drop redeliveries with an id they have seen
+    @JsonProperty("event_id")
+    private String eventId;
+
     @JsonProperty("event_type")
     private EventType eventType;
 
@@ -54,6 +58,9 @@ public class TaskUpdateEvent {
     @JsonProperty("updated_by_name")
     private String updatedByName;
 
+    @JsonProperty("task_count")
+    private Integer taskCount;
+
     @JsonProperty("timestamp")
     private LocalDateTime timestamp;
 
@@ -66,7 +73,10 @@ public class TaskUpdateEvent {
         TASK_MOVED,
         TASK_ASSIGNED,
         TASK_DELETED,
-        TASK_STATUS_CHANGED
+        TASK_STATUS_CHANGED,
+        TASKS_IMPORTED,
+        TASK_OVERDUE,
+        TASK_MENTIONED
     }
 
     // Helper methods to create common events
@@ -138,5 +148,46 @@ public class TaskUpdateEvent {
                 .message(updatedByName + " updated task: " + taskName)
                 .build();
     }
-}
 
+    public static TaskUpdateEvent tasksImported(String workspaceId, int taskCount,
+                                                String importedBy, String importedByName) {
+        return TaskUpdateEvent.builder()
+                .eventType(EventType.TASKS_IMPORTED)
+                .workspaceId(workspaceId)
+                .taskCount(taskCount)
+                .updatedBy(importedBy)
+                .updatedByName(importedByName)
+                .timestamp(LocalDateTime.now())
+                .message(importedByName + " imported " + taskCount + " tasks")
+                .build();
+    }
+
+    public static TaskUpdateEvent taskOverdue(String workspaceId, String projectId, String taskId,
+                                              String taskName, String assigneeId, LocalDateTime dueAt) {
+        return TaskUpdateEvent.builder()
+                .eventType(EventType.TASK_OVERDUE)
+                .workspaceId(workspaceId)
+                .projectId(projectId)
+                .taskId(taskId)
+                .taskName(taskName)
+                .assigneeId(assigneeId)
+                .timestamp(LocalDateTime.now())
+                .message(taskName + " is overdue (due " + dueAt + ")")
+                .build();
+    }
+
+    public static TaskUpdateEvent taskMentioned(String workspaceId, String projectId, String taskId,
+                                                String taskName, String mentionedBy, String mentionedByName) {
+        return TaskUpdateEvent.builder()
+                .eventType(EventType.TASK_MENTIONED)
+                .workspaceId(workspaceId)
+                .projectId(projectId)
+                .taskId(taskId)
+                .taskName(taskName)
+                .updatedBy(mentionedBy)
+                .updatedByName(mentionedByName)
+                .timestamp(LocalDateTime.now())
+                .message(mentionedByName + " mentioned you in " + taskName)
+                .build();
+    }
+}
@@ -40,6 +40,8 @@ public class BusinessException extends RuntimeException{
             case VALIDATION_ERROR, INVALID_TASK_STATUS -> 422;
             case USER_ALREADY_EXISTS, WORKSPACE_ALREADY_EXISTS, PROJECT_ALREADY_EXISTS -> 409;
             case INTERNAL_SERVER_ERROR, DATABASE_ERROR -> 500;
+            case RATE_LIMITED -> 429;
+            case SERVICE_BUSY -> 503;
             default -> 400;
         };
     }
@@ -9,6 +9,8 @@ public enum ErrorCode {
     INTERNAL_SERVER_ERROR("INTERNAL_SERVER_ERROR", "Internal server error occurred"),
     INVALID_REQUEST("INVALID_REQUEST", "Invalid request parameters"),
     VALIDATION_ERROR("VALIDATION_ERROR", "Validation failed"),
+    SERVICE_BUSY("SERVICE_BUSY", "Server is busy, please retry shortly"),
+    RATE_LIMITED("RATE_LIMITED", "Too many requests, please retry later"),
 
     // Authentication errors
     UNAUTHORIZED("UNAUTHORIZED", "Authentication required"),
@@ -0,0 +1,25 @@
+package com.jira.jira.mapper;
+
+import com.jira.jira.dto.response.ActivityLogResponse;
+import com.jira.jira.dto.websocket.TaskUpdateEvent;
+import com.jira.jira.model.ActivityLog;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+import java.util.List;
+
+@Mapper(componentModel = "spring")
+public interface ActivityLogMapper {
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "seq", ignore = true) // Assigned by the appender
+    @Mapping(target = "actorId", source = "updatedBy")
+    @Mapping(target = "actorName", source = "updatedByName")
+    @Mapping(target = "createdAt", source = "timestamp")
+    ActivityLog toActivityLog(TaskUpdateEvent event);
+
+    @Mapping(target = "timestamp", source = "createdAt")
+    ActivityLogResponse toActivityLogResponse(ActivityLog activityLog);
+
+    List<ActivityLogResponse> toActivityLogResponseList(List<ActivityLog> activityLogs);
+}
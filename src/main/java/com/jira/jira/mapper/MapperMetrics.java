@@ -0,0 +1,47 @@
+package com.jira.jira.mapper;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * Meters for repository lookups made while enriching responses.
+ * A rising jira.mapper.lookups.per.response for an operation is the signature of an N+1 regression.
+ */
+@Component
+@RequiredArgsConstructor
+public class MapperMetrics {
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Time a single enrichment lookup
+     */
+    public <T> T lookup(String operation, String collection, Supplier<T> lookup) {
+        return Timer.builder("jira.mapper.lookup")
+                .description("Repository lookups made while mapping responses")
+                .tag("operation", operation)
+                .tag("collection", collection)
+                .register(meterRegistry)
+                .record(lookup);
+    }
+
+    /**
+     * Record how many lookups were needed for the responses produced by one mapping call
+     */
+    public void recordLookups(String operation, int lookups, int responses) {
+        if (responses == 0) {
+            return;
+        }
+
+        DistributionSummary.builder("jira.mapper.lookups.per.response")
+                .description("Repository lookups per mapped response")
+                .tag("operation", operation)
+                .register(meterRegistry)
+                .record((double) lookups / responses);
+    }
+}
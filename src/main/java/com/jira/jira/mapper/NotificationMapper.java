@@ -0,0 +1,15 @@
+package com.jira.jira.mapper;
+
+import com.jira.jira.dto.response.NotificationResponse;
+import com.jira.jira.model.Notification;
+import org.mapstruct.Mapper;
+
+import java.util.List;
+
+@Mapper(componentModel = "spring")
+public interface NotificationMapper {
+
+    NotificationResponse toNotificationResponse(Notification notification);
+
+    List<NotificationResponse> toNotificationResponseList(List<Notification> notifications);
+}
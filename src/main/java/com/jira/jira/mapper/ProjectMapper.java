@@ -2,16 +2,22 @@ package com.jira.jira.mapper;
 import com.jira.jira.dto.response.ProjectMemberResponse;
 import com.jira.jira.dto.response.ProjectPermissions;
 import com.jira.jira.dto.response.ProjectResponse;
+import com.jira.jira.model.MemberPreview;
+import com.jira.jira.model.Membership;
 import com.jira.jira.model.Project;
 import com.jira.jira.model.User;
 import com.jira.jira.repository.UserRepository;
+import com.jira.jira.service.MembershipService;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.Named;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Mapper(componentModel = "spring")
@@ -20,28 +26,81 @@ public abstract class ProjectMapper {
     @Autowired
     protected UserRepository userRepository;
 
-    @Mapping(target = "memberCount", expression = "java(project.getMemberIds().size())")
+    @Autowired
+    protected MembershipService membershipService;
+
+    @Autowired
+    protected MapperMetrics mapperMetrics;
+
+    @Value("${member.preview.size:5}")
+    protected int memberPreviewSize;
+
+    public ProjectResponse toProjectResponse(Project project) {
+        return toProjectResponses(List.of(project)).get(0);
+    }
+
+    /**
+     * Map a page of projects; member counts and previews for the whole page take one membership
+     * aggregation and one batched user lookup
+     */
+    public List<ProjectResponse> toProjectResponses(List<Project> projects) {
+        if (projects.isEmpty()) {
+            return List.of();
+        }
+
+        List<String> projectIds = projects.stream().map(Project::getId).toList();
+        Map<String, MemberPreview> previews = mapperMetrics.lookup("project_members", "memberships",
+                () -> membershipService.getMemberPreviews(Membership.Scope.PROJECT, projectIds, memberPreviewSize));
+        List<Membership> shown = previews.values().stream().flatMap(preview -> preview.members().stream()).toList();
+        Map<String, User> users = findUsers(shown);
+        mapperMetrics.recordLookups("project_members", shown.isEmpty() ? 1 : 2, projects.size());
+
+        return projects.stream()
+                .map(project -> {
+                    MemberPreview preview = previews.get(project.getId());
+                    ProjectResponse response = toBaseResponse(project);
+                    response.setMemberCount(preview != null ? (int) preview.count() : 0);
+                    response.setMembers(preview != null ? toMemberResponses(preview.members(), users) : List.of());
+                    return response;
+                })
+                .collect(Collectors.toList());
+    }
+
+    @Mapping(target = "memberCount", ignore = true) // Set from the page's member previews
     @Mapping(target = "taskCount", expression = "java(0)") // TODO: Implement when Task entity is ready
     @Mapping(target = "completedTaskCount", expression = "java(0)") // TODO: Implement when Task entity is ready
     @Mapping(target = "progressPercentage", expression = "java(0.0)") // TODO: Calculate based on completed tasks
     @Mapping(target = "userRole", expression = "java(\"MEMBER\")") // TODO: Calculate based on current user
-    @Mapping(target = "members", source = "project", qualifiedByName = "mapMembers")
+    @Mapping(target = "members", ignore = true)
     @Mapping(target = "permissions", source = "project", qualifiedByName = "mapPermissions")
-    public abstract ProjectResponse toProjectResponse(Project project);
+    protected abstract ProjectResponse toBaseResponse(Project project);
+
+    /**
+     * Resolve a page of memberships with one batched user lookup
+     */
+    public List<ProjectMemberResponse> toMemberResponses(List<Membership> memberships) {
+        return toMemberResponses(memberships, findUsers(memberships));
+    }
+
+    private Map<String, User> findUsers(List<Membership> memberships) {
+        List<String> userIds = memberships.stream().map(Membership::getUserId).distinct().toList();
+        return userIds.isEmpty() ? Map.of() : mapperMetrics.lookup("project_members", "users",
+                () -> userRepository.findAllById(userIds)).stream().collect(Collectors.toMap(User::getId, Function.identity()));
+    }
 
-    @Named("mapMembers")
-    protected List<ProjectMemberResponse> mapMembers(Project project) {
-        return project.getMemberIds().stream()
-                .map(memberId -> {
-                    User user = userRepository.findById(memberId).orElse(null);
+    private List<ProjectMemberResponse> toMemberResponses(List<Membership> memberships, Map<String, User> users) {
+        return memberships.stream()
+                .map(membership -> {
+                    User user = users.get(membership.getUserId());
                     if (user == null) return null;
 
                     return ProjectMemberResponse.builder()
                             .userId(user.getId())
                             .email(user.getEmail())
                             .displayName(user.getName())
-                            .role(project.getOwnerId().equals(memberId) ? "OWNER" : "MEMBER")
-                            .joinedAt(project.getCreatedAt()) // TODO: Track actual join date
+                            .photoUrl(user.getPhotoUrl())
+                            .role(membership.getRole())
+                            .joinedAt(membership.getJoinedAt())
                             .isActive(user.getIsActive())
                             .build();
                 })
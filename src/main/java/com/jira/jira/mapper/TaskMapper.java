@@ -8,12 +8,16 @@ import com.jira.jira.model.Workspace;
 import com.jira.jira.repository.ProjectRepository;
 import com.jira.jira.repository.UserRepository;
 import com.jira.jira.repository.WorkspaceRepository;
+import com.jira.jira.util.FanOutScope;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
-import org.mapstruct.Named;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.repository.CrudRepository;
 
-import java.util.List;
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 @Mapper(componentModel = "spring")
 public abstract class TaskMapper {
@@ -27,39 +31,92 @@ public abstract class TaskMapper {
     @Autowired
     protected ProjectRepository projectRepository;
 
-    @Mapping(target = "assignee", source = "task", qualifiedByName = "mapAssignee")
-    @Mapping(target = "createdUser", source = "task", qualifiedByName = "mapCreatedUser")
-    @Mapping(target = "workspace", source = "task", qualifiedByName = "mapWorkspace")
-    @Mapping(target = "project", source = "task", qualifiedByName = "mapProject")
+    @Autowired
+    protected MapperMetrics mapperMetrics;
+
+    @Mapping(target = "assignee", ignore = true)
+    @Mapping(target = "createdUser", ignore = true)
+    @Mapping(target = "workspace", ignore = true)
+    @Mapping(target = "project", ignore = true)
     @Mapping(target = "isOverdue", expression = "java(task.isOverdue())")
-    public abstract TaskResponse toTaskResponse(Task task);
+    public abstract TaskResponse toBaseTaskResponse(Task task);
 
-    @Named("mapAssignee")
-    protected TaskResponse.UserInfo mapAssignee(Task task) {
-        if (task.getAssigneeId() == null) {
+    /**
+     * Map a single task, running the assignee, creator, workspace and project lookups concurrently
+     */
+    public TaskResponse toTaskResponse(Task task) {
+        if (task == null) {
             return null;
         }
 
-        User user = userRepository.findById(task.getAssigneeId()).orElse(null);
-        if (user == null) {
+        try (FanOutScope scope = FanOutScope.open()) {
+            Supplier<Optional<User>> assignee = scope.fork(() -> findById("task", "users", userRepository, task.getAssigneeId()));
+            Supplier<Optional<User>> createdUser = scope.fork(() -> findById("task", "users", userRepository, task.getCreatedBy()));
+            Supplier<Optional<Workspace>> workspace = scope.fork(() -> findById("task", "workspaces", workspaceRepository, task.getWorkspaceId()));
+            Supplier<Optional<Project>> project = scope.fork(() -> findById("task", "projects", projectRepository, task.getProjectId()));
+            scope.join();
+            mapperMetrics.recordLookups("task", countPresent(task.getAssigneeId(), task.getCreatedBy(), task.getWorkspaceId(), task.getProjectId()), 1);
+
+            TaskResponse response = toBaseTaskResponse(task);
+            response.setAssignee(toUserInfo(assignee.get().orElse(null)));
+            response.setCreatedUser(toUserInfo(createdUser.get().orElse(null)));
+            response.setWorkspace(toWorkspaceInfo(workspace.get().orElse(null)));
+            response.setProject(toProjectInfo(project.get().orElse(null)));
+            return response;
+        }
+    }
+
+    /**
+     * Map a list of tasks with one batched lookup per collection
+     */
+    public List<TaskResponse> toTaskResponseList(List<Task> tasks) {
+        if (tasks == null) {
             return null;
         }
+        if (tasks.isEmpty()) {
+            return new ArrayList<>();
+        }
 
-        return TaskResponse.UserInfo.builder()
-                .id(user.getId())
-                .email(user.getEmail())
-                .displayName(user.getName())
-                .photoUrl(user.getPhotoUrl())
-                .build();
+        Set<String> userIds = new HashSet<>();
+        Set<String> workspaceIds = new HashSet<>();
+        Set<String> projectIds = new HashSet<>();
+        for (Task task : tasks) {
+            addIfPresent(userIds, task.getAssigneeId());
+            addIfPresent(userIds, task.getCreatedBy());
+            addIfPresent(workspaceIds, task.getWorkspaceId());
+            addIfPresent(projectIds, task.getProjectId());
+        }
+
+        try (FanOutScope scope = FanOutScope.open()) {
+            Supplier<Map<String, User>> users = scope.fork(() -> findAllById("task_list", "users", userRepository, userIds, User::getId));
+            Supplier<Map<String, Workspace>> workspaces = scope.fork(() -> findAllById("task_list", "workspaces", workspaceRepository, workspaceIds, Workspace::getId));
+            Supplier<Map<String, Project>> projects = scope.fork(() -> findAllById("task_list", "projects", projectRepository, projectIds, Project::getId));
+            scope.join();
+            mapperMetrics.recordLookups("task_list", countNonEmpty(userIds, workspaceIds, projectIds), tasks.size());
+
+            return tasks.stream()
+                    .map(task -> toTaskResponse(task, users.get(), workspaces.get(), projects.get()))
+                    .collect(Collectors.toList());
+        }
     }
 
-    @Named("mapCreatedUser")
-    protected TaskResponse.UserInfo mapCreatedUser(Task task) {
-        if (task.getCreatedBy() == null) {
+    /**
+     * Map task using preloaded lookups (for batched enrichment)
+     */
+    public TaskResponse toTaskResponse(Task task, Map<String, User> users, Map<String, Workspace> workspaces, Map<String, Project> projects) {
+        TaskResponse response = toBaseTaskResponse(task);
+        if (response == null) {
             return null;
         }
 
-        User user = userRepository.findById(task.getCreatedBy()).orElse(null);
+        response.setAssignee(toUserInfo(task.getAssigneeId() != null ? users.get(task.getAssigneeId()) : null));
+        response.setCreatedUser(toUserInfo(task.getCreatedBy() != null ? users.get(task.getCreatedBy()) : null));
+        response.setWorkspace(toWorkspaceInfo(task.getWorkspaceId() != null ? workspaces.get(task.getWorkspaceId()) : null));
+        response.setProject(toProjectInfo(task.getProjectId() != null ? projects.get(task.getProjectId()) : null));
+        return response;
+    }
+
+    private TaskResponse.UserInfo toUserInfo(User user) {
         if (user == null) {
             return null;
         }
@@ -72,13 +129,7 @@ public abstract class TaskMapper {
                 .build();
     }
 
-    @Named("mapWorkspace")
-    protected TaskResponse.WorkspaceInfo mapWorkspace(Task task) {
-        if (task.getWorkspaceId() == null) {
-            return null;
-        }
-
-        Workspace workspace = workspaceRepository.findById(task.getWorkspaceId()).orElse(null);
+    private TaskResponse.WorkspaceInfo toWorkspaceInfo(Workspace workspace) {
         if (workspace == null) {
             return null;
         }
@@ -89,13 +140,7 @@ public abstract class TaskMapper {
                 .build();
     }
 
-    @Named("mapProject")
-    protected TaskResponse.ProjectInfo mapProject(Task task) {
-        if (task.getProjectId() == null) {
-            return null;
-        }
-
-        Project project = projectRepository.findById(task.getProjectId()).orElse(null);
+    private TaskResponse.ProjectInfo toProjectInfo(Project project) {
         if (project == null) {
             return null;
         }
@@ -107,5 +152,34 @@ public abstract class TaskMapper {
                 .build();
     }
 
-    public abstract List<TaskResponse> toTaskResponseList(List<Task> tasks);
-}
\ No newline at end of file
+    private <T> Optional<T> findById(String operation, String collection, CrudRepository<T, String> repository, String id) {
+        return id != null ? mapperMetrics.lookup(operation, collection, () -> repository.findById(id)) : Optional.empty();
+    }
+
+    private <T> Map<String, T> findAllById(String operation, String collection, CrudRepository<T, String> repository,
+                                           Set<String> ids, Function<T, String> idExtractor) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<String, T> result = new HashMap<>();
+        mapperMetrics.lookup(operation, collection, () -> repository.findAllById(ids))
+                .forEach(entity -> result.put(idExtractor.apply(entity), entity));
+        return result;
+    }
+
+    private static int countPresent(String... ids) {
+        return (int) Arrays.stream(ids).filter(Objects::nonNull).count();
+    }
+
+    @SafeVarargs
+    private static int countNonEmpty(Set<String>... idSets) {
+        return (int) Arrays.stream(idSets).filter(ids -> !ids.isEmpty()).count();
+    }
+
+    private static void addIfPresent(Set<String> ids, String id) {
+        if (id != null) {
+            ids.add(id);
+        }
+    }
+}
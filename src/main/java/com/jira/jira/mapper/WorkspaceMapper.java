@@ -3,16 +3,22 @@ package com.jira.jira.mapper;
 import com.jira.jira.dto.response.WorkspaceMemberResponse;
 import com.jira.jira.dto.response.WorkspacePermissions;
 import com.jira.jira.dto.response.WorkspaceResponse;
+import com.jira.jira.model.MemberPreview;
 import com.jira.jira.model.User;
+import com.jira.jira.model.Membership;
 import com.jira.jira.model.Workspace;
 import com.jira.jira.repository.UserRepository;
+import com.jira.jira.service.MembershipService;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.Named;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Mapper(componentModel = "spring")
@@ -21,28 +27,82 @@ public abstract class WorkspaceMapper {
     @Autowired
     protected UserRepository userRepository;
 
-    @Mapping(target = "memberCount", expression = "java(workspace.getMemberIds().size())")
+    @Autowired
+    protected MembershipService membershipService;
+
+    @Autowired
+    protected MapperMetrics mapperMetrics;
+
+    @Value("${member.preview.size:5}")
+    protected int memberPreviewSize;
+
+    public WorkspaceResponse toWorkspaceResponse(Workspace workspace) {
+        return toWorkspaceResponses(List.of(workspace)).get(0);
+    }
+
+    /**
+     * Map a page of workspaces; member counts and previews for the whole page take one membership
+     * aggregation and one batched user lookup
+     */
+    public List<WorkspaceResponse> toWorkspaceResponses(List<Workspace> workspaces) {
+        if (workspaces.isEmpty()) {
+            return List.of();
+        }
+
+        List<String> workspaceIds = workspaces.stream().map(Workspace::getId).toList();
+        Map<String, MemberPreview> previews = mapperMetrics.lookup("workspace_members", "memberships",
+                () -> membershipService.getMemberPreviews(Membership.Scope.WORKSPACE, workspaceIds, memberPreviewSize));
+        List<Membership> shown = previews.values().stream().flatMap(preview -> preview.members().stream()).toList();
+        Map<String, User> users = findUsers(shown);
+        mapperMetrics.recordLookups("workspace_members", shown.isEmpty() ? 1 : 2, workspaces.size());
+
+        return workspaces.stream()
+                .map(workspace -> {
+                    MemberPreview preview = previews.get(workspace.getId());
+                    WorkspaceResponse response = toBaseResponse(workspace);
+                    response.setMemberCount(preview != null ? (int) preview.count() : 0);
+                    response.setActiveMemberCount(response.getMemberCount()); // TODO: Count active members
+                    response.setMembers(preview != null ? toMemberResponses(preview.members(), users) : List.of());
+                    return response;
+                })
+                .collect(Collectors.toList());
+    }
+
+    @Mapping(target = "memberCount", ignore = true) // Set from the page's member previews
     @Mapping(target = "projectCount", expression = "java(0)") // TODO: Implement when Project entity is ready
     @Mapping(target = "taskCount", expression = "java(0)") // TODO: Implement when Task entity is ready
-    @Mapping(target = "activeMemberCount", expression = "java(workspace.getMemberIds().size())") // TODO: Count active members
+    @Mapping(target = "activeMemberCount", ignore = true)
     @Mapping(target = "userRole", expression = "java(\"MEMBER\")") // TODO: Calculate based on current user
-    @Mapping(target = "members", source = "workspace", qualifiedByName = "mapMembers")
+    @Mapping(target = "members", ignore = true)
     @Mapping(target = "permissions", source = "workspace", qualifiedByName = "mapPermissions")
-    public abstract WorkspaceResponse toWorkspaceResponse(Workspace workspace);
+    protected abstract WorkspaceResponse toBaseResponse(Workspace workspace);
+
+    /**
+     * Resolve a page of memberships with one batched user lookup
+     */
+    public List<WorkspaceMemberResponse> toMemberResponses(List<Membership> memberships) {
+        return toMemberResponses(memberships, findUsers(memberships));
+    }
+
+    private Map<String, User> findUsers(List<Membership> memberships) {
+        List<String> userIds = memberships.stream().map(Membership::getUserId).distinct().toList();
+        return userIds.isEmpty() ? Map.of() : mapperMetrics.lookup("workspace_members", "users",
+                () -> userRepository.findAllById(userIds)).stream().collect(Collectors.toMap(User::getId, Function.identity()));
+    }
 
-    @Named("mapMembers")
-    protected List<WorkspaceMemberResponse> mapMembers(Workspace workspace) {
-        return workspace.getMemberIds().stream()
-                .map(memberId -> {
-                    User user = userRepository.findById(memberId).orElse(null);
+    private List<WorkspaceMemberResponse> toMemberResponses(List<Membership> memberships, Map<String, User> users) {
+        return memberships.stream()
+                .map(membership -> {
+                    User user = users.get(membership.getUserId());
                     if (user == null) return null;
 
                     return WorkspaceMemberResponse.builder()
                             .userId(user.getId())
                             .email(user.getEmail())
                             .name(user.getName())
-                            .role(workspace.getOwnerId().equals(memberId) ? "OWNER" : "MEMBER")
-                            .joinedAt(workspace.getCreatedAt())
+                            .photoUrl(user.getPhotoUrl())
+                            .role(membership.getRole())
+                            .joinedAt(membership.getJoinedAt())
                             .isActive(user.getIsActive())
                             .build();
                 })
@@ -0,0 +1,60 @@
+package com.jira.jira.model;
+
+import com.jira.jira.dto.websocket.TaskUpdateEvent;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.time.LocalDateTime;
+
+/**
+ * Append-only workspace activity entry. seq is increasing per workspace,
+ * so the feed pages as a range read on (workspace_id, seq).
+ * event_id is the outbox event id; it is unique so a redelivered event is recorded once.
+ */
+@Data
+@Document(collection = "activity_log")
+@Builder
+@CompoundIndex(name = "workspace_seq_idx", def = "{'workspace_id': 1, 'seq': -1}", unique = true)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class ActivityLog {
+    @Id
+    String id;
+    // Absent for events that do not come through the outbox
+    @Indexed(name = "event_id_unique_idx", unique = true, sparse = true)
+    @Field("event_id")
+    String eventId;
+    @Field("workspace_id")
+    String workspaceId;
+    @Field("seq")
+    Long seq;
+    @Field("event_type")
+    TaskUpdateEvent.EventType eventType;
+    @Field("project_id")
+    String projectId;
+    @Field("task_id")
+    String taskId;
+    @Field("task_name")
+    String taskName;
+    @Field("old_status")
+    TaskStatus oldStatus;
+    @Field("new_status")
+    TaskStatus newStatus;
+    @Field("assignee_id")
+    String assigneeId;
+    @Field("actor_id")
+    String actorId;
+    @Field("actor_name")
+    String actorName;
+    @Field("task_count")
+    Integer taskCount;
+    String message;
+    @Field("created_at")
+    LocalDateTime createdAt;
+}
@@ -0,0 +1,30 @@
+package com.jira.jira.model;
+
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.time.LocalDateTime;
+
+/**
+ * Last processed change-stream position of a consumer on one node, stored as the resume token's JSON.
+ * Tokens of nodes that stop running expire after a week.
+ */
+@Data
+@Document(collection = "change_stream_tokens")
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class ChangeStreamToken {
+    @Id
+    String id;
+    @Field("token")
+    String token;
+    @Indexed(name = "updated_at_ttl_idx", expireAfter = "7d")
+    @Field("updated_at")
+    LocalDateTime updatedAt;
+}
@@ -0,0 +1,11 @@
+package com.jira.jira.model;
+
+import org.springframework.data.annotation.Id;
+
+import java.util.List;
+
+/**
+ * Member count and first members (by membership id) of one workspace or project, for list cards
+ */
+public record MemberPreview(@Id String scopeId, long count, List<Membership> members) {
+}
@@ -0,0 +1,47 @@
+package com.jira.jira.model;
+
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.time.LocalDateTime;
+
+/**
+ * A user's membership of a workspace or project. The owner has a membership with role OWNER,
+ * so every access check, member list and "my workspaces" query is a single index lookup.
+ * Memberships of a soft-deleted workspace or project are kept but suspended, so restoring the
+ * scope restores its members; suspended memberships grant no access.
+ */
+@Data
+@Document(collection = "memberships")
+@Builder
+@CompoundIndex(name = "scope_member_unique_idx", def = "{'scope': 1, 'scope_id': 1, 'user_id': 1}", unique = true)
+@CompoundIndex(name = "user_scope_idx", def = "{'user_id': 1, 'scope': 1}")
+@CompoundIndex(name = "scope_page_idx", def = "{'scope': 1, 'scope_id': 1, '_id': 1}")
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class Membership {
+    @Id
+    String id;
+    @Field("scope")
+    Scope scope;
+    @Field("scope_id")
+    String scopeId;
+    @Field("user_id")
+    String userId;
+    @Field("role")
+    String role;
+    @Field("joined_at")
+    LocalDateTime joinedAt;
+    @Field("suspended")
+    boolean suspended;
+
+    public enum Scope {
+        WORKSPACE,
+        PROJECT
+    }
+}
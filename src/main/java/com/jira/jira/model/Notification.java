@@ -5,28 +5,38 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.experimental.FieldDefaults;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.Field;
 
+import java.time.LocalDateTime;
+
 @Data
 @Document(collection = "notification")
 @Builder
+// Keyset pagination walks a receiver's notifications newest first by _id
+@CompoundIndex(name = "receiver_feed_idx", def = "{'receiver_id': 1, 'is_active': 1, '_id': -1}")
 @FieldDefaults(level = AccessLevel.PRIVATE)
 public class Notification {
     @Id
     String id;
+    NotificationType type;
     String name;
     String url;
     @Field("sender_id")
     String senderId;
     @Field("receiver_id")
     String receiverId;
+    @Field("task_id")
+    String taskId;
+    @Field("workspace_id")
+    String workspaceId;
     @Field("is_seen")
     Boolean isSeen;
     @Field("created_at")
-    String createdAt;
+    LocalDateTime createdAt;
     @Field("updated_at")
-    String updatedAt;
+    LocalDateTime updatedAt;
     @Field("is_active")
     Boolean isActive;
 }
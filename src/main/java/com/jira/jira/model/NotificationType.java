@@ -0,0 +1,7 @@
+package com.jira.jira.model;
+
+public enum NotificationType {
+    ASSIGNMENT,
+    MENTION,
+    DUE_DATE
+}
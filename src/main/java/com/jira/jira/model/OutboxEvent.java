@@ -0,0 +1,60 @@
+package com.jira.jira.model;
+
+import com.jira.jira.dto.websocket.TaskUpdateEvent;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Task event waiting to be relayed to WebSocket subscribers. Written next to the task change
+ * and published by OutboxService; published entries are removed by the TTL index on published_at.
+ * Entries that used up their attempts stay unpublished with last_error set (dead letters).
+ */
+@Data
+@Document(collection = "outbox")
+@Builder
+@CompoundIndex(name = "pending_idx", def = "{'published': 1, '_id': 1}", partialFilter = "{'published': false}")
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class OutboxEvent {
+    @Id
+    String id;
+    // Deduplication id, also carried in the published payload
+    @Indexed(name = "event_id_unique_idx", unique = true)
+    @Field("event_id")
+    String eventId;
+    @Field("routes")
+    List<Route> routes;
+    @Field("payload")
+    TaskUpdateEvent payload;
+    @Field("published")
+    boolean published;
+    @Field("attempts")
+    int attempts;
+    @Field("last_error")
+    String lastError;
+    @Field("claimed_by")
+    String claimedBy;
+    @Field("claimed_until")
+    LocalDateTime claimedUntil;
+    @Field("created_at")
+    LocalDateTime createdAt;
+    @Indexed(name = "published_at_ttl_idx", expireAfter = "1h")
+    @Field("published_at")
+    LocalDateTime publishedAt;
+
+    public enum Route {
+        WORKSPACE,
+        PROJECT,
+        KANBAN,
+        ACTIVITY
+    }
+}
@@ -3,6 +3,8 @@ package com.jira.jira.model;
 import lombok.*;
 import lombok.experimental.FieldDefaults;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.Field;
 
@@ -11,6 +13,11 @@ import java.util.List;
 
 @Data
 @Document(collection = "projects")
+@CompoundIndexes({
+        @CompoundIndex(name = "workspace_active_name_idx", def = "{'workspace_id' : 1, 'is_active' : 1, 'name' : 1}"),
+        @CompoundIndex(name = "workspace_key_unique_idx", def = "{'workspace_id' : 1, 'key' : 1}", unique = true, partialFilter = "{'is_active' : true}"),
+        @CompoundIndex(name = "owner_active_idx", def = "{'owner_id' : 1, 'is_active' : 1}")
+})
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
@@ -28,8 +35,13 @@ public class Project {
     String workspaceId;
     @Field("owner_id")
     String ownerId;
+    /**
+     * @deprecated memberships live in the memberships collection (MembershipService);
+     * kept only for MembershipMigrationService and rollback, no longer written
+     */
+    @Deprecated
     @Field("member_ids")
-    List<String> memberIds; // List of user IDs who are members
+    List<String> memberIds;
     @Field("is_public")
     boolean isPublic;
     @Field("avatar_url")
@@ -5,6 +5,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.experimental.FieldDefaults;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.Field;
 
@@ -13,14 +15,18 @@ import java.time.LocalDateTime;
 @Data
 @Document(collection = "refresh_tokens")
 @Builder
+@CompoundIndex(name = "user_tokens_idx", def = "{'user_id': 1, 'is_active': 1, 'created_at': -1}")
 @FieldDefaults(level = AccessLevel.PRIVATE)
 public class RefreshToken {
     @Id
     String id;
+    @Indexed(name = "token_unique_idx", unique = true)
     @Field("token")
     String token;
     @Field("user_id")
     String userId;
+    // Mongo's TTL monitor deletes the document once expires_at has passed
+    @Indexed(name = "expires_at_ttl_idx", expireAfter = "0s")
     @Field("expires_at")
     LocalDateTime expiresAt;
     @Field("created_at")
@@ -0,0 +1,23 @@
+package com.jira.jira.model;
+
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+/**
+ * Named monotonically increasing counter; values are reserved in blocks with $inc
+ */
+@Data
+@Document(collection = "counters")
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class SequenceCounter {
+    @Id
+    String id;
+    @Field("seq")
+    long seq;
+}
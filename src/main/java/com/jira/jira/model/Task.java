@@ -17,8 +17,10 @@ import java.time.LocalDateTime;
         @CompoundIndex(name = "workspace_status_position_idx", def = "{'workspace_id' : 1, 'status' : 1, 'position' : 1}"),
         @CompoundIndex(name = "workspace_project_position_idx", def = "{'workspace_id' : 1, 'project_id' : 1, 'position' : 1}"),
         @CompoundIndex(name = "workspace_assignee_idx", def = "{'workspace_id' : 1, 'assignee_id' : 1}"),
+        @CompoundIndex(name = "assignee_active_idx", def = "{'assignee_id' : 1, 'is_active' : 1}"),
         @CompoundIndex(name = "workspace_due_date_idx", def = "{'workspace_id' : 1, 'due_at' : 1}"),
-        @CompoundIndex(name = "project_status_position_idx", def = "{'project_id' : 1, 'status' : 1, 'position' : 1}")
+        @CompoundIndex(name = "project_status_position_idx", def = "{'project_id' : 1, 'status' : 1, 'position' : 1}"),
+        @CompoundIndex(name = "workspace_overdue_idx", def = "{'workspace_id' : 1, 'due_at' : 1}", partialFilter = "{'is_overdue' : true}")
 })
 public class Task {
 
@@ -61,14 +63,25 @@ public class Task {
     @Field("updated_at")
     private LocalDateTime updatedAt;
 
+    @Field("updated_by")
+    private String updatedBy;
+
+    // Set on tasks created by a bulk import; the change stream announces the import once instead of each task
+    @Field("import_id")
+    private String importId;
+
     @Field("is_active")
     @Indexed
     private boolean isActive = true;
 
+    // Maintained by OverdueTaskTracker when due_at passes, cleared when the task is done or rescheduled
+    @Field("is_overdue")
+    private boolean overdue;
+
     // Helper methods for business logic
-    public boolean isOverdue() {
+    public boolean isDueBy(LocalDateTime time) {
         return dueAt != null &&
-                LocalDateTime.now().isAfter(dueAt) &&
+                !time.isBefore(dueAt) &&
                 status != TaskStatus.DONE;
     }
 
@@ -0,0 +1,27 @@
+package com.jira.jira.model;
+
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.time.LocalDateTime;
+
+/**
+ * Per-user unread notification count, keyed by user id and maintained with $inc
+ */
+@Data
+@Document(collection = "notification_counters")
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class UnreadCounter {
+    @Id
+    String userId;
+    @Field("unread")
+    long unread;
+    @Field("updated_at")
+    LocalDateTime updatedAt;
+}
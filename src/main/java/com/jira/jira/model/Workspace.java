@@ -3,6 +3,8 @@ package com.jira.jira.model;
 import lombok.*;
 import lombok.experimental.FieldDefaults;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.Field;
 
@@ -11,6 +13,10 @@ import java.util.List;
 
 @Data
 @Document(collection = "workspace")
+@CompoundIndexes({
+        @CompoundIndex(name = "owner_active_name_idx", def = "{'owner_id' : 1, 'is_active' : 1, 'name' : 1}"),
+        @CompoundIndex(name = "public_active_idx", def = "{'is_public' : 1, 'is_active' : 1}")
+})
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
@@ -24,6 +30,11 @@ public class Workspace {
     private String description;
     @Field("is_public")
     private boolean isPublic;
+    /**
+     * @deprecated memberships live in the memberships collection (MembershipService);
+     * kept only for MembershipMigrationService and rollback, no longer written
+     */
+    @Deprecated
     @Field("member_ids")
     private List<String> memberIds;
     @Field("avatar_url")
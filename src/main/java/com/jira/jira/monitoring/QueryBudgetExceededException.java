@@ -0,0 +1,11 @@
+package com.jira.jira.monitoring;
+
+/**
+ * Raised in fail-on-violation mode when a request exceeds its Mongo query budget
+ */
+public class QueryBudgetExceededException extends IllegalStateException {
+
+    public QueryBudgetExceededException(String message) {
+        super(message);
+    }
+}
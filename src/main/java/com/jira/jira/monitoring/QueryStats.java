@@ -0,0 +1,74 @@
+package com.jira.jira.monitoring;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Mongo commands issued on behalf of one request.
+ * Thread-safe, because lookups forked onto virtual threads report into the same instance.
+ */
+public class QueryStats {
+
+    private final AtomicInteger commands = new AtomicInteger();
+    private final LongAdder nanos = new LongAdder();
+    private final Map<String, AtomicInteger> shapes = new ConcurrentHashMap<>();
+
+    void record(String shape, long elapsedNanos) {
+        commands.incrementAndGet();
+        nanos.add(elapsedNanos);
+        shapes.computeIfAbsent(shape, s -> new AtomicInteger()).incrementAndGet();
+    }
+
+    public int getCommands() {
+        return commands.get();
+    }
+
+    public Duration getTime() {
+        return Duration.ofNanos(nanos.sum());
+    }
+
+    /**
+     * Query shapes run more than maxRepeated times, with their counts
+     */
+    public Map<String, Integer> getRepeatedShapes(int maxRepeated) {
+        Map<String, Integer> repeated = new TreeMap<>();
+        shapes.forEach((shape, count) -> {
+            if (count.get() > maxRepeated) {
+                repeated.put(shape, count.get());
+            }
+        });
+        return repeated;
+    }
+
+    /**
+     * Describe every budget this request exceeded, empty when within budget
+     */
+    public List<String> violations(int maxCommands, Duration maxTime, int maxRepeated) {
+        List<String> violations = new ArrayList<>();
+        if (getCommands() > maxCommands) {
+            violations.add(getCommands() + " commands (budget " + maxCommands + ")");
+        }
+        if (getTime().compareTo(maxTime) > 0) {
+            violations.add(getTime().toMillis() + "ms in Mongo (budget " + maxTime.toMillis() + "ms)");
+        }
+        getRepeatedShapes(maxRepeated).forEach((shape, count) ->
+                violations.add("repeated " + count + "x: " + shape));
+        return violations;
+    }
+
+    /**
+     * Test helper: fail when more than maxCommands commands were issued
+     */
+    public void assertAtMost(int maxCommands) {
+        if (getCommands() > maxCommands) {
+            throw new QueryBudgetExceededException("Expected at most " + maxCommands + " Mongo commands but "
+                    + getCommands() + " were issued, shapes: " + shapes);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.jira.jira.monitoring;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Binds a QueryStats to the current request thread.
+ *
+ * A plain ThreadLocal: pooled and @Async threads never inherit a request's stats. Work forked for a
+ * request (FanOutScope) hands the stats over explicitly with callWith(). Reactive queries complete on
+ * driver threads and are not tracked.
+ */
+public final class QueryTracker {
+
+    private static final ThreadLocal<QueryStats> CURRENT = new ThreadLocal<>();
+
+    private QueryTracker() {
+    }
+
+    /**
+     * Start tracking on this thread, typically from a filter or at the start of a test
+     */
+    public static QueryStats begin() {
+        QueryStats stats = new QueryStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    public static QueryStats current() {
+        return CURRENT.get();
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Run a task on this thread with the given stats bound (none when null), restoring the previous binding after
+     */
+    public static <T> T callWith(QueryStats stats, Callable<T> task) throws Exception {
+        QueryStats previous = CURRENT.get();
+        if (stats != null) {
+            CURRENT.set(stats);
+        } else {
+            CURRENT.remove();
+        }
+        try {
+            return task.call();
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.jira.jira.monitoring;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Attributes Mongo commands to the current request's QueryStats.
+ * Each command is reduced to a shape (command, collection and filter keys with values blanked),
+ * so that N lookups by id show up as N executions of the same shape.
+ */
+public class QueryTrackingCommandListener implements CommandListener {
+
+    private static final Set<String> IGNORED_COMMANDS = Set.of("hello", "ismaster", "isMaster", "ping", "endSessions", "buildInfo");
+
+    private final Map<Long, Pending> pending = new ConcurrentHashMap<>();
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        QueryStats stats = QueryTracker.current();
+        if (stats == null || IGNORED_COMMANDS.contains(event.getCommandName())) {
+            return;
+        }
+
+        pending.put(key(event.getConnectionDescription().getConnectionId().getLocalValue(), event.getRequestId()),
+                new Pending(stats, shapeOf(event.getCommandName(), event.getCommand())));
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        complete(event.getConnectionDescription().getConnectionId().getLocalValue(), event.getRequestId(),
+                event.getElapsedTime(TimeUnit.NANOSECONDS));
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        complete(event.getConnectionDescription().getConnectionId().getLocalValue(), event.getRequestId(),
+                event.getElapsedTime(TimeUnit.NANOSECONDS));
+    }
+
+    private void complete(long connectionId, int requestId, long elapsedNanos) {
+        Pending command = pending.remove(key(connectionId, requestId));
+        if (command != null) {
+            command.stats().record(command.shape(), elapsedNanos);
+        }
+    }
+
+    private static long key(long connectionId, int requestId) {
+        return (connectionId << 32) | (requestId & 0xffffffffL);
+    }
+
+    static String shapeOf(String commandName, BsonDocument command) {
+        BsonValue collection = command.get(commandName);
+        StringBuilder shape = new StringBuilder(commandName);
+        if (collection != null && collection.isString()) {
+            shape.append(' ').append(collection.asString().getValue());
+        }
+
+        BsonValue filter = command.containsKey("filter") ? command.get("filter") : command.get("query");
+        if (filter != null && filter.isDocument()) {
+            shape.append(' ').append(shapeOf(filter.asDocument()));
+        }
+        return shape.toString();
+    }
+
+    private static String shapeOf(BsonDocument document) {
+        return document.entrySet().stream()
+                .map(entry -> entry.getKey() + ": " + (entry.getValue().isDocument() ? shapeOf(entry.getValue().asDocument()) : "?"))
+                .sorted()
+                .collect(Collectors.joining(", ", "{", "}"));
+    }
+
+    private record Pending(QueryStats stats, String shape) {
+    }
+}
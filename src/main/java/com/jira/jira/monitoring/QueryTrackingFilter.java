@@ -0,0 +1,91 @@
+package com.jira.jira.monitoring;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Tracks Mongo commands per HTTP request, publishes the counts as metrics tagged by endpoint
+ * and warns (or fails, in test mode) when a request exceeds its query budget.
+ * In fail-on-violation mode the response body is buffered until the budget has been checked,
+ * so a violation replaces the response instead of arriving after it was already committed.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class QueryTrackingFilter extends OncePerRequestFilter {
+
+    private final QueryTrackingProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        boolean failOnViolation = properties.isFailOnViolation();
+        ContentCachingResponseWrapper buffered = failOnViolation ? new ContentCachingResponseWrapper(response) : null;
+
+        QueryStats stats = QueryTracker.begin();
+        try {
+            filterChain.doFilter(request, buffered != null ? buffered : response);
+        } finally {
+            QueryTracker.end();
+        }
+
+        List<String> violations = stats.getCommands() > 0 ? report(endpointOf(request), stats) : List.of();
+        if (buffered == null) {
+            return;
+        }
+        if (!violations.isEmpty() && !response.isCommitted()) {
+            response.reset(); // Drop the buffered body and headers; the error response replaces them
+            throw new QueryBudgetExceededException("Mongo query budget exceeded for " + endpointOf(request) + ": "
+                    + String.join("; ", violations));
+        }
+        buffered.copyBodyToResponse();
+    }
+
+    private List<String> report(String endpoint, QueryStats stats) {
+        DistributionSummary.builder("jira.mongo.request.commands")
+                .description("Mongo commands issued per HTTP request")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry)
+                .record(stats.getCommands());
+        Timer.builder("jira.mongo.request.time")
+                .description("Total Mongo time per HTTP request")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry)
+                .record(stats.getTime());
+
+        List<String> violations = stats.violations(properties.commandBudgetFor(endpoint), properties.getMaxTime(),
+                properties.getMaxRepeatedQueries());
+        if (violations.isEmpty()) {
+            return violations;
+        }
+
+        Counter.builder("jira.mongo.request.budget.exceeded")
+                .description("HTTP requests exceeding their Mongo query budget")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry)
+                .increment();
+
+        log.warn("Mongo query budget exceeded for {}: {}", endpoint, String.join("; ", violations));
+        return violations;
+    }
+
+    private static String endpointOf(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern != null ? pattern : "UNMATCHED");
+    }
+}
@@ -0,0 +1,37 @@
+package com.jira.jira.monitoring;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-request Mongo query budget (mongo.query-tracking.*)
+ */
+@Data
+@ConfigurationProperties(prefix = "mongo.query-tracking")
+public class QueryTrackingProperties {
+
+    private boolean enabled = true;
+
+    // Commands allowed per request before a warning is logged
+    private int maxCommands = 20;
+
+    // Total Mongo time allowed per request
+    private Duration maxTime = Duration.ofMillis(500);
+
+    // Times the same query shape may run in one request before it is reported as N+1
+    private int maxRepeatedQueries = 3;
+
+    // Throw instead of warn, for integration tests guarding the query budget
+    private boolean failOnViolation = false;
+
+    // Command budgets per endpoint, keyed by "METHOD /pattern", overriding maxCommands
+    private Map<String, Integer> endpointBudgets = new HashMap<>();
+
+    public int commandBudgetFor(String endpoint) {
+        return endpointBudgets.getOrDefault(endpoint, maxCommands);
+    }
+}
@@ -0,0 +1,22 @@
+package com.jira.jira.repository;
+
+import com.jira.jira.model.ActivityLog;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ActivityLogRepository extends MongoRepository<ActivityLog, String> {
+    List<ActivityLog> findByWorkspaceIdOrderBySeqDesc(String workspaceId, Limit limit);
+
+    // Keyset page: entries older than the cursor seq
+    List<ActivityLog> findByWorkspaceIdAndSeqLessThanOrderBySeqDesc(String workspaceId, Long seq, Limit limit);
+
+    // Event ids among the given ones that are already recorded
+    @Query(value = "{ 'event_id': { $in: ?0 } }", fields = "{ 'event_id': 1 }")
+    List<ActivityLog> findRecordedEventIds(Collection<String> eventIds);
+}
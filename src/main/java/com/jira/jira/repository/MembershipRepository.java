@@ -0,0 +1,44 @@
+package com.jira.jira.repository;
+
+import com.jira.jira.model.MemberPreview;
+import com.jira.jira.model.Membership;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.mongodb.repository.Aggregation;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Update;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface MembershipRepository extends MongoRepository<Membership, String> {
+    Optional<Membership> findByScopeAndScopeIdAndUserId(Membership.Scope scope, String scopeId, String userId);
+
+    boolean existsByScopeAndScopeIdAndUserId(Membership.Scope scope, String scopeId, String userId);
+
+    List<Membership> findByScopeAndScopeIdOrderByJoinedAtAsc(Membership.Scope scope, String scopeId);
+
+    List<Membership> findByScopeAndScopeIdOrderByIdAsc(Membership.Scope scope, String scopeId, Limit limit);
+
+    List<Membership> findByScopeAndScopeIdAndIdGreaterThanOrderByIdAsc(Membership.Scope scope, String scopeId, String afterId, Limit limit);
+
+    List<Membership> findByScopeAndUserId(Membership.Scope scope, String userId);
+
+    long countByScopeAndScopeId(Membership.Scope scope, String scopeId);
+
+    // Count and first members of every listed scope in one pass over scope_page_idx
+    @Aggregation(pipeline = {
+            "{'$match': {'scope': ?0, 'scope_id': {'$in': ?1}}}",
+            "{'$sort': {'scope_id': 1, '_id': 1}}",
+            "{'$group': {'_id': '$scope_id', 'count': {'$sum': 1}, 'members': {'$firstN': {'input': '$$ROOT', 'n': ?2}}}}"
+    })
+    List<MemberPreview> findMemberPreviews(Membership.Scope scope, Collection<String> scopeIds, int count);
+
+    long deleteByScopeAndScopeIdAndUserId(Membership.Scope scope, String scopeId, String userId);
+
+    // Suspend every membership of a soft-deleted scope; returns the number suspended
+    @Update("{'$set': {'suspended': true}}")
+    long findAndSuspendByScopeAndScopeId(Membership.Scope scope, String scopeId);
+}
@@ -0,0 +1,30 @@
+package com.jira.jira.repository;
+
+import com.jira.jira.model.Notification;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.Update;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface NotificationRepository extends MongoRepository<Notification, String> {
+    List<Notification> findByReceiverIdAndIsActiveOrderByIdDesc(String receiverId, Boolean isActive, Limit limit);
+
+    // Keyset page: everything older than the cursor id
+    List<Notification> findByReceiverIdAndIsActiveAndIdLessThanOrderByIdDesc(String receiverId, Boolean isActive, String cursor, Limit limit);
+
+    @Query("{ '_id': ?0, 'receiver_id': ?1, 'is_seen': false }")
+    @Update("{ '$set': { 'is_seen': true, 'updated_at': ?2 } }")
+    long markSeen(String id, String receiverId, LocalDateTime now);
+
+    @Query("{ 'receiver_id': ?0, 'is_seen': false }")
+    @Update("{ '$set': { 'is_seen': true, 'updated_at': ?1 } }")
+    long markAllSeen(String receiverId, LocalDateTime now);
+
+    // Source of truth when an unread counter has to be rebuilt
+    long countByReceiverIdAndIsSeen(String receiverId, Boolean isSeen);
+}
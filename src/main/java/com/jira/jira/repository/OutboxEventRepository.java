@@ -0,0 +1,35 @@
+package com.jira.jira.repository;
+
+import com.jira.jira.model.OutboxEvent;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.Update;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends MongoRepository<OutboxEvent, String> {
+    // Oldest unpublished events whose claim is free or has lapsed; events out of attempts are dead-lettered
+    @Query(value = "{ 'published': false, 'attempts': { $lt: ?1 }, '$or': [ { 'claimed_until': null }, { 'claimed_until': { $lt: ?0 } } ] }",
+            sort = "{ '_id': 1 }", fields = "{ '_id': 1 }")
+    List<OutboxEvent> findClaimable(LocalDateTime now, int maxAttempts, Limit limit);
+
+    @Query("{ '_id': { $in: ?0 }, 'published': false, 'attempts': { $lt: ?4 }, '$or': [ { 'claimed_until': null }, { 'claimed_until': { $lt: ?2 } } ] }")
+    @Update("{ '$set': { 'claimed_by': ?1, 'claimed_until': ?3 }, '$inc': { 'attempts': 1 } }")
+    long claim(Collection<String> ids, String owner, LocalDateTime now, LocalDateTime leaseUntil, int maxAttempts);
+
+    @Query("{ '_id': ?0 }")
+    @Update("{ '$set': { 'last_error': ?1 } }")
+    long recordFailure(String id, String error);
+
+    @Query(value = "{ '_id': { $in: ?0 }, 'claimed_by': ?1, 'published': false }", sort = "{ '_id': 1 }")
+    List<OutboxEvent> findClaimed(Collection<String> ids, String owner);
+
+    @Query("{ '_id': { $in: ?0 } }")
+    @Update("{ '$set': { 'published': true, 'published_at': ?1 }, '$unset': { 'claimed_by': '', 'claimed_until': '' } }")
+    long markPublished(Collection<String> ids, LocalDateTime now);
+}
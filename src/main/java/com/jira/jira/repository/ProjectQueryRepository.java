@@ -0,0 +1,16 @@
+package com.jira.jira.repository;
+
+import com.jira.jira.model.Project;
+import com.jira.jira.repository.query.TypedQuery;
+
+import java.util.List;
+
+/**
+ * Project queries built with the typed query DSL (TypedQuery)
+ */
+public interface ProjectQueryRepository {
+
+    List<Project> find(TypedQuery<Project> query);
+
+    long count(TypedQuery<Project> query);
+}
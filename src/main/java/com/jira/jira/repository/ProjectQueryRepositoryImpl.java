@@ -0,0 +1,24 @@
+package com.jira.jira.repository;
+
+import com.jira.jira.model.Project;
+import com.jira.jira.repository.query.TypedQuery;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+class ProjectQueryRepositoryImpl implements ProjectQueryRepository {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public List<Project> find(TypedQuery<Project> query) {
+        return mongoTemplate.find(query.toQuery(), Project.class);
+    }
+
+    @Override
+    public long count(TypedQuery<Project> query) {
+        return mongoTemplate.count(query.toFilter(), Project.class);
+    }
+}
@@ -0,0 +1,12 @@
+package com.jira.jira.repository;
+
+import com.jira.jira.model.Membership;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface ReactiveMembershipRepository extends ReactiveMongoRepository<Membership, String> {
+
+    Mono<Membership> findByScopeAndScopeIdAndUserId(Membership.Scope scope, String scopeId, String userId);
+}
@@ -0,0 +1,9 @@
+package com.jira.jira.repository;
+
+import com.jira.jira.model.Project;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ReactiveProjectRepository extends ReactiveMongoRepository<Project, String> {
+}
@@ -0,0 +1,18 @@
+package com.jira.jira.repository;
+
+import com.jira.jira.model.Task;
+import com.jira.jira.repository.query.TypedQuery;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDateTime;
+
+/**
+ * Non-blocking counterpart of TaskQueryRepository for the board views
+ */
+public interface ReactiveTaskQueryRepository {
+
+    Flux<Task> find(TypedQuery<Task> query);
+
+    // Find tasks due in date range, bounds included (for Calendar view)
+    Flux<Task> findByWorkspaceIdAndDueAtBetweenAndIsActive(String workspaceId, LocalDateTime startDate, LocalDateTime endDate, boolean isActive);
+}
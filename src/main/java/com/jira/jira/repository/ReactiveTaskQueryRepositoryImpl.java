@@ -0,0 +1,30 @@
+package com.jira.jira.repository;
+
+import com.jira.jira.model.Task;
+import com.jira.jira.repository.query.MongoFieldNames;
+import com.jira.jira.repository.query.TypedQuery;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDateTime;
+
+@RequiredArgsConstructor
+class ReactiveTaskQueryRepositoryImpl implements ReactiveTaskQueryRepository {
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final MongoFieldNames fieldNames;
+
+    @Override
+    public Flux<Task> find(TypedQuery<Task> query) {
+        return mongoTemplate.find(query.toQuery(), Task.class);
+    }
+
+    @Override
+    public Flux<Task> findByWorkspaceIdAndDueAtBetweenAndIsActive(String workspaceId, LocalDateTime startDate, LocalDateTime endDate, boolean isActive) {
+        return find(fieldNames.query(Task.class)
+                .eq(Task::getWorkspaceId, workspaceId)
+                .between(Task::getDueAt, startDate, endDate)
+                .eq(Task::isActive, isActive));
+    }
+}
@@ -0,0 +1,25 @@
+package com.jira.jira.repository;
+
+import com.jira.jira.model.Task;
+import com.jira.jira.model.TaskStatus;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+/**
+ * Non-blocking variant of the TaskRepository read queries used by the board views
+ */
+@Repository
+public interface ReactiveTaskRepository extends ReactiveMongoRepository<Task, String>, ReactiveTaskQueryRepository {
+
+    // Find tasks by workspace ordered by position (for Kanban view)
+    Flux<Task> findByWorkspaceIdAndIsActiveOrderByPositionAsc(String workspaceId, boolean isActive);
+
+    // Find tasks by workspace and status ordered by position (for Kanban columns)
+    Flux<Task> findByWorkspaceIdAndStatusAndIsActiveOrderByPositionAsc(String workspaceId, TaskStatus status, boolean isActive);
+
+    Flux<Task> findByWorkspaceIdAndOverdueAndIsActiveOrderByDueAtAsc(String workspaceId, boolean overdue, boolean isActive);
+
+    // Find tasks by assignee
+    Flux<Task> findByAssigneeIdAndIsActive(String assigneeId, boolean isActive);
+}
@@ -0,0 +1,9 @@
+package com.jira.jira.repository;
+
+import com.jira.jira.model.Workspace;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ReactiveWorkspaceRepository extends ReactiveMongoRepository<Workspace, String> {
+}
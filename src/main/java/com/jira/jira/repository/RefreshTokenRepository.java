@@ -18,6 +18,10 @@ public interface RefreshTokenRepository extends MongoRepository<RefreshToken, St
 
     List<RefreshToken> findByExpiresAtBeforeAndIsActive(LocalDateTime expiresAt, Boolean isActive);
 
+    List<RefreshToken> findByUserIdAndIsActiveOrderByCreatedAtDesc(String userId, Boolean isActive);
+
+    long deleteByExpiresAtBeforeOrIsActive(LocalDateTime expiresAt, Boolean isActive);
+
     void deleteByUserId(String userId);
 
     void deleteByToken(String token);
@@ -0,0 +1,60 @@
+package com.jira.jira.repository;
+
+import com.jira.jira.model.Task;
+import com.jira.jira.model.TaskStatus;
+import com.jira.jira.repository.query.TypedQuery;
+import com.jira.jira.repository.query.TypedUpdate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Task queries built with the typed query DSL (TypedQuery) instead of @Query strings:
+ * inclusive ranges, $or filters, projections and conditional updates that derived queries cannot express
+ */
+public interface TaskQueryRepository {
+
+    List<Task> find(TypedQuery<Task> query);
+
+    long count(TypedQuery<Task> query);
+
+    // ========== CALENDAR VIEW QUERIES ==========
+
+    // Find tasks due in date range, bounds included (for Calendar view)
+    List<Task> findByWorkspaceIdAndDueAtBetweenAndIsActive(String workspaceId, LocalDateTime startDate, LocalDateTime endDate, boolean isActive);
+
+    // Find tasks created in date range, bounds included
+    List<Task> findByWorkspaceIdAndCreatedAtBetweenAndIsActive(String workspaceId, LocalDateTime startDate, LocalDateTime endDate, boolean isActive);
+
+    // ========== VALIDATION & ACCESS CONTROL ==========
+
+    // Active task the user is assignee or creator of
+    Optional<Task> findByIdAndUserIdAndIsActive(String taskId, String userId);
+
+    // Apply a field-level update to an active task and return it as stored afterwards;
+    // fields the update does not name (such as is_overdue) keep their concurrent values
+    Optional<Task> updateActive(String taskId, TypedUpdate<Task> update);
+
+    // ========== OVERDUE & STATUS QUERIES ==========
+
+    List<Task> findOverdueTasks(LocalDateTime currentDate, TaskStatus doneStatus, boolean isActive);
+
+    List<Task> findOverdueTasksByWorkspace(String workspaceId, LocalDateTime currentDate, TaskStatus doneStatus, boolean isActive);
+
+    // Candidates for the overdue tracker: open tasks due by the horizon and not flagged yet (only _id and due_at are read)
+    Stream<Task> streamOverdueCandidates(TaskStatus doneStatus, LocalDateTime dueBy);
+
+    // Flag a task overdue unless already flagged, done, deleted or rescheduled; 1 when this call flipped it
+    long markOverdue(String taskId, TaskStatus doneStatus, LocalDateTime now);
+
+    long clearOverdue(String taskId);
+
+    // ========== SEARCH QUERIES ==========
+
+    // Case-insensitive match of the literal term in name or description
+    List<Task> searchTasksInWorkspace(String searchTerm, String workspaceId, boolean isActive);
+
+    List<Task> searchTasksInProject(String searchTerm, String projectId, boolean isActive);
+}
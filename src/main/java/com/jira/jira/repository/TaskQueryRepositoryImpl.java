@@ -0,0 +1,138 @@
+package com.jira.jira.repository;
+
+import com.jira.jira.model.Task;
+import com.jira.jira.model.TaskStatus;
+import com.jira.jira.repository.query.MongoFieldNames;
+import com.jira.jira.repository.query.TypedQuery;
+import com.jira.jira.repository.query.TypedUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+@RequiredArgsConstructor
+class TaskQueryRepositoryImpl implements TaskQueryRepository {
+
+    private final MongoTemplate mongoTemplate;
+    private final MongoFieldNames fieldNames;
+
+    @Override
+    public List<Task> find(TypedQuery<Task> query) {
+        return mongoTemplate.find(query.toQuery(), Task.class);
+    }
+
+    @Override
+    public long count(TypedQuery<Task> query) {
+        return mongoTemplate.count(query.toFilter(), Task.class);
+    }
+
+    @Override
+    public List<Task> findByWorkspaceIdAndDueAtBetweenAndIsActive(String workspaceId, LocalDateTime startDate, LocalDateTime endDate, boolean isActive) {
+        return find(tasks()
+                .eq(Task::getWorkspaceId, workspaceId)
+                .between(Task::getDueAt, startDate, endDate)
+                .eq(Task::isActive, isActive));
+    }
+
+    @Override
+    public List<Task> findByWorkspaceIdAndCreatedAtBetweenAndIsActive(String workspaceId, LocalDateTime startDate, LocalDateTime endDate, boolean isActive) {
+        return find(tasks()
+                .eq(Task::getWorkspaceId, workspaceId)
+                .between(Task::getCreatedAt, startDate, endDate)
+                .eq(Task::isActive, isActive));
+    }
+
+    @Override
+    public Optional<Task> findByIdAndUserIdAndIsActive(String taskId, String userId) {
+        TypedQuery<Task> query = tasks()
+                .eq(Task::getId, taskId)
+                .anyOf(task -> task.eq(Task::getAssigneeId, userId),
+                        task -> task.eq(Task::getCreatedBy, userId))
+                .eq(Task::isActive, true);
+        return Optional.ofNullable(mongoTemplate.findOne(query.toQuery(), Task.class));
+    }
+
+    @Override
+    public Optional<Task> updateActive(String taskId, TypedUpdate<Task> update) {
+        TypedQuery<Task> query = tasks()
+                .eq(Task::getId, taskId)
+                .eq(Task::isActive, true);
+        return Optional.ofNullable(mongoTemplate.findAndModify(query.toFilter(), update.toUpdate(),
+                FindAndModifyOptions.options().returnNew(true), Task.class));
+    }
+
+    @Override
+    public List<Task> findOverdueTasks(LocalDateTime currentDate, TaskStatus doneStatus, boolean isActive) {
+        return find(tasks()
+                .lte(Task::getDueAt, currentDate)
+                .ne(Task::getStatus, doneStatus)
+                .eq(Task::isActive, isActive));
+    }
+
+    @Override
+    public List<Task> findOverdueTasksByWorkspace(String workspaceId, LocalDateTime currentDate, TaskStatus doneStatus, boolean isActive) {
+        return find(tasks()
+                .eq(Task::getWorkspaceId, workspaceId)
+                .lte(Task::getDueAt, currentDate)
+                .ne(Task::getStatus, doneStatus)
+                .eq(Task::isActive, isActive));
+    }
+
+    @Override
+    public Stream<Task> streamOverdueCandidates(TaskStatus doneStatus, LocalDateTime dueBy) {
+        TypedQuery<Task> query = tasks()
+                .eq(Task::isActive, true)
+                .ne(Task::isOverdue, true)
+                .ne(Task::getStatus, doneStatus)
+                .lte(Task::getDueAt, dueBy)
+                .include(Task::getId, Task::getDueAt);
+        return mongoTemplate.stream(query.toQuery(), Task.class);
+    }
+
+    @Override
+    public long markOverdue(String taskId, TaskStatus doneStatus, LocalDateTime now) {
+        TypedQuery<Task> query = tasks()
+                .eq(Task::getId, taskId)
+                .ne(Task::isOverdue, true)
+                .eq(Task::isActive, true)
+                .ne(Task::getStatus, doneStatus)
+                .lte(Task::getDueAt, now);
+        return mongoTemplate.updateFirst(query.toFilter(), fieldNames.update(Task.class).set(Task::isOverdue, true).toUpdate(), Task.class)
+                .getModifiedCount();
+    }
+
+    @Override
+    public long clearOverdue(String taskId) {
+        TypedQuery<Task> query = tasks()
+                .eq(Task::getId, taskId)
+                .eq(Task::isOverdue, true);
+        return mongoTemplate.updateFirst(query.toFilter(), fieldNames.update(Task.class).set(Task::isOverdue, false).toUpdate(), Task.class)
+                .getModifiedCount();
+    }
+
+    @Override
+    public List<Task> searchTasksInWorkspace(String searchTerm, String workspaceId, boolean isActive) {
+        return find(tasks()
+                .anyOf(task -> task.containsIgnoreCase(Task::getName, searchTerm),
+                        task -> task.containsIgnoreCase(Task::getDescription, searchTerm))
+                .eq(Task::getWorkspaceId, workspaceId)
+                .eq(Task::isActive, isActive));
+    }
+
+    @Override
+    public List<Task> searchTasksInProject(String searchTerm, String projectId, boolean isActive) {
+        return find(tasks()
+                .anyOf(task -> task.containsIgnoreCase(Task::getName, searchTerm),
+                        task -> task.containsIgnoreCase(Task::getDescription, searchTerm))
+                .eq(Task::getProjectId, projectId)
+                .eq(Task::isActive, isActive));
+    }
+
+    private TypedQuery<Task> tasks() {
+        return fieldNames.query(Task.class);
+    }
+}
@@ -3,7 +3,6 @@ package com.jira.jira.repository;
 import com.jira.jira.model.Task;
 import com.jira.jira.model.TaskStatus;
 import org.springframework.data.mongodb.repository.MongoRepository;
-import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
@@ -11,7 +10,7 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface TaskRepository extends MongoRepository<Task, String> {
+public interface TaskRepository extends MongoRepository<Task, String>, TaskQueryRepository {
 
     // ========== POSITION-BASED QUERIES FOR KANBAN ==========
 
@@ -38,26 +37,6 @@ public interface TaskRepository extends MongoRepository<Task, String> {
     // Find tasks by project (for Table view)
     List<Task> findByProjectIdAndIsActive(String projectId, boolean isActive);
 
-    // ========== CALENDAR VIEW QUERIES ==========
-
-    // Find tasks due in date range (for Calendar view)
-    @Query("{ 'workspaceId': ?0, 'dueAt': { $gte: ?1, $lte: ?2 }, 'isActive': ?3 }")
-    List<Task> findByWorkspaceIdAndDueAtBetweenAndIsActive(
-            String workspaceId,
-            LocalDateTime startDate,
-            LocalDateTime endDate,
-            boolean isActive
-    );
-
-    // Find tasks created in date range
-    @Query("{ 'workspaceId': ?0, 'createdAt': { $gte: ?1, $lte: ?2 }, 'isActive': ?3 }")
-    List<Task> findByWorkspaceIdAndCreatedAtBetweenAndIsActive(
-            String workspaceId,
-            LocalDateTime startDate,
-            LocalDateTime endDate,
-            boolean isActive
-    );
-
     // ========== ASSIGNMENT & USER QUERIES ==========
 
     // Find tasks by assignee
@@ -69,27 +48,17 @@ public interface TaskRepository extends MongoRepository<Task, String> {
     // ========== VALIDATION & ACCESS CONTROL ==========
 
     // Find task by ID with workspace validation
-    @Query("{ '_id': ?0, 'workspaceId': ?1, 'isActive': ?2 }")
     Optional<Task> findByIdAndWorkspaceIdAndIsActive(String id, String workspaceId, boolean isActive);
 
     // Find task by ID with project validation
-    @Query("{ '_id': ?0, 'projectId': ?1, 'isActive': ?2 }")
     Optional<Task> findByIdAndProjectIdAndIsActive(String id, String projectId, boolean isActive);
 
     // Find task by ID and active status
     Optional<Task> findByIdAndIsActive(String id, boolean isActive);
 
-    // User access validation - user can access if they are assignee, creator, or workspace member
-    @Query("{'_id': ?0, '$or': [" +
-            "{'assigneeId': ?1}, " +
-            "{'createdBy': ?1}" +
-            "], 'isActive': true}")
-    Optional<Task> findByIdAndUserIdAndIsActive(String taskId, String userId);
-
     // ========== OVERDUE & STATUS QUERIES ==========
 
     // Find overdue tasks (updated to use TaskStatus enum)
-    @Query("{ 'workspaceId': ?0, 'dueAt': { $lt: ?1 }, 'status': { $nin: ?2 }, 'isActive': ?3 }")
     List<Task> findByWorkspaceIdAndDueAtBeforeAndStatusNotInAndIsActive(
             String workspaceId,
             LocalDateTime dateTime,
@@ -97,26 +66,8 @@ public interface TaskRepository extends MongoRepository<Task, String> {
             boolean isActive
     );
 
-    // Find overdue tasks (simple version)
-    @Query("{'dueAt': {'$lte': ?0}, 'status': {'$ne': ?1}, 'isActive': ?2}")
-    List<Task> findOverdueTasks(LocalDateTime currentDate, TaskStatus doneStatus, boolean isActive);
-
-    @Query("{'workspaceId': ?0, 'dueAt': {'$lte': ?1}, 'status': {'$ne': ?2}, 'isActive': ?3}")
-    List<Task> findOverdueTasksByWorkspace(String workspaceId, LocalDateTime currentDate, TaskStatus doneStatus, boolean isActive);
-
-    // ========== SEARCH QUERIES ==========
-
-    @Query("{'$or': [" +
-            "{'name': {'$regex': ?0, '$options': 'i'}}, " +
-            "{'description': {'$regex': ?0, '$options': 'i'}}" +
-            "], 'workspaceId': ?1, 'isActive': ?2}")
-    List<Task> searchTasksInWorkspace(String searchTerm, String workspaceId, boolean isActive);
-
-    @Query("{'$or': [" +
-            "{'name': {'$regex': ?0, '$options': 'i'}}, " +
-            "{'description': {'$regex': ?0, '$options': 'i'}}" +
-            "], 'projectId': ?1, 'isActive': ?2}")
-    List<Task> searchTasksInProject(String searchTerm, String projectId, boolean isActive);
+    // Overdue list backed by the partial workspace_overdue_idx index
+    List<Task> findByWorkspaceIdAndOverdueAndIsActiveOrderByDueAtAsc(String workspaceId, boolean overdue, boolean isActive);
 
     // ========== COUNTING QUERIES ==========
 
@@ -135,7 +86,6 @@ public interface TaskRepository extends MongoRepository<Task, String> {
     // ========== ADVANCED FILTERING ==========
 
     // Find tasks by multiple criteria (updated to use TaskStatus enum)
-    @Query("{ 'workspaceId': ?0, 'projectId': { $in: ?1 }, 'assigneeId': { $in: ?2 }, 'status': { $in: ?3 }, 'isActive': ?4 }")
     List<Task> findByWorkspaceIdAndProjectIdInAndAssigneeIdInAndStatusInAndIsActive(
             String workspaceId,
             List<String> projectIds,
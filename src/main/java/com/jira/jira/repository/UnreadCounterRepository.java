@@ -0,0 +1,17 @@
+package com.jira.jira.repository;
+
+import com.jira.jira.model.UnreadCounter;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.Update;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface UnreadCounterRepository extends MongoRepository<UnreadCounter, String> {
+    // Pipeline update clamps at zero in the same atomic write
+    @Query("{ '_id': ?0 }")
+    @Update(pipeline = "{ '$set': { 'unread': { '$max': [0, { '$subtract': ['$unread', ?1] }] }, 'updated_at': ?2 } }")
+    long decrement(String userId, long amount, LocalDateTime now);
+}
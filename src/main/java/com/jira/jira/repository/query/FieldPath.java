@@ -0,0 +1,12 @@
+package com.jira.jira.repository.query;
+
+import java.io.Serializable;
+import java.util.function.Function;
+
+/**
+ * Getter reference to a mapped entity property, e.g. Task::getWorkspaceId.
+ * Serializable so MongoFieldNames can read the referenced getter and resolve its stored field name.
+ */
+@FunctionalInterface
+public interface FieldPath<T, R> extends Function<T, R>, Serializable {
+}
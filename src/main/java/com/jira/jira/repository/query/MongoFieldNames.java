@@ -0,0 +1,81 @@
+package com.jira.jira.repository.query;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
+import org.springframework.stereotype.Component;
+
+import java.beans.Introspector;
+import java.lang.invoke.MethodHandleInfo;
+import java.lang.invoke.SerializedLambda;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves getter references to stored field names through the mapping metadata (@Field, @Id),
+ * and creates TypedQuery and TypedUpdate builders on top of it. Each getter reference is
+ * resolved once; the result is cached per lambda class.
+ */
+@Component
+@RequiredArgsConstructor
+public class MongoFieldNames {
+
+    private final MongoMappingContext mappingContext;
+    private final Map<Class<?>, String> resolved = new ConcurrentHashMap<>();
+
+    public <T> TypedQuery<T> query(Class<T> entityType) {
+        return new TypedQuery<>(entityType, this);
+    }
+
+    public <T> TypedUpdate<T> update(Class<T> entityType) {
+        return new TypedUpdate<>(entityType, this);
+    }
+
+    /**
+     * Stored field name of the property behind a getter reference
+     */
+    public <T> String fieldName(Class<T> entityType, FieldPath<T, ?> path) {
+        return resolved.computeIfAbsent(path.getClass(), key -> resolve(entityType, path));
+    }
+
+    private String resolve(Class<?> entityType, FieldPath<?, ?> path) {
+        SerializedLambda lambda = serialized(path);
+        String getter = lambda.getImplMethodName();
+        if (lambda.getImplMethodKind() != MethodHandleInfo.REF_invokeVirtual || lambda.getCapturedArgCount() > 0) {
+            throw new IllegalArgumentException("Expected a getter reference like Task::getName, got " + getter);
+        }
+
+        MongoPersistentEntity<?> entity = mappingContext.getRequiredPersistentEntity(entityType);
+        MongoPersistentProperty property = entity.getPersistentProperty(propertyName(getter));
+        if (property == null) {
+            // Lombok names the getter of a boolean field isActive isActive(), not isIsActive()
+            property = entity.getPersistentProperty(getter);
+        }
+        if (property == null) {
+            throw new IllegalArgumentException(getter + " is not a mapped property of " + entityType.getSimpleName());
+        }
+        return property.getFieldName();
+    }
+
+    private static String propertyName(String getter) {
+        if (getter.startsWith("get") && getter.length() > 3) {
+            return Introspector.decapitalize(getter.substring(3));
+        }
+        if (getter.startsWith("is") && getter.length() > 2) {
+            return Introspector.decapitalize(getter.substring(2));
+        }
+        return getter;
+    }
+
+    private static SerializedLambda serialized(FieldPath<?, ?> path) {
+        try {
+            Method writeReplace = path.getClass().getDeclaredMethod("writeReplace");
+            writeReplace.setAccessible(true);
+            return (SerializedLambda) writeReplace.invoke(path);
+        } catch (ReflectiveOperationException | ClassCastException e) {
+            throw new IllegalArgumentException("Expected a method reference, got " + path.getClass().getName(), e);
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.jira.jira.repository.query;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * Filter, sort and projection for one entity type, written with getter references instead of
+ * field-name strings so every condition targets the stored field names the indexes are declared on.
+ * Conditions are ANDed; several conditions on one field combine into a single criteria (e.g. a range).
+ *
+ *   fieldNames.query(Task.class)
+ *           .eq(Task::getWorkspaceId, workspaceId)
+ *           .between(Task::getDueAt, from, to)
+ *           .eq(Task::isActive, true)
+ *           .orderBy(Task::getDueAt, Sort.Direction.ASC)
+ */
+public final class TypedQuery<T> {
+
+    private final Class<T> entityType;
+    private final MongoFieldNames fieldNames;
+    private final Map<String, Criteria> conditions = new LinkedHashMap<>();
+    private final List<Criteria> anyOfGroups = new ArrayList<>();
+    private final List<Sort.Order> orders = new ArrayList<>();
+    private final List<String> includes = new ArrayList<>();
+    private long skip;
+    private int limit;
+
+    TypedQuery(Class<T> entityType, MongoFieldNames fieldNames) {
+        this.entityType = entityType;
+        this.fieldNames = fieldNames;
+    }
+
+    public Class<T> getEntityType() {
+        return entityType;
+    }
+
+    public TypedQuery<T> eq(FieldPath<T, ?> path, Object value) {
+        field(path).is(value);
+        return this;
+    }
+
+    public TypedQuery<T> ne(FieldPath<T, ?> path, Object value) {
+        field(path).ne(value);
+        return this;
+    }
+
+    public TypedQuery<T> in(FieldPath<T, ?> path, Collection<?> values) {
+        field(path).in(values);
+        return this;
+    }
+
+    public TypedQuery<T> notIn(FieldPath<T, ?> path, Collection<?> values) {
+        field(path).nin(values);
+        return this;
+    }
+
+    public TypedQuery<T> lt(FieldPath<T, ?> path, Object value) {
+        field(path).lt(value);
+        return this;
+    }
+
+    public TypedQuery<T> lte(FieldPath<T, ?> path, Object value) {
+        field(path).lte(value);
+        return this;
+    }
+
+    public TypedQuery<T> gt(FieldPath<T, ?> path, Object value) {
+        field(path).gt(value);
+        return this;
+    }
+
+    public TypedQuery<T> gte(FieldPath<T, ?> path, Object value) {
+        field(path).gte(value);
+        return this;
+    }
+
+    /**
+     * Inclusive range
+     */
+    public TypedQuery<T> between(FieldPath<T, ?> path, Object from, Object to) {
+        field(path).gte(from).lte(to);
+        return this;
+    }
+
+    public TypedQuery<T> isNotNull(FieldPath<T, ?> path) {
+        field(path).ne(null);
+        return this;
+    }
+
+    /**
+     * Case-insensitive substring match; the term is matched literally
+     */
+    public TypedQuery<T> containsIgnoreCase(FieldPath<T, String> path, String term) {
+        field(path).regex(Pattern.quote(term), "i");
+        return this;
+    }
+
+    /**
+     * Case-insensitive exact match; the value is matched literally
+     */
+    public TypedQuery<T> equalsIgnoreCase(FieldPath<T, String> path, String value) {
+        field(path).regex("^" + Pattern.quote(value) + "$", "i");
+        return this;
+    }
+
+    /**
+     * Match when any branch matches ($or); each branch is configured on a fresh query
+     */
+    @SafeVarargs
+    public final TypedQuery<T> anyOf(Consumer<TypedQuery<T>>... branches) {
+        List<Criteria> criteria = new ArrayList<>(branches.length);
+        for (Consumer<TypedQuery<T>> branch : branches) {
+            TypedQuery<T> query = new TypedQuery<>(entityType, fieldNames);
+            branch.accept(query);
+            criteria.add(query.toCriteria());
+        }
+        anyOfGroups.add(new Criteria().orOperator(criteria));
+        return this;
+    }
+
+    public TypedQuery<T> orderBy(FieldPath<T, ?> path, Sort.Direction direction) {
+        orders.add(new Sort.Order(direction, fieldNames.fieldName(entityType, path)));
+        return this;
+    }
+
+    /**
+     * Project to the given fields (plus _id)
+     */
+    @SafeVarargs
+    public final TypedQuery<T> include(FieldPath<T, ?>... paths) {
+        for (FieldPath<T, ?> path : paths) {
+            includes.add(fieldNames.fieldName(entityType, path));
+        }
+        return this;
+    }
+
+    public TypedQuery<T> page(int page, int size) {
+        this.skip = (long) page * size;
+        this.limit = size;
+        return this;
+    }
+
+    public TypedQuery<T> limit(int limit) {
+        this.limit = limit;
+        return this;
+    }
+
+    /**
+     * The filter as one criteria
+     */
+    public Criteria toCriteria() {
+        List<Criteria> all = new ArrayList<>(conditions.values());
+        all.addAll(anyOfGroups);
+        if (all.size() == 1) {
+            return all.get(0);
+        }
+        return new Criteria().andOperator(all);
+    }
+
+    /**
+     * Filter only, for counts
+     */
+    public Query toFilter() {
+        Query query = new Query();
+        conditions.values().forEach(query::addCriteria);
+        if (anyOfGroups.size() == 1) {
+            query.addCriteria(anyOfGroups.get(0));
+        } else if (!anyOfGroups.isEmpty()) {
+            query.addCriteria(new Criteria().andOperator(anyOfGroups));
+        }
+        return query;
+    }
+
+    /**
+     * Filter with sort, projection, skip and limit
+     */
+    public Query toQuery() {
+        Query query = toFilter();
+        if (!orders.isEmpty()) {
+            query.with(Sort.by(orders));
+        }
+        if (!includes.isEmpty()) {
+            query.fields().include(includes.toArray(String[]::new));
+        }
+        if (skip > 0) {
+            query.skip(skip);
+        }
+        if (limit > 0) {
+            query.limit(limit);
+        }
+        return query;
+    }
+
+    private Criteria field(FieldPath<T, ?> path) {
+        return conditions.computeIfAbsent(fieldNames.fieldName(entityType, path), Criteria::where);
+    }
+}
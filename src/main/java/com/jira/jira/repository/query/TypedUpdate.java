@@ -0,0 +1,37 @@
+package com.jira.jira.repository.query;
+
+import org.springframework.data.mongodb.core.query.Update;
+
+/**
+ * Update written with getter references; the counterpart of TypedQuery for $set, $unset and $inc
+ */
+public final class TypedUpdate<T> {
+
+    private final Class<T> entityType;
+    private final MongoFieldNames fieldNames;
+    private final Update update = new Update();
+
+    TypedUpdate(Class<T> entityType, MongoFieldNames fieldNames) {
+        this.entityType = entityType;
+        this.fieldNames = fieldNames;
+    }
+
+    public TypedUpdate<T> set(FieldPath<T, ?> path, Object value) {
+        update.set(fieldNames.fieldName(entityType, path), value);
+        return this;
+    }
+
+    public TypedUpdate<T> unset(FieldPath<T, ?> path) {
+        update.unset(fieldNames.fieldName(entityType, path));
+        return this;
+    }
+
+    public TypedUpdate<T> inc(FieldPath<T, ? extends Number> path, Number amount) {
+        update.inc(fieldNames.fieldName(entityType, path), amount);
+        return this;
+    }
+
+    public Update toUpdate() {
+        return update;
+    }
+}
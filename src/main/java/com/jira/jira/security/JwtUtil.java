@@ -1,5 +1,6 @@
 package com.jira.jira.security;
 
+import com.jira.jira.model.User;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import lombok.AccessLevel;
@@ -17,6 +18,9 @@ import java.util.function.Function;
 @Component
 @FieldDefaults(level = AccessLevel.PRIVATE)
 public class JwtUtil {
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_NAME = "name";
+
     @Value("${jwt.secret-key}")
     String secret;
 
@@ -40,7 +44,10 @@ public class JwtUtil {
         return claimsResolver.apply(claims);
     }
 
-    private Claims extractAllClaims(String token) {
+    /**
+     * Verify signature and expiry and return all claims; throws JwtException when invalid
+     */
+    public Claims extractAllClaims(String token) {
         return Jwts.parser()
                 .verifyWith(getSigningKey())
                 .build()
@@ -57,6 +64,16 @@ public class JwtUtil {
         return createToken(claims, userDetails.getUsername());
     }
 
+    /**
+     * Token carrying user id and name, so consumers such as WebSocket CONNECT need no user lookup
+     */
+    public String generateToken(User user) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(CLAIM_USER_ID, user.getId());
+        claims.put(CLAIM_NAME, user.getName());
+        return createToken(claims, user.getEmail());
+    }
+
     public String generateToken(String username) {
         Map<String, Object> claims = new HashMap<>();
         return createToken(claims, username);
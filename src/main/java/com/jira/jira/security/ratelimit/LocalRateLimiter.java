@@ -0,0 +1,36 @@
+package com.jira.jira.security.ratelimit;
+
+import com.jira.jira.util.TokenBucket;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-process rate limiter. Buckets live in a ConcurrentHashMap (striped by key hash) and are
+ * updated lock-free, so limits apply per node.
+ */
+public class LocalRateLimiter implements RateLimiter {
+
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    @Override
+    public Decision tryAcquire(RateLimitPolicy policy, String key) {
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.computeIfAbsent(policy.name() + ":" + key,
+                k -> new TokenBucket(policy.capacity(), policy.refillPeriod().toNanos(), now));
+
+        long waitNanos = bucket.tryConsume(now);
+        return waitNanos == 0 ? Decision.ALLOWED : Decision.rejected(Duration.ofNanos(waitNanos));
+    }
+
+    /**
+     * Drop buckets that have refilled completely; recreating them later is equivalent
+     */
+    @Scheduled(fixedDelayString = "${security.rate-limit.cleanup-interval:PT1M}")
+    public void evictIdleBuckets() {
+        long now = System.nanoTime();
+        buckets.entrySet().removeIf(entry -> entry.getValue().isFull(now));
+    }
+}
@@ -0,0 +1,110 @@
+package com.jira.jira.security.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jira.jira.dto.response.ApiResponse;
+import com.jira.jira.exception.ErrorCode;
+import com.jira.jira.security.JwtUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Throttles authentication endpoints per client IP and write endpoints per user (IP when anonymous).
+ * The client IP comes from ClientAddressResolver, so clients behind a trusted reverse proxy get their own buckets.
+ * Runs ahead of JwtAuthenticationFilter, so rejected requests never reach BCrypt or Mongo;
+ * the user is taken from the bearer token's subject, which needs no database lookup.
+ */
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final Set<String> AUTH_PATHS = Set.of("/api/auth/login", "/api/auth/register", "/api/auth/refresh");
+    private static final Set<String> WRITE_METHODS = Set.of("POST", "PUT", "PATCH", "DELETE");
+
+    private final RateLimiter rateLimiter;
+    private final RateLimitPolicy authPolicy;
+    private final RateLimitPolicy writePolicy;
+    private final ClientAddressResolver clientAddressResolver;
+    private final JwtUtil jwtUtil;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    public RateLimitFilter(RateLimiter rateLimiter, RateLimitPolicy authPolicy, RateLimitPolicy writePolicy,
+                           ClientAddressResolver clientAddressResolver, JwtUtil jwtUtil, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.rateLimiter = rateLimiter;
+        this.authPolicy = authPolicy;
+        this.writePolicy = writePolicy;
+        this.clientAddressResolver = clientAddressResolver;
+        this.jwtUtil = jwtUtil;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        String path = request.getRequestURI();
+        RateLimitPolicy policy;
+        String key;
+
+        if (AUTH_PATHS.contains(path)) {
+            policy = authPolicy;
+            key = "ip:" + clientAddressResolver.resolve(request);
+        } else if (path.startsWith("/api/") && WRITE_METHODS.contains(request.getMethod())) {
+            policy = writePolicy;
+            key = clientKey(request);
+        } else {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        RateLimiter.Decision decision = rateLimiter.tryAcquire(policy, key);
+        record(policy, decision.allowed());
+
+        if (decision.allowed()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long retryAfterSeconds = Math.max(1, (decision.retryAfter().toMillis() + 999) / 1000);
+        log.debug("Rate limit {} exceeded for {}, retry after {}s", policy.name(), key, retryAfterSeconds);
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), ApiResponse.error(
+                ErrorCode.RATE_LIMITED.getMessage(), ErrorCode.RATE_LIMITED.getCode(), HttpStatus.TOO_MANY_REQUESTS.value()));
+    }
+
+    private String clientKey(HttpServletRequest request) {
+        String authorizationHeader = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
+            try {
+                return "user:" + jwtUtil.extractUsername(authorizationHeader.substring(7));
+            } catch (Exception ignored) {
+                // Invalid tokens are limited by IP; authentication rejects them later
+            }
+        }
+        return "ip:" + clientAddressResolver.resolve(request);
+    }
+
+    private void record(RateLimitPolicy policy, boolean allowed) {
+        Counter.builder("jira.rate_limit.requests")
+                .description("Requests checked by the rate limiter")
+                .tag("policy", policy.name())
+                .tag("outcome", allowed ? "allowed" : "rejected")
+                .register(meterRegistry)
+                .increment();
+    }
+}
@@ -0,0 +1,9 @@
+package com.jira.jira.security.ratelimit;
+
+import java.time.Duration;
+
+/**
+ * Token bucket settings: up to capacity requests in a burst, refilled evenly over refillPeriod
+ */
+public record RateLimitPolicy(String name, long capacity, Duration refillPeriod) {
+}
@@ -0,0 +1,20 @@
+package com.jira.jira.security.ratelimit;
+
+import java.time.Duration;
+
+public interface RateLimiter {
+
+    /**
+     * Take one request from the bucket identified by policy and key
+     */
+    Decision tryAcquire(RateLimitPolicy policy, String key);
+
+    record Decision(boolean allowed, Duration retryAfter) {
+
+        public static final Decision ALLOWED = new Decision(true, Duration.ZERO);
+
+        public static Decision rejected(Duration retryAfter) {
+            return new Decision(false, retryAfter);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.jira.jira.security.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Distributed rate limiter: the token bucket is a Redis hash updated atomically by a Lua script,
+ * so limits hold across nodes. Falls back to the local limiter when Redis is unavailable.
+ */
+@Slf4j
+public class RedisRateLimiter implements RateLimiter {
+
+    private static final String KEY_PREFIX = "rate-limit:";
+
+    @SuppressWarnings("rawtypes")
+    private static final DefaultRedisScript<List> TOKEN_BUCKET_SCRIPT = new DefaultRedisScript<>("""
+            local capacity = tonumber(ARGV[1])
+            local tokens_per_ms = tonumber(ARGV[2])
+            local now = tonumber(ARGV[3])
+            local state = redis.call('HMGET', KEYS[1], 'tokens', 'ts')
+            local tokens = tonumber(state[1]) or capacity
+            local ts = tonumber(state[2]) or now
+            tokens = math.min(capacity, tokens + math.max(0, now - ts) * tokens_per_ms)
+            local allowed = 0
+            local retry_ms = 0
+            if tokens >= 1 then
+                tokens = tokens - 1
+                allowed = 1
+            else
+                retry_ms = math.ceil((1 - tokens) / tokens_per_ms)
+            end
+            redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'ts', tostring(now))
+            redis.call('PEXPIRE', KEYS[1], math.ceil(capacity / tokens_per_ms))
+            return {allowed, retry_ms}
+            """, List.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final RateLimiter fallback;
+    private final Counter fallbacks;
+
+    public RedisRateLimiter(StringRedisTemplate redisTemplate, RateLimiter fallback, MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.fallback = fallback;
+        this.fallbacks = Counter.builder("jira.rate_limit.fallbacks")
+                .description("Rate limit checks served locally because Redis was unavailable")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Decision tryAcquire(RateLimitPolicy policy, String key) {
+        try {
+            double tokensPerMs = (double) policy.capacity() / policy.refillPeriod().toMillis();
+            List<?> result = redisTemplate.execute(TOKEN_BUCKET_SCRIPT,
+                    List.of(KEY_PREFIX + policy.name() + ":" + key),
+                    String.valueOf(policy.capacity()), String.valueOf(tokensPerMs), String.valueOf(System.currentTimeMillis()));
+
+            if (((Number) result.get(0)).longValue() == 1L) {
+                return Decision.ALLOWED;
+            }
+            return Decision.rejected(Duration.ofMillis(((Number) result.get(1)).longValue()));
+        } catch (RuntimeException e) {
+            fallbacks.increment();
+            log.debug("Redis rate limiter unavailable, using local buckets: {}", e.getMessage());
+            return fallback.tryAcquire(policy, key);
+        }
+    }
+}
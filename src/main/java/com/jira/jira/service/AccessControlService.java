@@ -0,0 +1,117 @@
+package com.jira.jira.service;
+
+import com.jira.jira.exception.BusinessException;
+import com.jira.jira.exception.ErrorCode;
+import com.jira.jira.model.Membership;
+import com.jira.jira.repository.MembershipRepository;
+import com.jira.jira.util.TtlCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Cached membership checks for workspaces and projects.
+ * Answers (scopeId, userId) -> role from one indexed memberships lookup, cached with a short TTL;
+ * membership changes evict explicitly, the TTL bounds staleness for changes made on other nodes
+ * (in change-stream mode, ChangeStreamPublisher evicts on every node).
+ * Deleting a workspace or project suspends its memberships, so deleted scopes deny access.
+ */
+@Service
+@Slf4j
+public class AccessControlService {
+
+    public static final String ROLE_OWNER = "OWNER";
+    public static final String ROLE_MEMBER = "MEMBER";
+
+    private record AccessKey(String scopeId, String userId) {
+    }
+
+    private final MembershipRepository membershipRepository;
+    private final TtlCache<AccessKey, Optional<Membership>> workspaceRoles;
+    private final TtlCache<AccessKey, Optional<Membership>> projectRoles;
+
+    public AccessControlService(MembershipRepository membershipRepository,
+                                @Value("${security.access-cache.ttl:30s}") Duration ttl,
+                                @Value("${security.access-cache.max-size:10000}") int maxSize) {
+        this.membershipRepository = membershipRepository;
+        this.workspaceRoles = new TtlCache<>(ttl, maxSize);
+        this.projectRoles = new TtlCache<>(ttl, maxSize);
+    }
+
+    /**
+     * Get user's role in workspace, if any
+     */
+    public Optional<String> getWorkspaceRole(String workspaceId, String userId) {
+        return workspaceRoles.get(new AccessKey(workspaceId, userId), key -> findMembership(Membership.Scope.WORKSPACE, key))
+                .map(Membership::getRole);
+    }
+
+    /**
+     * Validate workspace access, returning user's role
+     */
+    public String requireWorkspaceAccess(String workspaceId, String userId, ErrorCode deniedCode) {
+        return getWorkspaceRole(workspaceId, userId).orElseThrow(() -> new BusinessException(deniedCode));
+    }
+
+    /**
+     * Get user's role in project, if any
+     */
+    public Optional<String> getProjectRole(String projectId, String userId) {
+        return projectRoles.get(new AccessKey(projectId, userId), key -> findMembership(Membership.Scope.PROJECT, key))
+                .map(Membership::getRole);
+    }
+
+    /**
+     * Validate project access, returning user's role
+     */
+    public String requireProjectAccess(String projectId, String userId, ErrorCode deniedCode) {
+        return getProjectRole(projectId, userId).orElseThrow(() -> new BusinessException(deniedCode));
+    }
+
+    private Optional<Membership> findMembership(Membership.Scope scope, AccessKey key) {
+        return membershipRepository.findByScopeAndScopeIdAndUserId(scope, key.scopeId(), key.userId())
+                .filter(membership -> !membership.isSuspended());
+    }
+
+    // ========== EVICTION ==========
+
+    public void evictWorkspaceMember(String workspaceId, String userId) {
+        workspaceRoles.invalidate(new AccessKey(workspaceId, userId));
+    }
+
+    public void evictWorkspace(String workspaceId) {
+        log.debug("Evicting cached access for workspace {}", workspaceId);
+        workspaceRoles.invalidateIf(key -> key.scopeId().equals(workspaceId));
+    }
+
+    public void evictProjectMember(String projectId, String userId) {
+        projectRoles.invalidate(new AccessKey(projectId, userId));
+    }
+
+    public void evictProject(String projectId) {
+        log.debug("Evicting cached access for project {}", projectId);
+        projectRoles.invalidateIf(key -> key.scopeId().equals(projectId));
+    }
+
+    /**
+     * Evict the cached access a membership grants or denies
+     */
+    public void evictMembership(Membership membership) {
+        if (membership.getScope() == Membership.Scope.WORKSPACE) {
+            evictWorkspaceMember(membership.getScopeId(), membership.getUserId());
+        } else if (membership.getScope() == Membership.Scope.PROJECT) {
+            evictProjectMember(membership.getScopeId(), membership.getUserId());
+        }
+    }
+
+    /**
+     * Evict the cached access granted by a membership known only by id (e.g. after it was deleted)
+     */
+    public void evictMembership(String membershipId) {
+        workspaceRoles.invalidateValuesIf(membership -> membership.map(m -> membershipId.equals(m.getId())).orElse(false));
+        projectRoles.invalidateValuesIf(membership -> membership.map(m -> membershipId.equals(m.getId())).orElse(false));
+    }
+}
@@ -0,0 +1,263 @@
+package com.jira.jira.service;
+
+import com.jira.jira.dto.common.CursorPageResponse;
+import com.jira.jira.dto.response.ActivityLogResponse;
+import com.jira.jira.dto.websocket.TaskUpdateEvent;
+import com.jira.jira.exception.BusinessException;
+import com.jira.jira.exception.ErrorCode;
+import com.jira.jira.mapper.ActivityLogMapper;
+import com.jira.jira.model.ActivityLog;
+import com.jira.jira.model.SequenceCounter;
+import com.jira.jira.repository.ActivityLogRepository;
+import com.jira.jira.util.WriteBehindBuffer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Append-only workspace activity feed.
+ *
+ * record() pushes the event over WebSocket right away and queues it for a batched write-behind append.
+ * Each flush reserves one block of sequence numbers per workspace with a single $inc on the counters
+ * collection, numbers the entries in arrival order and inserts the batch, so the feed is a range read
+ * on (workspace_id, seq). Outbox redeliveries are recorded once: entries whose event_id is already
+ * stored are dropped before numbering, and a duplicate that races in is rejected by the unique index.
+ * Optional retention adds a TTL index on created_at.
+ */
+@Service
+@Slf4j
+public class ActivityLogService {
+
+    private static final String SEQUENCE_PREFIX = "activity:";
+    private static final int DUPLICATE_KEY = 11000;
+
+    private final ActivityLogRepository activityLogRepository;
+    private final ActivityLogMapper activityLogMapper;
+    private final AccessControlService accessControlService;
+    private final WebSocketService webSocketService;
+    private final MongoTemplate mongoTemplate;
+    private final WriteBehindBuffer<ActivityLog> buffer;
+    private final Counter dropped;
+    private final Duration retention;
+    private final int maxPageSize;
+
+    public ActivityLogService(ActivityLogRepository activityLogRepository,
+                              ActivityLogMapper activityLogMapper,
+                              AccessControlService accessControlService,
+                              WebSocketService webSocketService,
+                              MongoTemplate mongoTemplate,
+                              MeterRegistry meterRegistry,
+                              @Value("${activity.write-behind.batch-size:500}") int batchSize,
+                              @Value("${activity.write-behind.capacity:20000}") int capacity,
+                              @Value("${activity.retention:0s}") Duration retention,
+                              @Value("${activity.page.max-size:100}") int maxPageSize) {
+        this.activityLogRepository = activityLogRepository;
+        this.activityLogMapper = activityLogMapper;
+        this.accessControlService = accessControlService;
+        this.webSocketService = webSocketService;
+        this.mongoTemplate = mongoTemplate;
+        this.retention = retention;
+        this.maxPageSize = maxPageSize;
+        this.dropped = Counter.builder("jira.activity.dropped")
+                .description("Activity entries that could not be persisted")
+                .register(meterRegistry);
+        this.buffer = new WriteBehindBuffer<>(batchSize, capacity, this::append, failure -> {
+            log.error("Failed to append {} activity entries", failure.batch().size(), failure.error());
+            dropped.increment(failure.batch().size());
+        });
+        Gauge.builder("jira.activity.pending", buffer, WriteBehindBuffer::size)
+                .description("Activity entries queued for the next write-behind flush")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Push an event to the workspace activity feed and queue it for persistence
+     */
+    public void record(TaskUpdateEvent event) {
+        if (event.getWorkspaceId() == null) {
+            return;
+        }
+
+        webSocketService.sendActivityUpdate(event.getWorkspaceId(), event);
+        if (!buffer.add(activityLogMapper.toActivityLog(event))) {
+            log.warn("Activity buffer full, dropping {} entry for workspace {}", event.getEventType(), event.getWorkspaceId());
+            dropped.increment();
+        }
+    }
+
+    /**
+     * Newest-first page of a workspace's activity, continuing below the cursor seq when given
+     */
+    public CursorPageResponse<ActivityLogResponse> getActivity(String workspaceId, String userId, String cursor, int limit) {
+        accessControlService.requireWorkspaceAccess(workspaceId, userId, ErrorCode.WORKSPACE_ACCESS_DENIED);
+
+        Long before = parseCursor(cursor);
+        int size = Math.max(1, Math.min(limit, maxPageSize));
+
+        // Read one extra row to know whether another page exists
+        Limit fetch = Limit.of(size + 1);
+        List<ActivityLog> rows = before == null
+                ? activityLogRepository.findByWorkspaceIdOrderBySeqDesc(workspaceId, fetch)
+                : activityLogRepository.findByWorkspaceIdAndSeqLessThanOrderBySeqDesc(workspaceId, before, fetch);
+
+        boolean hasMore = rows.size() > size;
+        List<ActivityLog> page = hasMore ? rows.subList(0, size) : rows;
+
+        return CursorPageResponse.<ActivityLogResponse>builder()
+                .content(activityLogMapper.toActivityLogResponseList(page))
+                .size(page.size())
+                .nextCursor(hasMore ? String.valueOf(page.get(page.size() - 1).getSeq()) : null)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    @Scheduled(fixedDelayString = "${activity.write-behind.flush-interval:1s}")
+    public void flush() {
+        buffer.flush();
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        buffer.flush();
+    }
+
+    /**
+     * Create the retention TTL index when activity.retention is set
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureRetentionIndex() {
+        if (retention.isZero() || retention.isNegative()) {
+            return;
+        }
+        try {
+            mongoTemplate.indexOps(ActivityLog.class).createIndex(new Index()
+                    .on("created_at", Sort.Direction.ASC)
+                    .named("created_at_ttl_idx")
+                    .expire(retention));
+            log.info("Activity log retention set to {}", retention);
+        } catch (Exception e) {
+            // An existing TTL index with a different expiry must be changed with collMod or dropped first
+            log.warn("Could not ensure activity retention index: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Number the batch per workspace from one reserved block each, then insert it
+     */
+    private void append(List<ActivityLog> batch) {
+        batch = withoutRecorded(batch);
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        Map<String, List<ActivityLog>> byWorkspace = new LinkedHashMap<>();
+        for (ActivityLog entry : batch) {
+            byWorkspace.computeIfAbsent(entry.getWorkspaceId(), id -> new ArrayList<>()).add(entry);
+        }
+
+        byWorkspace.forEach((workspaceId, entries) -> {
+            long last = reserve(SEQUENCE_PREFIX + workspaceId, entries.size());
+            long next = last - entries.size() + 1;
+            for (ActivityLog entry : entries) {
+                entry.setSeq(next++);
+            }
+        });
+
+        insertIgnoringDuplicates(batch);
+        log.debug("Appended {} activity entries for {} workspaces", batch.size(), byWorkspace.size());
+    }
+
+    /**
+     * Drop entries whose event is already in the batch or already stored
+     */
+    private List<ActivityLog> withoutRecorded(List<ActivityLog> batch) {
+        Map<String, ActivityLog> byEventId = new LinkedHashMap<>();
+        List<ActivityLog> entries = new ArrayList<>(batch.size());
+        for (ActivityLog entry : batch) {
+            if (entry.getEventId() == null) {
+                entries.add(entry);
+            } else if (byEventId.putIfAbsent(entry.getEventId(), entry) == null) {
+                entries.add(entry);
+            }
+        }
+        if (byEventId.isEmpty()) {
+            return entries;
+        }
+
+        Set<String> recorded = new HashSet<>();
+        activityLogRepository.findRecordedEventIds(byEventId.keySet()).forEach(entry -> recorded.add(entry.getEventId()));
+        if (!recorded.isEmpty()) {
+            entries.removeIf(entry -> entry.getEventId() != null && recorded.contains(entry.getEventId()));
+            log.debug("Skipped {} redelivered activity entries", recorded.size());
+        }
+        return entries;
+    }
+
+    /**
+     * Unordered insert; a duplicate event_id only rejects that entry
+     */
+    private void insertIgnoringDuplicates(List<ActivityLog> batch) {
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ActivityLog.class).insert(batch).execute();
+        } catch (BulkOperationException e) {
+            boolean onlyDuplicates = e.getErrors().stream().allMatch(error -> error.getCode() == DUPLICATE_KEY);
+            if (!onlyDuplicates) {
+                throw e;
+            }
+            log.debug("Skipped {} activity entries recorded concurrently", e.getErrors().size());
+        }
+    }
+
+    /**
+     * Reserve count sequence values; returns the last one reserved
+     */
+    private long reserve(String name, int count) {
+        SequenceCounter counter = mongoTemplate.findAndModify(
+                Query.query(Criteria.where("id").is(name)),
+                new Update().inc("seq", count),
+                FindAndModifyOptions.options().returnNew(true).upsert(true),
+                SequenceCounter.class);
+        if (counter == null) {
+            throw new IllegalStateException("Could not reserve sequence block for " + name);
+        }
+        return counter.getSeq();
+    }
+
+    private static Long parseCursor(String cursor) {
+        if (cursor == null) {
+            return null;
+        }
+        try {
+            return Long.parseLong(cursor);
+        } catch (NumberFormatException e) {
+            throw new BusinessException(ErrorCode.INVALID_REQUEST, "Invalid cursor");
+        }
+    }
+}
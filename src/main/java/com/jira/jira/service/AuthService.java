@@ -12,12 +12,10 @@ import com.jira.jira.model.User;
 import com.jira.jira.repository.RefreshTokenRepository;
 import com.jira.jira.repository.UserRepository;
 import com.jira.jira.security.JwtUtil;
+import io.micrometer.core.annotation.Timed;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -25,14 +23,15 @@ import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
+@Timed(value = "jira.service", description = "Service method latency, tagged by class and method")
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 public class AuthService {
     UserRepository userRepository;
     RefreshTokenRepository refreshTokenRepository;
-    PasswordEncoder passwordEncoder;
+    RefreshTokenCleanupService refreshTokenCleanupService;
+    PasswordHashingService passwordHashingService;
     JwtUtil jwtUtil;
     UserMapper userMapper;
-    AuthenticationManager authenticationManager;
 
     public RegisterResponse register(RegisterRequest request) {
         if (userRepository.existsByEmail(request.getEmail())) {
@@ -40,7 +39,7 @@ public class AuthService {
         }
 
         User user = userMapper.toUser(request);
-        user.setPassword(passwordEncoder.encode(request.getPassword()));
+        user.setPassword(passwordHashingService.encode(request.getPassword()));
         user.setCreatedAt(LocalDateTime.now());
         user.setUpdatedAt(LocalDateTime.now());
         user.setIsActive(true);
@@ -48,7 +47,7 @@ public class AuthService {
         User savedUser = userRepository.save(user);
 
         // Generate JWT token
-        String accessToken = jwtUtil.generateToken(savedUser.getEmail());
+        String accessToken = jwtUtil.generateToken(savedUser);
         String refreshToken = createRefreshToken(savedUser.getId());
 
         // Map to response using mapper
@@ -59,17 +58,25 @@ public class AuthService {
     }
 
     public LoginResponse login(LoginRequest request) {
-        // Authenticate user
-        authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(request.getEmail(), request.getPassword()));
-
-        User user = userRepository.findByEmail(request.getEmail()).orElseThrow(() -> new BusinessException(ErrorCode.USER_NOT_FOUND));
+        // Authenticate user (hashing runs on the bounded password pool)
+        User user = userRepository.findByEmail(request.getEmail()).orElse(null);
+        if (!passwordHashingService.matches(request.getPassword(), user != null ? user.getPassword() : null)) {
+            throw new BusinessException(ErrorCode.INVALID_CREDENTIALS);
+        }
 
         if (!user.getIsActive()) {
             throw new BusinessException(ErrorCode.USER_INACTIVE);
         }
 
+        // Transparently upgrade hashes made with a lower cost than configured
+        if (passwordHashingService.needsRehash(user.getPassword())) {
+            user.setPassword(passwordHashingService.encode(request.getPassword()));
+            user.setUpdatedAt(LocalDateTime.now());
+            user = userRepository.save(user);
+        }
+
         // Generate JWT tokens
-        String accessToken = jwtUtil.generateToken(user.getEmail());
+        String accessToken = jwtUtil.generateToken(user);
         String refreshToken = createRefreshToken(user.getId());
 
         // Map to response using mapper
@@ -127,7 +134,7 @@ public class AuthService {
             throw new BusinessException(ErrorCode.USER_INACTIVE);
         }
 
-        String newAccessToken = jwtUtil.generateToken(user.getEmail());
+        String newAccessToken = jwtUtil.generateToken(user);
 
         String newRefreshToken = createRefreshToken(user.getId());
 
@@ -163,6 +170,7 @@ public class AuthService {
                 .build();
 
         refreshTokenRepository.save(refreshToken);
+        refreshTokenCleanupService.enforceActiveLimit(userId);
 
         return refreshTokenValue;
     }
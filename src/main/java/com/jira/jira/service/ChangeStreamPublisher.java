@@ -0,0 +1,401 @@
+package com.jira.jira.service;
+
+import com.jira.jira.dto.websocket.TaskUpdateEvent;
+import com.jira.jira.model.ChangeStreamToken;
+import com.jira.jira.model.Membership;
+import com.jira.jira.model.OutboxEvent;
+import com.jira.jira.model.Task;
+import com.jira.jira.repository.ChangeStreamTokenRepository;
+import com.jira.jira.repository.UserRepository;
+import com.mongodb.MongoCommandException;
+import com.mongodb.MongoException;
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import com.mongodb.client.model.changestream.FullDocumentBeforeChange;
+import com.mongodb.client.model.changestream.OperationType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Change-stream event publisher (app.events.publisher=change-stream).
+ *
+ * Every node tails one change stream over tasks, projects, workspace and memberships and turns task
+ * changes into TaskUpdateEvents for its own subscribers, so writes from other nodes, bulk fixes and
+ * scripts reach every board. Changes are read in batches, coalesced per task and event type, and sent
+ * grouped by workspace. Project, workspace and membership changes evict the access-control cache on every node.
+ * Tasks created by a bulk import are not announced one by one; the import's TASKS_IMPORTED summary
+ * (and any other event in OUTBOX_EVENTS, which no task document change describes) is read from its
+ * outbox insert instead. Moves carry the old status and position from the pre-image, which is enabled
+ * on the tasks collection at startup (MongoDB 6.0+; without it old_status is left empty).
+ * Each node persists its own resume token (consumer:node-id) after each batch, so a restart continues
+ * where that node left off; if that position has left the oplog, the stream restarts from the present.
+ * app.node-id must be stable across restarts of a node and unique per node; it defaults to the host name.
+ * Requires a replica set. The outbox relay keeps appending activity but stops sending task events.
+ */
+@Service
+@Slf4j
+public class ChangeStreamPublisher {
+
+    public static final String MODE = "change-stream";
+
+    private static final String TASKS = "tasks";
+    private static final String PROJECTS = "projects";
+    private static final String WORKSPACES = "workspace";
+    private static final String MEMBERSHIPS = "memberships";
+    private static final String OUTBOX = "outbox";
+    private static final Set<TaskUpdateEvent.EventType> OUTBOX_EVENTS = EnumSet.of(TaskUpdateEvent.EventType.TASKS_IMPORTED);
+    private static final int CHANGE_STREAM_HISTORY_LOST = 286;
+
+    private final MongoTemplate mongoTemplate;
+    private final ChangeStreamTokenRepository tokenRepository;
+    private final WebSocketService webSocketService;
+    private final AccessControlService accessControlService;
+    private final UserRepository userRepository;
+    private final boolean enabled;
+    private final String tokenId;
+    private final int batchSize;
+    private final Duration maxAwait;
+    private final Duration retryDelay;
+    private final Counter published;
+
+    private volatile boolean running;
+    private volatile Thread worker;
+
+    public ChangeStreamPublisher(MongoTemplate mongoTemplate,
+                                 ChangeStreamTokenRepository tokenRepository,
+                                 WebSocketService webSocketService,
+                                 AccessControlService accessControlService,
+                                 UserRepository userRepository,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${app.events.publisher:outbox}") String publisher,
+                                 @Value("${app.events.change-stream.consumer:websocket}") String consumer,
+                                 @Value("${app.node-id:}") String nodeId,
+                                 @Value("${app.events.change-stream.batch-size:500}") int batchSize,
+                                 @Value("${app.events.change-stream.max-await:200ms}") Duration maxAwait,
+                                 @Value("${app.events.change-stream.retry-delay:5s}") Duration retryDelay) {
+        this.mongoTemplate = mongoTemplate;
+        this.tokenRepository = tokenRepository;
+        this.webSocketService = webSocketService;
+        this.accessControlService = accessControlService;
+        this.userRepository = userRepository;
+        this.enabled = MODE.equalsIgnoreCase(publisher);
+        this.tokenId = consumer + ":" + (nodeId.isBlank() ? hostName() : nodeId);
+        this.batchSize = batchSize;
+        this.maxAwait = maxAwait;
+        this.retryDelay = retryDelay;
+        this.published = Counter.builder("jira.changestream.events")
+                .description("Task events published from the change stream")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        worker = Thread.ofVirtual().name("change-stream-publisher").start(this::run);
+        log.info("Change-stream publisher started (resume token {})", tokenId);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+
+    private void run() {
+        enablePreImages();
+        while (running) {
+            try {
+                tail(loadToken());
+            } catch (MongoCommandException e) {
+                if (e.getErrorCode() == CHANGE_STREAM_HISTORY_LOST) {
+                    log.warn("Change stream resume point is no longer in the oplog, restarting from now");
+                    tokenRepository.deleteById(tokenId);
+                } else {
+                    log.warn("Change stream failed, retrying in {}: {}", retryDelay, e.getMessage());
+                    pause();
+                }
+            } catch (MongoException | IllegalStateException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Change stream failed, retrying in {}: {}", retryDelay, e.getMessage());
+                pause();
+            }
+        }
+    }
+
+    private void tail(BsonDocument resumeToken) {
+        ChangeStreamIterable<Document> stream = mongoTemplate.getDb()
+                .watch(List.of(Aggregates.match(Filters.or(
+                        Filters.in("ns.coll", TASKS, PROJECTS, WORKSPACES, MEMBERSHIPS),
+                        Filters.and(
+                                Filters.eq("ns.coll", OUTBOX),
+                                Filters.eq("operationType", "insert"),
+                                Filters.in("fullDocument.payload.eventType", OUTBOX_EVENTS.stream().map(Enum::name).toList()))))))
+                .fullDocument(FullDocument.UPDATE_LOOKUP)
+                .fullDocumentBeforeChange(FullDocumentBeforeChange.WHEN_AVAILABLE)
+                .batchSize(batchSize)
+                .maxAwaitTime(maxAwait.toMillis(), TimeUnit.MILLISECONDS);
+        if (resumeToken != null) {
+            stream = stream.resumeAfter(resumeToken);
+        }
+
+        try (MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor = stream.cursor()) {
+            while (running) {
+                List<ChangeStreamDocument<Document>> batch = new ArrayList<>();
+                ChangeStreamDocument<Document> change;
+                while (batch.size() < batchSize && (change = cursor.tryNext()) != null) {
+                    batch.add(change);
+                }
+
+                if (!batch.isEmpty()) {
+                    publish(batch);
+                    saveToken(batch.get(batch.size() - 1).getResumeToken());
+                }
+            }
+        }
+    }
+
+    /**
+     * Convert a batch, coalesce repeated changes to the same task, and send per workspace
+     */
+    private void publish(List<ChangeStreamDocument<Document>> batch) {
+        Map<String, LinkedHashMap<String, TaskUpdateEvent>> byWorkspace = new LinkedHashMap<>();
+
+        for (ChangeStreamDocument<Document> change : batch) {
+            String collection = change.getNamespace() != null ? change.getNamespace().getCollectionName() : null;
+            if (PROJECTS.equals(collection)) {
+                documentId(change).ifPresent(accessControlService::evictProject);
+            } else if (WORKSPACES.equals(collection)) {
+                documentId(change).ifPresent(accessControlService::evictWorkspace);
+            } else if (MEMBERSHIPS.equals(collection)) {
+                evictMembership(change);
+            } else if (OUTBOX.equals(collection) && change.getFullDocument() != null) {
+                TaskUpdateEvent event = mongoTemplate.getConverter().read(OutboxEvent.class, change.getFullDocument()).getPayload();
+                if (event != null && event.getWorkspaceId() != null) {
+                    byWorkspace.computeIfAbsent(event.getWorkspaceId(), id -> new LinkedHashMap<>()).put(event.getEventId(), event);
+                }
+            } else if (TASKS.equals(collection)) {
+                TaskUpdateEvent event = toEvent(change);
+                if (event != null) {
+                    LinkedHashMap<String, TaskUpdateEvent> events = byWorkspace.computeIfAbsent(event.getWorkspaceId(), id -> new LinkedHashMap<>());
+                    String key = event.getTaskId() + ":" + event.getEventType();
+                    TaskUpdateEvent previous = events.remove(key); // Keep only the latest change of each kind, in arrival order
+                    if (previous != null && previous.getOldStatus() != null) {
+                        event.setOldStatus(previous.getOldStatus()); // Coalesced moves go from the first old status
+                        event.setOldPosition(previous.getOldPosition());
+                    }
+                    events.put(key, event);
+                }
+            }
+        }
+        fillUserNames(byWorkspace.values());
+
+        byWorkspace.forEach((workspaceId, events) -> events.values().forEach(event -> {
+            webSocketService.sendTaskUpdateToWorkspace(workspaceId, event);
+            if (event.getProjectId() != null) {
+                webSocketService.sendTaskUpdateToProject(event.getProjectId(), event);
+            }
+            if (event.getEventType() == TaskUpdateEvent.EventType.TASK_MOVED) {
+                webSocketService.sendKanbanUpdate(workspaceId, event);
+            }
+            published.increment();
+        }));
+    }
+
+    /**
+     * Inserts and updates carry the membership; deletes only its id, which evicts the entries that cached it
+     */
+    private void evictMembership(ChangeStreamDocument<Document> change) {
+        Document document = change.getFullDocument();
+        if (document != null) {
+            accessControlService.evictMembership(mongoTemplate.getConverter().read(Membership.class, document));
+        } else {
+            documentId(change).ifPresent(accessControlService::evictMembership);
+        }
+    }
+
+    private TaskUpdateEvent toEvent(ChangeStreamDocument<Document> change) {
+        Document document = change.getFullDocument();
+        if (document == null) {
+            return null; // Hard delete or document gone before lookup; tasks are soft-deleted
+        }
+        Task task = mongoTemplate.getConverter().read(Task.class, document);
+        if (task.getWorkspaceId() == null) {
+            return null;
+        }
+        if (change.getOperationType() == OperationType.INSERT && task.getImportId() != null) {
+            return null; // Announced once by the import's TASKS_IMPORTED outbox event
+        }
+
+        Document before = change.getFullDocumentBeforeChange();
+        Task previous = before != null ? mongoTemplate.getConverter().read(Task.class, before) : null;
+
+        TaskUpdateEvent.EventType type = switch (change.getOperationType()) {
+            case INSERT -> TaskUpdateEvent.EventType.TASK_CREATED;
+            case REPLACE -> previous != null ? typeOfReplace(previous, task) : TaskUpdateEvent.EventType.TASK_UPDATED;
+            case UPDATE -> typeOfUpdate(change, task);
+            default -> null;
+        };
+        if (type == null) {
+            return null;
+        }
+
+        return TaskUpdateEvent.builder()
+                .eventId(change.getResumeToken().getString("_data").getValue())
+                .eventType(type)
+                .workspaceId(task.getWorkspaceId())
+                .projectId(task.getProjectId())
+                .taskId(task.getId())
+                .taskName(task.getName())
+                .oldStatus(previous != null ? previous.getStatus() : null)
+                .newStatus(task.getStatus())
+                .oldPosition(previous != null ? previous.getPosition() : null)
+                .newPosition(task.getPosition())
+                .assigneeId(task.getAssigneeId())
+                .updatedBy(task.getUpdatedBy() != null ? task.getUpdatedBy() : task.getCreatedBy())
+                .timestamp(task.getUpdatedAt() != null ? task.getUpdatedAt() : LocalDateTime.now())
+                .build();
+    }
+
+    /**
+     * Resolve updated_by_name for a batch with one user lookup
+     */
+    private void fillUserNames(Collection<LinkedHashMap<String, TaskUpdateEvent>> byWorkspace) {
+        Set<String> userIds = new HashSet<>();
+        byWorkspace.forEach(events -> events.values().forEach(event -> {
+            if (event.getUpdatedBy() != null && event.getUpdatedByName() == null) {
+                userIds.add(event.getUpdatedBy());
+            }
+        }));
+        if (userIds.isEmpty()) {
+            return;
+        }
+
+        Map<String, String> names = new HashMap<>();
+        userRepository.findAllById(userIds).forEach(user -> names.put(user.getId(), user.getName()));
+        byWorkspace.forEach(events -> events.values().forEach(event -> {
+            if (event.getUpdatedByName() == null && event.getUpdatedBy() != null) {
+                event.setUpdatedByName(names.get(event.getUpdatedBy()));
+            }
+        }));
+    }
+
+    /**
+     * Record task pre-images so moves can report the status they came from
+     */
+    private void enablePreImages() {
+        try {
+            if (!mongoTemplate.collectionExists(TASKS)) {
+                mongoTemplate.createCollection(TASKS);
+            }
+            mongoTemplate.getDb().runCommand(new Document("collMod", TASKS)
+                    .append("changeStreamPreAndPostImages", new Document("enabled", true)));
+        } catch (MongoException e) {
+            log.warn("Could not enable pre-images on {}, task moves will have no old status: {}", TASKS, e.getMessage());
+        }
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            throw new IllegalStateException("Cannot resolve host name, set app.node-id", e);
+        }
+    }
+
+    private static TaskUpdateEvent.EventType typeOfUpdate(ChangeStreamDocument<Document> change, Task task) {
+        if (change.getUpdateDescription() == null || change.getUpdateDescription().getUpdatedFields() == null) {
+            return TaskUpdateEvent.EventType.TASK_UPDATED;
+        }
+        Set<String> fields = change.getUpdateDescription().getUpdatedFields().keySet();
+
+        if (fields.contains("is_active") && !task.isActive()) {
+            return TaskUpdateEvent.EventType.TASK_DELETED;
+        }
+        if (fields.contains("status") || fields.contains("position")) {
+            return TaskUpdateEvent.EventType.TASK_MOVED;
+        }
+        if (fields.contains("assignee_id")) {
+            return TaskUpdateEvent.EventType.TASK_ASSIGNED;
+        }
+        if (Set.of("is_overdue", "updated_at").containsAll(fields)) {
+            return null; // Overdue flips are announced by OverdueTaskTracker
+        }
+        return TaskUpdateEvent.EventType.TASK_UPDATED;
+    }
+
+    /**
+     * Whole-document saves are classified by comparing with the pre-image
+     */
+    private static TaskUpdateEvent.EventType typeOfReplace(Task previous, Task task) {
+        if (previous.isActive() && !task.isActive()) {
+            return TaskUpdateEvent.EventType.TASK_DELETED;
+        }
+        if (previous.getStatus() != task.getStatus() || !Objects.equals(previous.getPosition(), task.getPosition())) {
+            return TaskUpdateEvent.EventType.TASK_MOVED;
+        }
+        if (!Objects.equals(previous.getAssigneeId(), task.getAssigneeId())) {
+            return TaskUpdateEvent.EventType.TASK_ASSIGNED;
+        }
+        return TaskUpdateEvent.EventType.TASK_UPDATED;
+    }
+
+    private static Optional<String> documentId(ChangeStreamDocument<Document> change) {
+        BsonDocument key = change.getDocumentKey();
+        BsonValue id = key != null ? key.get("_id") : null;
+        if (id == null) {
+            return Optional.empty();
+        }
+        return Optional.of(id.isObjectId() ? id.asObjectId().getValue().toHexString() : id.asString().getValue());
+    }
+
+    private BsonDocument loadToken() {
+        return tokenRepository.findById(tokenId)
+                .map(token -> BsonDocument.parse(token.getToken()))
+                .orElse(null);
+    }
+
+    private void saveToken(BsonDocument resumeToken) {
+        tokenRepository.save(ChangeStreamToken.builder()
+                .id(tokenId)
+                .token(resumeToken.toJson())
+                .updatedAt(LocalDateTime.now())
+                .build());
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(retryDelay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package com.jira.jira.service;
+
+import com.jira.jira.model.Notification;
+import com.jira.jira.model.User;
+import com.jira.jira.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.Context;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Email digests of task notifications.
+ *
+ * Notifications are collected per user in memory and, once per window, each user with activity gets
+ * one digest rendered from templates/mail/task-digest.html. Sending happens on a small bounded pool
+ * with exponential-backoff retries, so neither requests nor the scheduler wait on SMTP, and a slow
+ * relay sheds digests instead of growing an unbounded backlog. Collection is per node: events handled
+ * by different nodes arrive in separate digests. Disabled unless notification.digest.enabled=true and
+ * spring.mail.host is configured.
+ */
+@Service
+@Slf4j
+public class DigestMailService {
+
+    private static final String TEMPLATE = "mail/task-digest";
+
+    private final ObjectProvider<JavaMailSender> mailSender;
+    private final ITemplateEngine templateEngine;
+    private final UserRepository userRepository;
+    private final ThreadPoolExecutor executor;
+    private final boolean enabled;
+    private final int maxItems;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+    private final String from;
+    private final String baseUrl;
+    private final Counter sent;
+    private final Counter failed;
+    private final Counter rejected;
+
+    private final Map<String, Digest> pending = new ConcurrentHashMap<>();
+
+    public record DigestItem(String name, String url, LocalDateTime createdAt) {
+    }
+
+    public DigestMailService(ObjectProvider<JavaMailSender> mailSender,
+                             ITemplateEngine templateEngine,
+                             UserRepository userRepository,
+                             MeterRegistry meterRegistry,
+                             @Value("${notification.digest.enabled:false}") boolean enabled,
+                             @Value("${notification.digest.max-items:50}") int maxItems,
+                             @Value("${notification.digest.pool-size:2}") int poolSize,
+                             @Value("${notification.digest.queue-capacity:1000}") int queueCapacity,
+                             @Value("${notification.digest.max-attempts:3}") int maxAttempts,
+                             @Value("${notification.digest.retry-backoff:2s}") Duration retryBackoff,
+                             @Value("${notification.digest.from:no-reply@jira.local}") String from,
+                             @Value("${notification.digest.base-url:http://localhost:3000}") String baseUrl) {
+        this.mailSender = mailSender;
+        this.templateEngine = templateEngine;
+        this.userRepository = userRepository;
+        this.enabled = enabled;
+        this.maxItems = maxItems;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = retryBackoff;
+        this.from = from;
+        this.baseUrl = baseUrl;
+
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name("digest-mail-", 0).daemon(true).factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+
+        new ExecutorServiceMetrics(executor, "digest.mail", Tags.empty()).bindTo(meterRegistry);
+        this.sent = Counter.builder("jira.digest.mail")
+                .description("Digest mails by outcome")
+                .tag("outcome", "sent")
+                .register(meterRegistry);
+        this.failed = Counter.builder("jira.digest.mail")
+                .description("Digest mails by outcome")
+                .tag("outcome", "failed")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("jira.digest.mail")
+                .description("Digest mails by outcome")
+                .tag("outcome", "rejected")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Add a notification to its receiver's next digest
+     */
+    public void collect(Notification notification) {
+        if (!enabled) {
+            return;
+        }
+        DigestItem item = new DigestItem(notification.getName(), notification.getUrl(), notification.getCreatedAt());
+        // A digest closed by sendDigests between lookup and add refuses the item; retry on the next window's digest
+        while (!pending.computeIfAbsent(notification.getReceiverId(), id -> new Digest()).add(item, maxItems)) {
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Close the current window and queue one digest per user with activity
+     */
+    @Scheduled(fixedDelayString = "${notification.digest.window:PT15M}",
+            initialDelayString = "${notification.digest.window:PT15M}")
+    public void sendDigests() {
+        if (!enabled || pending.isEmpty()) {
+            return;
+        }
+
+        JavaMailSender sender = mailSender.getIfAvailable();
+        if (sender == null) {
+            log.warn("Digest mail enabled but no mail sender is configured (spring.mail.host)");
+            return;
+        }
+
+        Map<String, DigestSnapshot> window = new HashMap<>();
+        for (String userId : List.copyOf(pending.keySet())) {
+            Digest digest = pending.remove(userId);
+            if (digest != null) {
+                window.put(userId, digest.close());
+            }
+        }
+
+        Map<String, User> users = userRepository.findAllById(window.keySet()).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        window.forEach((userId, digest) -> {
+            User user = users.get(userId);
+            if (user == null || user.getEmail() == null) {
+                return;
+            }
+            try {
+                executor.execute(() -> send(sender, user, digest));
+            } catch (RejectedExecutionException e) {
+                rejected.increment();
+                log.warn("Digest mail queue full ({} queued), dropping digest for user {}", executor.getQueue().size(), userId);
+            }
+        });
+    }
+
+    private void send(JavaMailSender sender, User user, DigestSnapshot digest) {
+        MimeMessage message;
+        try {
+            message = render(sender, user, digest);
+        } catch (MessagingException | RuntimeException e) {
+            failed.increment();
+            log.error("Failed to render digest for user {}", user.getId(), e);
+            return;
+        }
+
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            try {
+                sender.send(message);
+                sent.increment();
+                return;
+            } catch (MailException e) {
+                if (attempt == maxAttempts) {
+                    failed.increment();
+                    log.error("Giving up on digest for user {} after {} attempts: {}", user.getId(), attempt, e.getMessage());
+                    return;
+                }
+                log.warn("Digest for user {} failed (attempt {}), retrying: {}", user.getId(), attempt, e.getMessage());
+                if (!sleep(retryBackoff.multipliedBy(1L << (attempt - 1)))) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private MimeMessage render(JavaMailSender sender, User user, DigestSnapshot digest) throws MessagingException {
+        List<DigestItem> items = digest.items();
+        String subject = digest.total() == 1 ? "1 update on your tasks" : digest.total() + " updates on your tasks";
+
+        Context context = new Context();
+        context.setVariable("subject", subject);
+        context.setVariable("userName", user.getName());
+        context.setVariable("items", items);
+        context.setVariable("total", digest.total());
+        context.setVariable("baseUrl", baseUrl);
+
+        MimeMessage message = sender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, StandardCharsets.UTF_8.name());
+        helper.setFrom(from);
+        helper.setTo(user.getEmail());
+        helper.setSubject(subject);
+        helper.setText(templateEngine.process(TEMPLATE, context), true);
+        return message;
+    }
+
+    private static boolean sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private record DigestSnapshot(List<DigestItem> items, int total) {
+    }
+
+    /**
+     * One user's events in the current window; keeps the first maxItems and counts the rest.
+     * Once closed it rejects further items, so nothing is added after its snapshot is taken.
+     */
+    private static class Digest {
+        private final List<DigestItem> items = new ArrayList<>();
+        private int total;
+        private boolean closed;
+
+        synchronized boolean add(DigestItem item, int maxItems) {
+            if (closed) {
+                return false;
+            }
+            total++;
+            if (items.size() < maxItems) {
+                items.add(item);
+            }
+            return true;
+        }
+
+        synchronized DigestSnapshot close() {
+            closed = true;
+            return new DigestSnapshot(List.copyOf(items), total);
+        }
+    }
+}
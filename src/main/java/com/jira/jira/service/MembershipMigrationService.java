@@ -0,0 +1,129 @@
+package com.jira.jira.service;
+
+import com.jira.jira.model.Membership;
+import com.jira.jira.model.Project;
+import com.jira.jira.model.Workspace;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.ReplaceOptions;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * One-off copy of the legacy member_ids arrays on workspaces and projects into the memberships collection.
+ * Runs as an ApplicationRunner, so it finishes before the application reports ready and access checks
+ * never see a half-copied collection; a failure stops startup and the copy is retried on the next start.
+ * Completion is recorded in the migrations collection and later starts skip the copy, because the legacy
+ * arrays are no longer written and replaying them would restore members removed since.
+ * Upserts with $setOnInsert, so nodes starting together on the first deploy can both run it safely.
+ * The arrays are left in place for rollback.
+ */
+@Service
+@Slf4j
+@SuppressWarnings("deprecation") // Reads the legacy memberIds arrays
+public class MembershipMigrationService implements ApplicationRunner {
+
+    private static final String MIGRATIONS = "migrations";
+    private static final String MIGRATION_ID = "memberships-from-member-ids";
+
+    private final MongoTemplate mongoTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+
+    public MembershipMigrationService(MongoTemplate mongoTemplate,
+                                      @Value("${membership.migration.enabled:true}") boolean enabled,
+                                      @Value("${membership.migration.batch-size:1000}") int batchSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        if (mongoTemplate.getCollection(MIGRATIONS).countDocuments(Filters.eq("_id", MIGRATION_ID)) > 0) {
+            log.debug("Membership migration already completed");
+            return;
+        }
+
+        try {
+            long workspaces = migrate(Workspace.class, Membership.Scope.WORKSPACE);
+            long projects = migrate(Project.class, Membership.Scope.PROJECT);
+            mongoTemplate.getCollection(MIGRATIONS).replaceOne(Filters.eq("_id", MIGRATION_ID),
+                    new Document("_id", MIGRATION_ID).append("completed_at", new Date()),
+                    new ReplaceOptions().upsert(true));
+            log.info("Membership migration upserted {} workspace and {} project memberships", workspaces, projects);
+        } catch (RuntimeException e) {
+            throw new IllegalStateException("Membership migration failed, will retry on next start", e);
+        }
+    }
+
+    private long migrate(Class<?> entity, Membership.Scope scope) {
+        Query query = Query.query(Criteria.where("isActive").is(true));
+        query.fields().include("id", "ownerId", "memberIds", "createdAt");
+
+        long upserted = 0;
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Membership.class);
+        int pending = 0;
+
+        try (Stream<?> documents = mongoTemplate.stream(query, entity)) {
+            for (Iterator<?> it = documents.iterator(); it.hasNext(); ) {
+                Object document = it.next();
+                Legacy legacy = Legacy.of(document);
+                Set<String> userIds = new LinkedHashSet<>();
+                if (legacy.ownerId() != null) {
+                    userIds.add(legacy.ownerId());
+                }
+                if (legacy.memberIds() != null) {
+                    userIds.addAll(legacy.memberIds());
+                }
+
+                for (String userId : userIds) {
+                    String role = userId.equals(legacy.ownerId()) ? AccessControlService.ROLE_OWNER : AccessControlService.ROLE_MEMBER;
+                    bulk.upsert(
+                            Query.query(Criteria.where("scope").is(scope).and("scopeId").is(legacy.id()).and("userId").is(userId)),
+                            new Update().setOnInsert("role", role)
+                                    .setOnInsert("joinedAt", legacy.createdAt() != null ? legacy.createdAt() : LocalDateTime.now()));
+                    if (++pending == batchSize) {
+                        upserted += bulk.execute().getUpserts().size();
+                        bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Membership.class);
+                        pending = 0;
+                    }
+                }
+            }
+        }
+
+        if (pending > 0) {
+            upserted += bulk.execute().getUpserts().size();
+        }
+        return upserted;
+    }
+
+    private record Legacy(String id, String ownerId, List<String> memberIds, LocalDateTime createdAt) {
+        static Legacy of(Object document) {
+            if (document instanceof Workspace workspace) {
+                return new Legacy(workspace.getId(), workspace.getOwnerId(), workspace.getMemberIds(), workspace.getCreatedAt());
+            }
+            Project project = (Project) document;
+            return new Legacy(project.getId(), project.getOwnerId(), project.getMemberIds(), project.getCreatedAt());
+        }
+    }
+}
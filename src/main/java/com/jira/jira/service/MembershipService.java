@@ -0,0 +1,127 @@
+package com.jira.jira.service;
+
+import com.jira.jira.dto.common.CursorPageResponse;
+import com.jira.jira.exception.BusinessException;
+import com.jira.jira.exception.ErrorCode;
+import com.jira.jira.model.MemberPreview;
+import com.jira.jira.model.Membership;
+import com.jira.jira.repository.MembershipRepository;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Workspace and project memberships, stored one document per (scope, scopeId, userId).
+ * Adding or removing a member is a single insert or delete instead of rewriting the parent document.
+ * Callers evict AccessControlService entries for the affected member.
+ */
+@Service
+public class MembershipService {
+
+    private final MembershipRepository membershipRepository;
+    private final int maxPageSize;
+
+    public MembershipService(MembershipRepository membershipRepository,
+                             @Value("${member.page.max-size:100}") int maxPageSize) {
+        this.membershipRepository = membershipRepository;
+        this.maxPageSize = maxPageSize;
+    }
+
+    /**
+     * Add a member; fails with USER_ALREADY_EXISTS if they already belong to the scope
+     */
+    public Membership addMember(Membership.Scope scope, String scopeId, String userId, String role) {
+        if (membershipRepository.existsByScopeAndScopeIdAndUserId(scope, scopeId, userId)) {
+            throw new BusinessException(ErrorCode.USER_ALREADY_EXISTS);
+        }
+
+        try {
+            return membershipRepository.insert(Membership.builder()
+                    .scope(scope)
+                    .scopeId(scopeId)
+                    .userId(userId)
+                    .role(role)
+                    .joinedAt(LocalDateTime.now())
+                    .build());
+        } catch (DuplicateKeyException e) {
+            throw new BusinessException(ErrorCode.USER_ALREADY_EXISTS); // Lost a race with a concurrent add
+        }
+    }
+
+    public boolean removeMember(Membership.Scope scope, String scopeId, String userId) {
+        return membershipRepository.deleteByScopeAndScopeIdAndUserId(scope, scopeId, userId) > 0;
+    }
+
+    /**
+     * Suspend every membership of a scope (used when it is soft-deleted); they are kept so the scope can be restored
+     */
+    public void suspendAll(Membership.Scope scope, String scopeId) {
+        membershipRepository.findAndSuspendByScopeAndScopeId(scope, scopeId);
+    }
+
+    public List<Membership> getMembers(Membership.Scope scope, String scopeId) {
+        return membershipRepository.findByScopeAndScopeIdOrderByJoinedAtAsc(scope, scopeId);
+    }
+
+    /**
+     * Page of a scope's members in join order, continuing after the cursor membership id when given
+     */
+    public CursorPageResponse<Membership> getMemberPage(Membership.Scope scope, String scopeId, String cursor, int limit) {
+        if (cursor != null && !ObjectId.isValid(cursor)) {
+            throw new BusinessException(ErrorCode.INVALID_REQUEST, "Invalid cursor");
+        }
+        int size = Math.max(1, Math.min(limit, maxPageSize));
+
+        // Read one extra row to know whether another page exists
+        Limit fetch = Limit.of(size + 1);
+        List<Membership> rows = cursor == null
+                ? membershipRepository.findByScopeAndScopeIdOrderByIdAsc(scope, scopeId, fetch)
+                : membershipRepository.findByScopeAndScopeIdAndIdGreaterThanOrderByIdAsc(scope, scopeId, cursor, fetch);
+
+        boolean hasMore = rows.size() > size;
+        List<Membership> page = hasMore ? rows.subList(0, size) : rows;
+
+        return CursorPageResponse.<Membership>builder()
+                .content(page)
+                .size(page.size())
+                .nextCursor(hasMore ? page.get(page.size() - 1).getId() : null)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    /**
+     * Member count and first members in join order of each scope, for previews on workspace and project cards.
+     * Scopes without members are absent from the result.
+     */
+    public Map<String, MemberPreview> getMemberPreviews(Membership.Scope scope, Collection<String> scopeIds, int count) {
+        if (scopeIds.isEmpty()) {
+            return Map.of();
+        }
+        return membershipRepository.findMemberPreviews(scope, scopeIds, count).stream()
+                .collect(Collectors.toMap(MemberPreview::scopeId, Function.identity()));
+    }
+
+    public List<String> getMemberIds(Membership.Scope scope, String scopeId) {
+        return getMembers(scope, scopeId).stream().map(Membership::getUserId).toList();
+    }
+
+    /**
+     * Ids of the workspaces or projects a user belongs to
+     */
+    public List<String> getScopeIds(Membership.Scope scope, String userId) {
+        return membershipRepository.findByScopeAndUserId(scope, userId).stream().map(Membership::getScopeId).toList();
+    }
+
+    public long countMembers(Membership.Scope scope, String scopeId) {
+        return membershipRepository.countByScopeAndScopeId(scope, scopeId);
+    }
+}
@@ -0,0 +1,362 @@
+package com.jira.jira.service;
+
+import com.jira.jira.dto.common.CursorPageResponse;
+import com.jira.jira.dto.response.NotificationResponse;
+import com.jira.jira.dto.websocket.TaskUpdateEvent;
+import com.jira.jira.exception.BusinessException;
+import com.jira.jira.exception.ErrorCode;
+import com.jira.jira.mapper.NotificationMapper;
+import com.jira.jira.model.*;
+import com.jira.jira.repository.NotificationRepository;
+import com.jira.jira.repository.UnreadCounterRepository;
+import com.jira.jira.repository.UserRepository;
+import com.jira.jira.util.WriteBehindBuffer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Persisted assignment, mention and due-date notifications.
+ *
+ * Notifications are queued in a write-behind buffer together with their WebSocket push. Each flush
+ * raises the receivers' unread counters with one bulk $inc, inserts the batch, and only then sends the
+ * pushes, so a client never sees (or marks seen) a notification that is not stored yet or not counted.
+ * If either write fails, the affected counters are rebuilt from the stored unseen notifications.
+ * The list endpoint pages by _id (keyset), and the unread badge is a single counter read instead of
+ * a count query. Every notification also feeds the receiver's email digest (DigestMailService).
+ */
+@Service
+@Slf4j
+public class NotificationService {
+
+    // @handle where handle is a member's email or the part before the @
+    private static final Pattern MENTION = Pattern.compile("(?<![\\w.])@([A-Za-z0-9._%+-]+(?:@[A-Za-z0-9.-]+\\.[A-Za-z]{2,})?)");
+
+    private final NotificationRepository notificationRepository;
+    private final UnreadCounterRepository unreadCounterRepository;
+    private final UserRepository userRepository;
+    private final MembershipService membershipService;
+    private final NotificationMapper notificationMapper;
+    private final WebSocketService webSocketService;
+    private final DigestMailService digestMailService;
+    private final MongoTemplate mongoTemplate;
+    private final Counter dropped;
+    private final Counter pushFailed;
+    private final WriteBehindBuffer<Pending> buffer;
+    private final int maxPageSize;
+
+    public NotificationService(NotificationRepository notificationRepository,
+                               UnreadCounterRepository unreadCounterRepository,
+                               UserRepository userRepository,
+                               MembershipService membershipService,
+                               NotificationMapper notificationMapper,
+                               WebSocketService webSocketService,
+                               DigestMailService digestMailService,
+                               MongoTemplate mongoTemplate,
+                               MeterRegistry meterRegistry,
+                               @Value("${notification.write-behind.batch-size:200}") int batchSize,
+                               @Value("${notification.write-behind.capacity:10000}") int capacity,
+                               @Value("${notification.page.max-size:100}") int maxPageSize) {
+        this.notificationRepository = notificationRepository;
+        this.unreadCounterRepository = unreadCounterRepository;
+        this.userRepository = userRepository;
+        this.membershipService = membershipService;
+        this.notificationMapper = notificationMapper;
+        this.webSocketService = webSocketService;
+        this.digestMailService = digestMailService;
+        this.mongoTemplate = mongoTemplate;
+        this.maxPageSize = maxPageSize;
+        this.dropped = Counter.builder("jira.notifications.dropped")
+                .description("Notifications that could not be persisted")
+                .register(meterRegistry);
+        this.pushFailed = Counter.builder("jira.notifications.push_failed")
+                .description("Stored notifications whose WebSocket push failed")
+                .register(meterRegistry);
+        // Only a failed insert reaches here; counter failures are repaired inside write()
+        this.buffer = new WriteBehindBuffer<>(batchSize, capacity, this::write, failure -> {
+            log.error("Failed to persist {} notifications", failure.batch().size(), failure.error());
+            dropped.increment(failure.batch().size());
+        });
+        Gauge.builder("jira.notifications.pending", buffer, WriteBehindBuffer::size)
+                .description("Notifications queued for the next write-behind flush")
+                .register(meterRegistry);
+    }
+
+    // ========== TRIGGERS ==========
+
+    /**
+     * Notify the assignee of a task, unless they assigned it to themselves
+     */
+    public void notifyAssignment(Task task, String actorId) {
+        String assigneeId = task.getAssigneeId();
+        if (assigneeId == null || assigneeId.equals(actorId)) {
+            return;
+        }
+
+        Map<String, User> users = findUsers(List.of(assigneeId, actorId));
+        String actorName = nameOf(users.get(actorId));
+        String assigneeName = nameOf(users.get(assigneeId));
+
+        TaskUpdateEvent event = TaskUpdateEvent.taskAssigned(task.getWorkspaceId(), task.getProjectId(), task.getId(),
+                task.getName(), assigneeId, assigneeName, actorId, actorName);
+        enqueue(task, NotificationType.ASSIGNMENT, actorId, assigneeId, actorName + " assigned you to " + task.getName(),
+                () -> webSocketService.sendTaskAssignmentNotification(assigneeId, event));
+    }
+
+    /**
+     * Notify workspace members newly @mentioned in a task description
+     */
+    public void notifyMentions(Task task, String previousDescription, String actorId) {
+        Set<String> handles = extractMentions(task.getDescription());
+        if (handles.isEmpty()) {
+            return;
+        }
+        handles.removeAll(extractMentions(previousDescription));
+        if (handles.isEmpty()) {
+            return;
+        }
+
+        Set<String> memberIds = new HashSet<>(membershipService.getMemberIds(Membership.Scope.WORKSPACE, task.getWorkspaceId()));
+        memberIds.add(actorId);
+        Map<String, User> members = findUsers(memberIds);
+        String actorName = nameOf(members.get(actorId));
+
+        TaskUpdateEvent event = TaskUpdateEvent.taskMentioned(task.getWorkspaceId(), task.getProjectId(),
+                task.getId(), task.getName(), actorId, actorName);
+        for (User member : members.values()) {
+            if (member.getId().equals(actorId) || !isMentioned(member, handles)) {
+                continue;
+            }
+            String memberId = member.getId();
+            enqueue(task, NotificationType.MENTION, actorId, memberId, actorName + " mentioned you in " + task.getName(),
+                    () -> webSocketService.sendPrivateNotification(memberId, event));
+        }
+    }
+
+    /**
+     * Notify the assignee that a task passed its due date
+     */
+    public void notifyOverdue(Task task, TaskUpdateEvent event) {
+        if (task.getAssigneeId() == null) {
+            return;
+        }
+
+        String assigneeId = task.getAssigneeId();
+        enqueue(task, NotificationType.DUE_DATE, null, assigneeId, task.getName() + " is overdue",
+                () -> webSocketService.sendPrivateNotification(assigneeId, event));
+    }
+
+    // ========== QUERIES ==========
+
+    /**
+     * Newest-first page of a user's notifications, continuing after the cursor id when given
+     */
+    public CursorPageResponse<NotificationResponse> getNotifications(String userId, String cursor, int limit) {
+        int size = Math.max(1, Math.min(limit, maxPageSize));
+        if (cursor != null && !ObjectId.isValid(cursor)) {
+            throw new BusinessException(ErrorCode.INVALID_REQUEST, "Invalid cursor");
+        }
+
+        // Read one extra row to know whether another page exists
+        Limit fetch = Limit.of(size + 1);
+        List<Notification> rows = cursor == null
+                ? notificationRepository.findByReceiverIdAndIsActiveOrderByIdDesc(userId, true, fetch)
+                : notificationRepository.findByReceiverIdAndIsActiveAndIdLessThanOrderByIdDesc(userId, true, cursor, fetch);
+
+        boolean hasMore = rows.size() > size;
+        List<Notification> page = hasMore ? rows.subList(0, size) : rows;
+
+        return CursorPageResponse.<NotificationResponse>builder()
+                .content(notificationMapper.toNotificationResponseList(page))
+                .size(page.size())
+                .nextCursor(hasMore ? page.get(page.size() - 1).getId() : null)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    public long getUnreadCount(String userId) {
+        return unreadCounterRepository.findById(userId).map(UnreadCounter::getUnread).orElse(0L);
+    }
+
+    public void markSeen(String notificationId, String userId) {
+        long updated = notificationRepository.markSeen(notificationId, userId, LocalDateTime.now());
+        if (updated == 0) {
+            if (!notificationRepository.existsById(notificationId)) {
+                throw new BusinessException(ErrorCode.NOTIFICATION_NOT_FOUND);
+            }
+            return; // Already seen (or not the caller's); counter unchanged
+        }
+        unreadCounterRepository.decrement(userId, updated, LocalDateTime.now());
+    }
+
+    public long markAllSeen(String userId) {
+        LocalDateTime now = LocalDateTime.now();
+        long updated = notificationRepository.markAllSeen(userId, now);
+        if (updated > 0) {
+            unreadCounterRepository.decrement(userId, updated, now);
+        }
+        return updated;
+    }
+
+    // ========== WRITE-BEHIND ==========
+
+    @Scheduled(fixedDelayString = "${notification.write-behind.flush-interval:1s}")
+    public void flush() {
+        buffer.flush();
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        buffer.flush();
+    }
+
+    /**
+     * A queued notification and the push to send once it is stored
+     */
+    private record Pending(Notification notification, Runnable push) {
+    }
+
+    private void enqueue(Task task, NotificationType type, String senderId, String receiverId, String name, Runnable push) {
+        LocalDateTime now = LocalDateTime.now();
+        Notification notification = Notification.builder()
+                .id(new ObjectId().toHexString())
+                .type(type)
+                .name(name)
+                .url("/workspaces/" + task.getWorkspaceId() + "/tasks/" + task.getId())
+                .senderId(senderId)
+                .receiverId(receiverId)
+                .taskId(task.getId())
+                .workspaceId(task.getWorkspaceId())
+                .isSeen(false)
+                .createdAt(now)
+                .updatedAt(now)
+                .isActive(true)
+                .build();
+
+        if (!buffer.add(new Pending(notification, push))) {
+            log.warn("Notification buffer full, dropping {} notification for user {}", type, receiverId);
+            dropped.increment();
+        }
+        digestMailService.collect(notification);
+    }
+
+    /**
+     * Bump each receiver's unread counter once, insert the batch, then push.
+     * Counting first means a markSeen can never decrement before the matching increment.
+     */
+    private void write(List<Pending> batch) {
+        List<Notification> notifications = batch.stream().map(Pending::notification).toList();
+        Map<String, Long> unreadByUser = notifications.stream()
+                .collect(Collectors.groupingBy(Notification::getReceiverId, Collectors.counting()));
+
+        boolean counted = incrementCounters(unreadByUser);
+        try {
+            notificationRepository.insert(notifications);
+        } catch (RuntimeException e) {
+            if (counted) {
+                rebuildCounters(unreadByUser.keySet()); // Undo the increments of what was not stored
+            }
+            throw e;
+        }
+        if (!counted) {
+            rebuildCounters(unreadByUser.keySet());
+        }
+
+        batch.forEach(this::push);
+        log.debug("Persisted {} notifications for {} users", batch.size(), unreadByUser.size());
+    }
+
+    /**
+     * The notification is already stored, so a failed push is only logged; the client sees it on its next fetch
+     */
+    private void push(Pending pending) {
+        try {
+            pending.push().run();
+        } catch (RuntimeException e) {
+            log.warn("Failed to push notification {} to user {}: {}", pending.notification().getId(),
+                    pending.notification().getReceiverId(), e.getMessage());
+            pushFailed.increment();
+        }
+    }
+
+    private boolean incrementCounters(Map<String, Long> unreadByUser) {
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            BulkOperations counters = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, UnreadCounter.class);
+            unreadByUser.forEach((userId, count) -> counters.upsert(
+                    Query.query(Criteria.where("userId").is(userId)),
+                    new Update().inc("unread", count).set("updatedAt", now)));
+            counters.execute();
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("Failed to increment unread counters for {} users, rebuilding them: {}", unreadByUser.size(), e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Reset counters to the number of stored unseen notifications
+     */
+    private void rebuildCounters(Collection<String> userIds) {
+        LocalDateTime now = LocalDateTime.now();
+        for (String userId : userIds) {
+            try {
+                long unread = notificationRepository.countByReceiverIdAndIsSeen(userId, false);
+                mongoTemplate.upsert(Query.query(Criteria.where("userId").is(userId)),
+                        new Update().set("unread", unread).set("updatedAt", now), UnreadCounter.class);
+            } catch (RuntimeException e) {
+                log.error("Failed to rebuild unread counter for user {}", userId, e);
+            }
+        }
+    }
+
+    private Map<String, User> findUsers(Collection<String> ids) {
+        return userRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+    }
+
+    private static Set<String> extractMentions(String text) {
+        Set<String> handles = new HashSet<>();
+        if (text == null || text.indexOf('@') < 0) {
+            return handles;
+        }
+        Matcher matcher = MENTION.matcher(text);
+        while (matcher.find()) {
+            handles.add(matcher.group(1).toLowerCase(Locale.ROOT));
+        }
+        return handles;
+    }
+
+    private static boolean isMentioned(User user, Set<String> handles) {
+        String email = user.getEmail();
+        if (email == null) {
+            return false;
+        }
+        String normalized = email.toLowerCase(Locale.ROOT);
+        int at = normalized.indexOf('@');
+        return handles.contains(normalized) || (at > 0 && handles.contains(normalized.substring(0, at)));
+    }
+
+    private static String nameOf(User user) {
+        return user != null ? user.getName() : "Unknown";
+    }
+}
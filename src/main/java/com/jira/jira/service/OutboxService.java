@@ -0,0 +1,169 @@
+package com.jira.jira.service;
+
+import com.jira.jira.dto.websocket.TaskUpdateEvent;
+import com.jira.jira.model.OutboxEvent;
+import com.jira.jira.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Transactional outbox for task events.
+ *
+ * TaskService writes the event to the outbox collection right after the task change, inside the same
+ * @Transactional method; with app.outbox.transactions=true (replica set required) both writes commit
+ * together, otherwise they are two sequential writes on the request thread and nothing is sent before
+ * the event is stored. The relay claims pending events in batches under a lease, so one node publishes
+ * each batch and a crashed node's claim lapses and is retried elsewhere. Delivery is at-least-once:
+ * every payload carries its event_id for clients to drop redeliveries, and activity is keyed on it.
+ * Sends are synchronous, so a failed delivery leaves the event unpublished and it is retried once its
+ * lease lapses; after app.outbox.max-attempts it is dead-lettered: left unpublished with its last
+ * error and never claimed again.
+ * In change-stream publisher mode every node sends task events from the change stream
+ * (ChangeStreamPublisher) and the relay only appends activity; events the stream cannot derive from
+ * task documents (see ChangeStreamPublisher.OUTBOX_EVENTS) are picked up from the outbox inserts.
+ */
+@Service
+@Slf4j
+public class OutboxService {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final WebSocketService webSocketService;
+    private final ActivityLogService activityLogService;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final int batchSize;
+    private final Duration lease;
+    private final int maxAttempts;
+    private final boolean changeStreamMode;
+    private final Counter published;
+    private final Counter failed;
+    private final Counter deadLettered;
+    private final Timer lag;
+
+    public OutboxService(OutboxEventRepository outboxEventRepository,
+                         WebSocketService webSocketService,
+                         ActivityLogService activityLogService,
+                         MeterRegistry meterRegistry,
+                         @Value("${app.outbox.batch-size:200}") int batchSize,
+                         @Value("${app.outbox.lease:30s}") Duration lease,
+                         @Value("${app.outbox.max-attempts:10}") int maxAttempts,
+                         @Value("${app.events.publisher:outbox}") String publisher) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.webSocketService = webSocketService;
+        this.activityLogService = activityLogService;
+        this.batchSize = batchSize;
+        this.lease = lease;
+        this.maxAttempts = maxAttempts;
+        this.changeStreamMode = ChangeStreamPublisher.MODE.equalsIgnoreCase(publisher);
+        this.published = Counter.builder("jira.outbox.published")
+                .description("Outbox events relayed to WebSocket subscribers")
+                .register(meterRegistry);
+        this.failed = Counter.builder("jira.outbox.failed")
+                .description("Outbox events whose relay failed and will be retried")
+                .register(meterRegistry);
+        this.deadLettered = Counter.builder("jira.outbox.dead_lettered")
+                .description("Outbox events that failed max-attempts times and are no longer retried")
+                .register(meterRegistry);
+        this.lag = Timer.builder("jira.outbox.lag")
+                .description("Time from outbox write to relay")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Store an event for relay; call from the method that writes the task change
+     */
+    public void enqueue(TaskUpdateEvent event, OutboxEvent.Route... routes) {
+        String eventId = UUID.randomUUID().toString();
+        event.setEventId(eventId);
+
+        outboxEventRepository.insert(OutboxEvent.builder()
+                .eventId(eventId)
+                .routes(List.of(routes))
+                .payload(event)
+                .published(false)
+                .attempts(0)
+                .createdAt(LocalDateTime.now())
+                .build());
+    }
+
+    /**
+     * Claim and publish pending events until the outbox is drained
+     */
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval:200ms}")
+    public void relay() {
+        try {
+            while (relayBatch() == batchSize) {
+                // Full batch, more may be waiting
+            }
+        } catch (Exception e) {
+            log.warn("Outbox relay failed, retrying on next poll: {}", e.getMessage());
+        }
+    }
+
+    private int relayBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<String> ids = outboxEventRepository.findClaimable(now, maxAttempts, Limit.of(batchSize)).stream()
+                .map(OutboxEvent::getId)
+                .toList();
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        outboxEventRepository.claim(ids, nodeId, now, now.plus(lease), maxAttempts);
+        List<OutboxEvent> claimed = outboxEventRepository.findClaimed(ids, nodeId);
+
+        List<String> done = new ArrayList<>(claimed.size());
+        for (OutboxEvent event : claimed) {
+            try {
+                publish(event);
+                done.add(event.getId());
+                lag.record(Duration.between(event.getCreatedAt(), LocalDateTime.now()));
+            } catch (Exception e) {
+                failed.increment();
+                outboxEventRepository.recordFailure(event.getId(), String.valueOf(e.getMessage()));
+                if (event.getAttempts() >= maxAttempts) {
+                    deadLettered.increment();
+                    log.error("Dead-lettered outbox event {} after {} attempts", event.getEventId(), event.getAttempts(), e);
+                } else {
+                    log.warn("Failed to relay outbox event {} (attempt {}): {}", event.getEventId(), event.getAttempts(), e.getMessage());
+                }
+            }
+        }
+
+        if (!done.isEmpty()) {
+            outboxEventRepository.markPublished(done, LocalDateTime.now());
+            published.increment(done.size());
+        }
+        return ids.size();
+    }
+
+    private void publish(OutboxEvent outboxEvent) {
+        TaskUpdateEvent event = outboxEvent.getPayload();
+        for (OutboxEvent.Route route : outboxEvent.getRoutes()) {
+            if (changeStreamMode && route != OutboxEvent.Route.ACTIVITY) {
+                continue; // Sent by every node from the change stream
+            }
+            switch (route) {
+                case WORKSPACE -> webSocketService.sendTaskUpdateToWorkspace(event.getWorkspaceId(), event);
+                case PROJECT -> {
+                    if (event.getProjectId() != null) {
+                        webSocketService.sendTaskUpdateToProject(event.getProjectId(), event);
+                    }
+                }
+                case KANBAN -> webSocketService.sendKanbanUpdate(event.getWorkspaceId(), event);
+                case ACTIVITY -> activityLogService.record(event);
+            }
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.jira.jira.service;
+
+import com.jira.jira.dto.websocket.TaskUpdateEvent;
+import com.jira.jira.model.Task;
+import com.jira.jira.model.TaskStatus;
+import com.jira.jira.repository.TaskRepository;
+import com.jira.jira.util.HierarchicalTimingWheel;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Flags tasks overdue the moment their due date passes and pushes TASK_OVERDUE events.
+ *
+ * Due dates live in a hierarchical timing wheel, seeded from the database at startup and kept current
+ * by TaskService and TaskImportService through track(). When a deadline fires, the is_overdue flag is
+ * set with a conditional update, so only one node emits the event even if several tracked the task.
+ * A periodic reconcile catches tasks created on other nodes, so the overdue list is a plain index
+ * lookup on is_overdue instead of a due-date range scan.
+ *
+ * The wheel only holds deadlines within task.overdue.horizon; later ones are loaded by the reconcile
+ * that runs before they enter the window, so the horizon must exceed the reconcile interval. Each
+ * reconcile also drops entries the database no longer lists (done, deleted, rescheduled or flagged
+ * elsewhere), keeping anything track() scheduled while it ran.
+ */
+@Service
+@Slf4j
+public class OverdueTaskTracker {
+
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+
+    private final TaskRepository taskRepository;
+    private final WebSocketService webSocketService;
+    private final NotificationService notificationService;
+    private final ActivityLogService activityLogService;
+    private final HierarchicalTimingWheel<String> wheel;
+    private final Duration horizon;
+
+    // Scheduled by track() since the current reconcile started; kept when stale entries are dropped
+    private final Set<String> trackedSinceReconcile = ConcurrentHashMap.newKeySet();
+
+    public OverdueTaskTracker(TaskRepository taskRepository,
+                              WebSocketService webSocketService,
+                              NotificationService notificationService,
+                              ActivityLogService activityLogService,
+                              @Value("${task.overdue.tick:1s}") Duration tick,
+                              @Value("${task.overdue.reconcile-interval:PT10M}") Duration reconcileInterval,
+                              @Value("${task.overdue.horizon:PT1H}") Duration horizon) {
+        if (horizon.compareTo(reconcileInterval) <= 0) {
+            throw new IllegalArgumentException("task.overdue.horizon must be longer than task.overdue.reconcile-interval");
+        }
+        this.taskRepository = taskRepository;
+        this.webSocketService = webSocketService;
+        this.notificationService = notificationService;
+        this.activityLogService = activityLogService;
+        this.horizon = horizon;
+        this.wheel = new HierarchicalTimingWheel<>(tick.toMillis(), 4, System.currentTimeMillis());
+    }
+
+    /**
+     * Re-evaluate a task after it was saved: schedule its due date, or cancel and clear the flag
+     * when it is done, deleted, undated or rescheduled into the future. Pass the task as stored,
+     * so a flag set concurrently is seen and not scheduled again.
+     */
+    public void track(Task task) {
+        if (task.getId() == null) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        boolean open = task.isActive() && task.getDueAt() != null && task.getStatus() != TaskStatus.DONE;
+        boolean flagged = task.isOverdue() && task.isDueBy(now);
+        if (open && !flagged && !task.getDueAt().isAfter(now.plus(horizon))) {
+            trackedSinceReconcile.add(task.getId());
+            wheel.schedule(task.getId(), toMillis(task.getDueAt()));
+        } else {
+            wheel.cancel(task.getId()); // Beyond the horizon: the reconcile before it is due loads it
+        }
+
+        if (task.isOverdue() && !task.isDueBy(now)) {
+            taskRepository.clearOverdue(task.getId());
+            task.setOverdue(false);
+        }
+    }
+
+    /**
+     * Seed the wheel with every open task that has a due date
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        reconcile();
+    }
+
+    /**
+     * Re-read open due dates; picks up tasks created on other nodes and anything missed while down
+     */
+    @Scheduled(fixedDelayString = "${task.overdue.reconcile-interval:PT10M}",
+            initialDelayString = "${task.overdue.reconcile-interval:PT10M}")
+    public void reconcile() {
+        trackedSinceReconcile.clear();
+        Set<String> current = new HashSet<>();
+        try (Stream<Task> candidates = taskRepository.streamOverdueCandidates(TaskStatus.DONE, LocalDateTime.now().plus(horizon))) {
+            candidates.forEach(task -> {
+                wheel.schedule(task.getId(), toMillis(task.getDueAt()));
+                current.add(task.getId());
+            });
+            int dropped = wheel.removeIf(taskId -> !current.contains(taskId) && !trackedSinceReconcile.contains(taskId));
+            log.info("Overdue tracker reconciled {} open tasks due within {}, dropped {} stale", current.size(), horizon, dropped);
+        } catch (Exception e) {
+            log.warn("Overdue tracker reconcile failed: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${task.overdue.tick:1s}")
+    public void tick() {
+        List<String> due = wheel.advance(System.currentTimeMillis());
+        if (due.isEmpty()) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        for (String taskId : due) {
+            try {
+                if (taskRepository.markOverdue(taskId, TaskStatus.DONE, now) == 1) {
+                    taskRepository.findById(taskId).ifPresent(this::publishOverdue);
+                }
+            } catch (Exception e) {
+                log.warn("Failed to mark task {} overdue, retrying on next reconcile: {}", taskId, e.getMessage());
+            }
+        }
+    }
+
+    private void publishOverdue(Task task) {
+        TaskUpdateEvent event = TaskUpdateEvent.taskOverdue(task.getWorkspaceId(), task.getProjectId(), task.getId(),
+                task.getName(), task.getAssigneeId(), task.getDueAt());
+
+        webSocketService.sendTaskUpdateToWorkspace(task.getWorkspaceId(), event);
+        if (task.getProjectId() != null) {
+            webSocketService.sendTaskUpdateToProject(task.getProjectId(), event);
+        }
+        activityLogService.record(event);
+        notificationService.notifyOverdue(task, event);
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.atZone(ZONE).toInstant().toEpochMilli();
+    }
+}
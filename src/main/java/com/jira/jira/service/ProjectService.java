@@ -1,43 +1,48 @@
 package com.jira.jira.service;
 
+import com.jira.jira.dto.common.CursorPageResponse;
 import com.jira.jira.dto.common.PaginationRequest;
 import com.jira.jira.dto.common.PaginationResponse;
 import com.jira.jira.dto.common.SearchFilterRequest;
 import com.jira.jira.dto.request.AddProjectMemberRequest;
 import com.jira.jira.dto.request.CreateProjectRequest;
 import com.jira.jira.dto.request.UpdateProjectRequest;
+import com.jira.jira.dto.response.ProjectMemberResponse;
 import com.jira.jira.dto.response.ProjectResponse;
 import com.jira.jira.dto.response.ProjectStatsResponse;
 import com.jira.jira.exception.BusinessException;
 import com.jira.jira.exception.ErrorCode;
 import com.jira.jira.mapper.ProjectMapper;
+import com.jira.jira.model.Membership;
 import com.jira.jira.model.Project;
 import com.jira.jira.model.User;
-import com.jira.jira.model.Workspace;
 import com.jira.jira.repository.ProjectRepository;
 import com.jira.jira.repository.UserRepository;
-import com.jira.jira.repository.WorkspaceRepository;
+import com.jira.jira.repository.query.FieldPath;
+import com.jira.jira.repository.query.MongoFieldNames;
+import com.jira.jira.repository.query.TypedQuery;
 import com.jira.jira.util.PaginationUtils;
-import com.jira.jira.util.SearchFilterUtils;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.function.Function;
-import java.util.function.Predicate;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Timed(value = "jira.service", description = "Service method latency, tagged by class and method")
 @Transactional
 public class ProjectService extends BaseService {
 
     private final ProjectRepository projectRepository;
     private final UserRepository userRepository;
-    private final WorkspaceRepository workspaceRepository;
+    private final AccessControlService accessControlService;
     private final ProjectMapper projectMapper;
+    private final MembershipService membershipService;
+    private final MongoFieldNames fieldNames;
 
     /**
      * Create new project in workspace
@@ -52,8 +57,7 @@ public class ProjectService extends BaseService {
         }
 
         // Validate workspace exists and user has access
-        Workspace workspace = workspaceRepository.findByIdAndUserIdAndIsActive(workspaceId, ownerId)
-                .orElseThrow(() -> new BusinessException(ErrorCode.WORKSPACE_ACCESS_DENIED));
+        accessControlService.requireWorkspaceAccess(workspaceId, ownerId, ErrorCode.WORKSPACE_ACCESS_DENIED);
 
         // Validate owner exists
         User owner = userRepository.findById(ownerId)
@@ -83,7 +87,6 @@ public class ProjectService extends BaseService {
         project.setProjectType(request.getProjectType() != null ? request.getProjectType() : "SOFTWARE");
         project.setWorkspaceId(workspaceId);
         project.setOwnerId(ownerId);
-        project.setMemberIds(List.of(ownerId)); // Owner is automatically a member
         project.setPublic(request.getIsPublic() != null ? request.getIsPublic() : false);
         project.setAvatarUrl(request.getAvatarUrl());
         project.setActive(true);
@@ -91,6 +94,7 @@ public class ProjectService extends BaseService {
         project.setUpdatedAt(LocalDateTime.now());
 
         Project savedProject = projectRepository.save(project);
+        membershipService.addMember(Membership.Scope.PROJECT, savedProject.getId(), ownerId, AccessControlService.ROLE_OWNER); // Owner is automatically a member
         return projectMapper.toProjectResponse(savedProject);
     }
 
@@ -100,119 +104,63 @@ public class ProjectService extends BaseService {
     @Transactional(readOnly = true)
     public PaginationResponse<ProjectResponse> getWorkspaceProjects(String workspaceId, String userId, SearchFilterRequest request) {
         // Validate workspace access
-        workspaceRepository.findByIdAndUserIdAndIsActive(workspaceId, userId)
-                .orElseThrow(() -> new BusinessException(ErrorCode.WORKSPACE_ACCESS_DENIED));
-
-        List<Project> projects = projectRepository.findByWorkspaceIdAndIsActive(workspaceId, true);
-
-        // Define search fields
-        List<Function<Project, String>> searchFields = List.of(
-                Project::getName,
-                Project::getDescription,
-                Project::getKey
-        );
-
-        // Define custom filters
-        List<Predicate<Project>> customFilters = List.of(
-                // Project type filter
-                project -> {
-                    String projectType = request.getFilterAsString("project_type");
-                    return projectType == null || project.getProjectType().equalsIgnoreCase(projectType);
-                },
-                // Public filter
-                project -> {
-                    Boolean isPublic = request.getFilterAsBoolean("is_public");
-                    return isPublic == null || project.isPublic() == isPublic;
-                },
-                // Owner filter
-                project -> {
-                    String ownerId = request.getFilterAsString("owner_id");
-                    return ownerId == null || project.getOwnerId().equals(ownerId);
-                }
-        );
+        accessControlService.requireWorkspaceAccess(workspaceId, userId, ErrorCode.WORKSPACE_ACCESS_DENIED);
+
+        TypedQuery<Project> query = fieldNames.query(Project.class)
+                .eq(Project::getWorkspaceId, workspaceId)
+                .eq(Project::isActive, true);
 
         // Apply search filter
-        if (request.getSearch() != null && !request.getSearch().trim().isEmpty()) {
-            projects = SearchFilterUtils.applyMultiFieldSearch(projects.stream(), request, searchFields)
-                    .collect(Collectors.toList());
+        if (request.hasSearch()) {
+            String search = request.getSearch().trim();
+            query.anyOf(project -> project.containsIgnoreCase(Project::getName, search),
+                    project -> project.containsIgnoreCase(Project::getDescription, search),
+                    project -> project.containsIgnoreCase(Project::getKey, search));
         }
 
         // Apply custom filters
-        if (request.getFilters() != null && !request.getFilters().isEmpty()) {
-            for (Predicate<Project> filter : customFilters) {
-                projects = projects.stream().filter(filter).collect(Collectors.toList());
-            }
+        String projectType = request.getFilterAsString("project_type");
+        if (projectType != null) {
+            query.equalsIgnoreCase(Project::getProjectType, projectType);
+        }
+        Boolean isPublic = request.getFilterAsBoolean("is_public");
+        if (isPublic != null) {
+            query.eq(Project::isPublic, isPublic);
+        }
+        String ownerId = request.getFilterAsString("owner_id");
+        if (ownerId != null) {
+            query.eq(Project::getOwnerId, ownerId);
         }
 
-        // Apply sorting
-        PaginationRequest pagination = request.getPagination();
-        if (pagination != null && pagination.getSortBy() != null && !pagination.getSortBy().trim().isEmpty()) {
-            projects = PaginationUtils.sortList(projects, pagination, project -> getProjectSortKey(project, pagination));
+        // Apply sorting and pagination
+        PaginationRequest pagination = request.getPagination() != null ? request.getPagination() : PaginationRequest.builder().build();
+        pagination.normalize();
+        if (pagination.getSortBy() != null && !pagination.getSortBy().trim().isEmpty()) {
+            query.orderBy(getProjectSortField(pagination.getSortBy()), PaginationUtils.toSortDirection(pagination));
         }
+        query.orderBy(Project::getId, Sort.Direction.ASC) // Stable order across pages
+                .page(pagination.getPage(), pagination.getSize());
 
-        // Apply pagination
-        List<Project> paginatedProjects = PaginationUtils.paginateList(projects, pagination);
-
-        // Create pagination response
-        PaginationResponse<Project> paginationResponse = PaginationResponse.<Project>builder()
-                .content(paginatedProjects)
-                .page(pagination.getPage())
-                .size(pagination.getSize())
-                .totalElements((long) projects.size())
-                .totalPages(PaginationUtils.calculateTotalPages(projects.size(), pagination.getSize()))
-                .first(pagination.getPage() == 0)
-                .last(pagination.getPage() >= PaginationUtils.calculateTotalPages(projects.size(), pagination.getSize()) - 1)
-                .numberOfElements(paginatedProjects.size())
-                .empty(paginatedProjects.isEmpty())
-                .sortBy(pagination.getSortBy())
-                .sortDirection(String.valueOf(pagination.getSortDirection()))
-                .build();
+        List<Project> projects = projectRepository.find(query);
+        long total = projectRepository.count(query);
 
-        // Convert to response DTOs
-        List<ProjectResponse> projectResponses = paginatedProjects.stream()
-                .map(projectMapper::toProjectResponse)
-                .collect(Collectors.toList());
-
-        return PaginationResponse.<ProjectResponse>builder()
-                .content(projectResponses)
-                .page(paginationResponse.getPage())
-                .size(paginationResponse.getSize())
-                .totalElements(paginationResponse.getTotalElements())
-                .totalPages(paginationResponse.getTotalPages())
-                .first(paginationResponse.getFirst())
-                .last(paginationResponse.getLast())
-                .numberOfElements(paginationResponse.getNumberOfElements())
-                .empty(paginationResponse.getEmpty())
-                .sortBy(paginationResponse.getSortBy())
-                .sortDirection(paginationResponse.getSortDirection())
-                .build();
+        List<ProjectResponse> projectResponses = projectMapper.toProjectResponses(projects);
+
+        return PaginationUtils.createResponse(projectResponses, pagination, total);
     }
 
     /**
-     * Get sort key for project sorting
+     * Get field for project sorting
      */
-    private Comparable getProjectSortKey(Project project, PaginationRequest pagination) {
-        if (pagination == null || pagination.getSortBy() == null) {
-            return project.getName();
-        }
-
-        String sortBy = pagination.getSortBy().toLowerCase();
-        switch (sortBy) {
-            case "name":
-                return project.getName();
-            case "key":
-                return project.getKey();
-            case "project_type":
-                return project.getProjectType();
-            case "created_at":
-                return project.getCreatedAt();
-            case "updated_at":
-                return project.getUpdatedAt();
-            case "owner_id":
-                return project.getOwnerId();
-            default:
-                return project.getName();
-        }
+    private FieldPath<Project, ?> getProjectSortField(String sortBy) {
+        return switch (sortBy.toLowerCase()) {
+            case "key" -> Project::getKey;
+            case "project_type" -> Project::getProjectType;
+            case "created_at" -> Project::getCreatedAt;
+            case "updated_at" -> Project::getUpdatedAt;
+            case "owner_id" -> Project::getOwnerId;
+            default -> Project::getName;
+        };
     }
 
     /**
@@ -233,10 +181,9 @@ public class ProjectService extends BaseService {
      */
     @Transactional(readOnly = true)
     public List<ProjectResponse> getUserProjects(String userId) {
-        List<Project> projects = projectRepository.findByUserIdAndIsActive(userId, true);
-        return projects.stream()
-                .map(projectMapper::toProjectResponse)
-                .collect(Collectors.toList());
+        List<String> projectIds = membershipService.getScopeIds(Membership.Scope.PROJECT, userId);
+        List<Project> projects = projectRepository.findByIdInAndIsActive(projectIds, true);
+        return projectMapper.toProjectResponses(projects);
     }
 
     /**
@@ -244,12 +191,29 @@ public class ProjectService extends BaseService {
      */
     @Transactional(readOnly = true)
     public ProjectResponse getProjectById(String projectId, String userId) {
-        Project project = projectRepository.findByIdAndUserIdAndIsActive(projectId, userId)
+        accessControlService.requireProjectAccess(projectId, userId, ErrorCode.PROJECT_NOT_FOUND);
+        Project project = projectRepository.findByIdAndIsActive(projectId, true)
                 .orElseThrow(() -> new BusinessException(ErrorCode.PROJECT_NOT_FOUND));
 
         return projectMapper.toProjectResponse(project);
     }
 
+    /**
+     * Page of project members in join order
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponse<ProjectMemberResponse> getMembers(String projectId, String userId, String cursor, int limit) {
+        accessControlService.requireProjectAccess(projectId, userId, ErrorCode.PROJECT_NOT_FOUND);
+        CursorPageResponse<Membership> page = membershipService.getMemberPage(Membership.Scope.PROJECT, projectId, cursor, limit);
+
+        return CursorPageResponse.<ProjectMemberResponse>builder()
+                .content(projectMapper.toMemberResponses(page.getContent()))
+                .size(page.getSize())
+                .nextCursor(page.getNextCursor())
+                .hasMore(page.getHasMore())
+                .build();
+    }
+
     /**
      * Update project
      */
@@ -296,6 +260,8 @@ public class ProjectService extends BaseService {
         project.setActive(false);
         project.setUpdatedAt(LocalDateTime.now());
         projectRepository.save(project);
+        membershipService.suspendAll(Membership.Scope.PROJECT, projectId);
+        accessControlService.evictProject(projectId);
     }
 
     /**
@@ -310,19 +276,10 @@ public class ProjectService extends BaseService {
         User userToAdd = userRepository.findByEmail(request.getEmail())
                 .orElseThrow(() -> new BusinessException(ErrorCode.USER_NOT_FOUND));
 
-        // Check if user is already a member
-        if (project.getMemberIds().contains(userToAdd.getId())) {
-            throw new BusinessException(ErrorCode.USER_ALREADY_EXISTS);
-        }
-
-        // Add user to members list
-        List<String> memberIds = project.getMemberIds();
-        memberIds.add(userToAdd.getId());
-        project.setMemberIds(memberIds);
-        project.setUpdatedAt(LocalDateTime.now());
-
-        Project savedProject = projectRepository.save(project);
-        return projectMapper.toProjectResponse(savedProject);
+        // Add membership (fails if user is already a member)
+        membershipService.addMember(Membership.Scope.PROJECT, projectId, userToAdd.getId(), AccessControlService.ROLE_MEMBER);
+        accessControlService.evictProjectMember(projectId, userToAdd.getId());
+        return projectMapper.toProjectResponse(project);
     }
 
     /**
@@ -338,14 +295,10 @@ public class ProjectService extends BaseService {
             throw new BusinessException(ErrorCode.PROJECT_ACCESS_DENIED);
         }
 
-        // Remove user from members list
-        List<String> memberIds = project.getMemberIds();
-        memberIds.remove(memberId);
-        project.setMemberIds(memberIds);
-        project.setUpdatedAt(LocalDateTime.now());
-
-        Project savedProject = projectRepository.save(project);
-        return projectMapper.toProjectResponse(savedProject);
+        // Remove membership
+        membershipService.removeMember(Membership.Scope.PROJECT, projectId, memberId);
+        accessControlService.evictProjectMember(projectId, memberId);
+        return projectMapper.toProjectResponse(project);
     }
 
     /**
@@ -354,9 +307,7 @@ public class ProjectService extends BaseService {
     @Transactional(readOnly = true)
     public List<ProjectResponse> getPublicProjects(String workspaceId) {
         List<Project> projects = projectRepository.findByWorkspaceIdAndIsPublicAndIsActive(workspaceId, true, true);
-        return projects.stream()
-                .map(projectMapper::toProjectResponse)
-                .collect(Collectors.toList());
+        return projectMapper.toProjectResponses(projects);
     }
 
     /**
@@ -365,9 +316,12 @@ public class ProjectService extends BaseService {
     @Transactional(readOnly = true)
     public ProjectStatsResponse getProjectStats(String projectId, String userId) {
         // Validate project access
-        Project project = projectRepository.findByIdAndUserIdAndIsActive(projectId, userId)
+        accessControlService.requireProjectAccess(projectId, userId, ErrorCode.PROJECT_NOT_FOUND);
+        Project project = projectRepository.findByIdAndIsActive(projectId, true)
                 .orElseThrow(() -> new BusinessException(ErrorCode.PROJECT_NOT_FOUND));
 
+        long memberCount = membershipService.countMembers(Membership.Scope.PROJECT, projectId);
+
         // TODO: Implement actual task statistics when Task entity is ready
         // For now, return mock data
         return ProjectStatsResponse.builder()
@@ -378,8 +332,8 @@ public class ProjectService extends BaseService {
                 .inProgressTasks(0) // TODO: Count in-progress tasks
                 .todoTasks(0) // TODO: Count todo tasks
                 .progressPercentage(0.0) // TODO: Calculate based on completed tasks
-                .totalMembers(project.getMemberIds().size())
-                .activeMembers(project.getMemberIds().size()) // TODO: Count active members
+                .totalMembers((int) memberCount)
+                .activeMembers((int) memberCount) // TODO: Count active members
                 .createdAt(project.getCreatedAt())
                 .lastActivity(project.getUpdatedAt()) // TODO: Get last task activity
                 .taskCompletionRate(0.0) // TODO: Calculate completion rate
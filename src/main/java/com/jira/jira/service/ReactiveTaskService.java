@@ -0,0 +1,132 @@
+package com.jira.jira.service;
+
+import com.jira.jira.dto.response.TaskResponse;
+import com.jira.jira.exception.BusinessException;
+import com.jira.jira.exception.ErrorCode;
+import com.jira.jira.mapper.TaskMapper;
+import com.jira.jira.model.Project;
+import com.jira.jira.model.Task;
+import com.jira.jira.model.TaskStatus;
+import com.jira.jira.model.User;
+import com.jira.jira.model.Membership;
+import com.jira.jira.model.Workspace;
+import com.jira.jira.repository.ReactiveMembershipRepository;
+import com.jira.jira.repository.ReactiveProjectRepository;
+import com.jira.jira.repository.ReactiveTaskRepository;
+import com.jira.jira.repository.ReactiveUserRepository;
+import com.jira.jira.repository.ReactiveWorkspaceRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Non-blocking read path for task queries.
+ * Tasks are streamed from the reactive driver and enriched in batches,
+ * so a board load issues one lookup per collection per batch instead of four per task.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReactiveTaskService {
+
+    private static final int ENRICHMENT_BATCH_SIZE = 100;
+
+    private final ReactiveTaskRepository reactiveTaskRepository;
+    private final ReactiveWorkspaceRepository reactiveWorkspaceRepository;
+    private final ReactiveMembershipRepository reactiveMembershipRepository;
+    private final ReactiveProjectRepository reactiveProjectRepository;
+    private final ReactiveUserRepository reactiveUserRepository;
+    private final TaskMapper taskMapper;
+
+    /**
+     * Stream tasks for Kanban view (ordered by position)
+     */
+    public Flux<TaskResponse> streamTasksForKanbanView(String workspaceId, String userId) {
+        return requireWorkspaceAccess(workspaceId, userId)
+                .thenMany(enrich(reactiveTaskRepository.findByWorkspaceIdAndIsActiveOrderByPositionAsc(workspaceId, true)));
+    }
+
+    /**
+     * Stream tasks by status for Kanban columns
+     */
+    public Flux<TaskResponse> streamTasksByStatus(String workspaceId, TaskStatus status, String userId) {
+        return requireWorkspaceAccess(workspaceId, userId)
+                .thenMany(enrich(reactiveTaskRepository.findByWorkspaceIdAndStatusAndIsActiveOrderByPositionAsc(workspaceId, status, true)));
+    }
+
+    /**
+     * Stream tasks for Calendar view (filtered by date range)
+     */
+    public Flux<TaskResponse> streamTasksForCalendarView(String workspaceId, LocalDateTime startDate, LocalDateTime endDate, String userId) {
+        return requireWorkspaceAccess(workspaceId, userId)
+                .thenMany(enrich(reactiveTaskRepository.findByWorkspaceIdAndDueAtBetweenAndIsActive(workspaceId, startDate, endDate, true)));
+    }
+
+    /**
+     * Stream overdue tasks in workspace
+     */
+    public Flux<TaskResponse> streamOverdueTasks(String workspaceId, String userId) {
+        return requireWorkspaceAccess(workspaceId, userId)
+                .thenMany(enrich(reactiveTaskRepository.findByWorkspaceIdAndOverdueAndIsActiveOrderByDueAtAsc(workspaceId, true, true)));
+    }
+
+    /**
+     * Stream tasks assigned to user
+     */
+    public Flux<TaskResponse> streamAssignedTasks(String userId) {
+        return enrich(reactiveTaskRepository.findByAssigneeIdAndIsActive(userId, true));
+    }
+
+    private Mono<Membership> requireWorkspaceAccess(String workspaceId, String userId) {
+        return reactiveMembershipRepository.findByScopeAndScopeIdAndUserId(Membership.Scope.WORKSPACE, workspaceId, userId)
+                .filter(membership -> !membership.isSuspended())
+                .switchIfEmpty(Mono.error(() -> new BusinessException(ErrorCode.WORKSPACE_ACCESS_DENIED)));
+    }
+
+    // ========== BATCHED ENRICHMENT ==========
+
+    private Flux<TaskResponse> enrich(Flux<Task> tasks) {
+        return tasks.buffer(ENRICHMENT_BATCH_SIZE).concatMap(this::enrichBatch);
+    }
+
+    private Flux<TaskResponse> enrichBatch(List<Task> batch) {
+        Set<String> userIds = new HashSet<>();
+        Set<String> workspaceIds = new HashSet<>();
+        Set<String> projectIds = new HashSet<>();
+        for (Task task : batch) {
+            addIfPresent(userIds, task.getAssigneeId());
+            addIfPresent(userIds, task.getCreatedBy());
+            addIfPresent(workspaceIds, task.getWorkspaceId());
+            addIfPresent(projectIds, task.getProjectId());
+        }
+
+        return Mono.zip(
+                        loadById(reactiveUserRepository.findAllById(userIds), User::getId, userIds),
+                        loadById(reactiveWorkspaceRepository.findAllById(workspaceIds), Workspace::getId, workspaceIds),
+                        loadById(reactiveProjectRepository.findAllById(projectIds), Project::getId, projectIds))
+                .flatMapMany(lookups -> Flux.fromIterable(batch)
+                        .map(task -> taskMapper.toTaskResponse(task, lookups.getT1(), lookups.getT2(), lookups.getT3())));
+    }
+
+    private <T> Mono<Map<String, T>> loadById(Flux<T> source, Function<T, String> idExtractor, Collection<String> ids) {
+        if (ids.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+        return source.collectMap(idExtractor);
+    }
+
+    private void addIfPresent(Set<String> ids, String id) {
+        if (Objects.nonNull(id)) {
+            ids.add(id);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.jira.jira.service;
+
+import com.jira.jira.model.RefreshToken;
+import com.jira.jira.repository.RefreshTokenRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Keeps the refresh_tokens collection bounded.
+ * Expired tokens are removed by the TTL index on expires_at; the scheduled sweep is a backstop for
+ * deployments where the TTL monitor lags or the index has not been created yet, and also removes
+ * inactive tokens, which can no longer be refreshed.
+ * Each user keeps at most max-per-user active tokens, the oldest are evicted first.
+ */
+@Service
+@Slf4j
+public class RefreshTokenCleanupService {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final int maxActivePerUser;
+
+    public RefreshTokenCleanupService(RefreshTokenRepository refreshTokenRepository,
+                                      @Value("${security.refresh-token.max-per-user:10}") int maxActivePerUser) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.maxActivePerUser = maxActivePerUser;
+    }
+
+    /**
+     * Evict the user's oldest active tokens beyond the per-user cap
+     */
+    public void enforceActiveLimit(String userId) {
+        List<RefreshToken> activeTokens = refreshTokenRepository.findByUserIdAndIsActiveOrderByCreatedAtDesc(userId, true);
+        if (activeTokens.size() <= maxActivePerUser) {
+            return;
+        }
+
+        List<RefreshToken> evicted = activeTokens.subList(maxActivePerUser, activeTokens.size());
+        refreshTokenRepository.deleteAll(evicted);
+        log.debug("Evicted {} oldest refresh tokens for user {}", evicted.size(), userId);
+    }
+
+    /**
+     * Delete expired tokens the TTL monitor has not removed yet, and inactive ones
+     */
+    @Scheduled(fixedDelayString = "${security.refresh-token.sweep-interval:PT1H}",
+            initialDelayString = "${security.refresh-token.sweep-interval:PT1H}")
+    public void sweepExpired() {
+        try {
+            long deleted = refreshTokenRepository.deleteByExpiresAtBeforeOrIsActive(LocalDateTime.now(), false);
+            if (deleted > 0) {
+                log.info("Swept {} expired or inactive refresh tokens", deleted);
+            }
+        } catch (Exception e) {
+            log.warn("Refresh token sweep failed: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,278 @@
+package com.jira.jira.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jira.jira.dto.request.CreateTaskRequest;
+import com.jira.jira.dto.response.TaskImportResponse;
+import com.jira.jira.dto.websocket.TaskImportProgressEvent;
+import com.jira.jira.dto.websocket.TaskUpdateEvent;
+import com.jira.jira.exception.BusinessException;
+import com.jira.jira.exception.ErrorCode;
+import com.jira.jira.model.Membership;
+import com.jira.jira.model.OutboxEvent;
+import com.jira.jira.model.Project;
+import com.jira.jira.model.Task;
+import com.jira.jira.model.TaskStatus;
+import com.jira.jira.model.User;
+import com.jira.jira.repository.ProjectRepository;
+import com.jira.jira.repository.TaskRepository;
+import com.jira.jira.repository.UserRepository;
+import com.jira.jira.util.CsvUtils;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Streaming bulk import of tasks.
+ * Workspace access is checked once; each row gets createTask's field validation (unknown statuses are
+ * rejected while the row is parsed), and its project and assignee are checked against preloaded sets.
+ * Positions are assigned per column in memory and tasks are inserted in batches.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TaskImportService {
+
+    private final TaskRepository taskRepository;
+    private final AccessControlService accessControlService;
+    private final MembershipService membershipService;
+    private final ProjectRepository projectRepository;
+    private final UserRepository userRepository;
+    private final WebSocketService webSocketService;
+    private final OverdueTaskTracker overdueTaskTracker;
+    private final OutboxService outboxService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    @Value("${task.import.batch-size:500}")
+    private int batchSize;
+
+    @Value("${task.import.max-errors:100}")
+    private int maxErrors;
+
+    public enum Format {
+        NDJSON,
+        CSV;
+
+        public static Format fromContentType(String contentType) {
+            if (contentType != null) {
+                String mediaType = contentType.toLowerCase();
+                if (mediaType.startsWith("application/x-ndjson")) {
+                    return NDJSON;
+                }
+                if (mediaType.startsWith("text/csv")) {
+                    return CSV;
+                }
+            }
+            throw new BusinessException(ErrorCode.INVALID_REQUEST, "Import supports application/x-ndjson or text/csv");
+        }
+    }
+
+    /**
+     * Import tasks from a stream. Rows are read one at a time, so memory stays bounded by the batch size.
+     */
+    public TaskImportResponse importTasks(InputStream input, Format format, String workspaceId, String userId) throws IOException {
+        long startedAt = System.currentTimeMillis();
+
+        // Validate workspace access once
+        accessControlService.requireWorkspaceAccess(workspaceId, userId, ErrorCode.WORKSPACE_ACCESS_DENIED);
+
+        // Preload valid projects and assignees
+        Set<String> projectIds = projectRepository.findByWorkspaceIdAndIsActive(workspaceId, true).stream()
+                .map(Project::getId)
+                .collect(Collectors.toSet());
+        Set<String> assigneeIds = new HashSet<>(membershipService.getMemberIds(Membership.Scope.WORKSPACE, workspaceId));
+
+        ImportContext context = new ImportContext(UUID.randomUUID().toString(), workspaceId, userId);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            List<String> header = null;
+            String line;
+            long lineNumber = 0;
+
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+
+                if (format == Format.CSV && header == null) {
+                    header = CsvUtils.parseLine(line).stream().map(String::trim).toList();
+                    continue;
+                }
+
+                context.processed++;
+                try {
+                    CreateTaskRequest request = format == Format.CSV ? parseCsvRow(header, line) : parseJsonRow(line);
+                    context.batch.add(toTask(request, context, projectIds, assigneeIds));
+                } catch (BusinessException | IllegalArgumentException | IOException e) {
+                    context.reject(lineNumber, e.getMessage(), maxErrors);
+                }
+
+                if (context.batch.size() >= batchSize) {
+                    flush(context);
+                }
+            }
+        }
+
+        flush(context);
+        publishSummary(context);
+
+        return TaskImportResponse.builder()
+                .importId(context.importId)
+                .processed(context.processed)
+                .imported(context.imported)
+                .failed(context.failed)
+                .batches(context.batches)
+                .durationMs(System.currentTimeMillis() - startedAt)
+                .errors(context.errors)
+                .build();
+    }
+
+    private CreateTaskRequest parseJsonRow(String line) throws IOException {
+        return objectMapper.readValue(line, CreateTaskRequest.class);
+    }
+
+    private CreateTaskRequest parseCsvRow(List<String> header, String line) {
+        List<String> values = CsvUtils.parseLine(line);
+        Map<String, String> row = new HashMap<>();
+        for (int i = 0; i < header.size() && i < values.size(); i++) {
+            String value = values.get(i).trim();
+            if (!value.isEmpty()) {
+                row.put(header.get(i), value);
+            }
+        }
+        return objectMapper.convertValue(row, CreateTaskRequest.class);
+    }
+
+    private Task toTask(CreateTaskRequest request, ImportContext context, Set<String> projectIds, Set<String> assigneeIds) {
+        Set<ConstraintViolation<CreateTaskRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            throw new BusinessException(ErrorCode.VALIDATION_ERROR, violations.iterator().next().getMessage());
+        }
+
+        if (request.getProjectId() != null && !projectIds.contains(request.getProjectId())) {
+            throw new BusinessException(ErrorCode.PROJECT_NOT_FOUND);
+        }
+
+        if (request.getAssigneeId() != null && !assigneeIds.contains(request.getAssigneeId())) {
+            throw new BusinessException(ErrorCode.USER_NOT_FOUND);
+        }
+
+        TaskStatus taskStatus = request.getStatus() != null ? request.getStatus() : TaskStatus.TODO;
+
+        LocalDateTime now = LocalDateTime.now();
+        Task task = new Task();
+        task.setName(request.getName().trim());
+        task.setDescription(request.getDescription() != null ? request.getDescription().trim() : null);
+        task.setWorkspaceId(context.workspaceId);
+        task.setProjectId(request.getProjectId());
+        task.setAssigneeId(request.getAssigneeId());
+        task.setStatus(taskStatus);
+        task.setPosition(nextPosition(context, taskStatus, request.getPosition()));
+        task.setDueAt(request.getDueAt());
+        task.setCreatedBy(context.userId);
+        task.setActive(true);
+        task.setCreatedAt(now);
+        task.setUpdatedAt(now);
+        task.setUpdatedBy(context.userId);
+        task.setImportId(context.importId);
+        return task;
+    }
+
+    /**
+     * Assign positions per column in memory, seeded with one max-position query per status actually used
+     */
+    private Double nextPosition(ImportContext context, TaskStatus status, Double requestedPosition) {
+        Double last = context.lastPositions.computeIfAbsent(status, s ->
+                taskRepository.findFirstByWorkspaceIdAndStatusAndIsActiveOrderByPositionDesc(context.workspaceId, s, true)
+                        .map(Task::getPosition)
+                        .orElse(0.0));
+
+        double position = requestedPosition != null ? requestedPosition : last + 1000.0;
+        context.lastPositions.put(status, Math.max(last, position));
+        return position;
+    }
+
+    private void flush(ImportContext context) {
+        if (context.batch.isEmpty()) {
+            return;
+        }
+
+        taskRepository.insert(context.batch).forEach(overdueTaskTracker::track);
+        context.imported += context.batch.size();
+        context.batches++;
+        context.batch.clear();
+
+        webSocketService.sendImportProgress(context.userId, progressEvent(context, false));
+    }
+
+    private void publishSummary(ImportContext context) {
+        webSocketService.sendImportProgress(context.userId, progressEvent(context, true));
+
+        if (context.imported == 0) {
+            return;
+        }
+
+        String importedByName = userRepository.findById(context.userId).map(User::getName).orElse("Unknown");
+        TaskUpdateEvent event = TaskUpdateEvent.tasksImported(context.workspaceId, context.imported, context.userId, importedByName);
+
+        // Through the outbox, so change-stream mode announces the import once on every node
+        outboxService.enqueue(event, OutboxEvent.Route.WORKSPACE, OutboxEvent.Route.ACTIVITY);
+
+        log.info("Imported {} tasks into workspace {} ({} failed, {} batches)",
+                context.imported, context.workspaceId, context.failed, context.batches);
+    }
+
+    private TaskImportProgressEvent progressEvent(ImportContext context, boolean done) {
+        return TaskImportProgressEvent.builder()
+                .importId(context.importId)
+                .workspaceId(context.workspaceId)
+                .processed(context.processed)
+                .imported(context.imported)
+                .failed(context.failed)
+                .done(done)
+                .timestamp(LocalDateTime.now())
+                .build();
+    }
+
+    /**
+     * Mutable state for a single import run
+     */
+    private static class ImportContext {
+        final String importId;
+        final String workspaceId;
+        final String userId;
+        final List<Task> batch = new ArrayList<>();
+        final Map<TaskStatus, Double> lastPositions = new EnumMap<>(TaskStatus.class);
+        final List<TaskImportResponse.RowError> errors = new ArrayList<>();
+        int processed;
+        int imported;
+        int failed;
+        int batches;
+
+        ImportContext(String importId, String workspaceId, String userId) {
+            this.importId = importId;
+            this.workspaceId = workspaceId;
+            this.userId = userId;
+        }
+
+        void reject(long line, String message, int maxErrors) {
+            failed++;
+            if (errors.size() < maxErrors) {
+                errors.add(TaskImportResponse.RowError.builder().line(line).message(message).build());
+            }
+        }
+    }
+}
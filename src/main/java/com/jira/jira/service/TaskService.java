@@ -15,56 +15,75 @@ import com.jira.jira.model.*;
 import com.jira.jira.repository.ProjectRepository;
 import com.jira.jira.repository.TaskRepository;
 import com.jira.jira.repository.UserRepository;
-import com.jira.jira.repository.WorkspaceRepository;
+import com.jira.jira.repository.query.FieldPath;
+import com.jira.jira.repository.query.MongoFieldNames;
+import com.jira.jira.repository.query.TypedQuery;
+import com.jira.jira.repository.query.TypedUpdate;
+import com.jira.jira.util.FanOutScope;
 import com.jira.jira.util.PaginationUtils;
-import com.jira.jira.util.SearchFilterUtils;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.function.Function;
-import java.util.function.Predicate;
-import java.util.stream.Collectors;
+import java.util.function.Supplier;
 
 @Service
 @RequiredArgsConstructor
+@Timed(value = "jira.service", description = "Service method latency, tagged by class and method")
 @Transactional
 public class TaskService extends BaseService {
 
     private final TaskRepository taskRepository;
     private final UserRepository userRepository;
-    private final WorkspaceRepository workspaceRepository;
     private final ProjectRepository projectRepository;
+    private final AccessControlService accessControlService;
     private final TaskMapper taskMapper;
-    private final WebSocketService webSocketService;
+    private final OverdueTaskTracker overdueTaskTracker;
+    private final NotificationService notificationService;
+    private final OutboxService outboxService;
+    private final MongoFieldNames fieldNames;
 
     /**
      * Create task in workspace
      */
     public TaskResponse createTask(CreateTaskRequest request, String workspaceId, String userId) {
-        // Validate workspace access
-        Workspace workspace = workspaceRepository.findByIdAndUserIdAndIsActive(workspaceId, userId).orElseThrow(() -> new BusinessException(ErrorCode.WORKSPACE_ACCESS_DENIED));
-
-        // Validate project if specified
-        if (request.getProjectId() != null) {
-            Project project = projectRepository.findByIdAndWorkspaceIdAndIsActive(request.getProjectId(), workspaceId, true).orElseThrow(() -> new BusinessException(ErrorCode.PROJECT_NOT_FOUND));
-        }
-
-        // Validate assignee if specified
-        if (request.getAssigneeId() != null) {
-            User assignee = userRepository.findById(request.getAssigneeId()).orElseThrow(() -> new BusinessException(ErrorCode.USER_NOT_FOUND));
-        }
-
         // Determine task status
         TaskStatus taskStatus = request.getStatus() != null ? request.getStatus() : TaskStatus.TODO;
         validateTaskStatus(taskStatus);
 
-        // Calculate position for new task
-        Double position = request.getPosition() != null ? request.getPosition() : calculateNewPosition(workspaceId, taskStatus);
+        // Validate workspace access first, so non-members cannot probe which projects and users exist
+        accessControlService.requireWorkspaceAccess(workspaceId, userId, ErrorCode.WORKSPACE_ACCESS_DENIED);
+
+        Double position;
+        String createdByName;
+        try (FanOutScope scope = FanOutScope.open()) {
+            // Validate project if specified
+            if (request.getProjectId() != null) {
+                scope.fork(() -> projectRepository.findByIdAndWorkspaceIdAndIsActive(request.getProjectId(), workspaceId, true).orElseThrow(() -> new BusinessException(ErrorCode.PROJECT_NOT_FOUND)));
+            }
+
+            // Validate assignee if specified
+            if (request.getAssigneeId() != null) {
+                scope.fork(() -> userRepository.findById(request.getAssigneeId()).orElseThrow(() -> new BusinessException(ErrorCode.USER_NOT_FOUND)));
+            }
+
+            // Calculate position for new task
+            Supplier<Double> calculatedPosition = request.getPosition() != null ? request::getPosition : scope.fork(() -> calculateNewPosition(workspaceId, taskStatus));
+
+            Supplier<String> creatorName = scope.fork(() -> userRepository.findById(userId).map(User::getName).orElse("Unknown"));
+
+            scope.join();
+            position = calculatedPosition.get();
+            createdByName = creatorName.get();
+        }
 
         // Create task
         Task task = new Task();
@@ -80,20 +99,17 @@ public class TaskService extends BaseService {
         task.setActive(true);
         task.setCreatedAt(LocalDateTime.now());
         task.setUpdatedAt(LocalDateTime.now());
+        task.setUpdatedBy(userId);
 
         Task savedTask = taskRepository.save(task);
+        overdueTaskTracker.track(savedTask);
 
-        User createdByUser = userRepository.findById(userId).orElse(null);
-        String createdByName = createdByUser != null ? createdByUser.getName() : "Unknown";
-
-        // Send WebSocket notification
+        // Queue WebSocket notification for the outbox relay
         TaskUpdateEvent event = TaskUpdateEvent.taskCreated(workspaceId, request.getProjectId(), savedTask.getId(), savedTask.getName(), userId, createdByName);
 
-        webSocketService.sendTaskUpdateToWorkspace(workspaceId, event);
-        if (request.getProjectId() != null) {
-            webSocketService.sendTaskUpdateToProject(request.getProjectId(), event);
-        }
-        webSocketService.sendActivityUpdate(workspaceId, event);
+        outboxService.enqueue(event, OutboxEvent.Route.WORKSPACE, OutboxEvent.Route.PROJECT, OutboxEvent.Route.ACTIVITY);
+        notificationService.notifyAssignment(savedTask, userId);
+        notificationService.notifyMentions(savedTask, null, userId);
         return taskMapper.toTaskResponse(savedTask);
 
 
@@ -105,64 +121,52 @@ public class TaskService extends BaseService {
     @Transactional(readOnly = true)
     public PaginationResponse<TaskResponse> getTasksByWorkspace(String workspaceId, String userId, SearchFilterRequest request) {
         // Validate workspace access
-        workspaceRepository.findByIdAndUserIdAndIsActive(workspaceId, userId).orElseThrow(() -> new BusinessException(ErrorCode.WORKSPACE_ACCESS_DENIED));
-
-        List<Task> tasks = taskRepository.findByWorkspaceIdAndIsActive(workspaceId, true);
-
-        // Define search fields
-        List<Function<Task, String>> searchFields = List.of(Task::getName, Task::getDescription);
-
-        // Define custom filters
-        List<Predicate<Task>> customFilters = List.of(
-                // Status filter
-                task -> {
-                    String status = request.getFilterAsString("status");
-                    return status == null || task.getStatus().getValue().equalsIgnoreCase(status);
-                },
-                // Assignee filter
-                task -> {
-                    String assigneeId = request.getFilterAsString("assignee_id");
-                    return assigneeId == null || (task.getAssigneeId() != null && task.getAssigneeId().equals(assigneeId));
-                },
-                // Project filter
-                task -> {
-                    String projectId = request.getFilterAsString("project_id");
-                    return projectId == null || (task.getProjectId() != null && task.getProjectId().equals(projectId));
-                },
-                // Created by filter
-                task -> {
-                    String createdBy = request.getFilterAsString("created_by");
-                    return createdBy == null || task.getCreatedBy().equals(createdBy);
-                });
+        accessControlService.requireWorkspaceAccess(workspaceId, userId, ErrorCode.WORKSPACE_ACCESS_DENIED);
+
+        TypedQuery<Task> query = fieldNames.query(Task.class)
+                .eq(Task::getWorkspaceId, workspaceId)
+                .eq(Task::isActive, true);
 
         // Apply search filter
-        if (request.getSearch() != null && !request.getSearch().trim().isEmpty()) {
-            tasks = SearchFilterUtils.applyMultiFieldSearch(tasks.stream(), request, searchFields).collect(Collectors.toList());
+        if (request.hasSearch()) {
+            String search = request.getSearch().trim();
+            query.anyOf(task -> task.containsIgnoreCase(Task::getName, search),
+                    task -> task.containsIgnoreCase(Task::getDescription, search));
         }
 
         // Apply custom filters
-        if (request.getFilters() != null && !request.getFilters().isEmpty()) {
-            for (Predicate<Task> filter : customFilters) {
-                tasks = tasks.stream().filter(filter).collect(Collectors.toList());
-            }
+        String status = request.getFilterAsString("status");
+        if (status != null) {
+            query.in(Task::getStatus, Arrays.stream(TaskStatus.values())
+                    .filter(taskStatus -> taskStatus.getValue().equalsIgnoreCase(status))
+                    .toList());
         }
-
-        // Apply sorting
-        PaginationRequest pagination = request.getPagination();
-        if (pagination != null && pagination.getSortBy() != null && !pagination.getSortBy().trim().isEmpty()) {
-            tasks = PaginationUtils.sortList(tasks, pagination, task -> getTaskSortKey(task, pagination));
+        String assigneeId = request.getFilterAsString("assignee_id");
+        if (assigneeId != null) {
+            query.eq(Task::getAssigneeId, assigneeId);
+        }
+        String projectId = request.getFilterAsString("project_id");
+        if (projectId != null) {
+            query.eq(Task::getProjectId, projectId);
+        }
+        String createdBy = request.getFilterAsString("created_by");
+        if (createdBy != null) {
+            query.eq(Task::getCreatedBy, createdBy);
         }
 
-        // Apply pagination
-        List<Task> paginatedTasks = PaginationUtils.paginateList(tasks, pagination);
-
-        // Create pagination response
-        PaginationResponse<Task> paginationResponse = PaginationResponse.<Task>builder().content(paginatedTasks).page(pagination.getPage()).size(pagination.getSize()).totalElements((long) tasks.size()).totalPages(PaginationUtils.calculateTotalPages(tasks.size(), pagination.getSize())).first(pagination.getPage() == 0).last(pagination.getPage() >= PaginationUtils.calculateTotalPages(tasks.size(), pagination.getSize()) - 1).numberOfElements(paginatedTasks.size()).empty(paginatedTasks.isEmpty()).sortBy(pagination.getSortBy()).sortDirection(String.valueOf(pagination.getSortDirection())).build();
+        // Apply sorting and pagination
+        PaginationRequest pagination = request.getPagination() != null ? request.getPagination() : PaginationRequest.builder().build();
+        pagination.normalize();
+        if (pagination.getSortBy() != null && !pagination.getSortBy().trim().isEmpty()) {
+            query.orderBy(getTaskSortField(pagination.getSortBy()), PaginationUtils.toSortDirection(pagination));
+        }
+        query.orderBy(Task::getId, Sort.Direction.ASC) // Stable order across pages
+                .page(pagination.getPage(), pagination.getSize());
 
-        // Convert to response DTOs
-        List<TaskResponse> taskResponses = paginatedTasks.stream().map(taskMapper::toTaskResponse).collect(Collectors.toList());
+        List<Task> tasks = taskRepository.find(query);
+        long total = taskRepository.count(query);
 
-        return PaginationResponse.<TaskResponse>builder().content(taskResponses).page(paginationResponse.getPage()).size(paginationResponse.getSize()).totalElements(paginationResponse.getTotalElements()).totalPages(paginationResponse.getTotalPages()).first(paginationResponse.getFirst()).last(paginationResponse.getLast()).numberOfElements(paginationResponse.getNumberOfElements()).empty(paginationResponse.getEmpty()).sortBy(paginationResponse.getSortBy()).sortDirection(paginationResponse.getSortDirection()).build();
+        return PaginationUtils.createResponse(taskMapper.toTaskResponseList(tasks), pagination, total);
     }
 
     /**
@@ -173,7 +177,7 @@ public class TaskService extends BaseService {
         Task task = taskRepository.findByIdAndIsActive(taskId, true).orElseThrow(() -> new BusinessException(ErrorCode.TASK_NOT_FOUND));
 
         // Validate user has access to workspace
-        workspaceRepository.findByIdAndUserIdAndIsActive(task.getWorkspaceId(), userId).orElseThrow(() -> new BusinessException(ErrorCode.TASK_ACCESS_DENIED));
+        accessControlService.requireWorkspaceAccess(task.getWorkspaceId(), userId, ErrorCode.TASK_ACCESS_DENIED);
 
         return taskMapper.toTaskResponse(task);
     }
@@ -185,35 +189,52 @@ public class TaskService extends BaseService {
         Task task = taskRepository.findByIdAndIsActive(taskId, true).orElseThrow(() -> new BusinessException(ErrorCode.TASK_NOT_FOUND));
 
         // Validate user has access to workspace
-        workspaceRepository.findByIdAndUserIdAndIsActive(task.getWorkspaceId(), userId).orElseThrow(() -> new BusinessException(ErrorCode.TASK_ACCESS_DENIED));
+        accessControlService.requireWorkspaceAccess(task.getWorkspaceId(), userId, ErrorCode.TASK_ACCESS_DENIED);
+
+        String previousAssigneeId = task.getAssigneeId();
+        String previousDescription = task.getDescription();
+
+        // Update only the requested fields, so a concurrent is_overdue flag is never overwritten
+        TypedUpdate<Task> update = fieldNames.update(Task.class)
+                .set(Task::getUpdatedAt, LocalDateTime.now())
+                .set(Task::getUpdatedBy, userId);
 
-        // Update fields
         if (request.getName() != null) {
-            task.setName(request.getName().trim());
+            update.set(Task::getName, request.getName().trim());
         }
 
         if (request.getDescription() != null) {
-            task.setDescription(request.getDescription().trim());
+            update.set(Task::getDescription, request.getDescription().trim());
         }
 
         if (request.getAssigneeId() != null) {
             // Validate assignee exists
-            if (!request.getAssigneeId().isEmpty()) {
+            if (request.getAssigneeId().isEmpty()) {
+                update.unset(Task::getAssigneeId);
+            } else {
                 userRepository.findById(request.getAssigneeId()).orElseThrow(() -> new BusinessException(ErrorCode.USER_NOT_FOUND));
+                update.set(Task::getAssigneeId, request.getAssigneeId());
             }
-            task.setAssigneeId(request.getAssigneeId().isEmpty() ? null : request.getAssigneeId());
         }
 
         if (request.getStatus() != null) {
-            task.setStatus(request.getStatus());
+            update.set(Task::getStatus, request.getStatus());
         }
 
         if (request.getDueAt() != null) {
-            task.setDueAt(request.getDueAt());
+            update.set(Task::getDueAt, request.getDueAt());
         }
 
-        task.setUpdatedAt(LocalDateTime.now());
-        Task savedTask = taskRepository.save(task);
+        Task savedTask = taskRepository.updateActive(taskId, update).orElseThrow(() -> new BusinessException(ErrorCode.TASK_NOT_FOUND));
+        overdueTaskTracker.track(savedTask);
+        if (!Objects.equals(previousAssigneeId, savedTask.getAssigneeId())) {
+            notificationService.notifyAssignment(savedTask, userId);
+        }
+        notificationService.notifyMentions(savedTask, previousDescription, userId);
+
+        String updatedByName = userRepository.findById(userId).map(User::getName).orElse("Unknown");
+        outboxService.enqueue(TaskUpdateEvent.taskUpdated(savedTask.getWorkspaceId(), savedTask.getProjectId(),
+                savedTask.getId(), savedTask.getName(), userId, updatedByName), OutboxEvent.Route.ACTIVITY);
         return taskMapper.toTaskResponse(savedTask);
     }
 
@@ -224,11 +245,14 @@ public class TaskService extends BaseService {
         Task task = taskRepository.findByIdAndIsActive(taskId, true).orElseThrow(() -> new BusinessException(ErrorCode.TASK_NOT_FOUND));
 
         // Validate user has access to workspace
-        workspaceRepository.findByIdAndUserIdAndIsActive(task.getWorkspaceId(), userId).orElseThrow(() -> new BusinessException(ErrorCode.TASK_ACCESS_DENIED));
-
-        task.setActive(false);
-        task.setUpdatedAt(LocalDateTime.now());
-        taskRepository.save(task);
+        accessControlService.requireWorkspaceAccess(task.getWorkspaceId(), userId, ErrorCode.TASK_ACCESS_DENIED);
+
+        Task deletedTask = taskRepository.updateActive(taskId, fieldNames.update(Task.class)
+                        .set(Task::isActive, false)
+                        .set(Task::getUpdatedAt, LocalDateTime.now())
+                        .set(Task::getUpdatedBy, userId))
+                .orElseThrow(() -> new BusinessException(ErrorCode.TASK_NOT_FOUND));
+        overdueTaskTracker.track(deletedTask);
     }
 
     /**
@@ -240,7 +264,7 @@ public class TaskService extends BaseService {
         Project project = projectRepository.findByIdAndIsActive(projectId, true).orElseThrow(() -> new BusinessException(ErrorCode.PROJECT_NOT_FOUND));
 
         // Validate workspace access
-        workspaceRepository.findByIdAndUserIdAndIsActive(project.getWorkspaceId(), userId).orElseThrow(() -> new BusinessException(ErrorCode.PROJECT_ACCESS_DENIED));
+        accessControlService.requireWorkspaceAccess(project.getWorkspaceId(), userId, ErrorCode.PROJECT_ACCESS_DENIED);
 
         List<Task> tasks = taskRepository.findByProjectIdAndIsActive(projectId, true);
         return taskMapper.toTaskResponseList(tasks);
@@ -261,37 +285,24 @@ public class TaskService extends BaseService {
     @Transactional(readOnly = true)
     public List<TaskResponse> getOverdueTasks(String workspaceId, String userId) {
         // Validate workspace access
-        workspaceRepository.findByIdAndUserIdAndIsActive(workspaceId, userId).orElseThrow(() -> new BusinessException(ErrorCode.WORKSPACE_ACCESS_DENIED));
+        accessControlService.requireWorkspaceAccess(workspaceId, userId, ErrorCode.WORKSPACE_ACCESS_DENIED);
 
-        List<Task> tasks = taskRepository.findOverdueTasksByWorkspace(workspaceId, LocalDateTime.now(), TaskStatus.DONE, true);
+        List<Task> tasks = taskRepository.findByWorkspaceIdAndOverdueAndIsActiveOrderByDueAtAsc(workspaceId, true, true);
         return taskMapper.toTaskResponseList(tasks);
     }
 
     /**
-     * Get sort key for task sorting
+     * Get field for task sorting
      */
-    private Comparable getTaskSortKey(Task task, PaginationRequest pagination) {
-        if (pagination == null || pagination.getSortBy() == null) {
-            return task.getName();
-        }
-
-        String sortBy = pagination.getSortBy().toLowerCase();
-        switch (sortBy) {
-            case "name":
-                return task.getName();
-            case "status":
-                return task.getStatus() != null ? task.getStatus().getValue() : "";
-            case "position":
-                return task.getPosition();
-            case "due_at":
-                return task.getDueAt();
-            case "created_at":
-                return task.getCreatedAt();
-            case "updated_at":
-                return task.getUpdatedAt();
-            default:
-                return task.getName();
-        }
+    private FieldPath<Task, ?> getTaskSortField(String sortBy) {
+        return switch (sortBy.toLowerCase()) {
+            case "status" -> Task::getStatus;
+            case "position" -> Task::getPosition;
+            case "due_at" -> Task::getDueAt;
+            case "created_at" -> Task::getCreatedAt;
+            case "updated_at" -> Task::getUpdatedAt;
+            default -> Task::getName;
+        };
     }
 
     // ========== POSITION CALCULATION METHODS ==========
@@ -364,7 +375,7 @@ public class TaskService extends BaseService {
         Task task = taskRepository.findByIdAndWorkspaceIdAndIsActive(taskId, workspaceId, true).orElseThrow(() -> new BusinessException(ErrorCode.TASK_NOT_FOUND));
 
         // Validate workspace access
-        workspaceRepository.findByIdAndUserIdAndIsActive(workspaceId, userId).orElseThrow(() -> new BusinessException(ErrorCode.WORKSPACE_ACCESS_DENIED));
+        accessControlService.requireWorkspaceAccess(workspaceId, userId, ErrorCode.WORKSPACE_ACCESS_DENIED);
 
         // Validate target status
         if (request.getTargetStatus() == null) {
@@ -387,17 +398,19 @@ public class TaskService extends BaseService {
         TaskStatus oldStatus = task.getStatus();
         Double oldPosition = task.getPosition();
 
-        // Update task
-        task.setStatus(request.getTargetStatus());
-        task.setPosition(newPosition);
-        task.setUpdatedAt(LocalDateTime.now());
-
-        Task savedTask = taskRepository.save(task);
+        // Update only status and position, so a concurrent is_overdue flag is never overwritten
+        Task savedTask = taskRepository.updateActive(taskId, fieldNames.update(Task.class)
+                        .set(Task::getStatus, request.getTargetStatus())
+                        .set(Task::getPosition, newPosition)
+                        .set(Task::getUpdatedAt, LocalDateTime.now())
+                        .set(Task::getUpdatedBy, userId))
+                .orElseThrow(() -> new BusinessException(ErrorCode.TASK_NOT_FOUND));
+        overdueTaskTracker.track(savedTask);
 
         User movedByUser = userRepository.findById(userId).orElse(null);
         String movedByName = movedByUser != null ? movedByUser.getName() : "Unknown";
 
-        // Send WebSocket notification for task move
+        // Queue WebSocket notification for task move
         TaskUpdateEvent event = TaskUpdateEvent.taskMoved(
                 workspaceId,
                 savedTask.getProjectId(),
@@ -411,12 +424,8 @@ public class TaskService extends BaseService {
                 movedByName
         );
 
-        webSocketService.sendTaskUpdateToWorkspace(workspaceId, event);
-        if (savedTask.getProjectId() != null) {
-            webSocketService.sendTaskUpdateToProject(savedTask.getProjectId(), event);
-        }
-        webSocketService.sendKanbanUpdate(workspaceId, event);
-        webSocketService.sendActivityUpdate(workspaceId, event);
+        outboxService.enqueue(event, OutboxEvent.Route.WORKSPACE, OutboxEvent.Route.PROJECT,
+                OutboxEvent.Route.KANBAN, OutboxEvent.Route.ACTIVITY);
 
         return taskMapper.toTaskResponse(savedTask);
     }
@@ -428,11 +437,11 @@ public class TaskService extends BaseService {
      */
     public List<TaskResponse> getTasksForKanbanView(String workspaceId, String userId) {
         // Validate workspace access
-        workspaceRepository.findByIdAndUserIdAndIsActive(workspaceId, userId).orElseThrow(() -> new BusinessException(ErrorCode.WORKSPACE_ACCESS_DENIED));
+        accessControlService.requireWorkspaceAccess(workspaceId, userId, ErrorCode.WORKSPACE_ACCESS_DENIED);
 
         List<Task> tasks = taskRepository.findByWorkspaceIdAndIsActiveOrderByPositionAsc(workspaceId, true);
 
-        return tasks.stream().map(taskMapper::toTaskResponse).collect(Collectors.toList());
+        return taskMapper.toTaskResponseList(tasks);
     }
 
     /**
@@ -440,11 +449,11 @@ public class TaskService extends BaseService {
      */
     public List<TaskResponse> getTasksForCalendarView(String workspaceId, LocalDateTime startDate, LocalDateTime endDate, String userId) {
         // Validate workspace access
-        workspaceRepository.findByIdAndUserIdAndIsActive(workspaceId, userId).orElseThrow(() -> new BusinessException(ErrorCode.WORKSPACE_ACCESS_DENIED));
+        accessControlService.requireWorkspaceAccess(workspaceId, userId, ErrorCode.WORKSPACE_ACCESS_DENIED);
 
         List<Task> tasks = taskRepository.findByWorkspaceIdAndDueAtBetweenAndIsActive(workspaceId, startDate, endDate, true);
 
-        return tasks.stream().map(taskMapper::toTaskResponse).collect(Collectors.toList());
+        return taskMapper.toTaskResponseList(tasks);
     }
 
     /**
@@ -452,11 +461,11 @@ public class TaskService extends BaseService {
      */
     public List<TaskResponse> getTasksByStatus(String workspaceId, TaskStatus status, String userId) {
         // Validate workspace access
-        workspaceRepository.findByIdAndUserIdAndIsActive(workspaceId, userId).orElseThrow(() -> new BusinessException(ErrorCode.WORKSPACE_ACCESS_DENIED));
+        accessControlService.requireWorkspaceAccess(workspaceId, userId, ErrorCode.WORKSPACE_ACCESS_DENIED);
 
         List<Task> tasks = taskRepository.findByWorkspaceIdAndStatusAndIsActiveOrderByPositionAsc(workspaceId, status, true);
 
-        return tasks.stream().map(taskMapper::toTaskResponse).collect(Collectors.toList());
+        return taskMapper.toTaskResponseList(tasks);
     }
 
     // ========== VALIDATION HELPERS ==========
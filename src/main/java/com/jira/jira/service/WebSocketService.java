@@ -1,17 +1,55 @@
 package com.jira.jira.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jira.jira.dto.websocket.PresenceEvent;
+import com.jira.jira.dto.websocket.TaskImportProgressEvent;
 import com.jira.jira.dto.websocket.TaskUpdateEvent;
+import com.jira.jira.util.KeyedSerialExecutor;
+import com.jira.jira.websocket.CompactEncoding;
+import com.jira.jira.websocket.SubscriptionRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.stereotype.Service;
-
+import org.springframework.util.MimeTypeUtils;
+
+import java.util.concurrent.Executors;
+
+/**
+ * WebSocket event dispatch. Task, kanban and activity sends are synchronous: they are called from the outbox
+ * relay, the change stream and schedulers, and a failed send must reach the relay so the event is retried.
+ * Notification, import, presence and broadcast sends run off the caller's thread so broker fan-out never extends
+ * the request that caused it; they are queued per destination, so each destination still receives them in call order.
+ * Payloads are serialized here rather than by the broker converter so that serialization time, payload bytes
+ * and message counts can be metered per destination (tagged by destination pattern, never by id).
+ * Destinations without subscribers on this node are skipped before serialization.
+ * Sessions that negotiated compact encoding subscribe to the ".compact" variant of a destination,
+ * which receives the short-key form (see CompactEncoding).
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class WebSocketService {
 
+    private static final String USER_DESTINATION_PREFIX = "/user/";
+
     private final SimpMessagingTemplate messagingTemplate;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final SubscriptionRegistry subscriptionRegistry;
+
+    private final KeyedSerialExecutor orderedSends = new KeyedSerialExecutor(
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("ws-send-", 0).factory()),
+            e -> log.error("Failed to send queued WebSocket message", e));
 
     /**
      * Send task update to all users in a workspace
@@ -20,7 +58,7 @@ public class WebSocketService {
         String destination = "/topic/workspace/" + workspaceId + "/tasks";
 
         log.info("Sending task update to workspace {}: {}", workspaceId, event.getEventType());
-        messagingTemplate.convertAndSend(destination, event);
+        send(destination, "workspace.tasks", event);
     }
 
     /**
@@ -30,7 +68,7 @@ public class WebSocketService {
         String destination = "/topic/project/" + projectId + "/tasks";
 
         log.info("Sending task update to project {}: {}", projectId, event.getEventType());
-        messagingTemplate.convertAndSend(destination, event);
+        send(destination, "project.tasks", event);
     }
 
     /**
@@ -40,7 +78,7 @@ public class WebSocketService {
         String destination = "/queue/notifications";
 
         log.info("Sending private notification to user {}: {}", userId, event.getEventType());
-        messagingTemplate.convertAndSendToUser(userId, destination, event);
+        sendInOrder(USER_DESTINATION_PREFIX + userId + destination, "user.notifications", event);
     }
 
     /**
@@ -50,7 +88,17 @@ public class WebSocketService {
         String destination = "/queue/assignments";
 
         log.info("Sending assignment notification to user {}: {}", assigneeId, event.getTaskName());
-        messagingTemplate.convertAndSendToUser(assigneeId, destination, event);
+        sendInOrder(USER_DESTINATION_PREFIX + assigneeId + destination, "user.assignments", event);
+    }
+
+    /**
+     * Send bulk import progress to the user running the import
+     */
+    public void sendImportProgress(String userId, TaskImportProgressEvent event) {
+        String destination = "/queue/imports";
+
+        log.debug("Sending import progress to user {}: {} processed", userId, event.getProcessed());
+        sendInOrder(USER_DESTINATION_PREFIX + userId + destination, "user.imports", event);
     }
 
     /**
@@ -60,7 +108,7 @@ public class WebSocketService {
         String destination = "/topic/system/notifications";
 
         log.info("Broadcasting system notification: {}", event.getEventType());
-        messagingTemplate.convertAndSend(destination, event);
+        sendInOrder(destination, "system.notifications", event);
     }
 
     /**
@@ -70,7 +118,7 @@ public class WebSocketService {
         String destination = "/topic/workspace/" + workspaceId + "/activity";
 
         log.info("Sending activity update to workspace {}: {}", workspaceId, event.getMessage());
-        messagingTemplate.convertAndSend(destination, event);
+        send(destination, "workspace.activity", event);
     }
 
     /**
@@ -80,43 +128,92 @@ public class WebSocketService {
         String destination = "/topic/workspace/" + workspaceId + "/kanban";
 
         log.info("Sending kanban update to workspace {}: task {} moved", workspaceId, event.getTaskName());
-        messagingTemplate.convertAndSend(destination, event);
+        send(destination, "workspace.kanban", event);
     }
 
     /**
-     * Send user presence update
+     * Send batched presence changes for a workspace
      */
-    public void sendUserPresenceUpdate(String workspaceId, String userId, boolean isOnline) {
+    public void sendPresenceUpdate(String workspaceId, PresenceEvent event) {
         String destination = "/topic/workspace/" + workspaceId + "/presence";
 
-        PresenceEvent presenceEvent = new PresenceEvent(userId, isOnline, System.currentTimeMillis());
+        log.debug("Sending presence update to workspace {}: {} online, {} offline",
+                workspaceId, event.getOnline().size(), event.getOffline().size());
+        sendInOrder(destination, "workspace.presence", event);
+    }
+
+    /**
+     * Queue a send behind earlier queued sends to the same destination
+     */
+    private void sendInOrder(String destination, String destinationTag, Object payload) {
+        orderedSends.execute(destination, () -> send(destination, destinationTag, payload));
+    }
+
+    /**
+     * Publish a payload in every encoding that has subscribers
+     */
+    private void send(String destination, String destinationTag, Object payload) {
+        publish(destination, destinationTag, "json", payload);
 
-        log.info("Sending presence update to workspace {}: user {} is {}",
-                workspaceId, userId, isOnline ? "online" : "offline");
-        messagingTemplate.convertAndSend(destination, presenceEvent);
+        String compactDestination = CompactEncoding.destination(destination);
+        if (subscriptionRegistry.hasSubscribers(compactDestination)) {
+            publish(compactDestination, destinationTag, "compact", CompactEncoding.encode(payload));
+        }
     }
 
     /**
-     * Simple presence event for user online/offline status
+     * Serialize, meter and send a payload to a broker destination
      */
-    public static class PresenceEvent {
-        private String userId;
-        private boolean isOnline;
-        private long timestamp;
-
-        public PresenceEvent(String userId, boolean isOnline, long timestamp) {
-            this.userId = userId;
-            this.isOnline = isOnline;
-            this.timestamp = timestamp;
+    private void publish(String destination, String destinationTag, String encoding, Object payload) {
+        if (!subscriptionRegistry.hasSubscribers(destination)) {
+            Counter.builder("jira.websocket.messages.skipped")
+                    .description("WebSocket messages skipped because the destination had no subscribers")
+                    .tag("destination", destinationTag)
+                    .tag("encoding", encoding)
+                    .register(meterRegistry)
+                    .increment();
+            return;
         }
 
-        // Getters and setters
-        public String getUserId() { return userId; }
-        public void setUserId(String userId) { this.userId = userId; }
-        public boolean isOnline() { return isOnline; }
-        public void setOnline(boolean online) { isOnline = online; }
-        public long getTimestamp() { return timestamp; }
-        public void setTimestamp(long timestamp) { this.timestamp = timestamp; }
+        byte[] body;
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            body = objectMapper.writeValueAsBytes(payload);
+        } catch (JsonProcessingException e) {
+            log.error("Failed to serialize WebSocket payload for {}", destination, e);
+            Counter.builder("jira.websocket.messages.failed")
+                    .description("WebSocket messages that could not be serialized")
+                    .tag("destination", destinationTag)
+                    .tag("encoding", encoding)
+                    .register(meterRegistry)
+                    .increment();
+            return;
+        } finally {
+            sample.stop(Timer.builder("jira.websocket.serialization")
+                    .description("Time spent serializing WebSocket payloads")
+                    .tag("destination", destinationTag)
+                    .tag("encoding", encoding)
+                    .register(meterRegistry));
+        }
+
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        accessor.setLeaveMutable(true);
+        Message<byte[]> message = MessageBuilder.createMessage(body, accessor.getMessageHeaders());
+        messagingTemplate.send(destination, message);
+
+        Counter.builder("jira.websocket.messages.sent")
+                .description("WebSocket messages sent to the broker")
+                .tag("destination", destinationTag)
+                .tag("encoding", encoding)
+                .register(meterRegistry)
+                .increment();
+        DistributionSummary.builder("jira.websocket.message.bytes")
+                .description("Serialized WebSocket payload size")
+                .baseUnit("bytes")
+                .tag("destination", destinationTag)
+                .tag("encoding", encoding)
+                .register(meterRegistry)
+                .record(body.length);
     }
 }
-
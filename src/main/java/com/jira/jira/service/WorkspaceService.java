@@ -1,31 +1,37 @@
 package com.jira.jira.service;
 
+import com.jira.jira.dto.common.CursorPageResponse;
 import com.jira.jira.dto.request.AddMemberRequest;
 import com.jira.jira.dto.request.CreateWorkspaceRequest;
 import com.jira.jira.dto.request.UpdateWorkspaceRequest;
+import com.jira.jira.dto.response.WorkspaceMemberResponse;
 import com.jira.jira.dto.response.WorkspaceResponse;
 import com.jira.jira.exception.BusinessException;
 import com.jira.jira.exception.ErrorCode;
 import com.jira.jira.mapper.WorkspaceMapper;
+import com.jira.jira.model.Membership;
 import com.jira.jira.model.User;
 import com.jira.jira.model.Workspace;
 import com.jira.jira.repository.UserRepository;
 import com.jira.jira.repository.WorkspaceRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Timed(value = "jira.service", description = "Service method latency, tagged by class and method")
 @Transactional
 public class WorkspaceService {
 
     private final WorkspaceRepository workspaceRepository;
     private final UserRepository userRepository;
+    private final AccessControlService accessControlService;
+    private final MembershipService membershipService;
     private final WorkspaceMapper workspaceMapper;
 
     public WorkspaceResponse createWorkspace(CreateWorkspaceRequest request, String ownerId) {
@@ -43,12 +49,12 @@ public class WorkspaceService {
         workspace.setDescription(request.getDescription());
         workspace.setPublic(request.getIsPublic() != null ? request.getIsPublic() : false);
         workspace.setOwnerId(ownerId);
-        workspace.setMemberIds(List.of(ownerId)); // Owner is automatically a member
         workspace.setActive(true);
         workspace.setCreatedAt(LocalDateTime.now());
         workspace.setUpdatedAt(LocalDateTime.now());
 
         Workspace savedWorkspace = workspaceRepository.save(workspace);
+        membershipService.addMember(Membership.Scope.WORKSPACE, savedWorkspace.getId(), ownerId, AccessControlService.ROLE_OWNER); // Owner is automatically a member
         return workspaceMapper.toWorkspaceResponse(savedWorkspace);
     }
 
@@ -57,10 +63,9 @@ public class WorkspaceService {
      */
     @Transactional(readOnly = true)
     public List<WorkspaceResponse> getUserWorkspaces(String userId) {
-        List<Workspace> workspaces = workspaceRepository.findByUserIdAndIsActive(userId, true);
-        return workspaces.stream()
-                .map(workspaceMapper::toWorkspaceResponse)
-                .collect(Collectors.toList());
+        List<String> workspaceIds = membershipService.getScopeIds(Membership.Scope.WORKSPACE, userId);
+        List<Workspace> workspaces = workspaceRepository.findByIdInAndIsActive(workspaceIds, true);
+        return workspaceMapper.toWorkspaceResponses(workspaces);
     }
 
     /**
@@ -68,12 +73,29 @@ public class WorkspaceService {
      */
     @Transactional(readOnly = true)
     public WorkspaceResponse getWorkspaceById(String workspaceId, String userId) {
-        Workspace workspace = workspaceRepository.findByIdAndUserIdAndIsActive(workspaceId, userId)
+        accessControlService.requireWorkspaceAccess(workspaceId, userId, ErrorCode.WORKSPACE_NOT_FOUND);
+        Workspace workspace = workspaceRepository.findByIdAndIsActiveTrue(workspaceId)
                 .orElseThrow(() -> new BusinessException(ErrorCode.WORKSPACE_NOT_FOUND));
 
         return workspaceMapper.toWorkspaceResponse(workspace);
     }
 
+    /**
+     * Page of workspace members in join order
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponse<WorkspaceMemberResponse> getMembers(String workspaceId, String userId, String cursor, int limit) {
+        accessControlService.requireWorkspaceAccess(workspaceId, userId, ErrorCode.WORKSPACE_NOT_FOUND);
+        CursorPageResponse<Membership> page = membershipService.getMemberPage(Membership.Scope.WORKSPACE, workspaceId, cursor, limit);
+
+        return CursorPageResponse.<WorkspaceMemberResponse>builder()
+                .content(workspaceMapper.toMemberResponses(page.getContent()))
+                .size(page.getSize())
+                .nextCursor(page.getNextCursor())
+                .hasMore(page.getHasMore())
+                .build();
+    }
+
     public WorkspaceResponse updateWorkspace(String workspaceId, UpdateWorkspaceRequest request, String userId) {
         Workspace workspace = workspaceRepository.findByIdAndOwnerIdAndIsActive(workspaceId, userId, true)
                 .orElseThrow(() -> new BusinessException(ErrorCode.WORKSPACE_ACCESS_DENIED));
@@ -113,6 +135,8 @@ public class WorkspaceService {
         workspace.setActive(false);
         workspace.setUpdatedAt(LocalDateTime.now());
         workspaceRepository.save(workspace);
+        membershipService.suspendAll(Membership.Scope.WORKSPACE, workspaceId);
+        accessControlService.evictWorkspace(workspaceId);
     }
 
     public WorkspaceResponse addMember(String workspaceId, AddMemberRequest request, String userId) {
@@ -122,17 +146,9 @@ public class WorkspaceService {
         User userToAdd = userRepository.findByEmail(request.getEmail())
                 .orElseThrow(() -> new BusinessException(ErrorCode.USER_NOT_FOUND));
 
-        if (workspace.getMemberIds().contains(userToAdd.getId())) {
-            throw new BusinessException(ErrorCode.USER_ALREADY_EXISTS);
-        }
-
-        List<String> memberIds = workspace.getMemberIds();
-        memberIds.add(userToAdd.getId());
-        workspace.setMemberIds(memberIds);
-        workspace.setUpdatedAt(LocalDateTime.now());
-
-        Workspace savedWorkspace = workspaceRepository.save(workspace);
-        return workspaceMapper.toWorkspaceResponse(savedWorkspace);
+        membershipService.addMember(Membership.Scope.WORKSPACE, workspaceId, userToAdd.getId(), AccessControlService.ROLE_MEMBER);
+        accessControlService.evictWorkspaceMember(workspaceId, userToAdd.getId());
+        return workspaceMapper.toWorkspaceResponse(workspace);
     }
 
     public WorkspaceResponse removeMember(String workspaceId, String memberId, String userId) {
@@ -143,20 +159,14 @@ public class WorkspaceService {
             throw new BusinessException(ErrorCode.WORKSPACE_ACCESS_DENIED);
         }
 
-        List<String> memberIds = workspace.getMemberIds();
-        memberIds.remove(memberId);
-        workspace.setMemberIds(memberIds);
-        workspace.setUpdatedAt(LocalDateTime.now());
-
-        Workspace savedWorkspace = workspaceRepository.save(workspace);
-        return workspaceMapper.toWorkspaceResponse(savedWorkspace);
+        membershipService.removeMember(Membership.Scope.WORKSPACE, workspaceId, memberId);
+        accessControlService.evictWorkspaceMember(workspaceId, memberId);
+        return workspaceMapper.toWorkspaceResponse(workspace);
     }
 
     @Transactional(readOnly = true)
     public List<WorkspaceResponse> getPublicWorkspaces() {
         List<Workspace> workspaces = workspaceRepository.findByIsPublicAndIsActive(true, true);
-        return workspaces.stream()
-                .map(workspaceMapper::toWorkspaceResponse)
-                .collect(Collectors.toList());
+        return workspaceMapper.toWorkspaceResponses(workspaces);
     }
 }
@@ -0,0 +1,137 @@
+package com.jira.jira.util;
+
+import com.jira.jira.monitoring.QueryStats;
+import com.jira.jira.monitoring.QueryTracker;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Structured fan-out of independent lookups on virtual threads.
+ *
+ * <pre>
+ * try (FanOutScope scope = FanOutScope.open()) {
+ *     Supplier&lt;Workspace&gt; workspace = scope.fork(() -&gt; loadWorkspace());
+ *     Supplier&lt;User&gt; user = scope.fork(() -&gt; loadUser());
+ *     scope.join();
+ *     ...
+ * }
+ * </pre>
+ *
+ * The first failing subtask cancels all others (fail-fast) and its exception is rethrown from join(),
+ * so a BusinessException thrown inside a fork surfaces unchanged to the caller. Checks whose failure
+ * must win (e.g. access checks, which should not reveal which ids exist) belong before the scope.
+ * Closing the scope cancels anything still running.
+ *
+ * Subtasks run on one shared virtual-thread executor. Inside an active transaction they run inline
+ * on the caller's thread instead, because the transaction is bound to that thread and reads on
+ * other threads would not see its writes. The caller's QueryStats are carried over to each subtask,
+ * so forked queries count towards the request that forked them.
+ */
+public class FanOutScope implements AutoCloseable {
+
+    private static final ExecutorService EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final boolean inline;
+    private final List<Future<?>> futures = new CopyOnWriteArrayList<>();
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private boolean joined;
+
+    private FanOutScope(boolean inline) {
+        this.inline = inline;
+    }
+
+    public static FanOutScope open() {
+        return new FanOutScope(TransactionSynchronizationManager.isActualTransactionActive());
+    }
+
+    /**
+     * Start a subtask. The returned supplier may only be read after join().
+     */
+    public <T> Supplier<T> fork(Callable<T> task) {
+        QueryStats stats = QueryTracker.current();
+        Future<T> future = inline ? runInline(task) : EXECUTOR.submit(() -> {
+            try {
+                return QueryTracker.callWith(stats, task);
+            } catch (Throwable e) {
+                if (failure.compareAndSet(null, e)) {
+                    cancelAll();
+                }
+                throw e;
+            }
+        });
+        futures.add(future);
+        if (failure.get() != null) {
+            future.cancel(true); // Scope already failed, do not start more work
+        }
+
+        return () -> {
+            if (!joined) {
+                throw new IllegalStateException("FanOutScope.join() must be called before reading results");
+            }
+            return future.resultNow();
+        };
+    }
+
+    /**
+     * Wait for all subtasks, rethrowing the first failure
+     */
+    public void join() {
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (CancellationException | ExecutionException ignored) {
+                // Reported through the recorded failure below
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                cancelAll();
+                throw new IllegalStateException("Interrupted while waiting for parallel lookups", e);
+            }
+        }
+        joined = true;
+
+        Throwable error = failure.get();
+        if (error instanceof RuntimeException runtimeException) {
+            throw runtimeException;
+        }
+        if (error instanceof Error fatal) {
+            throw fatal;
+        }
+        if (error != null) {
+            throw new IllegalStateException(error.getMessage(), error);
+        }
+    }
+
+    private <T> Future<T> runInline(Callable<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        if (failure.get() != null) {
+            return future; // Cancelled by fork() below
+        }
+        try {
+            future.complete(task.call());
+        } catch (Throwable e) {
+            failure.compareAndSet(null, e);
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    private void cancelAll() {
+        futures.forEach(future -> future.cancel(true));
+    }
+
+    @Override
+    public void close() {
+        cancelAll();
+    }
+}
@@ -0,0 +1,161 @@
+package com.jira.jira.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+
+/**
+ * Hierarchical timing wheel for large numbers of long-lived deadlines.
+ *
+ * Level 0 has one slot per tick; each higher level's slot spans a whole lower wheel
+ * (64 ticks, 64^2 ticks, ...). Deadlines are filed at the coarsest level that can hold them and
+ * cascade down as time approaches, so schedule, cancel and each tick cost O(1) amortized
+ * regardless of how many deadlines are pending. Deadlines beyond the top level are parked in it
+ * and re-filed until they fit. Keys are unique: scheduling an existing key reschedules it.
+ */
+public class HierarchicalTimingWheel<K> {
+
+    private static final int SLOT_BITS = 6;
+    private static final int WHEEL_SIZE = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = WHEEL_SIZE - 1;
+
+    private final long tickMillis;
+    private final int levels;
+    private final List<Map<K, Long>[]> wheels = new ArrayList<>();
+    private final Map<K, Integer> levelByKey = new HashMap<>();
+    private final Map<K, Long> deadlineTickByKey = new HashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private long currentTick;
+
+    @SuppressWarnings("unchecked")
+    public HierarchicalTimingWheel(long tickMillis, int levels, long nowMillis) {
+        this.tickMillis = tickMillis;
+        this.levels = levels;
+        this.currentTick = nowMillis / tickMillis;
+        for (int level = 0; level < levels; level++) {
+            Map<K, Long>[] slots = new Map[WHEEL_SIZE];
+            for (int slot = 0; slot < WHEEL_SIZE; slot++) {
+                slots[slot] = new HashMap<>();
+            }
+            wheels.add(slots);
+        }
+    }
+
+    /**
+     * Schedule or reschedule a key. Deadlines already passed fire on the next advance().
+     */
+    public void schedule(K key, long deadlineMillis) {
+        lock.lock();
+        try {
+            remove(key);
+            long deadlineTick = Math.max(Math.ceilDiv(deadlineMillis, tickMillis), currentTick + 1);
+            file(key, deadlineTick);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void cancel(K key) {
+        lock.lock();
+        try {
+            remove(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Cancel every key matching the filter, returning how many were removed
+     */
+    public int removeIf(Predicate<K> filter) {
+        lock.lock();
+        try {
+            List<K> matching = deadlineTickByKey.keySet().stream().filter(filter).toList();
+            matching.forEach(this::remove);
+            return matching.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return deadlineTickByKey.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Move time forward, returning keys whose deadline has been reached
+     */
+    public List<K> advance(long nowMillis) {
+        List<K> expired = new ArrayList<>();
+        lock.lock();
+        try {
+            long targetTick = nowMillis / tickMillis;
+            while (currentTick < targetTick) {
+                currentTick++;
+
+                // Cascade every level whose lower wheel just completed a revolution
+                for (int level = 1; level < levels; level++) {
+                    if ((currentTick & ((1L << (SLOT_BITS * level)) - 1)) != 0) {
+                        break;
+                    }
+                    refile(wheels.get(level)[slotOf(currentTick, level)], expired);
+                }
+
+                refile(wheels.get(0)[slotOf(currentTick, 0)], expired);
+            }
+        } finally {
+            lock.unlock();
+        }
+        return expired;
+    }
+
+    private void refile(Map<K, Long> slot, List<K> expired) {
+        if (slot.isEmpty()) {
+            return;
+        }
+
+        Map<K, Long> entries = new HashMap<>(slot);
+        slot.clear();
+        entries.forEach((key, deadlineTick) -> {
+            if (deadlineTick <= currentTick) {
+                levelByKey.remove(key);
+                deadlineTickByKey.remove(key);
+                expired.add(key);
+            } else {
+                file(key, deadlineTick);
+            }
+        });
+    }
+
+    private void file(K key, long deadlineTick) {
+        long delta = deadlineTick - currentTick;
+        int level = 0;
+        while (level < levels - 1 && delta >= (1L << (SLOT_BITS * (level + 1)))) {
+            level++;
+        }
+
+        wheels.get(level)[slotOf(deadlineTick, level)].put(key, deadlineTick);
+        levelByKey.put(key, level);
+        deadlineTickByKey.put(key, deadlineTick);
+    }
+
+    private void remove(K key) {
+        Integer level = levelByKey.remove(key);
+        Long deadlineTick = deadlineTickByKey.remove(key);
+        if (level != null && deadlineTick != null) {
+            wheels.get(level)[slotOf(deadlineTick, level)].remove(key);
+        }
+    }
+
+    private static int slotOf(long tick, int level) {
+        return (int) ((tick >>> (SLOT_BITS * level)) & SLOT_MASK);
+    }
+}
@@ -0,0 +1,50 @@
+package com.jira.jira.util;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * Runs tasks off the caller's thread while keeping submission order per key.
+ *
+ * Tasks for one key are chained one after another on the delegate executor; tasks for different
+ * keys run concurrently. A failing task is reported through the error handler and does not stop
+ * the tasks queued behind it. A key's chain is dropped once it runs empty, so idle keys cost nothing.
+ */
+public class KeyedSerialExecutor {
+
+    private final Map<String, CompletableFuture<Void>> tails = new ConcurrentHashMap<>();
+    private final Executor delegate;
+    private final Consumer<RuntimeException> errorHandler;
+
+    public KeyedSerialExecutor(Executor delegate, Consumer<RuntimeException> errorHandler) {
+        this.delegate = delegate;
+        this.errorHandler = errorHandler;
+    }
+
+    /**
+     * Run a task after every task previously submitted for the same key
+     */
+    public void execute(String key, Runnable task) {
+        CompletableFuture<Void> next = tails.compute(key, (k, tail) -> {
+            CompletableFuture<Void> previous = tail != null ? tail : CompletableFuture.completedFuture(null);
+            return previous.thenRunAsync(() -> {
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    errorHandler.accept(e);
+                }
+            }, delegate);
+        });
+        next.whenComplete((result, error) -> tails.remove(key, next));
+    }
+
+    /**
+     * Number of keys with queued or running tasks
+     */
+    public int activeKeys() {
+        return tails.size();
+    }
+}
@@ -23,15 +23,21 @@ public class PaginationUtils {
 
         Sort sort = Sort.unsorted();
         if (request.getSortBy() != null && !request.getSortBy().trim().isEmpty()) {
-            Sort.Direction direction = request.getSortDirection() == PaginationRequest.SortDirection.DESC
-                    ? Sort.Direction.DESC
-                    : Sort.Direction.ASC;
-            sort = Sort.by(direction, request.getSortBy());
+            sort = Sort.by(toSortDirection(request), request.getSortBy());
         }
 
         return PageRequest.of(request.getPage(), request.getSize(), sort);
     }
 
+    /**
+     * Convert the requested sort direction to Spring Data's
+     */
+    public static Sort.Direction toSortDirection(PaginationRequest request) {
+        return request.getSortDirection() == PaginationRequest.SortDirection.DESC
+                ? Sort.Direction.DESC
+                : Sort.Direction.ASC;
+    }
+
     /**
      * Create pagination response from list and total count
      */
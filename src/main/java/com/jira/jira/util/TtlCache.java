@@ -0,0 +1,135 @@
+package com.jira.jira.util;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Small concurrent cache with a fixed time-to-live per entry.
+ * Loaders run outside any lock (a miss may load twice under contention), so blocking loaders
+ * never pin a virtual thread. Every invalidation bumps an epoch, and a load only caches its value
+ * if no invalidation happened while it ran, so an eviction always beats a load already in flight.
+ * When the cache grows past maxSize, expired entries are purged first, then the oldest entries.
+ */
+public class TtlCache<K, V> {
+
+    private record Entry<V>(V value, long expiresAtNanos) {
+        boolean isExpired(long now) {
+            return now - expiresAtNanos >= 0;
+        }
+    }
+
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final AtomicLong epoch = new AtomicLong();
+    private final long ttlNanos;
+    private final int maxSize;
+
+    public TtlCache(Duration ttl, int maxSize) {
+        this.ttlNanos = ttl.toNanos();
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Get cached value or load and cache it
+     */
+    public V get(K key, Function<K, V> loader) {
+        long now = System.nanoTime();
+        Entry<V> entry = entries.get(key);
+        if (entry != null && !entry.isExpired(now)) {
+            return entry.value();
+        }
+
+        long loadEpoch = epoch.get();
+        V value = loader.apply(key);
+        ensureCapacity();
+        // Cache only if nothing was invalidated while loading; invalidations bump the epoch before removing
+        entries.compute(key, (k, current) -> epoch.get() == loadEpoch ? new Entry<>(value, System.nanoTime() + ttlNanos) : current);
+        return value;
+    }
+
+    /**
+     * Get cached value without loading
+     */
+    public V getIfPresent(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.isExpired(System.nanoTime())) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.value();
+    }
+
+    public void put(K key, V value) {
+        put(key, value, ttlNanos);
+    }
+
+    /**
+     * Put with a custom TTL, capped at the cache TTL
+     */
+    public void put(K key, V value, Duration ttl) {
+        put(key, value, Math.min(ttl.toNanos(), ttlNanos));
+    }
+
+    private void put(K key, V value, long entryTtlNanos) {
+        ensureCapacity();
+        entries.put(key, new Entry<>(value, System.nanoTime() + entryTtlNanos));
+    }
+
+    public void invalidate(K key) {
+        epoch.incrementAndGet();
+        entries.remove(key);
+    }
+
+    public void invalidateIf(Predicate<K> predicate) {
+        epoch.incrementAndGet();
+        entries.keySet().removeIf(predicate);
+    }
+
+    /**
+     * Invalidate entries whose cached value matches
+     */
+    public void invalidateValuesIf(Predicate<V> predicate) {
+        epoch.incrementAndGet();
+        entries.values().removeIf(entry -> predicate.test(entry.value()));
+    }
+
+    public void invalidateAll() {
+        epoch.incrementAndGet();
+        entries.clear();
+    }
+
+    public void evictExpired() {
+        long now = System.nanoTime();
+        entries.values().removeIf(entry -> entry.isExpired(now));
+    }
+
+    /**
+     * Purge expired entries, then drop the oldest until a tenth of the capacity is free
+     */
+    private void ensureCapacity() {
+        if (entries.size() < maxSize) {
+            return;
+        }
+        evictExpired();
+        int excess = entries.size() - maxSize + Math.max(1, maxSize / 10);
+        if (excess <= 0) {
+            return;
+        }
+        entries.entrySet().stream()
+                .sorted(Comparator.comparingLong(entry -> entry.getValue().expiresAtNanos()))
+                .limit(excess)
+                .toList()
+                .forEach(entry -> entries.remove(entry.getKey(), entry.getValue()));
+    }
+
+    public int size() {
+        return entries.size();
+    }
+}
@@ -0,0 +1,105 @@
+package com.jira.jira.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Bounded write-behind buffer that hands items to a batch writer.
+ *
+ * Items are flushed when a batch fills up (on the caller's thread) or when flush() is called
+ * from a timer, so each write reaches storage within one flush interval. A failed batch is
+ * reported through the error handler and dropped; when the buffer is full, add() rejects the item.
+ * Only one flush runs at a time; producers never wait on a flush already in progress.
+ */
+public class WriteBehindBuffer<T> {
+
+    private final int batchSize;
+    private final int capacity;
+    private final Consumer<List<T>> writer;
+    private final Consumer<FlushFailure<T>> errorHandler;
+
+    private final ReentrantLock bufferLock = new ReentrantLock();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private List<T> pending = new ArrayList<>();
+
+    public record FlushFailure<T>(List<T> batch, RuntimeException error) {
+    }
+
+    public WriteBehindBuffer(int batchSize, int capacity, Consumer<List<T>> writer, Consumer<FlushFailure<T>> errorHandler) {
+        if (batchSize < 1 || capacity < batchSize) {
+            throw new IllegalArgumentException("batchSize must be positive and not exceed capacity");
+        }
+        this.batchSize = batchSize;
+        this.capacity = capacity;
+        this.writer = writer;
+        this.errorHandler = errorHandler;
+    }
+
+    /**
+     * Queue an item; returns false if the buffer is full
+     */
+    public boolean add(T item) {
+        boolean full;
+        bufferLock.lock();
+        try {
+            if (pending.size() >= capacity) {
+                return false;
+            }
+            pending.add(item);
+            full = pending.size() >= batchSize;
+        } finally {
+            bufferLock.unlock();
+        }
+
+        if (full) {
+            flush();
+        }
+        return true;
+    }
+
+    /**
+     * Write everything queued so far in batches of at most batchSize
+     */
+    public void flush() {
+        if (!flushLock.tryLock()) {
+            return; // Another thread is flushing and will pick up what is queued
+        }
+        try {
+            List<T> drained;
+            while (!(drained = drain()).isEmpty()) {
+                for (int from = 0; from < drained.size(); from += batchSize) {
+                    List<T> batch = drained.subList(from, Math.min(from + batchSize, drained.size()));
+                    try {
+                        writer.accept(batch);
+                    } catch (RuntimeException e) {
+                        errorHandler.accept(new FlushFailure<>(List.copyOf(batch), e));
+                    }
+                }
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    public int size() {
+        bufferLock.lock();
+        try {
+            return pending.size();
+        } finally {
+            bufferLock.unlock();
+        }
+    }
+
+    private List<T> drain() {
+        bufferLock.lock();
+        try {
+            List<T> drained = pending;
+            pending = new ArrayList<>();
+            return drained;
+        } finally {
+            bufferLock.unlock();
+        }
+    }
+}
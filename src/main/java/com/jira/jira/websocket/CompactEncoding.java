@@ -0,0 +1,36 @@
+package com.jira.jira.websocket;
+
+import com.jira.jira.dto.websocket.CompactTaskUpdateEvent;
+import com.jira.jira.dto.websocket.TaskUpdateEvent;
+
+/**
+ * Opt-in compact payload encoding, negotiated per session.
+ *
+ * A client sends "x-encoding: compact" on CONNECT. Its subscriptions are then rewritten to the
+ * ".compact" variant of each destination, and WebSocketService publishes the short-key form there.
+ * Each form is serialized once per event and only when that variant has subscribers.
+ */
+public final class CompactEncoding {
+
+    public static final String CONNECT_HEADER = "x-encoding";
+    public static final String COMPACT = "compact";
+    public static final String SESSION_ATTRIBUTE = "jira.encoding";
+    public static final String DESTINATION_SUFFIX = ".compact";
+
+    private CompactEncoding() {
+    }
+
+    public static String destination(String destination) {
+        return destination + DESTINATION_SUFFIX;
+    }
+
+    /**
+     * Compact form of a payload; payloads without one are sent unchanged
+     */
+    public static Object encode(Object payload) {
+        if (payload instanceof TaskUpdateEvent event) {
+            return CompactTaskUpdateEvent.from(event);
+        }
+        return payload;
+    }
+}
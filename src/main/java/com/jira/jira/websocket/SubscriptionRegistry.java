@@ -0,0 +1,89 @@
+package com.jira.jira.websocket;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Which destinations currently have subscribers on this node.
+ * Updated from SUBSCRIBE/UNSUBSCRIBE frames and session disconnects, so senders can skip
+ * destinations nobody listens to. User destinations are registered in their resolved form
+ * (/user/{userId}/queue/...), matching how WebSocketService addresses them.
+ */
+@Component
+@Slf4j
+public class SubscriptionRegistry {
+
+    // destination -> "sessionId/subscriptionId"
+    private final Map<String, Set<String>> subscribersByDestination = new ConcurrentHashMap<>();
+
+    // sessionId -> subscriptionId -> destination
+    private final Map<String, Map<String, String>> subscriptionsBySession = new ConcurrentHashMap<>();
+
+    public SubscriptionRegistry(MeterRegistry meterRegistry) {
+        Gauge.builder("jira.websocket.subscribed.destinations", subscribersByDestination, Map::size)
+                .description("Destinations with at least one subscriber")
+                .register(meterRegistry);
+        Gauge.builder("jira.websocket.sessions", subscriptionsBySession, Map::size)
+                .description("WebSocket sessions with at least one subscription")
+                .register(meterRegistry);
+    }
+
+    public void subscribe(String sessionId, String subscriptionId, String destination) {
+        subscriptionsBySession.computeIfAbsent(sessionId, id -> new ConcurrentHashMap<>()).put(subscriptionId, destination);
+        subscribersByDestination.compute(destination, (d, subscribers) -> {
+            Set<String> updated = subscribers != null ? subscribers : ConcurrentHashMap.newKeySet();
+            updated.add(sessionId + "/" + subscriptionId);
+            return updated;
+        });
+    }
+
+    public void unsubscribe(String sessionId, String subscriptionId) {
+        Map<String, String> subscriptions = subscriptionsBySession.get(sessionId);
+        if (subscriptions == null) {
+            return;
+        }
+
+        String destination = subscriptions.remove(subscriptionId);
+        if (destination != null) {
+            removeSubscriber(destination, sessionId + "/" + subscriptionId);
+        }
+    }
+
+    public void removeSession(String sessionId) {
+        Map<String, String> subscriptions = subscriptionsBySession.remove(sessionId);
+        if (subscriptions != null) {
+            subscriptions.forEach((subscriptionId, destination) ->
+                    removeSubscriber(destination, sessionId + "/" + subscriptionId));
+        }
+    }
+
+    public boolean hasSubscribers(String destination) {
+        return subscribersByDestination.containsKey(destination);
+    }
+
+    public int subscriberCount(String destination) {
+        Set<String> subscribers = subscribersByDestination.get(destination);
+        return subscribers != null ? subscribers.size() : 0;
+    }
+
+    @EventListener
+    public void onSessionDisconnect(SessionDisconnectEvent event) {
+        removeSession(event.getSessionId());
+    }
+
+    private void removeSubscriber(String destination, String subscriber) {
+        // Drop the destination atomically once its last subscriber leaves
+        subscribersByDestination.computeIfPresent(destination, (d, subscribers) -> {
+            subscribers.remove(subscriber);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+    }
+}
@@ -1,9 +1,14 @@
 package com.jira.jira.websocket;
 
 import com.jira.jira.dto.response.TokenValidationResponse;
+import com.jira.jira.exception.ErrorCode;
+import com.jira.jira.security.JwtUtil;
+import com.jira.jira.service.AccessControlService;
 import com.jira.jira.service.AuthService;
-import lombok.RequiredArgsConstructor;
+import com.jira.jira.util.TtlCache;
+import io.jsonwebtoken.Claims;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.MessageChannel;
 import org.springframework.messaging.simp.stomp.StompCommand;
@@ -11,15 +16,51 @@ import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
 import org.springframework.messaging.support.ChannelInterceptor;
 import org.springframework.messaging.support.MessageHeaderAccessor;
 import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
 
 import java.security.Principal;
-
+import java.time.Duration;
+
+/**
+ * Authenticates STOMP CONNECT frames and authorizes SUBSCRIBE frames.
+ * The principal is built from the JWT claims (uid, name) and cached per token until it expires,
+ * so a reconnect storm costs signature checks only and never touches Mongo. Tokens issued before
+ * the claims were added fall back to a user lookup once and are cached the same way.
+ * Workspace and project topics require membership (cached in AccessControlService); pattern
+ * destinations are refused, since the broker would match them against every scope. Accepted
+ * subscriptions are recorded in the SubscriptionRegistry.
+ */
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class WebSocketAuthenticationInterceptor implements ChannelInterceptor {
 
+    private static final String WORKSPACE_TOPIC_PREFIX = "/topic/workspace/";
+    private static final String WORKSPACE_APP_PREFIX = "/app/workspace/";
+    private static final String PROJECT_TOPIC_PREFIX = "/topic/project/";
+    private static final String SYSTEM_TOPIC_PREFIX = "/topic/system/";
+    private static final String USER_DESTINATION_PREFIX = "/user/";
+    private static final String APP_DESTINATION_PREFIX = "/app/";
+    private static final PathMatcher BROKER_PATH_MATCHER = new AntPathMatcher();
+
     private final AuthService authService;
+    private final JwtUtil jwtUtil;
+    private final AccessControlService accessControlService;
+    private final SubscriptionRegistry subscriptionRegistry;
+    private final TtlCache<String, WebSocketUserPrincipal> verifiedTokens;
+
+    public WebSocketAuthenticationInterceptor(AuthService authService,
+                                              JwtUtil jwtUtil,
+                                              AccessControlService accessControlService,
+                                              SubscriptionRegistry subscriptionRegistry,
+                                              @Value("${websocket.auth-cache.ttl:10m}") Duration cacheTtl,
+                                              @Value("${websocket.auth-cache.max-size:50000}") int maxSize) {
+        this.authService = authService;
+        this.jwtUtil = jwtUtil;
+        this.accessControlService = accessControlService;
+        this.subscriptionRegistry = subscriptionRegistry;
+        this.verifiedTokens = new TtlCache<>(cacheTtl, maxSize);
+    }
 
     @Override
     public Message<?> preSend(Message<?> message, MessageChannel channel) {
@@ -31,21 +72,17 @@ public class WebSocketAuthenticationInterceptor implements ChannelInterceptor {
 
             if (authHeader != null && authHeader.startsWith("Bearer ")) {
                 try {
-                    // Validate JWT token
-                    TokenValidationResponse authResponse = authService.validateToken(authHeader);
+                    // Set user principal for this WebSocket session
+                    WebSocketUserPrincipal principal = authenticate(authHeader.substring(7));
+                    accessor.setUser(principal);
 
-                    if (!authResponse.isValid() || authResponse.getUser() == null) {
-                        throw new RuntimeException("Invalid token");
+                    // Remember the negotiated payload encoding for this session
+                    if (CompactEncoding.COMPACT.equalsIgnoreCase(accessor.getFirstNativeHeader(CompactEncoding.CONNECT_HEADER))
+                            && accessor.getSessionAttributes() != null) {
+                        accessor.getSessionAttributes().put(CompactEncoding.SESSION_ATTRIBUTE, CompactEncoding.COMPACT);
                     }
 
-                    // Set user principal for this WebSocket session
-                    accessor.setUser(new WebSocketUserPrincipal(
-                            authResponse.getUser().getId(),
-                            authResponse.getUser().getEmail(),
-                            authResponse.getUser().getName()
-                    ));
-
-                    log.info("WebSocket connection authenticated for user: {}", authResponse.getUser().getEmail());
+                    log.debug("WebSocket connection authenticated for user: {}", principal.getEmail());
 
                 } catch (Exception e) {
                     log.error("WebSocket authentication failed: {}", e.getMessage());
@@ -55,11 +92,102 @@ public class WebSocketAuthenticationInterceptor implements ChannelInterceptor {
                 log.error("WebSocket connection attempt without valid Authorization header");
                 throw new RuntimeException("Authentication required");
             }
+        } else if (accessor != null && StompCommand.SUBSCRIBE.equals(accessor.getCommand())) {
+            String destination = accessor.getDestination();
+            if (!(accessor.getUser() instanceof WebSocketUserPrincipal user) || destination == null) {
+                throw new RuntimeException("Authentication required");
+            }
+
+            authorizeSubscription(destination, user);
+
+            // Compact sessions receive events from the .compact variant of broadcast destinations
+            if (isCompactSession(accessor) && !destination.startsWith(APP_DESTINATION_PREFIX)) {
+                destination = CompactEncoding.destination(destination);
+                accessor.setDestination(destination);
+            }
+            subscriptionRegistry.subscribe(accessor.getSessionId(), accessor.getSubscriptionId(), registeredDestination(destination, user));
+        } else if (accessor != null && StompCommand.UNSUBSCRIBE.equals(accessor.getCommand())) {
+            subscriptionRegistry.unsubscribe(accessor.getSessionId(), accessor.getSubscriptionId());
+        } else if (accessor != null && StompCommand.DISCONNECT.equals(accessor.getCommand())) {
+            subscriptionRegistry.removeSession(accessor.getSessionId());
         }
 
         return message;
     }
 
+    private void authorizeSubscription(String destination, WebSocketUserPrincipal user) {
+        try {
+            if (BROKER_PATH_MATCHER.isPattern(destination)) {
+                throw new RuntimeException("Pattern destinations are not allowed");
+            } else if (destination.startsWith(WORKSPACE_TOPIC_PREFIX)) {
+                accessControlService.requireWorkspaceAccess(scopeId(destination, WORKSPACE_TOPIC_PREFIX), user.getUserId(),
+                        ErrorCode.WORKSPACE_ACCESS_DENIED);
+            } else if (destination.startsWith(WORKSPACE_APP_PREFIX)) {
+                accessControlService.requireWorkspaceAccess(scopeId(destination, WORKSPACE_APP_PREFIX), user.getUserId(),
+                        ErrorCode.WORKSPACE_ACCESS_DENIED);
+            } else if (destination.startsWith(PROJECT_TOPIC_PREFIX)) {
+                accessControlService.requireProjectAccess(scopeId(destination, PROJECT_TOPIC_PREFIX), user.getUserId(),
+                        ErrorCode.PROJECT_ACCESS_DENIED);
+            } else if (!destination.startsWith(SYSTEM_TOPIC_PREFIX) && !destination.startsWith(USER_DESTINATION_PREFIX)) {
+                throw new RuntimeException("Unknown destination");
+            }
+        } catch (RuntimeException e) {
+            log.warn("Subscription to {} denied for user {}: {}", destination, user.getUserId(), e.getMessage());
+            throw new RuntimeException("Access denied to " + destination);
+        }
+    }
+
+    private static boolean isCompactSession(StompHeaderAccessor accessor) {
+        return accessor.getSessionAttributes() != null
+                && CompactEncoding.COMPACT.equals(accessor.getSessionAttributes().get(CompactEncoding.SESSION_ATTRIBUTE));
+    }
+
+    /**
+     * User destinations are registered as /user/{userId}/..., the form senders address them by
+     */
+    private static String registeredDestination(String destination, WebSocketUserPrincipal user) {
+        if (destination.startsWith(USER_DESTINATION_PREFIX)) {
+            return USER_DESTINATION_PREFIX + user.getName() + destination.substring(USER_DESTINATION_PREFIX.length() - 1);
+        }
+        return destination;
+    }
+
+    private static String scopeId(String destination, String prefix) {
+        int end = destination.indexOf('/', prefix.length());
+        return end < 0 ? destination.substring(prefix.length()) : destination.substring(prefix.length(), end);
+    }
+
+    private WebSocketUserPrincipal authenticate(String token) {
+        WebSocketUserPrincipal cached = verifiedTokens.getIfPresent(token);
+        if (cached != null) {
+            return cached;
+        }
+
+        // Verifies signature and expiry, throws when invalid
+        Claims claims = jwtUtil.extractAllClaims(token);
+
+        WebSocketUserPrincipal principal;
+        String userId = claims.get(JwtUtil.CLAIM_USER_ID, String.class);
+        if (userId != null) {
+            principal = new WebSocketUserPrincipal(userId, claims.getSubject(), claims.get(JwtUtil.CLAIM_NAME, String.class));
+        } else {
+            // Legacy token without user claims
+            TokenValidationResponse authResponse = authService.validateToken(token);
+            if (!authResponse.isValid() || authResponse.getUser() == null) {
+                throw new RuntimeException("Invalid token");
+            }
+            principal = new WebSocketUserPrincipal(
+                    authResponse.getUser().getId(),
+                    authResponse.getUser().getEmail(),
+                    authResponse.getUser().getName()
+            );
+        }
+
+        // Never cache beyond the token's own expiry
+        verifiedTokens.put(token, principal, Duration.ofMillis(claims.getExpiration().getTime() - System.currentTimeMillis()));
+        return principal;
+    }
+
     /**
      * Custom Principal implementation for WebSocket users
      */
@@ -76,7 +204,7 @@ public class WebSocketAuthenticationInterceptor implements ChannelInterceptor {
 
         @Override
         public String getName() {
-            return email; // Use email as principal name
+            return userId; // convertAndSendToUser addresses users by id
         }
 
         public String getUserId() {
@@ -0,0 +1,53 @@
+package com.jira.jira.websocket.presence;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Node-local presence store
+ */
+public class InMemoryPresenceStore implements PresenceStore {
+
+    private final Map<String, Map<String, Long>> lastSeenByWorkspace = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean touch(String workspaceId, String userId, long nowMillis) {
+        // compute() keeps this atomic with the empty-map cleanup in expire()
+        boolean[] added = new boolean[1];
+        lastSeenByWorkspace.compute(workspaceId, (id, lastSeen) -> {
+            Map<String, Long> updated = lastSeen != null ? lastSeen : new ConcurrentHashMap<>();
+            added[0] = updated.put(userId, nowMillis) == null;
+            return updated;
+        });
+        return added[0];
+    }
+
+    @Override
+    public boolean remove(String workspaceId, String userId) {
+        Map<String, Long> lastSeen = lastSeenByWorkspace.get(workspaceId);
+        return lastSeen != null && lastSeen.remove(userId) != null;
+    }
+
+    @Override
+    public Set<String> online(String workspaceId) {
+        Map<String, Long> lastSeen = lastSeenByWorkspace.get(workspaceId);
+        return lastSeen != null ? new HashSet<>(lastSeen.keySet()) : Set.of();
+    }
+
+    @Override
+    public Map<String, Set<String>> expire(long cutoffMillis) {
+        Map<String, Set<String>> expired = new HashMap<>();
+        lastSeenByWorkspace.forEach((workspaceId, lastSeen) ->
+                lastSeen.forEach((userId, seenAt) -> {
+                    if (seenAt < cutoffMillis && lastSeen.remove(userId, seenAt)) {
+                        expired.computeIfAbsent(workspaceId, id -> new HashSet<>()).add(userId);
+                    }
+                }));
+        expired.keySet().forEach(workspaceId ->
+                lastSeenByWorkspace.computeIfPresent(workspaceId, (id, lastSeen) -> lastSeen.isEmpty() ? null : lastSeen));
+        return expired;
+    }
+}
@@ -0,0 +1,21 @@
+package com.jira.jira.websocket.presence;
+
+import com.jira.jira.dto.websocket.PresenceEvent;
+import com.jira.jira.service.WebSocketService;
+
+/**
+ * Single node: diffs go straight to this node's broker
+ */
+public class LocalPresenceBroadcaster implements PresenceBroadcaster {
+
+    private final WebSocketService webSocketService;
+
+    public LocalPresenceBroadcaster(WebSocketService webSocketService) {
+        this.webSocketService = webSocketService;
+    }
+
+    @Override
+    public void broadcast(PresenceEvent event) {
+        webSocketService.sendPresenceUpdate(event.getWorkspaceId(), event);
+    }
+}
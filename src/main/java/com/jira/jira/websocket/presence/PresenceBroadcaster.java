@@ -0,0 +1,11 @@
+package com.jira.jira.websocket.presence;
+
+import com.jira.jira.dto.websocket.PresenceEvent;
+
+/**
+ * Delivers presence diffs to the subscribers of a workspace on every node
+ */
+public interface PresenceBroadcaster {
+
+    void broadcast(PresenceEvent event);
+}
@@ -0,0 +1,186 @@
+package com.jira.jira.websocket.presence;
+
+import com.jira.jira.dto.websocket.PresenceEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Who is online in each workspace.
+ *
+ * Sessions join workspaces explicitly and keep their presence alive through /app/ping heartbeats;
+ * users whose heartbeats stop (crashed tabs, lost networks) expire after the heartbeat timeout.
+ * Changes are not broadcast one by one: joins and leaves accumulate and are flushed as a single
+ * diff per workspace every flush interval and delivered through the PresenceBroadcaster, which reaches
+ * every node in redis mode. New subscribers get a snapshot of the current roster.
+ * Each node counts its sessions per (user, workspace) and drops its presence when the last one leaves;
+ * the store keeps the user online while another node still holds them.
+ */
+@Service
+@Slf4j
+public class PresenceService {
+
+    private record SessionPresence(String userId, Set<String> workspaceIds) {
+    }
+
+    private record PendingDiff(Set<String> online, Set<String> offline) {
+    }
+
+    private record Member(String workspaceId, String userId) {
+    }
+
+    private final PresenceStore presenceStore;
+    private final PresenceBroadcaster presenceBroadcaster;
+    private final Duration heartbeatTimeout;
+
+    // Sessions connected to this node and the workspaces each has joined
+    private final Map<String, SessionPresence> sessions = new ConcurrentHashMap<>();
+
+    // Sessions on this node per user and workspace; the store is touched and removed on 0 <-> 1
+    private final Map<Member, Integer> sessionCounts = new ConcurrentHashMap<>();
+
+    // Changes since the last flush, per workspace
+    private final Map<String, PendingDiff> pendingDiffs = new ConcurrentHashMap<>();
+
+    public PresenceService(PresenceStore presenceStore,
+                           PresenceBroadcaster presenceBroadcaster,
+                           @Value("${websocket.presence.heartbeat-timeout:60s}") Duration heartbeatTimeout) {
+        this.presenceStore = presenceStore;
+        this.presenceBroadcaster = presenceBroadcaster;
+        this.heartbeatTimeout = heartbeatTimeout;
+    }
+
+    public void join(String sessionId, String userId, String workspaceId) {
+        boolean joined = sessions.computeIfAbsent(sessionId, id -> new SessionPresence(userId, ConcurrentHashMap.newKeySet()))
+                .workspaceIds().add(workspaceId);
+        if (!joined) {
+            return; // Repeated join of the same session
+        }
+
+        // The store write runs inside compute so it cannot interleave with the last session's leave
+        sessionCounts.compute(new Member(workspaceId, userId), (member, count) -> {
+            if (count == null && presenceStore.touch(workspaceId, userId, System.currentTimeMillis())) {
+                markOnline(workspaceId, userId);
+            }
+            return count == null ? 1 : count + 1;
+        });
+    }
+
+    public void leave(String sessionId, String userId, String workspaceId) {
+        SessionPresence session = sessions.get(sessionId);
+        if (session != null && session.workspaceIds().remove(workspaceId)) {
+            releaseSession(userId, workspaceId);
+        }
+    }
+
+    /**
+     * Refresh every workspace the session has joined
+     */
+    public void heartbeat(String sessionId) {
+        SessionPresence session = sessions.get(sessionId);
+        if (session == null) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        for (String workspaceId : session.workspaceIds()) {
+            if (presenceStore.touch(workspaceId, session.userId(), now)) {
+                markOnline(workspaceId, session.userId()); // Had expired, came back
+            }
+        }
+    }
+
+    public PresenceEvent snapshot(String workspaceId) {
+        return PresenceEvent.builder()
+                .workspaceId(workspaceId)
+                .snapshot(true)
+                .online(new ArrayList<>(presenceStore.online(workspaceId)))
+                .timestamp(System.currentTimeMillis())
+                .build();
+    }
+
+    @EventListener
+    public void onSessionDisconnect(SessionDisconnectEvent event) {
+        SessionPresence session = sessions.remove(event.getSessionId());
+        if (session != null) {
+            // remove() guards against a concurrent leave of the same workspace releasing it twice
+            for (String workspaceId : List.copyOf(session.workspaceIds())) {
+                if (session.workspaceIds().remove(workspaceId)) {
+                    releaseSession(session.userId(), workspaceId);
+                }
+            }
+        }
+    }
+
+    /**
+     * Expire silent users and publish one batched diff per changed workspace
+     */
+    @Scheduled(fixedDelayString = "${websocket.presence.flush-interval:2s}")
+    public void flush() {
+        try {
+            presenceStore.expire(System.currentTimeMillis() - heartbeatTimeout.toMillis())
+                    .forEach((workspaceId, userIds) -> userIds.forEach(userId -> markOffline(workspaceId, userId)));
+        } catch (Exception e) {
+            log.warn("Presence expiry failed: {}", e.getMessage());
+        }
+
+        for (String workspaceId : List.copyOf(pendingDiffs.keySet())) {
+            PendingDiff diff = pendingDiffs.remove(workspaceId);
+            if (diff == null || (diff.online().isEmpty() && diff.offline().isEmpty())) {
+                continue;
+            }
+
+            presenceBroadcaster.broadcast(PresenceEvent.builder()
+                    .workspaceId(workspaceId)
+                    .snapshot(false)
+                    .online(new ArrayList<>(diff.online()))
+                    .offline(new ArrayList<>(diff.offline()))
+                    .timestamp(System.currentTimeMillis())
+                    .build());
+        }
+    }
+
+    private void releaseSession(String userId, String workspaceId) {
+        sessionCounts.computeIfPresent(new Member(workspaceId, userId), (member, count) -> {
+            if (count > 1) {
+                return count - 1;
+            }
+            if (presenceStore.remove(workspaceId, userId)) {
+                markOffline(workspaceId, userId);
+            }
+            return null;
+        });
+    }
+
+    private void markOnline(String workspaceId, String userId) {
+        pendingDiffs.compute(workspaceId, (id, diff) -> {
+            PendingDiff updated = diff != null ? diff : new PendingDiff(new HashSet<>(), new HashSet<>());
+            // A leave and re-join within one interval cancel out
+            if (!updated.offline().remove(userId)) {
+                updated.online().add(userId);
+            }
+            return updated;
+        });
+    }
+
+    private void markOffline(String workspaceId, String userId) {
+        pendingDiffs.compute(workspaceId, (id, diff) -> {
+            PendingDiff updated = diff != null ? diff : new PendingDiff(new HashSet<>(), new HashSet<>());
+            if (!updated.online().remove(userId)) {
+                updated.offline().add(userId);
+            }
+            return updated;
+        });
+    }
+}
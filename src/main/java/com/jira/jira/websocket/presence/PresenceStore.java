@@ -0,0 +1,28 @@
+package com.jira.jira.websocket.presence;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Last-seen timestamps of users per workspace. The store may be shared between nodes, in which case
+ * each node touches and removes only its own presence and a user stays online while any node holds them.
+ */
+public interface PresenceStore {
+
+    /**
+     * Record a heartbeat, returning true when the user was not online before
+     */
+    boolean touch(String workspaceId, String userId, long nowMillis);
+
+    /**
+     * Remove this node's presence of a user, returning true when the user is now offline everywhere
+     */
+    boolean remove(String workspaceId, String userId);
+
+    Set<String> online(String workspaceId);
+
+    /**
+     * Remove presences last seen before the cutoff, returning the users now offline per workspace
+     */
+    Map<String, Set<String>> expire(long cutoffMillis);
+}
@@ -0,0 +1,52 @@
+package com.jira.jira.websocket.presence;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jira.jira.dto.websocket.PresenceEvent;
+import com.jira.jira.service.WebSocketService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.io.IOException;
+
+/**
+ * Multiple nodes: diffs are published on a Redis channel and every node, including the sender,
+ * forwards them to its own subscribers. If Redis is unavailable the diff still reaches this node.
+ */
+@Slf4j
+public class RedisPresenceBroadcaster implements PresenceBroadcaster, MessageListener {
+
+    public static final String CHANNEL = "presence:diffs";
+
+    private final StringRedisTemplate redisTemplate;
+    private final WebSocketService webSocketService;
+    private final ObjectMapper objectMapper;
+
+    public RedisPresenceBroadcaster(StringRedisTemplate redisTemplate, WebSocketService webSocketService, ObjectMapper objectMapper) {
+        this.redisTemplate = redisTemplate;
+        this.webSocketService = webSocketService;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void broadcast(PresenceEvent event) {
+        try {
+            redisTemplate.convertAndSend(CHANNEL, objectMapper.writeValueAsString(event));
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("Could not publish presence diff for workspace {}, sending locally: {}", event.getWorkspaceId(), e.getMessage());
+            webSocketService.sendPresenceUpdate(event.getWorkspaceId(), event);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            PresenceEvent event = objectMapper.readValue(message.getBody(), PresenceEvent.class);
+            webSocketService.sendPresenceUpdate(event.getWorkspaceId(), event);
+        } catch (IOException e) {
+            log.warn("Dropping unreadable presence diff: {}", e.getMessage());
+        }
+    }
+}
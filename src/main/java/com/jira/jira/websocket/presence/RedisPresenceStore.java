@@ -0,0 +1,128 @@
+package com.jira.jira.websocket.presence;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Presence shared between nodes. Per workspace, a sorted set holds one member per user and node
+ * ("userId|nodeId", score = last seen) and a hash counts the nodes each user is present on; a set
+ * lists workspaces that currently have anyone online. A user goes offline only when the last node
+ * holding them leaves or expires. Every change runs as one Lua script, so concurrent nodes never
+ * report the same user twice or drop a user another node just added.
+ */
+public class RedisPresenceStore implements PresenceStore {
+
+    private static final String WORKSPACES_KEY = "presence:workspaces";
+    private static final String WORKSPACE_KEY_PREFIX = "presence:workspace:";
+
+    // KEYS: members, users, workspaces; ARGV: member, userId, now, workspaceId. Returns 1 when the user came online
+    private static final DefaultRedisScript<Long> TOUCH_SCRIPT = new DefaultRedisScript<>("""
+            redis.call('SADD', KEYS[3], ARGV[4])
+            if redis.call('ZADD', KEYS[1], ARGV[3], ARGV[1]) == 0 then
+                return 0
+            end
+            if redis.call('HINCRBY', KEYS[2], ARGV[2], 1) == 1 then
+                return 1
+            end
+            return 0
+            """, Long.class);
+
+    // KEYS: members, users; ARGV: member, userId. Returns 1 when the user went offline
+    private static final DefaultRedisScript<Long> REMOVE_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('ZREM', KEYS[1], ARGV[1]) == 0 then
+                return 0
+            end
+            if redis.call('HINCRBY', KEYS[2], ARGV[2], -1) > 0 then
+                return 0
+            end
+            redis.call('HDEL', KEYS[2], ARGV[2])
+            return 1
+            """, Long.class);
+
+    // KEYS: members, users, workspaces; ARGV: cutoff, workspaceId. Returns the users that went offline
+    @SuppressWarnings("rawtypes")
+    private static final DefaultRedisScript<List> EXPIRE_SCRIPT = new DefaultRedisScript<>("""
+            local gone = {}
+            for _, member in ipairs(redis.call('ZRANGEBYSCORE', KEYS[1], '-inf', '(' .. ARGV[1])) do
+                redis.call('ZREM', KEYS[1], member)
+                local user = string.match(member, '^(.*)|')
+                if redis.call('HINCRBY', KEYS[2], user, -1) <= 0 then
+                    redis.call('HDEL', KEYS[2], user)
+                    table.insert(gone, user)
+                end
+            end
+            if redis.call('ZCARD', KEYS[1]) == 0 then
+                redis.call('DEL', KEYS[2])
+                redis.call('SREM', KEYS[3], ARGV[2])
+            end
+            return gone
+            """, List.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final String nodeId;
+
+    public RedisPresenceStore(StringRedisTemplate redisTemplate, String nodeId) {
+        this.redisTemplate = redisTemplate;
+        this.nodeId = nodeId;
+    }
+
+    @Override
+    public boolean touch(String workspaceId, String userId, long nowMillis) {
+        Long added = redisTemplate.execute(TOUCH_SCRIPT, List.of(membersKey(workspaceId), usersKey(workspaceId), WORKSPACES_KEY),
+                member(userId), userId, String.valueOf(nowMillis), workspaceId);
+        return added != null && added == 1L;
+    }
+
+    @Override
+    public boolean remove(String workspaceId, String userId) {
+        Long removed = redisTemplate.execute(REMOVE_SCRIPT, List.of(membersKey(workspaceId), usersKey(workspaceId)),
+                member(userId), userId);
+        return removed != null && removed == 1L;
+    }
+
+    @Override
+    public Set<String> online(String workspaceId) {
+        Set<Object> online = redisTemplate.opsForHash().keys(usersKey(workspaceId));
+        Set<String> userIds = new HashSet<>();
+        online.forEach(userId -> userIds.add((String) userId));
+        return userIds;
+    }
+
+    @Override
+    public Map<String, Set<String>> expire(long cutoffMillis) {
+        Map<String, Set<String>> expired = new HashMap<>();
+        Set<String> workspaceIds = redisTemplate.opsForSet().members(WORKSPACES_KEY);
+        if (workspaceIds == null) {
+            return expired;
+        }
+
+        for (String workspaceId : workspaceIds) {
+            List<?> gone = redisTemplate.execute(EXPIRE_SCRIPT,
+                    List.of(membersKey(workspaceId), usersKey(workspaceId), WORKSPACES_KEY),
+                    String.valueOf(cutoffMillis), workspaceId);
+            if (gone != null && !gone.isEmpty()) {
+                Set<String> userIds = expired.computeIfAbsent(workspaceId, id -> new HashSet<>());
+                gone.forEach(userId -> userIds.add((String) userId));
+            }
+        }
+        return expired;
+    }
+
+    private String member(String userId) {
+        return userId + "|" + nodeId;
+    }
+
+    private static String membersKey(String workspaceId) {
+        return WORKSPACE_KEY_PREFIX + workspaceId;
+    }
+
+    private static String usersKey(String workspaceId) {
+        return WORKSPACE_KEY_PREFIX + workspaceId + ":users";
+    }
+}
@@ -3,7 +3,8 @@ package com.jira.jira;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+// No Mongo here; the membership migration runs before the context is ready and would block on it
+@SpringBootTest(properties = "membership.migration.enabled=false")
 class JiraApplicationTests {
 
 	@Test
@@ -0,0 +1,74 @@
+package com.jira.jira.mapper;
+
+import com.jira.jira.dto.response.WorkspaceResponse;
+import com.jira.jira.model.MemberPreview;
+import com.jira.jira.model.Membership;
+import com.jira.jira.model.User;
+import com.jira.jira.model.Workspace;
+import com.jira.jira.repository.UserRepository;
+import com.jira.jira.service.MembershipService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class WorkspaceMapperTest {
+
+    private final MembershipService membershipService = mock(MembershipService.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final WorkspaceMapperImpl mapper = new WorkspaceMapperImpl();
+
+    @BeforeEach
+    void setUp() {
+        mapper.membershipService = membershipService;
+        mapper.userRepository = userRepository;
+        mapper.mapperMetrics = new MapperMetrics(new SimpleMeterRegistry());
+        mapper.memberPreviewSize = 2;
+    }
+
+    @Test
+    void pageOfWorkspacesLoadsMemberPreviewsInTwoLookups() {
+        when(membershipService.getMemberPreviews(eq(Membership.Scope.WORKSPACE), eq(List.of("w1", "w2", "w3")), eq(2)))
+                .thenReturn(Map.of(
+                        "w1", new MemberPreview("w1", 7, List.of(membership("w1", "u1"), membership("w1", "u2"))),
+                        "w2", new MemberPreview("w2", 1, List.of(membership("w2", "u1")))));
+        when(userRepository.findAllById(any())).thenReturn(List.of(user("u1"), user("u2")));
+
+        List<WorkspaceResponse> responses = mapper.toWorkspaceResponses(List.of(workspace("w1"), workspace("w2"), workspace("w3")));
+
+        verify(membershipService, times(1)).getMemberPreviews(any(), any(), anyInt());
+        verify(userRepository, times(1)).findAllById(argThat(ids -> ((List<?>) ids).size() == 2)); // u1 is shared
+        assertEquals(List.of(7, 1, 0), responses.stream().map(WorkspaceResponse::getMemberCount).toList());
+        assertEquals(List.of(2, 1, 0), responses.stream().map(response -> response.getMembers().size()).toList());
+        assertEquals("Name u2", responses.get(0).getMembers().get(1).getName());
+    }
+
+    @Test
+    void pageWithoutMembersSkipsTheUserLookup() {
+        when(membershipService.getMemberPreviews(any(), any(), anyInt())).thenReturn(Map.of());
+
+        WorkspaceResponse response = mapper.toWorkspaceResponse(workspace("w1"));
+
+        verifyNoInteractions(userRepository);
+        assertEquals(0, response.getMemberCount());
+        assertEquals(0, response.getActiveMemberCount());
+    }
+
+    private static Workspace workspace(String id) {
+        return Workspace.builder().id(id).name("Workspace " + id).build();
+    }
+
+    private static Membership membership(String workspaceId, String userId) {
+        return Membership.builder().scope(Membership.Scope.WORKSPACE).scopeId(workspaceId).userId(userId).role("MEMBER").build();
+    }
+
+    private static User user(String id) {
+        return User.builder().id(id).name("Name " + id).email(id + "@jira.local").build();
+    }
+}
@@ -0,0 +1,113 @@
+package com.jira.jira.monitoring;
+
+import com.jira.jira.util.FanOutScope;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryTrackingFilterTest {
+
+    private final QueryTrackingProperties properties = new QueryTrackingProperties();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tasks");
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @AfterEach
+    void tearDown() {
+        QueryTracker.end();
+    }
+
+    @Test
+    void violationFailsBeforeTheResponseIsCommitted() {
+        properties.setFailOnViolation(true);
+        properties.setMaxCommands(1);
+
+        assertThrows(QueryBudgetExceededException.class, () -> filter().doFilter(request, response, handler(2)));
+
+        assertFalse(response.isCommitted());
+        assertEquals("", contentOf(response));
+        assertNull(response.getHeader("X-Handled"));
+    }
+
+    @Test
+    void withinBudgetResponseIsCopiedThrough() throws Exception {
+        properties.setFailOnViolation(true);
+        properties.setMaxCommands(5);
+
+        filter().doFilter(request, response, handler(2));
+
+        assertEquals("ok", contentOf(response));
+        assertEquals("yes", response.getHeader("X-Handled"));
+    }
+
+    @Test
+    void violationOnlyWarnsByDefault() throws Exception {
+        properties.setMaxCommands(1);
+
+        filter().doFilter(request, response, handler(2));
+
+        assertEquals("ok", contentOf(response));
+        assertEquals(1, meterRegistry.counter("jira.mongo.request.budget.exceeded", "endpoint", "GET UNMATCHED").count());
+    }
+
+    @Test
+    void forkedLookupsReportToTheForkingRequest() {
+        QueryStats stats = QueryTracker.begin();
+
+        try (FanOutScope scope = FanOutScope.open()) {
+            Supplier<QueryStats> forked = scope.fork(QueryTracker::current);
+            scope.join();
+            assertSame(stats, forked.get());
+        }
+    }
+
+    @Test
+    void otherThreadsDoNotInheritTheRequestStats() throws Exception {
+        QueryTracker.begin();
+
+        QueryStats onNewThread = CompletableFuture.supplyAsync(QueryTracker::current,
+                Executors.newVirtualThreadPerTaskExecutor()).get();
+
+        assertNull(onNewThread);
+    }
+
+    private QueryTrackingFilter filter() {
+        return new QueryTrackingFilter(properties, meterRegistry);
+    }
+
+    private static MockFilterChain handler(int commands) {
+        return new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                for (int i = 0; i < commands; i++) {
+                    QueryTracker.current().record("find tasks {_id: ?}", 1_000);
+                }
+                resp.setHeader("X-Handled", "yes");
+                resp.getWriter().write("ok");
+                resp.flushBuffer();
+            }
+        });
+    }
+
+    private static String contentOf(MockHttpServletResponse response) {
+        try {
+            return response.getContentAsString();
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,502 @@
+package com.jira.jira.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.jira.jira.model.*;
+import com.jira.jira.repository.query.MongoFieldNames;
+import com.jira.jira.repository.query.TypedQuery;
+import com.jira.jira.repository.query.TypedUpdate;
+import com.jira.jira.service.ActivityLogService;
+import com.jira.jira.service.ChangeStreamPublisher;
+import com.jira.jira.service.NotificationService;
+import com.jira.jira.service.OutboxService;
+import com.jira.jira.service.OverdueTaskTracker;
+import com.jira.jira.support.MongoContainer;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.repository.Update;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.core.support.RepositoryFactoryInformation;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Query-plan regression suite: seeds a throwaway database, calls every repository query method
+ * (derived, @Query and query-DSL fragment methods),
+ * captures the commands it sends and explains them with executionStats. Fails on COLLSCAN and on
+ * reads that examine far more documents than they return, unless listed in KNOWN_SCANS.
+ * Writes target/query-plans/query-plans.json so plans can be diffed between releases.
+ *
+ * Runs against a Mongo test container, or against -Dquery-plan.mongo-uri=... (a *query_plans database)
+ * when given. Without Docker it fails in CI and is skipped elsewhere. Scheduled jobs are off and the
+ * beans that write on startup or from listeners are mocked, so nothing mutates the fixtures while
+ * plans are captured.
+ */
+@SpringBootTest(properties = {
+        "app.scheduling.enabled=false",
+        "mongo.index-verification=off",
+        "membership.migration.enabled=false"
+})
+class QueryPlanRegressionTest {
+
+    private static final String MONGO_URI_PROPERTY = "query-plan.mongo-uri";
+
+    private static final int USERS = 10;
+    private static final int TASKS_PER_WORKSPACE = 1000;
+    private static final int MAX_EXAMINED_PER_RETURNED = 10;
+    private static final int MIN_EXAMINED_TO_FLAG = 100;
+    private static final Path REPORT = Path.of("target", "query-plans", "query-plans.json");
+
+    private static final Set<String> READ_COMMANDS = Set.of("find", "aggregate", "count", "distinct");
+    private static final Set<String> WRITE_COMMANDS = Set.of("update", "delete", "findAndModify");
+    private static final Set<String> SESSION_FIELDS = Set.of("$db", "lsid", "$clusterTime", "$readPreference", "txnNumber", "apiVersion");
+
+    // Plans that are slow by design; each needs a reason
+    private static final Map<String, String> KNOWN_SCANS = Map.of(
+            "TaskRepository.searchTasksInWorkspace", "Case-insensitive regex examines every task of the workspace",
+            "TaskRepository.searchTasksInProject", "Case-insensitive regex examines every task of the project",
+            "TaskRepository.findByPositionIsNullAndIsActive", "Position backfill examines active tasks and finds none once migrated",
+            "TaskRepository.findByCreatedByAndIsActive", "No index leads with created_by; unused by services"
+    );
+
+    private static volatile Capture current;
+
+    @DynamicPropertySource
+    static void mongo(DynamicPropertyRegistry registry) {
+        String uri = System.getProperty(MONGO_URI_PROPERTY);
+        if (uri != null) {
+            registry.add("spring.data.mongodb.uri", () -> uri);
+        } else {
+            MongoContainer.register(registry, "jira_query_plans");
+        }
+    }
+
+    @BeforeAll
+    static void requireMongo() {
+        if (System.getProperty(MONGO_URI_PROPERTY) == null) {
+            MongoContainer.requireDocker();
+        }
+    }
+
+    // Startup and event-listener writers: overdue seeding, change-stream tailing, retention index, outbox
+    @MockitoBean
+    private OverdueTaskTracker overdueTaskTracker;
+    @MockitoBean
+    private ChangeStreamPublisher changeStreamPublisher;
+    @MockitoBean
+    private ActivityLogService activityLogService;
+    @MockitoBean
+    private OutboxService outboxService;
+    @MockitoBean
+    private NotificationService notificationService;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private MongoMappingContext mappingContext;
+
+    @Autowired
+    private MongoFieldNames fieldNames;
+
+    private final Map<String, Object> fixtures = new HashMap<>();
+    private final Map<Class<?>, String> idsByType = new HashMap<>();
+
+    @TestConfiguration
+    static class CommandCaptureConfig {
+        @Bean
+        MongoClientSettingsBuilderCustomizer commandCapture() {
+            return settings -> settings.addCommandListener(new CommandListener() {
+                @Override
+                public void commandStarted(CommandStartedEvent event) {
+                    Capture capture = current;
+                    if (capture != null && capture.accepts(event)) {
+                        capture.commands.add(event.getCommand().clone());
+                    }
+                }
+            });
+        }
+    }
+
+    @BeforeEach
+    void seed() {
+        assertTrue(mongoTemplate.getDb().getName().contains("query_plans"),
+                "Refusing to drop " + mongoTemplate.getDb().getName() + "; point query-plan.mongo-uri at a *query_plans database");
+
+        mongoTemplate.getDb().drop();
+        MongoPersistentEntityIndexResolver resolver = new MongoPersistentEntityIndexResolver(mappingContext);
+        for (MongoPersistentEntity<?> entity : mappingContext.getPersistentEntities()) {
+            if (entity.isAnnotationPresent(org.springframework.data.mongodb.core.mapping.Document.class)) {
+                resolver.resolveIndexFor(entity.getType()).forEach(mongoTemplate.indexOps(entity.getType())::createIndex);
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            users.add(User.builder().id(new ObjectId().toHexString()).name("User " + i).email("user" + i + "@example.com")
+                    .isActive(true).createdAt(now).build());
+        }
+        mongoTemplate.insert(users, User.class);
+        String userId = users.get(0).getId();
+
+        List<Workspace> workspaces = new ArrayList<>();
+        List<Project> projects = new ArrayList<>();
+        List<Membership> memberships = new ArrayList<>();
+        List<Task> tasks = new ArrayList<>();
+        for (int w = 0; w < 2; w++) {
+            Workspace workspace = Workspace.builder().id(new ObjectId().toHexString()).name("Workspace " + w).ownerId(userId)
+                    .isPublic(w == 0).isActive(true).createdAt(now).build();
+            workspaces.add(workspace);
+
+            List<String> projectIds = new ArrayList<>();
+            for (int p = 0; p < 2; p++) {
+                Project project = Project.builder().id(new ObjectId().toHexString()).name("Project " + p).key("P" + w + p)
+                        .workspaceId(workspace.getId()).ownerId(userId).isPublic(true).isActive(true).createdAt(now).build();
+                projects.add(project);
+                projectIds.add(project.getId());
+                for (User user : users) {
+                    memberships.add(membership(Membership.Scope.PROJECT, project.getId(), user.getId(), now));
+                }
+            }
+            for (User user : users) {
+                memberships.add(membership(Membership.Scope.WORKSPACE, workspace.getId(), user.getId(), now));
+            }
+
+            TaskStatus[] statuses = TaskStatus.values();
+            for (int t = 0; t < TASKS_PER_WORKSPACE; t++) {
+                Task task = new Task();
+                task.setId(new ObjectId().toHexString());
+                task.setName("Task " + t);
+                task.setDescription("Seeded task " + t);
+                task.setWorkspaceId(workspace.getId());
+                task.setProjectId(projectIds.get(t % projectIds.size()));
+                task.setAssigneeId(users.get(t % USERS).getId());
+                task.setCreatedBy(users.get(t % USERS).getId());
+                task.setStatus(statuses[t % statuses.length]);
+                task.setPosition((double) t);
+                task.setDueAt(now.plusDays(t % 60 - 30));
+                task.setOverdue(t % 60 < 30 && statuses[t % statuses.length] != TaskStatus.DONE);
+                task.setActive(t % 50 != 0);
+                task.setCreatedAt(now.minusDays(t % 90));
+                tasks.add(task);
+            }
+        }
+        mongoTemplate.insert(workspaces, Workspace.class);
+        mongoTemplate.insert(projects, Project.class);
+        mongoTemplate.insert(memberships, Membership.class);
+        mongoTemplate.insert(tasks, Task.class);
+
+        List<Notification> notifications = new ArrayList<>();
+        List<ActivityLog> activity = new ArrayList<>();
+        List<OutboxEvent> outbox = new ArrayList<>();
+        List<RefreshToken> tokens = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            notifications.add(Notification.builder().id(new ObjectId().toHexString()).receiverId(users.get(i % USERS).getId())
+                    .type(NotificationType.ASSIGNMENT).isSeen(i % 3 == 0).isActive(true).createdAt(now).build());
+            activity.add(ActivityLog.builder().workspaceId(workspaces.get(i % 2).getId()).seq((long) i)
+                    .taskId(tasks.get(i).getId()).createdAt(now).build());
+            outbox.add(OutboxEvent.builder().id(new ObjectId().toHexString()).eventId(UUID.randomUUID().toString())
+                    .routes(List.of(OutboxEvent.Route.WORKSPACE)).published(i % 2 == 0).attempts(0)
+                    .publishedAt(i % 2 == 0 ? now : null).createdAt(now).build());
+            tokens.add(RefreshToken.builder().token("token-" + i).userId(users.get(i % USERS).getId())
+                    .expiresAt(now.plusDays(i % 14 - 7)).isActive(true).createdAt(now).build());
+        }
+        mongoTemplate.insert(notifications, Notification.class);
+        mongoTemplate.insert(activity, ActivityLog.class);
+        mongoTemplate.insert(outbox, OutboxEvent.class);
+        mongoTemplate.insert(tokens, RefreshToken.class);
+        mongoTemplate.insert(users.stream().map(user -> UnreadCounter.builder().userId(user.getId()).unread(3).updatedAt(now).build()).toList(),
+                UnreadCounter.class);
+
+        idsByType.put(User.class, userId);
+        idsByType.put(Workspace.class, workspaces.get(0).getId());
+        idsByType.put(Project.class, projects.get(0).getId());
+        idsByType.put(Task.class, tasks.get(1).getId());
+        idsByType.put(Membership.class, memberships.get(0).getId());
+        idsByType.put(Notification.class, notifications.get(250).getId());
+        idsByType.put(OutboxEvent.class, outbox.get(1).getId());
+        idsByType.put(UnreadCounter.class, userId);
+
+        fixtures.put("workspaceId", workspaces.get(0).getId());
+        fixtures.put("scopeId", workspaces.get(0).getId());
+        fixtures.put("projectId", projects.get(0).getId());
+        fixtures.put("taskId", tasks.get(1).getId());
+        for (String name : List.of("userId", "assigneeId", "receiverId", "createdBy", "ownerId")) {
+            fixtures.put(name, userId);
+        }
+        fixtures.put("projectIds", List.of(projects.get(0).getId(), projects.get(1).getId()));
+        fixtures.put("assigneeIds", List.of(userId));
+        fixtures.put("statuses", List.of(TaskStatus.TODO, TaskStatus.IN_PROGRESS));
+        fixtures.put("excludeStatuses", List.of(TaskStatus.DONE));
+        fixtures.put("doneStatus", TaskStatus.DONE);
+        fixtures.put("email", "user0@example.com");
+        fixtures.put("token", "token-1");
+        fixtures.put("key", "P00");
+        fixtures.put("searchTerm", "Task 1");
+        fixtures.put("startDate", now.minusDays(30));
+        fixtures.put("endDate", now.plusDays(30));
+        fixtures.put("owner", "query-plan-node");
+    }
+
+    @Test
+    void everyRepositoryQueryUsesAnIndex() throws IOException {
+        List<QueryMethod> methods = new ArrayList<>();
+        for (String name : applicationContext.getBeanNamesForType(RepositoryFactoryInformation.class, false, false)) {
+            RepositoryInformation information = applicationContext.getBean(name, RepositoryFactoryInformation.class).getRepositoryInformation();
+            Object repository = applicationContext.getBean(information.getRepositoryInterface());
+            information.getQueryMethods().forEach(method -> methods.add(new QueryMethod(information, repository, method)));
+            // Fragment methods built with the query DSL; find/count take a caller-built TypedQuery and are covered through their callers
+            Arrays.stream(information.getRepositoryInterface().getMethods())
+                    .filter(information::isCustomMethod)
+                    .filter(method -> Arrays.stream(method.getParameterTypes()).noneMatch(TypedQuery.class::equals))
+                    .forEach(method -> methods.add(new QueryMethod(information, repository, method)));
+        }
+        // Reads first so writes cannot empty the data they examine
+        methods.sort(Comparator.comparing(QueryMethod::isWrite).thenComparing(QueryMethod::name));
+
+        List<Map<String, Object>> report = new ArrayList<>();
+        List<String> failures = new ArrayList<>();
+        for (QueryMethod method : methods) {
+            for (BsonDocument command : run(method)) {
+                Map<String, Object> entry = explain(method, command);
+                report.add(entry);
+                if (entry.get("problem") != null && !KNOWN_SCANS.containsKey(method.name())) {
+                    failures.add(method.name() + ": " + entry.get("problem"));
+                }
+            }
+        }
+
+        Files.createDirectories(REPORT.getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(REPORT.toFile(), report);
+        assertTrue(failures.isEmpty(), "Query plan regressions (see " + REPORT + "):\n" + String.join("\n", failures));
+    }
+
+    /**
+     * Invoke one repository method and return the commands it sent
+     */
+    private List<BsonDocument> run(QueryMethod method) {
+        Capture capture = new Capture(Thread.currentThread(), method.collection(mappingContext), method.isReactive());
+        current = capture;
+        try {
+            Object result = method.method().invoke(method.repository(), arguments(method));
+            if (result instanceof Flux<?> flux) {
+                flux.collectList().block();
+            } else if (result instanceof Mono<?> mono) {
+                mono.block();
+            } else if (result instanceof Stream<?> stream) {
+                try (stream) {
+                    stream.forEach(ignored -> { });
+                }
+            }
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("Could not invoke " + method.name(), e);
+        } finally {
+            current = null;
+        }
+        return capture.commands;
+    }
+
+    private Object[] arguments(QueryMethod method) {
+        Parameter[] parameters = method.method().getParameters();
+        Object[] arguments = new Object[parameters.length];
+        String id = idsByType.getOrDefault(method.information().getDomainType(), new ObjectId().toHexString());
+
+        for (int i = 0; i < parameters.length; i++) {
+            String name = parameters[i].getName();
+            Class<?> type = parameters[i].getType();
+            if (fixtures.containsKey(name)) {
+                arguments[i] = fixtures.get(name);
+            } else if (type == String.class) {
+                arguments[i] = id; // id, cursor, afterId
+            } else if (Collection.class.isAssignableFrom(type)) {
+                arguments[i] = List.of(id);
+            } else if (type == boolean.class || type == Boolean.class) {
+                arguments[i] = true;
+            } else if (type == LocalDateTime.class) {
+                arguments[i] = LocalDateTime.now();
+            } else if (type == Limit.class) {
+                arguments[i] = Limit.of(20);
+            } else if (type == TaskStatus.class) {
+                arguments[i] = TaskStatus.TODO;
+            } else if (type == TypedUpdate.class) {
+                arguments[i] = fieldNames.update(Task.class).set(Task::getUpdatedAt, LocalDateTime.now());
+            } else if (type == Membership.Scope.class) {
+                arguments[i] = Membership.Scope.WORKSPACE;
+            } else if (type == Double.class || type == double.class) {
+                arguments[i] = 1.0;
+            } else if (type == long.class || type == Long.class) {
+                arguments[i] = 1L;
+            } else if (type == int.class || type == Integer.class) {
+                arguments[i] = 1;
+            } else {
+                throw new IllegalStateException("No fixture for " + method.name() + "(" + name + ": " + type.getSimpleName() + ")");
+            }
+        }
+        return arguments;
+    }
+
+    private Map<String, Object> explain(QueryMethod method, BsonDocument command) {
+        BsonDocument query = command.clone();
+        SESSION_FIELDS.forEach(query::remove);
+        Document explained = mongoTemplate.getDb().runCommand(
+                new BsonDocument("explain", query).append("verbosity", new BsonString("executionStats")));
+
+        Set<String> stages = new TreeSet<>();
+        Set<String> indexes = new TreeSet<>();
+        collect(explained, stages, indexes);
+        Document stats = find(explained, "executionStats");
+        long examined = stats != null ? number(stats, "totalDocsExamined") : 0;
+        long returned = stats != null ? number(stats, "nReturned") : 0;
+
+        String problem = null;
+        if (stages.contains("COLLSCAN")) {
+            problem = "COLLSCAN";
+        } else if (READ_COMMANDS.contains(command.getFirstKey()) && examined >= MIN_EXAMINED_TO_FLAG
+                && examined > Math.max(returned, 1) * MAX_EXAMINED_PER_RETURNED) {
+            problem = "examined " + examined + " documents to return " + returned;
+        }
+
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("method", method.name());
+        entry.put("command", command.getFirstKey());
+        entry.put("collection", method.collection(mappingContext));
+        entry.put("stages", stages);
+        entry.put("indexes", indexes);
+        entry.put("docs_examined", examined);
+        entry.put("returned", returned);
+        entry.put("problem", problem);
+        entry.put("known_scan", KNOWN_SCANS.get(method.name()));
+        return entry;
+    }
+
+    private static void collect(Object node, Set<String> stages, Set<String> indexes) {
+        if (node instanceof Document document) {
+            document.forEach((key, value) -> {
+                if ("stage".equals(key) && value instanceof String stage) {
+                    stages.add(stage);
+                } else if ("indexName".equals(key) && value instanceof String index) {
+                    indexes.add(index);
+                } else {
+                    collect(value, stages, indexes);
+                }
+            });
+        } else if (node instanceof List<?> list) {
+            list.forEach(value -> collect(value, stages, indexes));
+        }
+    }
+
+    private static Document find(Object node, String key) {
+        if (node instanceof Document document) {
+            if (document.get(key) instanceof Document found) {
+                return found;
+            }
+            for (Object value : document.values()) {
+                Document found = find(value, key);
+                if (found != null) {
+                    return found;
+                }
+            }
+        } else if (node instanceof List<?> list) {
+            for (Object value : list) {
+                Document found = find(value, key);
+                if (found != null) {
+                    return found;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static long number(Document document, String key) {
+        return document.get(key) instanceof Number number ? number.longValue() : 0;
+    }
+
+    private static Membership membership(Membership.Scope scope, String scopeId, String userId, LocalDateTime now) {
+        return Membership.builder().id(new ObjectId().toHexString()).scope(scope).scopeId(scopeId).userId(userId)
+                .role("MEMBER").joinedAt(now).build();
+    }
+
+    private record QueryMethod(RepositoryInformation information, Object repository, Method method) {
+        String name() {
+            return information.getRepositoryInterface().getSimpleName() + "." + method.getName();
+        }
+
+        boolean isWrite() {
+            return method.isAnnotationPresent(Update.class) || Stream.of("delete", "remove", "mark", "clear", "update", "claim", "record").anyMatch(method.getName()::startsWith);
+        }
+
+        boolean isReactive() {
+            return Flux.class.isAssignableFrom(method.getReturnType()) || Mono.class.isAssignableFrom(method.getReturnType());
+        }
+
+        String collection(MongoMappingContext mappingContext) {
+            return mappingContext.getRequiredPersistentEntity(information.getDomainType()).getCollection();
+        }
+    }
+
+    /**
+     * Commands sent on behalf of one repository call. Blocking calls are matched by thread;
+     * reactive calls complete on driver threads and are matched by collection only.
+     */
+    private static final class Capture {
+        private final Thread thread;
+        private final String collection;
+        private final boolean reactive;
+        private final List<BsonDocument> commands = new CopyOnWriteArrayList<>();
+
+        private Capture(Thread thread, String collection, boolean reactive) {
+            this.thread = thread;
+            this.collection = collection;
+            this.reactive = reactive;
+        }
+
+        private boolean accepts(CommandStartedEvent event) {
+            String name = event.getCommandName();
+            if (!READ_COMMANDS.contains(name) && !WRITE_COMMANDS.contains(name)) {
+                return false;
+            }
+            BsonValue target = event.getCommand().get(name);
+            return target != null && target.isString() && collection.equals(target.asString().getValue())
+                    && (reactive || Thread.currentThread() == thread);
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.jira.jira.repository.query;
+
+import com.jira.jira.model.Project;
+import com.jira.jira.model.Task;
+import com.jira.jira.model.TaskStatus;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TypedQueryTest {
+
+    private final MongoFieldNames fieldNames = new MongoFieldNames(mappingContext());
+
+    @Test
+    void resolvesFieldAnnotationNames() {
+        Document filter = fieldNames.query(Task.class)
+                .eq(Task::getWorkspaceId, "w1")
+                .eq(Task::getName, "Fix login")
+                .toQuery().getQueryObject();
+
+        assertEquals(new Document("workspace_id", "w1").append("name", "Fix login"), filter);
+    }
+
+    @Test
+    void resolvesLombokBooleanGetters() {
+        Document filter = fieldNames.query(Task.class)
+                .eq(Task::isActive, true) // Field isActive, getter isActive()
+                .eq(Task::isOverdue, false) // Field overdue, getter isOverdue()
+                .toQuery().getQueryObject();
+
+        assertEquals(new Document("is_active", true).append("is_overdue", false), filter);
+    }
+
+    @Test
+    void rejectsGettersOfUnmappedProperties() {
+        TypedQuery<Task> query = fieldNames.query(Task.class);
+
+        assertThrows(IllegalArgumentException.class, () -> query.eq(Task::getClass, "x"));
+    }
+
+    @Test
+    void betweenIsOneInclusiveRangeOnTheField() {
+        LocalDateTime from = LocalDateTime.of(2026, 1, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2026, 1, 31, 23, 59);
+
+        Document filter = fieldNames.query(Task.class)
+                .between(Task::getDueAt, from, to)
+                .toQuery().getQueryObject();
+
+        assertEquals(new Document("due_at", new Document("$gte", from).append("$lte", to)), filter);
+    }
+
+    @Test
+    void anyOfBranchesBecomeOrAndSeveralGroupsAreAnded() {
+        Document filter = fieldNames.query(Task.class)
+                .eq(Task::getWorkspaceId, "w1")
+                .anyOf(task -> task.eq(Task::getAssigneeId, "u1"),
+                        task -> task.eq(Task::getCreatedBy, "u1").eq(Task::getStatus, TaskStatus.TODO))
+                .anyOf(task -> task.eq(Task::getProjectId, "p1"),
+                        task -> task.eq(Task::getProjectId, null))
+                .toQuery().getQueryObject();
+
+        assertEquals("w1", filter.get("workspace_id"));
+        List<?> groups = filter.getList("$and", Document.class);
+        assertEquals(2, groups.size());
+
+        List<Document> assignedOrCreated = ((Document) groups.get(0)).getList("$or", Document.class);
+        assertEquals(new Document("assignee_id", "u1"), assignedOrCreated.get(0));
+        assertEquals(new Document("$and", List.of(new Document("created_by", "u1"), new Document("status", TaskStatus.TODO))),
+                assignedOrCreated.get(1)); // A branch with several conditions is its own $and
+
+        List<Document> inProject = ((Document) groups.get(1)).getList("$or", Document.class);
+        assertEquals(List.of(new Document("project_id", "p1"), new Document("project_id", null)), inProject);
+    }
+
+    @Test
+    void containsIgnoreCaseMatchesTheTermLiterally() {
+        Document filter = fieldNames.query(Project.class)
+                .containsIgnoreCase(Project::getName, "v1.0 (beta)*")
+                .toQuery().getQueryObject();
+
+        Pattern pattern = regexOf(filter, "name");
+        assertTrue(pattern.matcher("Release V1.0 (BETA)* notes").find());
+        assertFalse(pattern.matcher("v1x0 beta").find());
+        assertFalse(pattern.matcher("v1.0 (beta)").find());
+    }
+
+    @Test
+    void equalsIgnoreCaseIsAnchored() {
+        Document filter = fieldNames.query(Project.class)
+                .equalsIgnoreCase(Project::getProjectType, "software")
+                .toQuery().getQueryObject();
+
+        Pattern pattern = regexOf(filter, "project_type");
+        assertTrue(pattern.matcher("SOFTWARE").find());
+        assertFalse(pattern.matcher("software-legacy").find());
+    }
+
+    @Test
+    void pageSortAndProjectionUseStoredNames() {
+        Query query = fieldNames.query(Task.class)
+                .eq(Task::getWorkspaceId, "w1")
+                .orderBy(Task::getDueAt, Sort.Direction.DESC)
+                .orderBy(Task::getId, Sort.Direction.ASC)
+                .include(Task::getName, Task::getDueAt)
+                .page(3, 25)
+                .toQuery();
+
+        assertEquals(new Document("due_at", -1).append("_id", 1), query.getSortObject());
+        assertEquals(new Document("name", 1).append("due_at", 1), query.getFieldsObject());
+        assertEquals(75, query.getSkip());
+        assertEquals(25, query.getLimit());
+    }
+
+    @Test
+    void filterLeavesOutPagingForCounts() {
+        TypedQuery<Task> query = fieldNames.query(Task.class)
+                .eq(Task::getWorkspaceId, "w1")
+                .orderBy(Task::getName, Sort.Direction.ASC)
+                .page(2, 10);
+
+        Query filter = query.toFilter();
+
+        assertEquals(query.toQuery().getQueryObject(), filter.getQueryObject());
+        assertEquals(0, filter.getSkip());
+        assertEquals(0, filter.getLimit());
+        assertTrue(filter.getSortObject().isEmpty());
+    }
+
+    @Test
+    void updateResolvesStoredNames() {
+        Document update = fieldNames.update(Task.class)
+                .set(Task::getStatus, TaskStatus.DONE)
+                .set(Task::isOverdue, false)
+                .unset(Task::getAssigneeId)
+                .toUpdate().getUpdateObject();
+
+        assertEquals(new Document("status", TaskStatus.DONE).append("is_overdue", false), update.get("$set"));
+        assertEquals(new Document("assignee_id", 1), update.get("$unset"));
+    }
+
+    private static Pattern regexOf(Document filter, String field) {
+        Object value = filter.get(field);
+        assertInstanceOf(Pattern.class, value, field + " should be a regex");
+        return (Pattern) value;
+    }
+
+    private static MongoMappingContext mappingContext() {
+        MongoMappingContext context = new MongoMappingContext();
+        context.setSimpleTypeHolder(new MongoCustomConversions(List.of()).getSimpleTypeHolder());
+        context.afterPropertiesSet();
+        return context;
+    }
+}
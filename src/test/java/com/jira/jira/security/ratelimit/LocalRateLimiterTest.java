@@ -0,0 +1,50 @@
+package com.jira.jira.security.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalRateLimiterTest {
+
+    private final LocalRateLimiter rateLimiter = new LocalRateLimiter();
+
+    @Test
+    void rejectsOnceTheBucketIsEmptyWithTimeUntilNextToken() {
+        RateLimitPolicy policy = new RateLimitPolicy("auth", 2, Duration.ofMinutes(1));
+
+        assertTrue(rateLimiter.tryAcquire(policy, "ip:1.2.3.4").allowed());
+        assertTrue(rateLimiter.tryAcquire(policy, "ip:1.2.3.4").allowed());
+        RateLimiter.Decision rejected = rateLimiter.tryAcquire(policy, "ip:1.2.3.4");
+
+        assertFalse(rejected.allowed());
+        assertTrue(rejected.retryAfter().compareTo(Duration.ofSeconds(29)) > 0); // 30s per token, minus elapsed time
+        assertTrue(rejected.retryAfter().compareTo(Duration.ofSeconds(30)) <= 0);
+    }
+
+    @Test
+    void bucketsAreSeparatePerKeyAndPolicy() {
+        RateLimitPolicy auth = new RateLimitPolicy("auth", 1, Duration.ofMinutes(1));
+        RateLimitPolicy write = new RateLimitPolicy("write", 1, Duration.ofMinutes(1));
+
+        assertTrue(rateLimiter.tryAcquire(auth, "ip:1.2.3.4").allowed());
+        assertFalse(rateLimiter.tryAcquire(auth, "ip:1.2.3.4").allowed());
+
+        assertTrue(rateLimiter.tryAcquire(auth, "ip:5.6.7.8").allowed());
+        assertTrue(rateLimiter.tryAcquire(write, "ip:1.2.3.4").allowed());
+    }
+
+    @Test
+    void evictionKeepsBucketsThatAreStillDraining() {
+        RateLimitPolicy slow = new RateLimitPolicy("auth", 1, Duration.ofHours(1));
+        RateLimitPolicy fast = new RateLimitPolicy("write", 1, Duration.ofNanos(1));
+        rateLimiter.tryAcquire(slow, "u1");
+        rateLimiter.tryAcquire(fast, "u1");
+
+        rateLimiter.evictIdleBuckets();
+
+        assertFalse(rateLimiter.tryAcquire(slow, "u1").allowed()); // Not reset by eviction
+        assertTrue(rateLimiter.tryAcquire(fast, "u1").allowed());
+    }
+}
@@ -0,0 +1,136 @@
+package com.jira.jira.security.ratelimit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.jira.jira.security.JwtUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class RateLimitFilterTest {
+
+    private static final RateLimitPolicy AUTH = new RateLimitPolicy("auth", 10, Duration.ofMinutes(1));
+    private static final RateLimitPolicy WRITE = new RateLimitPolicy("write", 120, Duration.ofMinutes(1));
+
+    private final RateLimiter rateLimiter = mock(RateLimiter.class);
+    private final JwtUtil jwtUtil = mock(JwtUtil.class);
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RateLimitFilter filter = new RateLimitFilter(rateLimiter, AUTH, WRITE,
+            new ClientAddressResolver(List.of("10.0.0.0/8")), jwtUtil, objectMapper, meterRegistry);
+
+    @Test
+    void authEndpointsAreLimitedPerIp() throws Exception {
+        allow();
+
+        MockFilterChain chain = run(request("POST", "/api/auth/login", "203.0.113.7"));
+
+        verify(rateLimiter).tryAcquire(AUTH, "ip:203.0.113.7");
+        assertNotNull(chain.getRequest());
+    }
+
+    @Test
+    void writesAreLimitedPerTokenSubject() throws Exception {
+        allow();
+        when(jwtUtil.extractUsername("good")).thenReturn("alice@jira.local");
+        MockHttpServletRequest request = request("PATCH", "/api/tasks/t1", "203.0.113.7");
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer good");
+
+        run(request);
+
+        verify(rateLimiter).tryAcquire(WRITE, "user:alice@jira.local");
+    }
+
+    @Test
+    void writesWithAnUnreadableTokenFallBackToIp() throws Exception {
+        allow();
+        when(jwtUtil.extractUsername("forged")).thenThrow(new IllegalArgumentException("bad signature"));
+        MockHttpServletRequest request = request("DELETE", "/api/tasks/t1", "203.0.113.7");
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer forged");
+
+        run(request);
+
+        verify(rateLimiter).tryAcquire(WRITE, "ip:203.0.113.7");
+    }
+
+    @Test
+    void readsAndNonApiPathsPassThrough() throws Exception {
+        MockFilterChain read = run(request("GET", "/api/tasks", "203.0.113.7"));
+        MockFilterChain actuator = run(request("POST", "/actuator/refresh", "203.0.113.7"));
+
+        verifyNoInteractions(rateLimiter);
+        assertNotNull(read.getRequest());
+        assertNotNull(actuator.getRequest());
+    }
+
+    @Test
+    void clientBehindTrustedProxyGetsItsOwnBucket() throws Exception {
+        allow();
+        MockHttpServletRequest proxied = request("POST", "/api/auth/login", "10.1.2.3");
+        proxied.addHeader(ClientAddressResolver.FORWARDED_FOR, "198.51.100.1, 203.0.113.7, 10.4.5.6");
+        MockHttpServletRequest direct = request("POST", "/api/auth/login", "192.0.2.9");
+        direct.addHeader(ClientAddressResolver.FORWARDED_FOR, "203.0.113.8"); // Spoofed, not from a proxy
+
+        run(proxied);
+        run(direct);
+
+        verify(rateLimiter).tryAcquire(AUTH, "ip:203.0.113.7"); // Rightmost untrusted hop, not the spoofable first one
+        verify(rateLimiter).tryAcquire(AUTH, "ip:192.0.2.9");
+    }
+
+    @Test
+    void rejectionIs429WithRetryAfterAndErrorBody() throws Exception {
+        when(rateLimiter.tryAcquire(any(), any())).thenReturn(RateLimiter.Decision.rejected(Duration.ofMillis(1200)));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request("POST", "/api/auth/register", "203.0.113.7"), response, chain);
+
+        assertNull(chain.getRequest());
+        assertEquals(429, response.getStatus());
+        assertEquals("2", response.getHeader(HttpHeaders.RETRY_AFTER)); // Rounded up to whole seconds
+        assertTrue(response.getContentType().startsWith("application/json"));
+        JsonNode body = objectMapper.readTree(response.getContentAsByteArray());
+        assertFalse(body.get("success").asBoolean());
+        assertEquals("RATE_LIMITED", body.get("errorCode").asText());
+        assertEquals(429, body.get("statusCode").asInt());
+        assertEquals(1.0, meterRegistry.counter("jira.rate_limit.requests", "policy", "auth", "outcome", "rejected").count());
+    }
+
+    @Test
+    void retryAfterIsAtLeastOneSecond() throws Exception {
+        when(rateLimiter.tryAcquire(any(), any())).thenReturn(RateLimiter.Decision.rejected(Duration.ofMillis(5)));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request("POST", "/api/auth/login", "203.0.113.7"), response, new MockFilterChain());
+
+        assertEquals("1", response.getHeader(HttpHeaders.RETRY_AFTER));
+    }
+
+    private void allow() {
+        when(rateLimiter.tryAcquire(any(), any())).thenReturn(RateLimiter.Decision.ALLOWED);
+    }
+
+    private MockFilterChain run(MockHttpServletRequest request) throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+        return chain;
+    }
+
+    private static MockHttpServletRequest request(String method, String path, String remoteAddr) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.setRemoteAddr(remoteAddr);
+        return request;
+    }
+}
@@ -0,0 +1,183 @@
+package com.jira.jira.service;
+
+import com.jira.jira.dto.websocket.TaskUpdateEvent;
+import com.jira.jira.model.OutboxEvent;
+import com.jira.jira.model.Task;
+import com.jira.jira.model.TaskStatus;
+import com.jira.jira.model.User;
+import com.jira.jira.repository.ChangeStreamTokenRepository;
+import com.jira.jira.support.MongoContainer;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Change-stream publishing against a single-node replica set
+ */
+@SpringBootTest(properties = {
+        "app.events.publisher=change-stream",
+        "app.events.change-stream.consumer=websocket",
+        "app.node-id=node-a",
+        "mongo.index-verification=off",
+        "membership.migration.enabled=false"
+})
+class ChangeStreamPublisherTest {
+
+    private static final long TIMEOUT_MS = 10_000;
+
+    @DynamicPropertySource
+    static void mongo(DynamicPropertyRegistry registry) {
+        MongoContainer.register(registry, "jira_change_stream");
+    }
+
+    @BeforeAll
+    static void requireDocker() {
+        MongoContainer.requireDocker();
+    }
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private ChangeStreamTokenRepository tokenRepository;
+
+    @MockitoBean
+    private WebSocketService webSocketService;
+
+    private String workspaceId;
+    private String userId;
+
+    @BeforeEach
+    void streamIsOpen() {
+        workspaceId = new ObjectId().toHexString();
+        userId = mongoTemplate.insert(User.builder().name("Ada").email(workspaceId + "@example.com").build()).getId();
+        awaitStreamOpen();
+        clearInvocations(webSocketService);
+    }
+
+    @Test
+    void insertIsPublishedAsTaskCreated() {
+        Task task = mongoTemplate.insert(task(TaskStatus.TODO, null));
+
+        TaskUpdateEvent event = awaitEvent(TaskUpdateEvent.EventType.TASK_CREATED);
+        assertEquals(task.getId(), event.getTaskId());
+        assertEquals(userId, event.getUpdatedBy());
+        assertEquals("Ada", event.getUpdatedByName());
+    }
+
+    @Test
+    void moveCarriesOldStatusAndMover() {
+        Task task = mongoTemplate.insert(task(TaskStatus.TODO, null));
+        awaitEvent(TaskUpdateEvent.EventType.TASK_CREATED);
+        clearInvocations(webSocketService);
+
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(task.getId())),
+                new Update().set("status", TaskStatus.DONE).set("position", 2048.0).set("updated_by", userId), Task.class);
+
+        TaskUpdateEvent event = awaitEvent(TaskUpdateEvent.EventType.TASK_MOVED);
+        assertEquals(TaskStatus.TODO, event.getOldStatus());
+        assertEquals(TaskStatus.DONE, event.getNewStatus());
+        assertEquals(1024.0, event.getOldPosition());
+        assertEquals(userId, event.getUpdatedBy());
+        assertEquals("Ada", event.getUpdatedByName());
+        verify(webSocketService, timeout(TIMEOUT_MS)).sendKanbanUpdate(eq(workspaceId), any());
+    }
+
+    @Test
+    void importIsAnnouncedOnceBySummary() {
+        String importId = new ObjectId().toHexString();
+        mongoTemplate.insertAll(List.of(task(TaskStatus.TODO, importId), task(TaskStatus.TODO, importId), task(TaskStatus.DONE, importId)));
+        outboxService.enqueue(TaskUpdateEvent.tasksImported(workspaceId, 3, userId, "Ada"),
+                OutboxEvent.Route.WORKSPACE, OutboxEvent.Route.ACTIVITY);
+
+        TaskUpdateEvent summary = awaitEvent(TaskUpdateEvent.EventType.TASKS_IMPORTED);
+        assertEquals(3, summary.getTaskCount());
+        List<TaskUpdateEvent> sent = sentToWorkspace();
+        assertTrue(sent.stream().noneMatch(event -> event.getEventType() == TaskUpdateEvent.EventType.TASK_CREATED),
+                "imported tasks must not be announced one by one: " + sent);
+    }
+
+    @Test
+    void resumeTokenIsKeptPerNode() {
+        assertTrue(tokenRepository.findById("websocket:node-a").isPresent());
+        assertTrue(tokenRepository.findById("websocket").isEmpty());
+    }
+
+    private Task task(TaskStatus status, String importId) {
+        Task task = new Task();
+        task.setName("Task " + new ObjectId());
+        task.setWorkspaceId(workspaceId);
+        task.setProjectId(new ObjectId().toHexString());
+        task.setStatus(status);
+        task.setPosition(1024.0);
+        task.setCreatedBy(userId);
+        task.setUpdatedBy(userId);
+        task.setImportId(importId);
+        task.setCreatedAt(LocalDateTime.now());
+        task.setUpdatedAt(LocalDateTime.now());
+        return task;
+    }
+
+    /**
+     * The stream starts from "now" when opened, so probe until an insert comes through
+     */
+    private void awaitStreamOpen() {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+        while (System.currentTimeMillis() < deadline) {
+            mongoTemplate.insert(task(TaskStatus.BACKLOG, null));
+            try {
+                verify(webSocketService, timeout(500).atLeastOnce()).sendTaskUpdateToWorkspace(eq(workspaceId), any());
+                return;
+            } catch (AssertionError e) {
+                // Not tailing yet
+            }
+        }
+        fail("Change stream did not open within " + TIMEOUT_MS + "ms");
+    }
+
+    private TaskUpdateEvent awaitEvent(TaskUpdateEvent.EventType type) {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+        while (System.currentTimeMillis() < deadline) {
+            for (TaskUpdateEvent event : sentToWorkspace()) {
+                if (event.getEventType() == type) {
+                    return event;
+                }
+            }
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return fail("No " + type + " published within " + TIMEOUT_MS + "ms: " + sentToWorkspace());
+    }
+
+    private List<TaskUpdateEvent> sentToWorkspace() {
+        ArgumentCaptor<TaskUpdateEvent> captor = ArgumentCaptor.forClass(TaskUpdateEvent.class);
+        verify(webSocketService, atLeast(0)).sendTaskUpdateToWorkspace(eq(workspaceId), captor.capture());
+        return captor.getAllValues();
+    }
+}
@@ -0,0 +1,99 @@
+package com.jira.jira.service;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.GreenMailUtil;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.jira.jira.model.Notification;
+import com.jira.jira.model.User;
+import com.jira.jira.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DigestMailServiceTest {
+
+    @RegisterExtension
+    static final GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private DigestMailService digestMailService;
+
+    @BeforeEach
+    void setUp() {
+        JavaMailSenderImpl sender = new JavaMailSenderImpl();
+        sender.setHost(ServerSetupTest.SMTP.getBindAddress());
+        sender.setPort(ServerSetupTest.SMTP.getPort());
+
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        beans.addBean("mailSender", sender);
+
+        digestMailService = new DigestMailService(beans.getBeanProvider(JavaMailSender.class), templateEngine(),
+                userRepository, meterRegistry, true, 2, 1, 1000, 1, Duration.ofMillis(10),
+                "no-reply@jira.local", "http://jira.local");
+
+        when(userRepository.findAllById(any())).thenReturn(List.of(
+                User.builder().id("u1").name("Ana").email("ana@jira.local").build()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        digestMailService.shutdown();
+    }
+
+    @Test
+    void sendsRenderedTaskDigest() throws Exception {
+        digestMailService.collect(notification("u1", "Fix login", "/tasks/1"));
+        digestMailService.collect(notification("u1", "Write docs", "/tasks/2"));
+        digestMailService.collect(notification("u1", "Ship it", "/tasks/3"));
+
+        digestMailService.sendDigests();
+
+        assertTrue(greenMail.waitForIncomingEmail(5_000, 1));
+        MimeMessage message = greenMail.getReceivedMessages()[0];
+        String body = GreenMailUtil.getBody(message);
+        assertEquals("3 updates on your tasks", message.getSubject());
+        assertEquals("ana@jira.local", message.getAllRecipients()[0].toString());
+        assertTrue(body.contains("Hi Ana,"));
+        assertTrue(body.contains("http://jira.local/tasks/1"));
+        assertTrue(body.contains("Write docs"));
+        assertFalse(body.contains("Ship it")); // Past max-items, only counted
+        assertTrue(body.contains("and 1 more."));
+    }
+
+    private static SpringTemplateEngine templateEngine() {
+        ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+        resolver.setPrefix("templates/");
+        resolver.setSuffix(".html");
+        resolver.setTemplateMode("HTML");
+        SpringTemplateEngine engine = new SpringTemplateEngine();
+        engine.setTemplateResolver(resolver);
+        return engine;
+    }
+
+    private static Notification notification(String receiverId, String name, String url) {
+        return Notification.builder()
+                .receiverId(receiverId)
+                .name(name)
+                .url(url)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+}
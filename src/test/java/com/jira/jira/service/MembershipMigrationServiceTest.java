@@ -0,0 +1,130 @@
+package com.jira.jira.service;
+
+import com.jira.jira.model.Membership;
+import com.jira.jira.model.Project;
+import com.jira.jira.model.Workspace;
+import com.jira.jira.support.MongoContainer;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Copy of legacy member_ids arrays into memberships, against a real Mongo (upserts and $setOnInsert)
+ */
+@SpringBootTest(properties = {
+        "app.scheduling.enabled=false",
+        "mongo.index-verification=off",
+        "membership.migration.enabled=false" // Run explicitly below, not on startup
+})
+@SuppressWarnings("deprecation") // Seeds the legacy memberIds arrays
+class MembershipMigrationServiceTest {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 3, 1, 9, 30);
+
+    @DynamicPropertySource
+    static void mongo(DynamicPropertyRegistry registry) {
+        MongoContainer.register(registry, "jira_membership_migration");
+    }
+
+    @BeforeAll
+    static void requireDocker() {
+        MongoContainer.requireDocker();
+    }
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    private MembershipMigrationService migration;
+
+    @BeforeEach
+    void seedLegacyDocuments() {
+        mongoTemplate.remove(new Query(), Membership.class);
+        mongoTemplate.remove(new Query(), Workspace.class);
+        mongoTemplate.remove(new Query(), Project.class);
+        mongoTemplate.getCollection("migrations").deleteMany(new Document());
+
+        mongoTemplate.insert(Workspace.builder().id("w1").name("Active").ownerId("u1").memberIds(List.of("u1", "u2", "u3"))
+                .isActive(true).createdAt(CREATED_AT).build());
+        mongoTemplate.insert(Workspace.builder().id("w2").name("Deleted").ownerId("u1").memberIds(List.of("u4"))
+                .isActive(false).createdAt(CREATED_AT).build());
+        mongoTemplate.insert(Project.builder().id("p1").key("CORE").workspaceId("w1").ownerId("u2").memberIds(List.of("u4"))
+                .isActive(true).createdAt(CREATED_AT).build());
+        mongoTemplate.insert(Project.builder().id("p2").key("NULL").workspaceId("w1").ownerId("u3")
+                .isActive(true).createdAt(CREATED_AT).build()); // No member_ids array at all
+
+        // Batch size 2 makes the six copies span several bulk writes
+        migration = new MembershipMigrationService(mongoTemplate, true, 2);
+    }
+
+    @Test
+    void copiesActiveScopesWithOwnerAndMemberRoles() {
+        run();
+
+        assertEquals(Map.of("u1", "OWNER", "u2", "MEMBER", "u3", "MEMBER"), roles(Membership.Scope.WORKSPACE, "w1"));
+        assertEquals(Map.of(), roles(Membership.Scope.WORKSPACE, "w2"));
+        assertEquals(Map.of("u2", "OWNER", "u4", "MEMBER"), roles(Membership.Scope.PROJECT, "p1"));
+        assertEquals(Map.of("u3", "OWNER"), roles(Membership.Scope.PROJECT, "p2"));
+        assertTrue(memberships().stream().allMatch(membership -> CREATED_AT.equals(membership.getJoinedAt())));
+        assertEquals(1, mongoTemplate.getCollection("migrations").countDocuments());
+    }
+
+    @Test
+    void rerunningAfterAnInterruptedStartAddsNothingAndKeepsCurrentRoles() {
+        run();
+        setRole("w1", "u3", "ADMIN");
+        mongoTemplate.getCollection("migrations").deleteMany(new Document()); // As if the marker write had failed
+
+        run();
+
+        assertEquals(6, memberships().size());
+        assertEquals("ADMIN", roles(Membership.Scope.WORKSPACE, "w1").get("u3")); // $setOnInsert never overwrites
+    }
+
+    @Test
+    void completedMarkerSkipsLaterRuns() {
+        run();
+        mongoTemplate.remove(Query.query(Criteria.where("scope").is(Membership.Scope.WORKSPACE)
+                .and("scopeId").is("w1").and("userId").is("u2")), Membership.class); // Member removed since
+
+        run();
+
+        assertFalse(roles(Membership.Scope.WORKSPACE, "w1").containsKey("u2")); // Not restored from the stale array
+        assertEquals(5, memberships().size());
+    }
+
+    private void run() {
+        migration.run(new DefaultApplicationArguments());
+    }
+
+    private void setRole(String workspaceId, String userId, String role) {
+        mongoTemplate.updateFirst(Query.query(Criteria.where("scope").is(Membership.Scope.WORKSPACE)
+                .and("scopeId").is(workspaceId).and("userId").is(userId)), Update.update("role", role), Membership.class);
+    }
+
+    private List<Membership> memberships() {
+        return mongoTemplate.findAll(Membership.class);
+    }
+
+    private Map<String, String> roles(Membership.Scope scope, String scopeId) {
+        return memberships().stream()
+                .filter(membership -> membership.getScope() == scope && scopeId.equals(membership.getScopeId()))
+                .collect(Collectors.toMap(Membership::getUserId, Membership::getRole));
+    }
+}
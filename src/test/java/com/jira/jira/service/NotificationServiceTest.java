@@ -0,0 +1,76 @@
+package com.jira.jira.service;
+
+import com.jira.jira.mapper.NotificationMapper;
+import com.jira.jira.model.Notification;
+import com.jira.jira.model.Task;
+import com.jira.jira.model.UnreadCounter;
+import com.jira.jira.repository.NotificationRepository;
+import com.jira.jira.repository.UnreadCounterRepository;
+import com.jira.jira.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class NotificationServiceTest {
+
+    private final NotificationRepository notificationRepository = mock(NotificationRepository.class);
+    private final WebSocketService webSocketService = mock(WebSocketService.class);
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private NotificationService notificationService;
+
+    @BeforeEach
+    void setUp() {
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findAllById(any())).thenReturn(List.of());
+        when(mongoTemplate.bulkOps(any(BulkOperations.BulkMode.class), eq(UnreadCounter.class))).thenReturn(mock(BulkOperations.class));
+
+        notificationService = new NotificationService(notificationRepository, mock(UnreadCounterRepository.class), userRepository,
+                mock(MembershipService.class), mock(NotificationMapper.class), webSocketService, mock(DigestMailService.class),
+                mongoTemplate, meterRegistry, 10, 100, 100);
+    }
+
+    @Test
+    void failedPushDoesNotCountStoredNotificationsAsDroppedOrSkipTheRest() {
+        doThrow(new IllegalStateException("session closed"))
+                .when(webSocketService).sendTaskAssignmentNotification(eq("u1"), any());
+
+        notificationService.notifyAssignment(task("t1", "u1"), "actor");
+        notificationService.notifyAssignment(task("t2", "u2"), "actor");
+        notificationService.flush();
+
+        verify(notificationRepository).insert(argThat((List<Notification> batch) -> batch.size() == 2));
+        verify(webSocketService).sendTaskAssignmentNotification(eq("u2"), any()); // Still pushed after u1 failed
+        assertEquals(1.0, meterRegistry.counter("jira.notifications.push_failed").count());
+        assertEquals(0.0, meterRegistry.counter("jira.notifications.dropped").count());
+    }
+
+    @Test
+    void failedInsertIsCountedAsDroppedAndNotPushed() {
+        when(notificationRepository.insert(anyList())).thenThrow(new IllegalStateException("mongo down"));
+
+        notificationService.notifyAssignment(task("t1", "u1"), "actor");
+        notificationService.flush();
+
+        verify(webSocketService, never()).sendTaskAssignmentNotification(any(), any());
+        assertEquals(1.0, meterRegistry.counter("jira.notifications.dropped").count());
+        assertEquals(0.0, meterRegistry.counter("jira.notifications.push_failed").count());
+    }
+
+    private static Task task(String id, String assigneeId) {
+        Task task = new Task();
+        task.setId(id);
+        task.setName("Task " + id);
+        task.setWorkspaceId("w1");
+        task.setAssigneeId(assigneeId);
+        return task;
+    }
+}
@@ -0,0 +1,96 @@
+package com.jira.jira.service;
+
+import com.jira.jira.dto.websocket.TaskUpdateEvent;
+import com.jira.jira.model.OutboxEvent;
+import com.jira.jira.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.MessageDeliveryException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class OutboxServiceTest {
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final OutboxEventRepository repository = mock(OutboxEventRepository.class);
+    private final WebSocketService webSocketService = mock(WebSocketService.class);
+    private final ActivityLogService activityLogService = mock(ActivityLogService.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private OutboxService outboxService;
+
+    @BeforeEach
+    void setUp() {
+        outboxService = new OutboxService(repository, webSocketService, activityLogService, meterRegistry,
+                10, Duration.ofSeconds(30), MAX_ATTEMPTS, "outbox");
+    }
+
+    @Test
+    void failedSendIsLeftForRetry() {
+        OutboxEvent event = claimed(1);
+        doThrow(new MessageDeliveryException("broker down")).when(webSocketService).sendTaskUpdateToWorkspace(any(), any());
+
+        outboxService.relay();
+
+        verify(repository).recordFailure(event.getId(), "broker down");
+        verify(repository, never()).markPublished(any(), any());
+        verify(activityLogService, never()).record(any());
+        assertEquals(1, meterRegistry.counter("jira.outbox.failed").count());
+        assertEquals(0, meterRegistry.counter("jira.outbox.dead_lettered").count());
+    }
+
+    @Test
+    void lastFailedAttemptIsDeadLettered() {
+        claimed(MAX_ATTEMPTS);
+        doThrow(new MessageDeliveryException("broker down")).when(webSocketService).sendTaskUpdateToWorkspace(any(), any());
+
+        outboxService.relay();
+
+        verify(repository, never()).markPublished(any(), any());
+        assertEquals(1, meterRegistry.counter("jira.outbox.dead_lettered").count());
+    }
+
+    @Test
+    void deliveredEventIsMarkedPublished() {
+        OutboxEvent event = claimed(1);
+
+        outboxService.relay();
+
+        verify(webSocketService).sendTaskUpdateToWorkspace("ws-1", event.getPayload());
+        verify(activityLogService).record(event.getPayload());
+        verify(repository).markPublished(eq(List.of(event.getId())), any());
+    }
+
+    @Test
+    void claimsOnlyEventsWithAttemptsLeft() {
+        when(repository.findClaimable(any(), anyInt(), any())).thenReturn(List.of());
+
+        outboxService.relay();
+
+        verify(repository).findClaimable(any(), eq(MAX_ATTEMPTS), any());
+    }
+
+    private OutboxEvent claimed(int attempts) {
+        OutboxEvent event = OutboxEvent.builder()
+                .id("outbox-1")
+                .eventId("event-1")
+                .routes(List.of(OutboxEvent.Route.WORKSPACE, OutboxEvent.Route.ACTIVITY))
+                .payload(TaskUpdateEvent.builder()
+                        .eventType(TaskUpdateEvent.EventType.TASK_UPDATED)
+                        .workspaceId("ws-1")
+                        .build())
+                .attempts(attempts)
+                .createdAt(LocalDateTime.now())
+                .build();
+        when(repository.findClaimable(any(), anyInt(), any())).thenReturn(List.of(OutboxEvent.builder().id(event.getId()).build()));
+        when(repository.findClaimed(any(), any())).thenReturn(List.of(event));
+        return event;
+    }
+}
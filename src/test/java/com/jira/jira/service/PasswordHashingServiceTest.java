@@ -0,0 +1,164 @@
+package com.jira.jira.service;
+
+import com.jira.jira.dto.request.LoginRequest;
+import com.jira.jira.dto.response.LoginResponse;
+import com.jira.jira.exception.BusinessException;
+import com.jira.jira.exception.ErrorCode;
+import com.jira.jira.mapper.UserMapper;
+import com.jira.jira.model.User;
+import com.jira.jira.repository.RefreshTokenRepository;
+import com.jira.jira.repository.UserRepository;
+import com.jira.jira.security.JwtUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class PasswordHashingServiceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final List<PasswordHashingService> services = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        services.forEach(PasswordHashingService::shutdown);
+    }
+
+    @Test
+    void fullQueueIsShedWithServiceBusy() throws Exception {
+        BlockingEncoder encoder = new BlockingEncoder();
+        PasswordHashingService service = service(encoder, 1, 1, Duration.ofSeconds(10));
+
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> service.encode("a"));
+        assertTrue(encoder.started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> service.encode("b"));
+        awaitQueued(1);
+
+        BusinessException shed = assertThrows(BusinessException.class, () -> service.encode("c"));
+        assertEquals(ErrorCode.SERVICE_BUSY, shed.getErrorCode());
+        assertEquals(1.0, meterRegistry.counter("jira.password.hashing.rejected").count());
+
+        encoder.release.countDown();
+        assertEquals("hash:a", running.get(5, TimeUnit.SECONDS));
+        assertEquals("hash:b", queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void slowHashTimesOutWithServiceBusyAndIsCancelled() throws InterruptedException {
+        BlockingEncoder encoder = new BlockingEncoder();
+        PasswordHashingService service = service(encoder, 1, 1, Duration.ofMillis(100));
+
+        BusinessException timedOut = assertThrows(BusinessException.class, () -> service.encode("a"));
+
+        assertEquals(ErrorCode.SERVICE_BUSY, timedOut.getErrorCode());
+        assertEquals(1.0, meterRegistry.counter("jira.password.hashing.rejected").count());
+        assertTrue(encoder.interrupted.await(5, TimeUnit.SECONDS)); // The worker is freed, not left hashing
+    }
+
+    @Test
+    void unknownUserIsVerifiedAgainstADummyHashAndFails() {
+        PasswordEncoder encoder = mock(PasswordEncoder.class);
+        when(encoder.encode("dummy-password")).thenReturn("dummy-hash");
+        when(encoder.matches(any(), any())).thenReturn(true);
+        PasswordHashingService service = service(encoder, 1, 1, Duration.ofSeconds(5));
+
+        assertFalse(service.matches("secret", null));
+        assertFalse(service.matches("other", null));
+
+        verify(encoder, times(2)).matches(any(), eq("dummy-hash")); // Same BCrypt cost as a wrong password
+        verify(encoder, times(1)).encode("dummy-password");
+    }
+
+    @Test
+    void loginRehashesPasswordsMadeWithALowerCost() {
+        PasswordHashingService service = service(new BCryptPasswordEncoder(5), 1, 10, Duration.ofSeconds(5));
+        User user = User.builder().id("u1").email("u1@jira.local").isActive(true)
+                .password(new BCryptPasswordEncoder(4).encode("secret")).build();
+
+        login(service, user);
+
+        ArgumentCaptor<User> saved = ArgumentCaptor.forClass(User.class);
+        verify(userRepository).save(saved.capture());
+        assertTrue(saved.getValue().getPassword().startsWith("$2a$05$"));
+        assertTrue(service.matches("secret", saved.getValue().getPassword()));
+        assertFalse(service.needsRehash(saved.getValue().getPassword()));
+    }
+
+    @Test
+    void loginKeepsHashesAtTheConfiguredCost() {
+        PasswordHashingService service = service(new BCryptPasswordEncoder(4), 1, 10, Duration.ofSeconds(5));
+        User user = User.builder().id("u1").email("u1@jira.local").isActive(true)
+                .password(new BCryptPasswordEncoder(4).encode("secret")).build();
+
+        login(service, user);
+
+        verify(userRepository, never()).save(any());
+    }
+
+    private void login(PasswordHashingService service, User user) {
+        UserMapper userMapper = mock(UserMapper.class);
+        when(userRepository.findByEmail(user.getEmail())).thenReturn(Optional.of(user));
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(userMapper.toLoginResponse(any(), any())).thenReturn(new LoginResponse());
+        AuthService authService = new AuthService(userRepository, mock(RefreshTokenRepository.class),
+                mock(RefreshTokenCleanupService.class), service, mock(JwtUtil.class), userMapper);
+
+        authService.login(LoginRequest.builder().email(user.getEmail()).password("secret").build());
+    }
+
+    private PasswordHashingService service(PasswordEncoder encoder, int poolSize, int queueCapacity, Duration timeout) {
+        PasswordHashingService service = new PasswordHashingService(encoder, meterRegistry, poolSize, queueCapacity, timeout);
+        services.add(service);
+        return service;
+    }
+
+    private void awaitQueued(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("executor.queued").tag("name", "password.hashing").gauge().value() < expected) {
+            assertTrue(System.nanoTime() < deadline, "task was not queued");
+            Thread.sleep(5);
+        }
+    }
+
+    /**
+     * Encoder that holds the worker until released, standing in for a slow BCrypt round
+     */
+    private static class BlockingEncoder implements PasswordEncoder {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch interrupted = new CountDownLatch(1);
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                Thread.currentThread().interrupt();
+            }
+            return "hash:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encodedPassword.equals(encode(rawPassword));
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.jira.jira.service;
+
+import com.jira.jira.dto.common.PaginationRequest;
+import com.jira.jira.dto.common.PaginationResponse;
+import com.jira.jira.dto.common.SearchFilterRequest;
+import com.jira.jira.dto.response.ProjectResponse;
+import com.jira.jira.mapper.ProjectMapper;
+import com.jira.jira.model.Project;
+import com.jira.jira.repository.ProjectRepository;
+import com.jira.jira.repository.UserRepository;
+import com.jira.jira.repository.query.MongoFieldNames;
+import com.jira.jira.repository.query.TypedQuery;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ProjectServiceTest {
+
+    private final ProjectRepository projectRepository = mock(ProjectRepository.class);
+    private final ProjectMapper projectMapper = mock(ProjectMapper.class);
+    private ProjectService projectService;
+
+    @BeforeEach
+    void setUp() {
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(new MongoCustomConversions(List.of()).getSimpleTypeHolder());
+        mappingContext.afterPropertiesSet();
+
+        projectService = new ProjectService(projectRepository, mock(UserRepository.class), mock(AccessControlService.class),
+                projectMapper, mock(MembershipService.class), new MongoFieldNames(mappingContext));
+    }
+
+    @Test
+    void workspaceProjectsArePagedAndSortedInMongo() {
+        List<Project> page = List.of(Project.builder().id("p1").build());
+        List<ProjectResponse> responses = List.of(ProjectResponse.builder().id("p1").build());
+        when(projectRepository.find(any(TypedQuery.class))).thenReturn(page);
+        when(projectRepository.count(any(TypedQuery.class))).thenReturn(31L);
+        when(projectMapper.toProjectResponses(page)).thenReturn(responses);
+
+        PaginationResponse<ProjectResponse> response = projectService.getWorkspaceProjects("w1", "u1", SearchFilterRequest.builder()
+                .search("core")
+                .filters(Map.of("project_type", "software", "is_public", true))
+                .pagination(PaginationRequest.builder().page(1).size(15).sortBy("key").build())
+                .build());
+
+        Query query = capturedQuery();
+        assertEquals(15, query.getSkip());
+        assertEquals(15, query.getLimit());
+        assertEquals(new Document("key", 1).append("_id", 1), query.getSortObject());
+        Document filter = query.getQueryObject();
+        assertEquals("w1", filter.get("workspace_id"));
+        assertEquals(true, filter.get("is_active"));
+        assertEquals(true, filter.get("is_public"));
+        assertTrue(filter.containsKey("project_type"));
+        assertEquals(3, filter.getList("$or", Document.class).size()); // name, description, key
+
+        assertSame(responses, response.getContent());
+        assertEquals(31L, response.getTotalElements());
+        assertEquals(3, response.getTotalPages());
+        verify(projectMapper, times(1)).toProjectResponses(page);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Query capturedQuery() {
+        ArgumentCaptor<TypedQuery<Project>> found = ArgumentCaptor.forClass(TypedQuery.class);
+        ArgumentCaptor<TypedQuery<Project>> counted = ArgumentCaptor.forClass(TypedQuery.class);
+        verify(projectRepository).find(found.capture());
+        verify(projectRepository).count(counted.capture());
+        assertEquals(found.getValue().toFilter().getQueryObject(), counted.getValue().toFilter().getQueryObject());
+        return found.getValue().toQuery();
+    }
+}
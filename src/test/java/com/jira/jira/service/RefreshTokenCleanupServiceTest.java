@@ -0,0 +1,126 @@
+package com.jira.jira.service;
+
+import com.jira.jira.dto.request.LoginRequest;
+import com.jira.jira.dto.response.LoginResponse;
+import com.jira.jira.mapper.UserMapper;
+import com.jira.jira.model.RefreshToken;
+import com.jira.jira.model.User;
+import com.jira.jira.repository.RefreshTokenRepository;
+import com.jira.jira.repository.UserRepository;
+import com.jira.jira.security.JwtUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.repository.query.parser.Part;
+import org.springframework.data.repository.query.parser.PartTree;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class RefreshTokenCleanupServiceTest {
+
+    private static final int CAP = 3;
+
+    private final RefreshTokenRepository refreshTokenRepository = mock(RefreshTokenRepository.class);
+    private final List<RefreshToken> stored = new ArrayList<>();
+    private final RefreshTokenCleanupService cleanupService = new RefreshTokenCleanupService(refreshTokenRepository, CAP);
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        // Just enough of the collection for the cap: save, newest-first lookup, deleteAll
+        when(refreshTokenRepository.save(any(RefreshToken.class))).thenAnswer(invocation -> {
+            stored.add(invocation.getArgument(0));
+            return invocation.getArgument(0);
+        });
+        when(refreshTokenRepository.findByUserIdAndIsActiveOrderByCreatedAtDesc(anyString(), eq(true))).thenAnswer(invocation -> {
+            List<RefreshToken> active = new ArrayList<>(stored.stream()
+                    .filter(token -> token.getUserId().equals(invocation.getArgument(0)) && token.getIsActive())
+                    .toList()).reversed(); // Later saves win ties on created_at
+            return active.stream().sorted(Comparator.comparing(RefreshToken::getCreatedAt).reversed()).toList();
+        });
+        doAnswer(invocation -> {
+            ((Iterable<RefreshToken>) invocation.getArgument(0)).forEach(stored::remove);
+            return null;
+        }).when(refreshTokenRepository).deleteAll(anyIterable());
+    }
+
+    @Test
+    void issuingBeyondTheCapKeepsOnlyTheNewestTokens() {
+        stored.add(RefreshToken.builder().token("other-user").userId("u2").isActive(true).createdAt(LocalDateTime.now()).build());
+        AuthService authService = authService();
+
+        List<String> issued = IntStream.range(0, CAP + 1)
+                .mapToObj(i -> authService.login(LoginRequest.builder().email("u1@jira.local").password("secret").build())
+                        .getRefreshToken())
+                .toList();
+
+        assertEquals(issued.subList(1, CAP + 1), tokensOf("u1"));
+        assertEquals(List.of("other-user"), tokensOf("u2"));
+    }
+
+    @Test
+    void tokensWithinTheCapAreKept() {
+        stored.add(token("t1", 2));
+        stored.add(token("t2", 1));
+
+        cleanupService.enforceActiveLimit("u1");
+
+        verify(refreshTokenRepository, never()).deleteAll(anyIterable());
+        assertEquals(2, stored.size());
+    }
+
+    @Test
+    void sweepDeletesExpiredOrInactiveTokens() {
+        when(refreshTokenRepository.deleteByExpiresAtBeforeOrIsActive(any(), eq(false))).thenReturn(4L);
+        LocalDateTime before = LocalDateTime.now();
+
+        cleanupService.sweepExpired();
+
+        verify(refreshTokenRepository).deleteByExpiresAtBeforeOrIsActive(
+                argThat(cutoff -> !cutoff.isBefore(before) && !cutoff.isAfter(LocalDateTime.now())), eq(false));
+
+        PartTree query = new PartTree("deleteByExpiresAtBeforeOrIsActive", RefreshToken.class);
+        assertTrue(query.isDelete());
+        List<List<Part.Type>> branches = query.stream()
+                .map(branch -> branch.stream().map(Part::getType).toList())
+                .toList();
+        assertEquals(List.of(List.of(Part.Type.BEFORE), List.of(Part.Type.SIMPLE_PROPERTY)), branches); // expires_at < now OR is_active = false
+    }
+
+    @Test
+    void failedSweepIsRetriedOnTheNextRun() {
+        when(refreshTokenRepository.deleteByExpiresAtBeforeOrIsActive(any(), any())).thenThrow(new IllegalStateException("mongo down"));
+
+        assertDoesNotThrow(cleanupService::sweepExpired);
+    }
+
+    private AuthService authService() {
+        User user = User.builder().id("u1").email("u1@jira.local").password("hash").isActive(true).build();
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findByEmail("u1@jira.local")).thenReturn(Optional.of(user));
+        PasswordHashingService passwordHashingService = mock(PasswordHashingService.class);
+        when(passwordHashingService.matches("secret", "hash")).thenReturn(true);
+        UserMapper userMapper = mock(UserMapper.class);
+        when(userMapper.toLoginResponse(any(), any())).thenAnswer(invocation -> new LoginResponse());
+
+        return new AuthService(userRepository, refreshTokenRepository, cleanupService, passwordHashingService,
+                mock(JwtUtil.class), userMapper);
+    }
+
+    private List<String> tokensOf(String userId) {
+        return stored.stream().filter(token -> token.getUserId().equals(userId)).map(RefreshToken::getToken).toList();
+    }
+
+    private static RefreshToken token(String value, int minutesAgo) {
+        return RefreshToken.builder().token(value).userId("u1").isActive(true)
+                .createdAt(LocalDateTime.now().minusMinutes(minutesAgo)).build();
+    }
+}
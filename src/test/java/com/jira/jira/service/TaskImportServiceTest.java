@@ -0,0 +1,120 @@
+package com.jira.jira.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.jira.jira.dto.response.TaskImportResponse;
+import com.jira.jira.model.Membership;
+import com.jira.jira.model.Project;
+import com.jira.jira.model.Task;
+import com.jira.jira.model.TaskStatus;
+import com.jira.jira.repository.ProjectRepository;
+import com.jira.jira.repository.TaskRepository;
+import com.jira.jira.repository.UserRepository;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class TaskImportServiceTest {
+
+    private final TaskRepository taskRepository = mock(TaskRepository.class);
+    private final MembershipService membershipService = mock(MembershipService.class);
+    private final ProjectRepository projectRepository = mock(ProjectRepository.class);
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+    private final List<Task> inserted = new ArrayList<>();
+    private TaskImportService importService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        importService = new TaskImportService(taskRepository, mock(AccessControlService.class), membershipService,
+                projectRepository, mock(UserRepository.class), mock(WebSocketService.class), mock(OverdueTaskTracker.class),
+                mock(OutboxService.class), objectMapper, Validation.buildDefaultValidatorFactory().getValidator());
+        ReflectionTestUtils.setField(importService, "batchSize", 2);
+        ReflectionTestUtils.setField(importService, "maxErrors", 10);
+
+        when(projectRepository.findByWorkspaceIdAndIsActive("w1", true)).thenReturn(List.of(Project.builder().id("p1").build()));
+        when(membershipService.getMemberIds(Membership.Scope.WORKSPACE, "w1")).thenReturn(List.of("u1"));
+        when(taskRepository.findFirstByWorkspaceIdAndStatusAndIsActiveOrderByPositionDesc(eq("w1"), any(), eq(true)))
+                .thenReturn(Optional.empty());
+        when(taskRepository.insert(anyList())).thenAnswer(invocation -> {
+            List<Task> batch = new ArrayList<>((List<Task>) invocation.getArgument(0));
+            inserted.addAll(batch);
+            return batch;
+        });
+    }
+
+    @Test
+    void everyRowIsValidatedLikeCreateTask() throws Exception {
+        TaskImportResponse response = importNdjson("""
+                {"name": "Fix login", "status": "inprogress", "assignee_id": "u1"}
+                {"name": "No status"}
+                {"name": "Bad status", "status": "blocked"}
+                {"name": ""}
+                {"name": "Unknown project", "project_id": "p9"}
+                {"name": "Unknown assignee", "assignee_id": "u9"}
+                """);
+
+        assertEquals(6, response.getProcessed());
+        assertEquals(2, response.getImported());
+        assertEquals(4, response.getFailed());
+        assertEquals(List.of(3L, 4L, 5L, 6L), response.getErrors().stream().map(TaskImportResponse.RowError::getLine).toList());
+        assertTrue(response.getErrors().get(0).getMessage().contains("Invalid task status: blocked"));
+
+        assertEquals(List.of(TaskStatus.IN_PROGRESS, TaskStatus.TODO), inserted.stream().map(Task::getStatus).toList());
+        assertTrue(inserted.stream().allMatch(task -> "w1".equals(task.getWorkspaceId()) && task.getImportId() != null));
+    }
+
+    @Test
+    void csvRowsWithUnknownStatusAreRejected() throws Exception {
+        TaskImportResponse response = importCsv("""
+                name,status,position
+                First,todo,
+                Second,done,
+                Third,later,
+                Fourth,,
+                """);
+
+        assertEquals(3, response.getImported());
+        assertEquals(1, response.getFailed());
+        assertEquals(4L, response.getErrors().get(0).getLine());
+        assertEquals(List.of(TaskStatus.TODO, TaskStatus.DONE, TaskStatus.TODO), inserted.stream().map(Task::getStatus).toList());
+        assertEquals(List.of(1000.0, 1000.0, 2000.0), inserted.stream().map(Task::getPosition).toList());
+        verify(taskRepository, times(2)).insert(anyList()); // Batches of two
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void nothingIsInsertedWhenEveryRowFails() throws Exception {
+        TaskImportResponse response = importNdjson("""
+                {"name": "Bad", "status": "nope"}
+                """);
+
+        assertEquals(0, response.getImported());
+        assertEquals(1, response.getFailed());
+        verify(taskRepository, never()).insert(any(List.class));
+    }
+
+    private TaskImportResponse importNdjson(String body) throws Exception {
+        return importService.importTasks(stream(body), TaskImportService.Format.NDJSON, "w1", "u1");
+    }
+
+    private TaskImportResponse importCsv(String body) throws Exception {
+        return importService.importTasks(stream(body), TaskImportService.Format.CSV, "w1", "u1");
+    }
+
+    private static ByteArrayInputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,100 @@
+package com.jira.jira.service;
+
+import com.jira.jira.dto.common.PaginationRequest;
+import com.jira.jira.dto.common.PaginationResponse;
+import com.jira.jira.dto.common.SearchFilterRequest;
+import com.jira.jira.dto.response.TaskResponse;
+import com.jira.jira.mapper.TaskMapper;
+import com.jira.jira.model.Task;
+import com.jira.jira.repository.ProjectRepository;
+import com.jira.jira.repository.TaskRepository;
+import com.jira.jira.repository.UserRepository;
+import com.jira.jira.repository.query.MongoFieldNames;
+import com.jira.jira.repository.query.TypedQuery;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class TaskServiceTest {
+
+    private final TaskRepository taskRepository = mock(TaskRepository.class);
+    private final TaskMapper taskMapper = mock(TaskMapper.class);
+    private TaskService taskService;
+
+    @BeforeEach
+    void setUp() {
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(new MongoCustomConversions(List.of()).getSimpleTypeHolder());
+        mappingContext.afterPropertiesSet();
+
+        taskService = new TaskService(taskRepository, mock(UserRepository.class), mock(ProjectRepository.class),
+                mock(AccessControlService.class), taskMapper, mock(OverdueTaskTracker.class),
+                mock(NotificationService.class), mock(OutboxService.class), new MongoFieldNames(mappingContext));
+    }
+
+    @Test
+    void workspaceTasksArePagedAndSortedInMongo() {
+        List<Task> page = List.of(new Task(), new Task());
+        List<TaskResponse> responses = List.of(new TaskResponse(), new TaskResponse());
+        when(taskRepository.find(any(TypedQuery.class))).thenReturn(page);
+        when(taskRepository.count(any(TypedQuery.class))).thenReturn(45L);
+        when(taskMapper.toTaskResponseList(page)).thenReturn(responses);
+
+        PaginationResponse<TaskResponse> response = taskService.getTasksByWorkspace("w1", "u1", SearchFilterRequest.builder()
+                .search("login")
+                .filters(Map.of("assignee_id", "u2"))
+                .pagination(PaginationRequest.builder().page(2).size(10).sortBy("due_at")
+                        .sortDirection(PaginationRequest.SortDirection.DESC).build())
+                .build());
+
+        Query query = capturedQuery();
+        assertEquals(20, query.getSkip());
+        assertEquals(10, query.getLimit());
+        assertEquals(new Document("due_at", -1).append("_id", 1), query.getSortObject());
+        assertEquals("w1", query.getQueryObject().get("workspace_id"));
+        assertEquals(true, query.getQueryObject().get("is_active"));
+        assertEquals("u2", query.getQueryObject().get("assignee_id"));
+        assertTrue(query.getQueryObject().containsKey("$or"));
+
+        assertSame(responses, response.getContent());
+        assertEquals(45L, response.getTotalElements());
+        assertEquals(5, response.getTotalPages());
+        assertEquals(2, response.getPage());
+    }
+
+    @Test
+    void oversizedPageIsClampedAndOrderIsStable() {
+        when(taskRepository.find(any(TypedQuery.class))).thenReturn(List.of());
+        when(taskMapper.toTaskResponseList(any())).thenReturn(List.of());
+
+        taskService.getTasksByWorkspace("w1", "u1", SearchFilterRequest.builder()
+                .pagination(PaginationRequest.builder().page(0).size(500).build())
+                .build());
+
+        Query query = capturedQuery();
+        assertEquals(0, query.getSkip());
+        assertEquals(100, query.getLimit());
+        assertEquals(new Document("_id", 1), query.getSortObject());
+    }
+
+    @SuppressWarnings("unchecked")
+    private Query capturedQuery() {
+        ArgumentCaptor<TypedQuery<Task>> found = ArgumentCaptor.forClass(TypedQuery.class);
+        ArgumentCaptor<TypedQuery<Task>> counted = ArgumentCaptor.forClass(TypedQuery.class);
+        verify(taskRepository).find(found.capture());
+        verify(taskRepository).count(counted.capture());
+        assertEquals(found.getValue().toFilter().getQueryObject(), counted.getValue().toFilter().getQueryObject());
+        return found.getValue().toQuery();
+    }
+}
@@ -0,0 +1,49 @@
+package com.jira.jira.support;
+
+import org.junit.jupiter.api.Assumptions;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.MongoDBContainer;
+
+/**
+ * Single-node replica-set Mongo shared by the container-backed tests (change streams and
+ * transactions need a replica set). Started once per JVM and stopped with it.
+ *
+ * Without Docker these tests fail when CI is set and are skipped on developer machines.
+ */
+public final class MongoContainer {
+
+    private static final String IMAGE = "mongo:7.0";
+    private static MongoDBContainer container;
+
+    private MongoContainer() {
+    }
+
+    /**
+     * Call from @BeforeAll, before the Spring context starts: fails in CI and skips elsewhere without Docker
+     */
+    public static void requireDocker() {
+        if (!DockerClientFactory.instance().isDockerAvailable()) {
+            String reason = "Docker is not available for the Mongo test container";
+            if (System.getenv("CI") != null) {
+                throw new IllegalStateException(reason);
+            }
+            Assumptions.abort(reason);
+        }
+    }
+
+    /**
+     * Point spring.data.mongodb.uri at a fresh database on the shared container
+     */
+    public static void register(DynamicPropertyRegistry registry, String database) {
+        registry.add("spring.data.mongodb.uri", () -> start().getReplicaSetUrl(database));
+    }
+
+    private static synchronized MongoDBContainer start() {
+        if (container == null) {
+            container = new MongoDBContainer(IMAGE);
+            container.start();
+        }
+        return container;
+    }
+}
@@ -0,0 +1,123 @@
+package com.jira.jira.util;
+
+import com.jira.jira.exception.BusinessException;
+import com.jira.jira.exception.ErrorCode;
+import com.jira.jira.monitoring.QueryStats;
+import com.jira.jira.monitoring.QueryTracker;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FanOutScopeTest {
+
+    @AfterEach
+    void tearDown() {
+        QueryTracker.end();
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+
+    @Test
+    void resultsAreAvailableAfterJoin() {
+        try (FanOutScope scope = FanOutScope.open()) {
+            Supplier<String> first = scope.fork(() -> "a");
+            Supplier<Integer> second = scope.fork(() -> 2);
+            scope.join();
+
+            assertEquals("a", first.get());
+            assertEquals(2, second.get());
+        }
+    }
+
+    @Test
+    void firstFailureCancelsTheOthersAndIsRethrownUnchanged() throws InterruptedException {
+        BusinessException denied = new BusinessException(ErrorCode.WORKSPACE_ACCESS_DENIED);
+        CountDownLatch slowStarted = new CountDownLatch(1);
+        CountDownLatch slowInterrupted = new CountDownLatch(1);
+
+        try (FanOutScope scope = FanOutScope.open()) {
+            scope.fork(() -> blockUntilInterrupted(slowStarted, slowInterrupted));
+            assertTrue(slowStarted.await(5, TimeUnit.SECONDS));
+            scope.fork(() -> {
+                throw denied;
+            });
+
+            BusinessException thrown = assertThrows(BusinessException.class, scope::join);
+            assertSame(denied, thrown);
+        }
+        assertTrue(slowInterrupted.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void readingBeforeJoinIsAnError() {
+        try (FanOutScope scope = FanOutScope.open()) {
+            Supplier<String> result = scope.fork(() -> "a");
+
+            assertThrows(IllegalStateException.class, result::get);
+        }
+    }
+
+    @Test
+    void closeCancelsRunningForks() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+
+        try (FanOutScope scope = FanOutScope.open()) {
+            scope.fork(() -> blockUntilInterrupted(started, interrupted));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+        } // Left without join, e.g. by an exception in the caller
+
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void forksRunInlineInsideATransactionAndStopAfterAFailure() {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        Thread caller = Thread.currentThread();
+        AtomicBoolean ranAfterFailure = new AtomicBoolean();
+
+        try (FanOutScope scope = FanOutScope.open()) {
+            Supplier<Thread> thread = scope.fork(Thread::currentThread);
+            scope.fork(() -> {
+                throw new BusinessException(ErrorCode.PROJECT_ACCESS_DENIED);
+            });
+            scope.fork(() -> ranAfterFailure.getAndSet(true));
+
+            assertThrows(BusinessException.class, scope::join);
+            assertSame(caller, thread.get());
+        }
+        assertFalse(ranAfterFailure.get());
+    }
+
+    @Test
+    void queryStatsReachTheForks() {
+        QueryStats stats = QueryTracker.begin();
+
+        try (FanOutScope scope = FanOutScope.open()) {
+            Supplier<QueryStats> first = scope.fork(QueryTracker::current);
+            Supplier<QueryStats> second = scope.fork(QueryTracker::current);
+            Supplier<Thread> thread = scope.fork(Thread::currentThread);
+            scope.join();
+
+            assertSame(stats, first.get());
+            assertSame(stats, second.get());
+            assertNotSame(Thread.currentThread(), thread.get());
+        }
+    }
+
+    private static Void blockUntilInterrupted(CountDownLatch started, CountDownLatch interrupted) {
+        started.countDown();
+        try {
+            Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+        } catch (InterruptedException e) {
+            interrupted.countDown();
+        }
+        return null;
+    }
+}
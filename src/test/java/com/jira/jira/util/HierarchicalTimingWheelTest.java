@@ -0,0 +1,110 @@
+package com.jira.jira.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HierarchicalTimingWheelTest {
+
+    private static final long TICK = 1000;
+    private static final long START = 1_700_000_000_000L;
+
+    private final HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK, 4, START);
+
+    @Test
+    void firesOnTheTickOfTheDeadline() {
+        wheel.schedule("a", START + 5 * TICK);
+
+        assertEquals(List.of(), wheel.advance(START + 4 * TICK));
+        assertEquals(List.of("a"), wheel.advance(START + 5 * TICK));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void passedDeadlineFiresOnNextAdvance() {
+        wheel.schedule("late", START - 60_000);
+
+        assertEquals(List.of("late"), wheel.advance(START + TICK));
+    }
+
+    @Test
+    void cascadesFromHigherLevels() {
+        long inTwoHours = START + 7200 * TICK; // Beyond level 0 (64 ticks) and level 1 (4096 ticks)
+        long inThreeMinutes = START + 180 * TICK;
+        wheel.schedule("hours", inTwoHours);
+        wheel.schedule("minutes", inThreeMinutes);
+
+        assertEquals(List.of(), wheel.advance(inThreeMinutes - TICK));
+        assertEquals(List.of("minutes"), wheel.advance(inThreeMinutes));
+        assertEquals(List.of(), wheel.advance(inTwoHours - TICK));
+        assertEquals(List.of("hours"), wheel.advance(inTwoHours));
+    }
+
+    @Test
+    void deadlineBeyondTopLevelIsParkedUntilItFits() {
+        long farAway = START + (1L << 24) * TICK + 123 * TICK; // Past 64^4 ticks
+        wheel.schedule("far", farAway);
+
+        assertEquals(List.of(), wheel.advance(farAway - TICK));
+        assertEquals(List.of("far"), wheel.advance(farAway));
+    }
+
+    @Test
+    void rescheduleReplacesPreviousDeadline() {
+        wheel.schedule("a", START + 10 * TICK);
+        wheel.schedule("a", START + 100 * TICK);
+
+        assertEquals(1, wheel.size());
+        assertEquals(List.of(), wheel.advance(START + 50 * TICK));
+        assertEquals(List.of("a"), wheel.advance(START + 100 * TICK));
+    }
+
+    @Test
+    void cancelledKeyNeverFires() {
+        wheel.schedule("a", START + 10 * TICK);
+        wheel.cancel("a");
+
+        assertEquals(List.of(), wheel.advance(START + 20 * TICK));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void removeIfCancelsMatchingKeys() {
+        wheel.schedule("keep", START + 10 * TICK);
+        wheel.schedule("drop-1", START + 10 * TICK);
+        wheel.schedule("drop-2", START + 9000 * TICK);
+
+        assertEquals(2, wheel.removeIf(key -> key.startsWith("drop")));
+        assertEquals(1, wheel.size());
+        assertEquals(List.of("keep"), wheel.advance(START + 9000 * TICK));
+    }
+
+    @Test
+    void everyDeadlineFiresExactlyOnceAtItsTick() {
+        Random random = new Random(42);
+        List<Long> deadlines = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            long deadline = START + (1 + random.nextInt(20_000)) * TICK;
+            deadlines.add(deadline);
+            wheel.schedule("k" + i, deadline);
+        }
+
+        List<String> fired = new ArrayList<>();
+        for (long now = START; now <= START + 20_000 * TICK; now += 37 * TICK) {
+            for (String key : wheel.advance(now)) {
+                long deadline = deadlines.get(Integer.parseInt(key.substring(1)));
+                assertTrue(deadline <= now && deadline > now - 37 * TICK, key + " fired outside its step");
+                fired.add(key);
+            }
+        }
+        fired.addAll(wheel.advance(START + 20_001 * TICK));
+
+        assertEquals(2000, fired.size());
+        assertEquals(2000, fired.stream().distinct().count());
+        assertEquals(0, wheel.size());
+    }
+}
@@ -0,0 +1,85 @@
+package com.jira.jira.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeyedSerialExecutorTest {
+
+    private final ExecutorService pool = Executors.newFixedThreadPool(8);
+    private final List<RuntimeException> failures = new CopyOnWriteArrayList<>();
+    private final KeyedSerialExecutor executor = new KeyedSerialExecutor(pool, failures::add);
+
+    @Test
+    void runsTasksOfOneKeyInSubmissionOrder() throws Exception {
+        List<Integer> ran = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(1000);
+
+        for (int i = 0; i < 1000; i++) {
+            int n = i;
+            executor.execute("a", () -> {
+                ran.add(n);
+                done.countDown();
+            });
+        }
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, ran.get(i));
+        }
+    }
+
+    @Test
+    void keysDoNotWaitForEachOther() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch otherRan = new CountDownLatch(1);
+
+        executor.execute("slow", () -> await(release));
+        executor.execute("fast", otherRan::countDown);
+
+        assertTrue(otherRan.await(5, TimeUnit.SECONDS));
+        release.countDown();
+    }
+
+    @Test
+    void failedTaskIsReportedAndLaterTasksStillRun() throws Exception {
+        CountDownLatch after = new CountDownLatch(1);
+
+        executor.execute("a", () -> {
+            throw new IllegalStateException("broker down");
+        });
+        executor.execute("a", after::countDown);
+
+        assertTrue(after.await(5, TimeUnit.SECONDS));
+        assertEquals(1, failures.size());
+        assertEquals("broker down", failures.get(0).getMessage());
+    }
+
+    @Test
+    void idleKeysAreDropped() throws Exception {
+        CountDownLatch done = new CountDownLatch(1);
+        executor.execute("a", done::countDown);
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (executor.activeKeys() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, executor.activeKeys());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
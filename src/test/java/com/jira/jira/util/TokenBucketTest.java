@@ -0,0 +1,82 @@
+package com.jira.jira.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void burstUpToCapacityThenWaitForOneToken() {
+        TokenBucket bucket = new TokenBucket(3, 3 * SECOND, 0); // One token per second
+
+        assertEquals(0, bucket.tryConsume(0));
+        assertEquals(0, bucket.tryConsume(0));
+        assertEquals(0, bucket.tryConsume(0));
+        assertEquals(SECOND, bucket.tryConsume(0), 1); // Within a nanosecond of rounding
+        assertEquals(SECOND / 4, bucket.tryConsume(SECOND * 3 / 4), 1);
+    }
+
+    @Test
+    void refillsEvenlyAndNeverBeyondCapacity() {
+        TokenBucket bucket = new TokenBucket(2, 2 * SECOND, 0);
+        bucket.tryConsume(0);
+        bucket.tryConsume(0);
+
+        assertEquals(0, bucket.tryConsume(SECOND + 1));
+        assertTrue(bucket.tryConsume(SECOND) > 0);
+
+        assertTrue(bucket.isFull(100 * SECOND));
+        assertEquals(0, bucket.tryConsume(100 * SECOND));
+        assertEquals(0, bucket.tryConsume(100 * SECOND));
+        assertTrue(bucket.tryConsume(100 * SECOND) > 0); // Idle time did not bank extra tokens
+    }
+
+    @Test
+    void staleTimestampDoesNotRewindTheRefillClock() {
+        TokenBucket bucket = new TokenBucket(2, 2 * SECOND, 0);
+        bucket.tryConsume(10 * SECOND);
+        bucket.tryConsume(5 * SECOND); // A caller that read the clock earlier
+
+        // Had the clock moved back to 5s, the 5s gap would refill both tokens
+        assertEquals(SECOND, bucket.tryConsume(10 * SECOND), 1);
+        assertFalse(bucket.isFull(10 * SECOND));
+    }
+
+    @Test
+    void concurrentCallersNeverGetMoreThanCapacity() throws InterruptedException {
+        int capacity = 50;
+        TokenBucket bucket = new TokenBucket(capacity, TimeUnit.DAYS.toNanos(1), 0);
+        AtomicInteger granted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int i = 0; i < 8; i++) {
+                executor.execute(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    for (int j = 0; j < 100; j++) {
+                        if (bucket.tryConsume(0) == 0) {
+                            granted.incrementAndGet();
+                        }
+                    }
+                });
+            }
+            start.countDown();
+        }
+
+        assertEquals(capacity, granted.get());
+    }
+}
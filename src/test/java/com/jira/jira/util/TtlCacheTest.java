@@ -0,0 +1,100 @@
+package com.jira.jira.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TtlCacheTest {
+
+    @Test
+    void cachesLoadedValueUntilTtl() throws InterruptedException {
+        TtlCache<String, String> cache = new TtlCache<>(Duration.ofMillis(50), 10);
+        AtomicInteger loads = new AtomicInteger();
+
+        assertEquals("v1", cache.get("k", key -> "v" + loads.incrementAndGet()));
+        assertEquals("v1", cache.get("k", key -> "v" + loads.incrementAndGet()));
+        assertEquals(1, loads.get());
+
+        Thread.sleep(80);
+        assertNull(cache.getIfPresent("k"));
+        assertEquals("v2", cache.get("k", key -> "v" + loads.incrementAndGet()));
+    }
+
+    @Test
+    void invalidationDuringLoadIsNotOverwritten() {
+        TtlCache<String, String> cache = new TtlCache<>(Duration.ofMinutes(1), 10);
+
+        // A revocation lands while the stale value is being loaded
+        String loaded = cache.get("k", key -> {
+            cache.invalidate(key);
+            return "MEMBER";
+        });
+
+        assertEquals("MEMBER", loaded);
+        assertNull(cache.getIfPresent("k"));
+        assertEquals("NONE", cache.get("k", key -> "NONE"));
+        assertEquals("NONE", cache.getIfPresent("k"));
+    }
+
+    @Test
+    void predicateInvalidationDuringLoadIsNotOverwritten() {
+        TtlCache<String, String> cache = new TtlCache<>(Duration.ofMinutes(1), 10);
+
+        cache.get("workspace-1:user", key -> {
+            cache.invalidateIf(candidate -> candidate.startsWith("workspace-1:"));
+            return "MEMBER";
+        });
+
+        assertNull(cache.getIfPresent("workspace-1:user"));
+    }
+
+    @Test
+    void invalidateIfRemovesMatchingKeysOnly() {
+        TtlCache<String, String> cache = new TtlCache<>(Duration.ofMinutes(1), 10);
+        cache.put("a:1", "x");
+        cache.put("a:2", "x");
+        cache.put("b:1", "x");
+
+        cache.invalidateIf(key -> key.startsWith("a:"));
+
+        assertNull(cache.getIfPresent("a:1"));
+        assertNull(cache.getIfPresent("a:2"));
+        assertEquals("x", cache.getIfPresent("b:1"));
+    }
+
+    @Test
+    void overCapacityEvictsOldestInsteadOfClearing() throws InterruptedException {
+        TtlCache<Integer, Integer> cache = new TtlCache<>(Duration.ofMinutes(1), 10);
+        for (int i = 0; i < 10; i++) {
+            cache.put(i, i);
+            Thread.sleep(1); // Distinct insertion times
+        }
+
+        cache.put(10, 10);
+
+        assertTrue(cache.size() <= 10);
+        assertNull(cache.getIfPresent(0), "oldest entry is evicted first");
+        for (int i = 2; i <= 10; i++) {
+            assertEquals(i, cache.getIfPresent(i), "recent entry " + i + " survives");
+        }
+    }
+
+    @Test
+    void overCapacityPurgesExpiredEntriesFirst() throws InterruptedException {
+        TtlCache<Integer, Integer> cache = new TtlCache<>(Duration.ofMinutes(1), 3);
+        cache.put(1, 1, Duration.ofMillis(10));
+        cache.put(2, 2);
+        cache.put(3, 3);
+        Thread.sleep(30);
+
+        cache.put(4, 4);
+
+        assertNull(cache.getIfPresent(1));
+        assertEquals(2, cache.getIfPresent(2));
+        assertEquals(3, cache.getIfPresent(3));
+        assertEquals(4, cache.getIfPresent(4));
+    }
+}
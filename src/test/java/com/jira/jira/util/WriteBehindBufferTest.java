@@ -0,0 +1,115 @@
+package com.jira.jira.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WriteBehindBufferTest {
+
+    private final List<List<Integer>> written = new CopyOnWriteArrayList<>();
+    private final List<WriteBehindBuffer.FlushFailure<Integer>> failures = new CopyOnWriteArrayList<>();
+
+    @Test
+    void holdsItemsUntilFlushed() {
+        WriteBehindBuffer<Integer> buffer = new WriteBehindBuffer<>(3, 10, batch -> written.add(List.copyOf(batch)), failures::add);
+
+        buffer.add(1);
+        buffer.add(2);
+
+        assertTrue(written.isEmpty());
+        assertEquals(2, buffer.size());
+
+        buffer.flush();
+
+        assertEquals(List.of(List.of(1, 2)), written);
+        assertEquals(0, buffer.size());
+    }
+
+    @Test
+    void fullBatchFlushesOnCallerThread() {
+        WriteBehindBuffer<Integer> buffer = new WriteBehindBuffer<>(2, 10, batch -> written.add(List.copyOf(batch)), failures::add);
+
+        buffer.add(1);
+        buffer.add(2);
+
+        assertEquals(List.of(List.of(1, 2)), written);
+    }
+
+    @Test
+    void writesBatchesOfAtMostBatchSizeInArrivalOrder() {
+        WriteBehindBuffer<Integer> buffer = new WriteBehindBuffer<>(2, 10, batch -> written.add(List.copyOf(batch)), failures::add);
+
+        for (int i = 1; i <= 5; i++) {
+            buffer.add(i);
+        }
+        buffer.flush();
+
+        assertEquals(List.of(List.of(1, 2), List.of(3, 4), List.of(5)), written);
+        assertTrue(failures.isEmpty());
+    }
+
+    @Test
+    void rejectsWhenFullWhileAFlushIsRunning() throws Exception {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        WriteBehindBuffer<Integer> buffer = new WriteBehindBuffer<>(2, 2, batch -> {
+            writing.countDown();
+            await(release);
+            written.add(List.copyOf(batch));
+        }, failures::add);
+
+        buffer.add(1);
+        Thread flusher = Thread.ofVirtual().start(() -> buffer.add(2)); // Fills the batch and blocks in the writer
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+
+        assertTrue(buffer.add(3));
+        assertTrue(buffer.add(4)); // Full batch, but the running flush owns the lock; producer does not wait
+        assertFalse(buffer.add(5));
+
+        release.countDown();
+        flusher.join(5_000);
+        buffer.flush();
+        assertEquals(List.of(1, 2), written.get(0));
+    }
+
+    @Test
+    void failedBatchIsReportedAndLaterBatchesStillWrite() {
+        AtomicInteger calls = new AtomicInteger();
+        WriteBehindBuffer<Integer> buffer = new WriteBehindBuffer<>(2, 10, batch -> {
+            if (calls.incrementAndGet() == 1) {
+                throw new IllegalStateException("down");
+            }
+            written.add(List.copyOf(batch));
+        }, failures::add);
+
+        buffer.add(1);
+        buffer.add(2);
+        buffer.add(3);
+        buffer.flush();
+
+        assertEquals(1, failures.size());
+        assertEquals(List.of(1, 2), failures.get(0).batch());
+        assertEquals("down", failures.get(0).error().getMessage());
+        assertEquals(List.of(List.of(3)), written);
+    }
+
+    @Test
+    void rejectsInvalidSizes() {
+        assertThrows(IllegalArgumentException.class, () -> new WriteBehindBuffer<Integer>(0, 10, batch -> { }, failures::add));
+        assertThrows(IllegalArgumentException.class, () -> new WriteBehindBuffer<Integer>(10, 5, batch -> { }, failures::add));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
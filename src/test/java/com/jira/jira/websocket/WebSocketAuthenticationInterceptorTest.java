@@ -0,0 +1,231 @@
+package com.jira.jira.websocket;
+
+import com.jira.jira.dto.response.TokenValidationResponse;
+import com.jira.jira.dto.response.UserInfoResponse;
+import com.jira.jira.model.Membership;
+import com.jira.jira.model.User;
+import com.jira.jira.repository.MembershipRepository;
+import com.jira.jira.security.JwtUtil;
+import com.jira.jira.service.AccessControlService;
+import com.jira.jira.service.AuthService;
+import com.jira.jira.websocket.WebSocketAuthenticationInterceptor.WebSocketUserPrincipal;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class WebSocketAuthenticationInterceptorTest {
+
+    private static final String SECRET = "d7f9c21e692f4d77a13009f5d30c74a3d4906ab5859289f151808b4347f01293";
+    private static final WebSocketUserPrincipal USER = new WebSocketUserPrincipal("u1", "u1@jira.local", "User One");
+
+    private final MembershipRepository membershipRepository = mock(MembershipRepository.class);
+    private final AuthService authService = mock(AuthService.class);
+    private final JwtUtil jwtUtil = jwtUtil(SECRET, Duration.ofHours(1));
+    private final SubscriptionRegistry subscriptionRegistry = new SubscriptionRegistry(new SimpleMeterRegistry());
+    private WebSocketAuthenticationInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        when(membershipRepository.findByScopeAndScopeIdAndUserId(any(), any(), any())).thenReturn(Optional.empty());
+        interceptor = new WebSocketAuthenticationInterceptor(authService, jwtUtil,
+                new AccessControlService(membershipRepository, Duration.ofSeconds(30), 100), subscriptionRegistry,
+                Duration.ofMinutes(10), 100);
+    }
+
+    // ========== CONNECT ==========
+
+    @Test
+    void tokenWithUserClaimsNeedsNoUserLookup() {
+        String token = jwtUtil.generateToken(User.builder().id("u1").name("User One").email("u1@jira.local").build());
+
+        StompHeaderAccessor accessor = connect(token);
+
+        WebSocketUserPrincipal principal = (WebSocketUserPrincipal) accessor.getUser();
+        assertEquals("u1", principal.getName());
+        assertEquals("u1@jira.local", principal.getEmail());
+        assertEquals("User One", principal.getDisplayName());
+        verifyNoInteractions(authService);
+    }
+
+    @Test
+    void legacyTokenFallsBackToAuthServiceOnceThenIsCached() {
+        String token = jwtUtil.generateToken("u1@jira.local"); // No uid claim
+        legacyUserLookup(token);
+
+        WebSocketUserPrincipal first = (WebSocketUserPrincipal) connect(token).getUser();
+        WebSocketUserPrincipal second = (WebSocketUserPrincipal) connect(token).getUser();
+
+        assertEquals("u1", first.getUserId());
+        assertSame(first, second);
+        verify(authService, times(1)).validateToken(token);
+    }
+
+    @Test
+    void expiredForgedOrMissingTokenIsRejected() {
+        String expired = jwtUtil(SECRET, Duration.ofSeconds(-5)).generateToken(User.builder().id("u1").build());
+        String forged = jwtUtil(SECRET.replace('d', 'e'), Duration.ofHours(1)).generateToken(User.builder().id("u1").build());
+
+        assertThrows(RuntimeException.class, () -> connect(expired));
+        assertThrows(RuntimeException.class, () -> connect(forged));
+        assertThrows(RuntimeException.class, () -> connect(null));
+        verifyNoInteractions(authService);
+    }
+
+    @Test
+    void cachedPrincipalDoesNotOutliveTheToken() throws InterruptedException {
+        String token = jwtUtil(SECRET, Duration.ofSeconds(2)).generateToken("u1@jira.local");
+        legacyUserLookup(token);
+        connect(token);
+
+        Thread.sleep(2100); // Well within the 10 minute cache TTL
+
+        assertThrows(RuntimeException.class, () -> connect(token));
+        verify(authService, times(1)).validateToken(token);
+    }
+
+    @Test
+    void compactEncodingIsRememberedForTheSession() {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.CONNECT);
+        accessor.addNativeHeader("Authorization", "Bearer " + jwtUtil.generateToken(User.builder().id("u1").build()));
+        accessor.addNativeHeader(CompactEncoding.CONNECT_HEADER, "COMPACT");
+        accessor.setSessionAttributes(new HashMap<>());
+
+        interceptor.preSend(message(accessor), null);
+
+        assertEquals(CompactEncoding.COMPACT, accessor.getSessionAttributes().get(CompactEncoding.SESSION_ATTRIBUTE));
+    }
+
+    // ========== SUBSCRIBE ==========
+
+    @Test
+    void memberMaySubscribeToWorkspaceTopic() {
+        member(Membership.Scope.WORKSPACE, "w1", false);
+
+        subscribe("/topic/workspace/w1/tasks", Map.of());
+
+        assertTrue(subscriptionRegistry.hasSubscribers("/topic/workspace/w1/tasks"));
+    }
+
+    @Test
+    void nonMemberAndSuspendedMemberAreDenied() {
+        member(Membership.Scope.WORKSPACE, "w2", true);
+
+        assertThrows(RuntimeException.class, () -> subscribe("/topic/workspace/w1/tasks", Map.of()));
+        assertThrows(RuntimeException.class, () -> subscribe("/topic/workspace/w2/tasks", Map.of()));
+        assertFalse(subscriptionRegistry.hasSubscribers("/topic/workspace/w1/tasks"));
+        assertFalse(subscriptionRegistry.hasSubscribers("/topic/workspace/w2/tasks"));
+    }
+
+    @Test
+    void projectTopicRequiresProjectMembership() {
+        member(Membership.Scope.PROJECT, "p1", false);
+        member(Membership.Scope.WORKSPACE, "w1", false); // Workspace membership alone does not grant the project
+
+        subscribe("/topic/project/p1", Map.of());
+        assertThrows(RuntimeException.class, () -> subscribe("/topic/project/p2", Map.of()));
+
+        assertTrue(subscriptionRegistry.hasSubscribers("/topic/project/p1"));
+    }
+
+    @Test
+    void unknownDestinationIsRejected() {
+        assertThrows(RuntimeException.class, () -> subscribe("/topic/admin/stats", Map.of()));
+        assertThrows(RuntimeException.class, () -> subscribe("/queue/anything", Map.of()));
+    }
+
+    @Test
+    void patternDestinationsAreRejectedEvenForMembers() {
+        member(Membership.Scope.WORKSPACE, "w1", false);
+
+        assertThrows(RuntimeException.class, () -> subscribe("/topic/workspace/**", Map.of()));
+        assertThrows(RuntimeException.class, () -> subscribe("/topic/workspace/w1/*", Map.of()));
+        assertThrows(RuntimeException.class, () -> subscribe("/topic/project/{id}", Map.of()));
+        assertThrows(RuntimeException.class, () -> subscribe("/user/**", Map.of()));
+    }
+
+    @Test
+    void compactSessionIsRewrittenToCompactDestination() {
+        member(Membership.Scope.WORKSPACE, "w1", false);
+
+        StompHeaderAccessor accessor = subscribe("/topic/workspace/w1/tasks",
+                Map.of(CompactEncoding.SESSION_ATTRIBUTE, CompactEncoding.COMPACT));
+
+        assertEquals("/topic/workspace/w1/tasks.compact", accessor.getDestination());
+        assertTrue(subscriptionRegistry.hasSubscribers("/topic/workspace/w1/tasks.compact"));
+        assertFalse(subscriptionRegistry.hasSubscribers("/topic/workspace/w1/tasks"));
+    }
+
+    @Test
+    void userDestinationIsRegisteredUnderTheUserId() {
+        subscribe("/user/queue/notifications", Map.of());
+
+        assertTrue(subscriptionRegistry.hasSubscribers("/user/u1/queue/notifications"));
+    }
+
+    @Test
+    void subscribeWithoutAuthenticatedSessionIsRejected() {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.SUBSCRIBE);
+        accessor.setDestination("/topic/system/announcements");
+
+        assertThrows(RuntimeException.class, () -> interceptor.preSend(message(accessor), null));
+    }
+
+    private void legacyUserLookup(String token) {
+        when(authService.validateToken(token)).thenReturn(TokenValidationResponse.builder()
+                .valid(true)
+                .user(UserInfoResponse.builder().id("u1").name("User One").email("u1@jira.local").build())
+                .build());
+    }
+
+    private StompHeaderAccessor connect(String token) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.CONNECT);
+        if (token != null) {
+            accessor.addNativeHeader("Authorization", "Bearer " + token);
+        }
+        accessor.setSessionAttributes(new HashMap<>());
+        interceptor.preSend(message(accessor), null);
+        return accessor;
+    }
+
+    private void member(Membership.Scope scope, String scopeId, boolean suspended) {
+        when(membershipRepository.findByScopeAndScopeIdAndUserId(scope, scopeId, "u1")).thenReturn(Optional.of(
+                Membership.builder().scope(scope).scopeId(scopeId).userId("u1").role("MEMBER").suspended(suspended).build()));
+    }
+
+    private StompHeaderAccessor subscribe(String destination, Map<String, Object> sessionAttributes) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.SUBSCRIBE);
+        accessor.setSessionId("s1");
+        accessor.setSubscriptionId("sub-" + destination);
+        accessor.setDestination(destination);
+        accessor.setUser(USER);
+        accessor.setSessionAttributes(new HashMap<>(sessionAttributes));
+        interceptor.preSend(message(accessor), null);
+        return accessor;
+    }
+
+    private static JwtUtil jwtUtil(String secret, Duration expiration) {
+        JwtUtil jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", secret);
+        ReflectionTestUtils.setField(jwtUtil, "expiration", expiration.toMillis());
+        return jwtUtil;
+    }
+
+    private static Message<byte[]> message(StompHeaderAccessor accessor) {
+        accessor.setLeaveMutable(true);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}
@@ -0,0 +1,82 @@
+package com.jira.jira.websocket.presence;
+
+import com.jira.jira.dto.websocket.PresenceEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PresenceServiceTest {
+
+    private final InMemoryPresenceStore store = new InMemoryPresenceStore();
+    private final List<PresenceEvent> broadcast = new ArrayList<>();
+    private final PresenceService presenceService = new PresenceService(store, broadcast::add, Duration.ofSeconds(60));
+
+    @Test
+    void userStaysOnlineUntilLastSessionLeaves() {
+        presenceService.join("s1", "u1", "w1");
+        presenceService.join("s2", "u1", "w1");
+
+        presenceService.leave("s1", "u1", "w1");
+        assertEquals(Set.of("u1"), store.online("w1"));
+
+        presenceService.leave("s2", "u1", "w1");
+        assertEquals(Set.of(), store.online("w1"));
+    }
+
+    @Test
+    void repeatedJoinOrLeaveOfOneSessionCountsOnce() {
+        presenceService.join("s1", "u1", "w1");
+        presenceService.join("s1", "u1", "w1");
+        presenceService.join("s2", "u1", "w1");
+
+        presenceService.leave("s1", "u1", "w1");
+        presenceService.leave("s1", "u1", "w1");
+        assertEquals(Set.of("u1"), store.online("w1"));
+    }
+
+    @Test
+    void disconnectReleasesEveryJoinedWorkspace() {
+        presenceService.join("s1", "u1", "w1");
+        presenceService.join("s1", "u1", "w2");
+        presenceService.join("s2", "u1", "w2");
+
+        presenceService.onSessionDisconnect(disconnect("s1"));
+
+        assertEquals(Set.of(), store.online("w1"));
+        assertEquals(Set.of("u1"), store.online("w2"));
+    }
+
+    @Test
+    void flushBroadcastsOneDiffPerWorkspace() {
+        presenceService.join("s1", "u1", "w1");
+        presenceService.join("s2", "u2", "w1");
+        presenceService.join("s3", "u3", "w1");
+        presenceService.leave("s3", "u3", "w1"); // Joined and left within one interval
+
+        presenceService.flush();
+
+        assertEquals(1, broadcast.size());
+        PresenceEvent diff = broadcast.get(0);
+        assertEquals("w1", diff.getWorkspaceId());
+        assertEquals(Set.of("u1", "u2"), Set.copyOf(diff.getOnline()));
+        assertTrue(diff.getOffline().isEmpty());
+    }
+
+    private static SessionDisconnectEvent disconnect(String sessionId) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.DISCONNECT);
+        accessor.setSessionId(sessionId);
+        Message<byte[]> message = MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+        return new SessionDisconnectEvent(new Object(), message, sessionId, CloseStatus.NORMAL);
+    }
+}